@@ -0,0 +1,155 @@
+package com.kizuna.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.auth.infrastructure.TokenBlacklistService;
+import io.lettuce.core.resource.NettyCustomizer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.redis.autoconfigure.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * ブラックリスト判定 1 回あたりの Redis 待ち時間を、鍵ごとに 1 往復ずつ引く旧経路と、{@code MGET} の 1 往復にまとめた {@link
+ * TokenBlacklistService#check} とで比べるマイクロベンチマーク。本物の Redis（compose の cache）に対して測る。
+ *
+ * <p>near-cache は切って（{@code app.near-cache.enabled=false}）毎回 Redis へ行かせる。near-cache
+ * が当たらない要求（初見のトークン・経路断の間）の待ち時間がこの経路で決まるため。
+ *
+ * <p>旧経路と新経路を交互に回し、Redis 側の揺らぎが片方にだけ乗らないようにする。待ち時間はログへ出して読むだけで断言しない — 共有ランナーでは
+ * 中央値の大小さえ入れ替わることがあり、壁時計の比較を統合テストの合否に置くと揺らぐ。断言するのは 1 回の判定が Redis へ何往復するか（接続へ
+ * 書き出した回数）と、判定のたびに接続を張らないことで、こちらは実行環境によらず決まる。
+ */
+@SpringBootTest(properties = "app.near-cache.enabled=false")
+class TokenBlacklistLookupBenchmarkIT {
+
+  private static final Logger log = LogManager.getLogger(TokenBlacklistLookupBenchmarkIT.class);
+
+  private static final int WARMUP = 500;
+  private static final int ITERATIONS = 2_000;
+
+  private static final String TOKEN = "benchmark-token";
+  private static final String EMAIL = "benchmark@kizuna.test";
+
+  /** Redis の接続が書き出した（flush した）回数。要求を送って応答を待つ 1 往復が 1 回にあたる。 */
+  private static final AtomicInteger FLUSHES = new AtomicInteger();
+
+  /** Redis へ張った接続の数。 */
+  private static final AtomicInteger CONNECTIONS = new AtomicInteger();
+
+  /** Lettuce の全接続を数え、その先頭に書き出しを数えるだけの handler を差し込む。 */
+  @TestConfiguration
+  static class FlushCountingConfiguration {
+    @Bean
+    ClientResourcesBuilderCustomizer countFlushes() {
+      return builder ->
+          builder.nettyCustomizer(
+              new NettyCustomizer() {
+                @Override
+                public void afterChannelInitialized(Channel channel) {
+                  CONNECTIONS.incrementAndGet();
+                  channel
+                      .pipeline()
+                      .addFirst(
+                          new ChannelOutboundHandlerAdapter() {
+                            @Override
+                            public void flush(ChannelHandlerContext ctx) throws Exception {
+                              FLUSHES.incrementAndGet();
+                              super.flush(ctx);
+                            }
+                          });
+                }
+              });
+    }
+  }
+
+  @Autowired private TokenBlacklistService tokenBlacklistService;
+  @Autowired private RedisTemplate<String, Object> redisTemplate;
+
+  @Test
+  @DisplayName("トークンとユーザーの判定は Redis へ 1 往復で済み、鍵ごとの旧経路は 2 往復すること")
+  void lookupTakesOneRoundTrip() {
+    // 他の処理（リースの更新など）が同じ間に書き出すと数が増えるだけなので、最小値で見る
+    assertThat(fewestFlushes(() -> tokenBlacklistService.check(TOKEN, EMAIL))).isEqualTo(1);
+    assertThat(fewestFlushes(this::twoRoundTrips)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("判定は共有の接続を使い、1 回ごとに接続を張らないこと")
+  void lookupReusesTheSharedConnection() {
+    tokenBlacklistService.check(TOKEN, EMAIL);
+    int before = CONNECTIONS.get();
+
+    for (int i = 0; i < 20; i++) {
+      tokenBlacklistService.check(TOKEN, EMAIL);
+    }
+
+    assertThat(CONNECTIONS.get()).isEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("1 往復にまとめた経路と 2 往復の旧経路の待ち時間をログへ出すこと（断言はしない）")
+  void logsLookupLatency() {
+    for (int i = 0; i < WARMUP; i++) {
+      twoRoundTrips();
+      tokenBlacklistService.check(TOKEN, EMAIL);
+    }
+
+    long[] sequential = new long[ITERATIONS];
+    long[] combined = new long[ITERATIONS];
+    for (int i = 0; i < ITERATIONS; i++) {
+      long start = System.nanoTime();
+      twoRoundTrips();
+      sequential[i] = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      tokenBlacklistService.check(TOKEN, EMAIL);
+      combined[i] = System.nanoTime() - start;
+    }
+
+    Arrays.sort(sequential);
+    Arrays.sort(combined);
+    log.info(
+        "ブラックリスト判定 1 回あたり（µs） 2 往復: p50={} p99={} / 1 往復: p50={} p99={} / 中央値の差 {}",
+        micros(percentile(sequential, 50)),
+        micros(percentile(sequential, 99)),
+        micros(percentile(combined, 50)),
+        micros(percentile(combined, 99)),
+        micros(percentile(sequential, 50) - percentile(combined, 50)));
+  }
+
+  private static int fewestFlushes(Runnable lookup) {
+    int fewest = Integer.MAX_VALUE;
+    for (int i = 0; i < 20; i++) {
+      int before = FLUSHES.get();
+      lookup.run();
+      fewest = Math.min(fewest, FLUSHES.get() - before);
+    }
+    return fewest;
+  }
+
+  /** 変更前の {@code TokenBlacklistValidator} と同じ、鍵ごとに 1 往復する判定。 */
+  private boolean twoRoundTrips() {
+    return Boolean.TRUE.equals(redisTemplate.hasKey("blacklist:tokens:" + TOKEN))
+        || Boolean.TRUE.equals(redisTemplate.hasKey("blacklist:users:" + EMAIL));
+  }
+
+  private static long percentile(long[] sorted, int percent) {
+    return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+  }
+
+  private static long micros(long nanos) {
+    return nanos / 1_000;
+  }
+}
@@ -22,6 +22,7 @@ import jakarta.persistence.PersistenceContext;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -1052,6 +1053,65 @@ class CustomerMergeIT extends CrossStoreTestSupport {
         .orElseThrow();
   }
 
+  @Test
+  @DisplayName("電話番号を書き換えると、旧番号のグループから抜けて新番号のグループに入ること")
+  void movesARowBetweenGroupsWhenItsPhoneNumberChanges() {
+    String before = phone("付替前");
+    String after = phone("付替後");
+    String moving = createCustomerWithPhone("付替甲-" + nonce, before);
+    createCustomerWithPhone("付替乙-" + nonce, before);
+    createCustomerWithPhone("付替丙-" + nonce, after);
+    assertThat(hasDuplicateGroup(STORE_A, before)).as("前提: 書き換え前は旧番号が候補であること").isTrue();
+
+    setPhoneNumber(moving, after);
+
+    // 見出しは顧客行の書き換えと同じ取引で足し引きされる。抜けた側が残ると、1 行しか無い番号が候補に居座る
+    assertThat(hasDuplicateGroup(STORE_A, before)).isFalse();
+    assertThat(duplicateGroup(STORE_A, after).path("total").asInt()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("顧客を削除すると、その行の分だけグループの総数が減ること")
+  void shrinksTheGroupWhenACustomerIsDeleted() {
+    String phoneNumber = phone("削除減算");
+    String deleted = createCustomerWithPhone("削除減算甲-" + nonce, phoneNumber);
+    createCustomerWithPhone("削除減算乙-" + nonce, phoneNumber);
+    createCustomerWithPhone("削除減算丙-" + nonce, phoneNumber);
+
+    assertThat(deleteCustomer(deleted).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+    assertThat(duplicateGroup(STORE_A, phoneNumber).path("total").asInt()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("見出しの表が、どの経路で書かれた行も含めて生きた顧客行の数え直しと一致すること")
+  void keepsTheGroupTableInStepWithTheLedger() {
+    // アプリの外の経路（受注録入の新規顧客・シードの直書き）も含めて数が揃うことは、
+    // 見出しを顧客行のトリガで数えている理由そのもの。ここまでのテストが残した行もまとめて突き合わせる
+    String phoneNumber = phone("突合");
+    createCustomerWithPhone("突合甲-" + nonce, phoneNumber);
+    assertThat(orderByPhone(phone("突合録入"), "突合受注").getStatusCode())
+        .as("前提: 録入が顧客を起こすこと")
+        .isEqualTo(HttpStatus.CREATED);
+
+    List<Map<String, Object>> drifted =
+        jdbcTemplate.queryForList(
+            """
+            select coalesce(g.store_id, c.store_id) as store_id,
+                   coalesce(g.phone_key, c.phone_key) as phone_key,
+                   g.alive_count, c.counted
+            from (select * from t_customer_phone_groups where alive_count > 0) g
+            full join (select store_id, phone_key, count(*) as counted
+                       from t_customers
+                       where merged_into_id is null and phone_key is not null
+                       group by store_id, phone_key) c
+              on c.store_id = g.store_id and c.phone_key = g.phone_key
+            where g.alive_count is distinct from c.counted
+            """);
+
+    assertThat(drifted).isEmpty();
+  }
+
   /**
    * 候補を続きも含めて集める。店舗の台帳ぜんたいを見るので他のテストが起こした行も一緒に返り、この実行の番号が 1 ページ目に載る保証が無い。
    * 断言はどれも「この実行の番号」で絞ってから行う（{@link #phone} が実行ごと・用途ごとに異なる番号を作る）。
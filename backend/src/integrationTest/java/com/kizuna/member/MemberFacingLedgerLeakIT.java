@@ -16,6 +16,7 @@ import com.kizuna.order.domain.OrderFeeLineKind;
 import com.kizuna.order.domain.OrderRepository;
 import com.kizuna.order.domain.OrderStatus;
 import com.kizuna.order.domain.ReceptionRoute;
+import com.kizuna.point.application.PointBalanceVerifier;
 import com.kizuna.point.domain.PointEntry;
 import com.kizuna.point.domain.PointEntryRepository;
 import com.kizuna.shared.CrossStoreTestSupport;
@@ -195,6 +196,7 @@ class MemberFacingLedgerLeakIT extends CrossStoreTestSupport {
   @Autowired private CustomerRepository customerRepository;
   @Autowired private MemberRepository memberRepository;
   @Autowired private PointEntryRepository pointEntryRepository;
+  @Autowired private PointBalanceVerifier pointBalanceVerifier;
   @Autowired private CastRepository castRepository;
   @Autowired private OrderRepository orderRepository;
   @Autowired private OrderAttributionRepository orderAttributionRepository;
@@ -266,6 +268,8 @@ class MemberFacingLedgerLeakIT extends CrossStoreTestSupport {
             List.of(),
             null,
             "ledger-leak-" + memberId));
+    // 記帳の入口を通さずに積んだので、残高の読み口が引く射影を仕訳から作り直す。
+    pointBalanceVerifier.rebuild(memberId);
 
     seedAttributedVisit(memberId);
     seedCancelledRequest(memberId);
@@ -4,11 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.kizuna.member.domain.Member;
 import com.kizuna.member.domain.MemberRepository;
+import com.kizuna.order.domain.OrderFeeLine;
+import com.kizuna.point.application.PointLedgerService;
+import com.kizuna.point.domain.PointAllocation;
 import com.kizuna.point.domain.PointEntry;
 import com.kizuna.point.domain.PointEntryRepository;
 import com.kizuna.shared.CrossStoreTestSupport;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +35,8 @@ import tools.jackson.databind.JsonNode;
  * 二重完了・残高超過・単位外・非会員の利用・汎用更新からの完了遷移。加えて、会員はプラットフォーム級の身分なので A 店で得たポイントを B
  * 店の会計で使えることを跨店で確かめる（台帳は店舗で分割されない）。
  *
+ * <p>完了の書き込みが束ねて送られることは Hibernate の統計で数える。引き当ての行が増えても文の数がそのぶん増えないこと、送り直した変わらない明細が消されずに残ることを固定する。
+ *
  * <p>シード設定は「100 円ごとに 1 ポイント付与、利用は 100 ポイント単位」。
  */
 class OrderCompletionIT extends CrossStoreTestSupport {
@@ -41,8 +51,13 @@ class OrderCompletionIT extends CrossStoreTestSupport {
 
   private static final int EXPECTED_GRANT = 120;
 
+  /** 束ねの検証で利用 100 ポイントを分けるロットの数。 */
+  private static final int LOTS = 5;
+
   @Autowired private PointEntryRepository pointEntryRepository;
   @Autowired private MemberRepository memberRepository;
+  @Autowired private PointLedgerService pointLedgerService;
+  @Autowired private EntityManagerFactory entityManagerFactory;
 
   private final long nonce = System.nanoTime();
 
@@ -194,6 +209,60 @@ class OrderCompletionIT extends CrossStoreTestSupport {
     assertThat(unlinked.getBody().path("grant_points").asInt()).isZero();
   }
 
+  @Test
+  @DisplayName("完了の書き込みが束ねて送られ、送り直した変わらない明細を消して入れ直さないこと")
+  void completionBatchesItsWritesAndKeepsUnchangedFeeLines() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    try {
+      // 設定の読み込みなど初回だけの文を計測から外すため、同じ形の完了を 1 度通しておく
+      completeMeasured(statistics, orderWithLots("batch-warmup", 1));
+      Completion oneLot = completeMeasured(statistics, orderWithLots("batch-one", 1));
+      Completion manyLots = completeMeasured(statistics, orderWithLots("batch-many", LOTS));
+
+      assertThat(oneLot.allocationInserts()).isEqualTo(1);
+      assertThat(manyLots.allocationInserts()).isEqualTo(LOTS);
+      // 引き当ての行は 1 文の束で入る。ロットが増えて増える文は、ロットごとの射影の更新（consume）だけ
+      assertThat(manyLots.statements() - oneLot.statements())
+          .as("引き当ての INSERT が行ごとの文になっていないこと")
+          .isLessThanOrEqualTo(LOTS - 1);
+
+      // 作成時と同じ会計の行が送り直されるので、明細で動くのはポイント利用の 1 行の INSERT だけ
+      assertThat(manyLots.feeLineDeletes()).as("変わらない明細を消さないこと").isZero();
+      assertThat(manyLots.feeLineInserts()).isEqualTo(1);
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+  }
+
+  /** 残高 100 を {@code lots} 個のロットに分けて持つ会員の、会計の内訳を作成時から持つ受注。 */
+  private String orderWithLots(String label, int lots) {
+    String memberCode = registerMember(label);
+    long memberId = memberIdOf(memberCode);
+    for (int i = 0; i < lots; i++) {
+      pointLedgerService.adjust(
+          memberId, STORE_A, 100 / lots, "束ね検証の元手", null, null, UUID.randomUUID().toString());
+    }
+    return memberOrderCarryingTheCheckoutLine(memberCode, label);
+  }
+
+  /** 100 ポイントを使って完了し、その要求で発行された文と実体の書き込みを数える。 */
+  private Completion completeMeasured(Statistics statistics, String orderId) {
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    assertThat(complete(STORE_A, token, orderId, TOTAL_FEE, 100).getStatusCode())
+        .as("前提: 完了が成功すること")
+        .isEqualTo(HttpStatus.OK);
+    EntityStatistics feeLines = statistics.getEntityStatistics(OrderFeeLine.class.getName());
+    return new Completion(
+        statistics.getPrepareStatementCount(),
+        statistics.getEntityStatistics(PointAllocation.class.getName()).getInsertCount(),
+        feeLines.getInsertCount(),
+        feeLines.getDeleteCount());
+  }
+
+  private record Completion(
+      long statements, long allocationInserts, long feeLineInserts, long feeLineDeletes) {}
+
   // ==================== 受注の用意 ====================
 
   /** 会員に紐づいた顧客を持つ確定済みの受注。 */
@@ -208,7 +277,22 @@ class OrderCompletionIT extends CrossStoreTestSupport {
   private String confirmedOrder(
       long storeId, String bearerToken, long receptionistId, String customerId, String label) {
     String castId = createCast(storeId, bearerToken, label + "-" + nonce);
-    return createOrder(storeId, bearerToken, receptionistId, castId, customerId, label);
+    return createOrder(storeId, bearerToken, receptionistId, castId, customerId, label, null);
+  }
+
+  /** 会計の内訳（{@link #complete} が送るのと同じ 1 行）を作成時から持つ、会員に紐づいた確定済みの受注。 */
+  private String memberOrderCarryingTheCheckoutLine(String memberCode, String label) {
+    String customerId = createCustomer(label);
+    linkMember(STORE_A, token, customerId, memberCode);
+    String castId = createCast(STORE_A, token, label + "-" + nonce);
+    return createOrder(
+        STORE_A,
+        token,
+        SEED_RECEPTIONIST_ID,
+        castId,
+        customerId,
+        label,
+        "[{\"kind\":\"SURCHARGE\",\"name\":\"会計\",\"amount\":" + TOTAL_FEE + "}]");
   }
 
   private String createOrder(
@@ -217,7 +301,8 @@ class OrderCompletionIT extends CrossStoreTestSupport {
       long receptionistId,
       String castId,
       String customerId,
-      String remarks) {
+      String remarks,
+      String feeLines) {
     String body =
         "{\"receptionist_id\": "
             + receptionistId
@@ -229,7 +314,9 @@ class OrderCompletionIT extends CrossStoreTestSupport {
             + (customerId == null ? "" : ", \"customer_id\": \"" + customerId + "\"")
             + ", \"remarks\": \""
             + remarks
-            + "\"}";
+            + "\""
+            + (feeLines == null ? "" : ", \"fee_lines\": " + feeLines)
+            + "}";
     ResponseEntity<JsonNode> created =
         rest.postForEntity(
             "/store/orders",
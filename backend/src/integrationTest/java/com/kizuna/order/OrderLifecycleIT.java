@@ -418,6 +418,22 @@ class OrderLifecycleIT extends CrossStoreTestSupport {
     assertThat(byDate).contains(target).doesNotContain(other);
   }
 
+  @Test
+  @DisplayName("お客様名の検索が台帳の顧客名にも一致し、検索語の LIKE メタ文字を字面として扱うこと")
+  void workQueueMatchesLedgerNamesAndTreatsLikeMetacharactersAsLiterals() {
+    // 台帳の顧客名と受注自身の名前は別の枝（別の索引）で照合される。_ をワイルドカードとして扱うと
+    // 連絡先名「台帳acb-…」の受注にも一致してしまう。
+    String customerId = createCustomer("台帳a_b");
+    String ledger =
+        orderId(createOrder(body -> body.field("customer_id", "\"" + customerId + "\"")));
+    String decoy =
+        orderId(createOrder(body -> body.field("customer_name", "\"台帳acb-" + nonce + "\"")));
+
+    List<String> found =
+        idsOf(workQueue("statuses=CONFIRMED&size=2000&customer_name=台帳a_b-" + nonce));
+    assertThat(found).contains(ledger).doesNotContain(decoy);
+  }
+
   @Test
   @DisplayName("台帳にも連絡先にも名の無い会員申請由来の受注を、申請時の名乗りで検索できること")
   void workQueueFindsMemberRequestsByTheirDeclaredName() {
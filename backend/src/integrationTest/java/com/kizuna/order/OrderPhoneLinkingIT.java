@@ -20,6 +20,9 @@ import tools.jackson.databind.JsonNode;
  * <p>2 件以上の分岐は単体テストでは守れない。台帳照合は派生クエリの戻り値の形（{@code Optional} か {@code List} か）で決まり、複数行を {@code
  * Optional} に詰める失敗は Spring Data が実行時に起こすものなので、モックした repository は 1 行だけ返す前提のまま緑になる。
  *
+ * <p>照合は電話照合の鍵（DB の {@code phone_key()}）どうしで行う。書式の揺れ（ハイフン・空白・{@code +81}）が一致に化けることと、化けた一致にも 3
+ * 分岐がそのまま掛かることは、関数と生成列の実物でしか見られない。
+ *
  * <p>照合キーの電話番号は実行ごとに変える。同店同号の重複を意図的に作るテストであり、固定値だと他の実行の残りと混ざって分岐の前提が崩れる。
  */
 class OrderPhoneLinkingIT extends CrossStoreTestSupport {
@@ -78,6 +81,42 @@ class OrderPhoneLinkingIT extends CrossStoreTestSupport {
     assertThat(customer.path("phone_number").asString()).isEqualTo(phone);
   }
 
+  @Test
+  @DisplayName("書式だけが違う番号は同じ顧客に照合されること")
+  void formattingVariantsMatchTheSameCustomer() {
+    String phone = phone("fmt");
+    String customerId = createCustomer("書式照合-" + nonce, international(phone));
+
+    ResponseEntity<JsonNode> created = createOrderByPhone("書式照合の来客", phone);
+
+    assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(created.getBody().path("customer_id").asString()).isEqualTo(customerId);
+
+    // 着信照会も同じ鍵で引く。区切り付きで渡しても、録入が着ける行と同じ行を名乗る。
+    // 照会側に国番号付きを渡さないのは、問い合わせ文字列の + が空白として読まれるため（本体で渡す録入側で見る）
+    JsonNode lookup = lookupCaller(hyphenated(phone));
+    assertThat(lookup.path("matched_customer_id").asString()).isEqualTo(customerId);
+    assertThat(lookup.path("customers")).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("書式違いで同じ番号を持つ顧客が複数あると、照合も着信照会も 1 行を選ばないこと")
+  void formattingVariantsCountTowardSeveralMatches() {
+    String phone = phone("fmtdup");
+    createCustomer("書式重複A-" + nonce, phone);
+    createCustomer("書式重複B-" + nonce, hyphenated(phone));
+
+    ResponseEntity<JsonNode> created = createOrderByPhone("書式重複の来客", international(phone));
+
+    // 鍵が揃えた一致にも 3 分岐はそのまま掛かる（ADR 0009）
+    assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(created.getBody().hasNonNull("customer_id")).as("顧客は未設定のままであること").isFalse();
+
+    JsonNode lookup = lookupCaller(phone);
+    assertThat(lookup.hasNonNull("matched_customer_id")).as("着信照会も 1 行を選ばないこと").isFalse();
+    assertThat(lookup.path("customers")).hasSize(2);
+  }
+
   // ==================== 準備 ====================
 
   /** 実行ごと・分岐ごとに異なる照合キー。列は VARCHAR(50)。 */
@@ -85,6 +124,28 @@ class OrderPhoneLinkingIT extends CrossStoreTestSupport {
     return "090" + Math.abs((label + nonce).hashCode()) + nonce;
   }
 
+  /** 同じ番号の市外局番区切りの表記。 */
+  private String hyphenated(String phone) {
+    return phone.substring(0, 3) + "-" + phone.substring(3, 7) + "-" + phone.substring(7);
+  }
+
+  /** 同じ番号の国番号付きの表記（先頭の 0 を {@code +81} に置き換える）。 */
+  private String international(String phone) {
+    return "+81 " + phone.substring(1);
+  }
+
+  private JsonNode lookupCaller(String phone) {
+    ResponseEntity<JsonNode> res =
+        rest.exchange(
+            "/store/customers/caller-lookup?phone_number={phone}",
+            HttpMethod.GET,
+            new HttpEntity<>(storeHeaders(STORE_A)),
+            JsonNode.class,
+            phone);
+    assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+    return res.getBody();
+  }
+
   private ResponseEntity<JsonNode> createOrderByPhone(String customerName, String phone) {
     String castId = createCast("電話照合IT-" + customerName + "-" + nonce);
     String body =
@@ -226,6 +226,35 @@ class PlatformOrderScopeIT extends CrossStoreTestSupport {
         .isEqualTo(orderCountForStore(STORE_A));
   }
 
+  @Test
+  @DisplayName("カーソル読みは続きを辿り切ると授権店舗の受注を重複も欠落もなく一巡し、概数を添えること")
+  void cursorListWalksAuthorizedStoresExactlyOnce() {
+    HttpEntity<Void> auth = new HttpEntity<>(bearer(platformToken(SPECIFIC_EMAIL, PASSWORD)));
+    List<String> ids = new ArrayList<>();
+    String cursor = null;
+    do {
+      String url =
+          "/platform/orders/cursor?size=50&with_total=true"
+              + (cursor == null ? "" : "&cursor=" + cursor);
+      ResponseEntity<JsonNode> res = rest.exchange(url, HttpMethod.GET, auth, JsonNode.class);
+      assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+      assertThat(res.getBody().path("approximate_total").isNumber()).as("概数が添えられること").isTrue();
+      res.getBody()
+          .path("content")
+          .forEach(
+              node -> {
+                assertThat(node.path("store_id").asLong())
+                    .as("授権外の店舗が一覧に現れないこと")
+                    .isEqualTo(STORE_A);
+                ids.add(node.path("id").asString());
+              });
+      JsonNode next = res.getBody().path("next_cursor");
+      cursor = next.isMissingNode() || next.isNull() ? null : next.asString();
+    } while (cursor != null);
+
+    assertThat(ids).doesNotHaveDuplicates().hasSize((int) orderCountForStore(STORE_A));
+  }
+
   @Test
   @DisplayName("集合外店舗の実データ(store_id/カナリア)が応答の生ボディに一切現れないこと(AC2)")
   void outOfSetRealDataNeverAppearsInResponse() {
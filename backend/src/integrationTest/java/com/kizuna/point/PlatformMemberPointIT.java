@@ -1,16 +1,22 @@
 package com.kizuna.point;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 import com.kizuna.member.domain.Member;
 import com.kizuna.member.domain.MemberRepository;
+import com.kizuna.point.application.PointBalanceVerifier;
+import com.kizuna.point.application.PointExpirySweeper;
 import com.kizuna.point.domain.PointAllocation;
 import com.kizuna.point.domain.PointEntry;
 import com.kizuna.point.domain.PointEntryRepository;
+import com.kizuna.point.domain.PointLotBalance;
+import com.kizuna.point.domain.PointLotBalanceRepository;
 import com.kizuna.shared.CrossStoreTestSupport;
 import com.kizuna.store.domain.Store;
 import com.kizuna.store.domain.StoreRepository;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -50,10 +56,14 @@ class PlatformMemberPointIT extends CrossStoreTestSupport {
   private static final int OTHER_MEMBER_CREDIT = 918273645;
 
   private static final LocalDate EXPIRY = LocalDate.of(2099, 12, 31);
+  private static final LocalDate LAPSED = LocalDate.of(2020, 1, 31);
 
   @Autowired private MemberRepository memberRepository;
   @Autowired private PointEntryRepository pointEntryRepository;
   @Autowired private StoreRepository storeRepository;
+  @Autowired private PointBalanceVerifier pointBalanceVerifier;
+  @Autowired private PointExpirySweeper pointExpirySweeper;
+  @Autowired private PointLotBalanceRepository pointLotBalanceRepository;
 
   private long memberId;
   private String memberToken;
@@ -168,6 +178,9 @@ class PlatformMemberPointIT extends CrossStoreTestSupport {
             List.of(),
             null,
             "member-point-it-other-" + otherMemberId));
+    // 仕訳は記帳の入口を通さずに積んでいるので、残高の読み口が引く射影を仕訳から作り直す。
+    pointBalanceVerifier.rebuild(memberId);
+    pointBalanceVerifier.rebuild(otherMemberId);
 
     ResponseEntity<String> entries =
         rest.exchange(
@@ -185,6 +198,65 @@ class PlatformMemberPointIT extends CrossStoreTestSupport {
         .isEqualTo(CREDIT_PLAIN);
   }
 
+  @Test
+  @DisplayName("一括失効は期限切れロットの残りを失効仕訳で閉じ、再実行しても二重に失効させないこと")
+  void expirySweepClosesLapsedLotsOnce() {
+    long lapsedId = seedCredit(CREDIT_WITH_EXPIRY, LAPSED);
+    seedCredit(CREDIT_PLAIN);
+    pointEntryRepository.save(
+        PointEntry.manualAdjust(
+            memberId,
+            STORE_B,
+            DEBIT_AT_OTHER_STORE,
+            "失効前の利用",
+            null,
+            List.of(PointAllocation.of(lapsedId, -DEBIT_AT_OTHER_STORE)),
+            null,
+            "member-point-it-lapsed-debit-" + memberId));
+    pointBalanceVerifier.rebuild(memberId);
+    LocalDate today = LocalDate.now(ZoneId.of("Asia/Tokyo"));
+
+    pointExpirySweeper.sweep(today);
+
+    JsonNode content = get("/platform/me/points/entries").getBody().path("content");
+    // 失効させるのは期限切れロットの残りだけで、先に引き当てられた利用は履歴として残る。
+    assertThat(rowsOf(content).getFirst())
+        .isEqualTo(
+            List.of(
+                "EXPIRE", String.valueOf(-(CREDIT_WITH_EXPIRY + DEBIT_AT_OTHER_STORE)), "", ""));
+    assertThat(get("/platform/me/points/balance").getBody().path("balance").asLong())
+        .isEqualTo(CREDIT_PLAIN);
+    assertThat(pointBalanceVerifier.verify(memberId)).as("失効は射影へも反映されること").isEmpty();
+
+    pointExpirySweeper.sweep(today);
+
+    assertThat(get("/platform/me/points/entries").getBody().path("content"))
+        .as("閉じたロットは再実行の候補に上がらないこと")
+        .hasSize(content.size());
+  }
+
+  @Test
+  @DisplayName("消費し切ったロットは閉じた印が立ち、残りのあるロットは開いたまま残ること")
+  void drainedLotIsMarkedClosed() {
+    long drainedId = seedCredit(CREDIT_PLAIN);
+    long openId = seedCredit(CREDIT_WITH_EXPIRY, EXPIRY);
+    pointEntryRepository.save(
+        PointEntry.manualAdjust(
+            memberId,
+            STORE_A,
+            -CREDIT_PLAIN,
+            "使い切り",
+            null,
+            List.of(PointAllocation.of(drainedId, CREDIT_PLAIN)),
+            null,
+            "member-point-it-drain-" + memberId));
+    pointBalanceVerifier.rebuild(memberId);
+
+    assertThat(pointLotBalanceRepository.findByMemberId(memberId))
+        .extracting(PointLotBalance::getEntryId, PointLotBalance::getClosed)
+        .containsExactlyInAnyOrder(tuple(drainedId, true), tuple(openId, false));
+  }
+
   @Test
   @DisplayName("会員でない利用者は本人向けのポイント読み口へ到達できないこと")
   void refusesANonMemberPrincipal() {
@@ -199,7 +271,7 @@ class PlatformMemberPointIT extends CrossStoreTestSupport {
     assertThat(denied.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
   }
 
-  /** 本人の台帳へ 4 件の仕訳を積む。A 店の加算 2 件（うち 1 件は期限付き）、B 店の減算 1 件、発生店舗を持たない失効 1 件。 */
+  /** 本人の台帳へ 4 件の仕訳を積み、射影を揃える。A 店の加算 2 件（うち 1 件は期限付き）、B 店の減算 1 件、発生店舗を持たない失効 1 件。 */
   private void seedLedger() {
     seedCredit(CREDIT_WITH_EXPIRY, EXPIRY);
     long creditId = seedCredit(CREDIT_PLAIN);
@@ -215,6 +287,8 @@ class PlatformMemberPointIT extends CrossStoreTestSupport {
             "member-point-it-debit-" + memberId));
     pointEntryRepository.save(
         PointEntry.expire(memberId, EXPIRED, List.of(PointAllocation.of(creditId, EXPIRED))));
+    // 記帳の入口を通さずに積んだので、残高の読み口が引く射影を仕訳から作り直す。
+    pointBalanceVerifier.rebuild(memberId);
   }
 
   private long seedCredit(int amount) {
@@ -0,0 +1,167 @@
+package com.kizuna.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.member.domain.Member;
+import com.kizuna.member.domain.MemberRepository;
+import com.kizuna.point.application.PointBalanceVerifier;
+import com.kizuna.point.application.PointLedgerService;
+import com.kizuna.point.domain.InsufficientPointBalanceException;
+import com.kizuna.point.domain.PointEntryRepository;
+import com.kizuna.shared.CrossStoreTestSupport;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * 台帳の書き込みの直列化（会員 ID を鍵にした advisory lock）を本物の PostgreSQL で検証する統合テスト。
+ *
+ * <p>単体テストが固定できるのは「記帳の前にロックを呼ぶ」順序までで、そのロックが実際に同じ会員の書き込みだけを待たせることは DB の上でしか確かめられない。保持中の鍵は別の接続から
+ * {@code pg_try_advisory_xact_lock} で覗く（自動コミットの文なので、取れても文の終わりで放す）。
+ */
+class PointLedgerLockIT extends CrossStoreTestSupport {
+
+  private static final int CONTENDERS = 8;
+  private static final int CREDIT = 100;
+
+  @Autowired private MemberRepository memberRepository;
+  @Autowired private PointEntryRepository pointEntryRepository;
+  @Autowired private PointLedgerService pointLedgerService;
+  @Autowired private PointBalanceVerifier pointBalanceVerifier;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("台帳のロックはトランザクションの間だけ同じ会員の鍵を押さえ、他の会員の鍵は押さえないこと")
+  void ledgerLockIsHeldPerMemberUntilTheTransactionEnds() throws Exception {
+    long memberId = registerMember("held");
+    long otherMemberId = registerMember("other");
+    CountDownLatch held = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> holder =
+          pool.submit(
+              () ->
+                  new TransactionTemplate(transactionManager)
+                      .execute(
+                          status -> {
+                            pointEntryRepository.lockLedger(memberId);
+                            held.countDown();
+                            awaitQuietly(release);
+                            return null;
+                          }));
+      assertThat(held.await(10, TimeUnit.SECONDS)).as("前提: 保持側がロックを取れること").isTrue();
+
+      assertThat(tryLock(memberId)).as("保持中の会員の鍵は取れないこと").isFalse();
+      assertThat(tryLock(otherMemberId)).as("他の会員の鍵は待たずに取れること").isTrue();
+
+      release.countDown();
+      holder.get(10, TimeUnit.SECONDS);
+      assertThat(tryLock(memberId)).as("トランザクションの終わりで放されること").isTrue();
+    } finally {
+      release.countDown();
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("同じ会員への同時の減算は直列化され、残高を超えて引き当てないこと")
+  void concurrentDebitsNeverOverdrawTheLedger() throws Exception {
+    long memberId = registerMember("debit");
+    pointLedgerService.adjust(
+        memberId, STORE_A, CREDIT, "同時減算の元手", null, null, UUID.randomUUID().toString());
+
+    ExecutorService pool = Executors.newFixedThreadPool(CONTENDERS);
+    List<Future<Boolean>> results = new ArrayList<>();
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      for (int i = 0; i < CONTENDERS; i++) {
+        results.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  try {
+                    pointLedgerService.adjust(
+                        memberId,
+                        STORE_A,
+                        -CREDIT,
+                        "同時減算",
+                        null,
+                        null,
+                        UUID.randomUUID().toString());
+                    return true;
+                  } catch (InsufficientPointBalanceException e) {
+                    return false;
+                  }
+                }));
+      }
+      start.countDown();
+      int succeeded = 0;
+      for (Future<Boolean> result : results) {
+        if (result.get(30, TimeUnit.SECONDS)) {
+          succeeded++;
+        }
+      }
+      assertThat(succeeded).as("元手を引き当てられるのは 1 件だけ").isEqualTo(1);
+    } finally {
+      pool.shutdownNow();
+    }
+    assertThat(pointLedgerService.balance(memberId)).isZero();
+    assertThat(pointBalanceVerifier.verify(memberId)).as("射影が仕訳と一致すること").isEmpty();
+  }
+
+  private boolean tryLock(long memberId) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "select pg_try_advisory_xact_lock(?)", Boolean.class, memberId));
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(30, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** 会員を登録し、その会員 ID を返す。 */
+  private long registerMember(String prefix) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    ResponseEntity<JsonNode> registration =
+        rest.postForEntity(
+            "/platform/members",
+            new HttpEntity<>(
+                "{\"email\": \"ledger-lock-it-"
+                    + prefix
+                    + "-"
+                    + System.nanoTime()
+                    + "@kizuna.test\", \"password\": \"password1234\","
+                    + " \"display_name\": \"台帳ロック検証会員\"}",
+                headers),
+            JsonNode.class);
+    assertThat(registration.getStatusCode()).as("前提: 会員登録が成功すること").isEqualTo(HttpStatus.CREATED);
+    return memberRepository
+        .findByMemberCode(registration.getBody().path("member_code").asString())
+        .map(Member::getId)
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,26 @@
+package com.kizuna.shared;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * テスト本体から出した要求のそれぞれが、SQL 文を {@link #value()} 件以下で済ませることを固定する。
+ *
+ * <p>数えるのは {@link com.kizuna.shared.persistence.StatementBudgetFilter} が要求ごとに数えた Hibernate
+ * の文（JdbcTemplate から直に出した文は含まない）。{@code @BeforeEach} の要求（ログインや下ごしらえ）は数えないので、
+ * 予算を掛けたい呼び出しだけをテスト本体に置くこと。文の数は {@link StatementTallyListener} が集めるので、それを取り込んだ {@link
+ * CrossStoreTestSupport} を継ぐ IT で使う。
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(MaxQueriesExtension.class)
+public @interface MaxQueries {
+
+  /** 1 つの要求に許す文の数。 */
+  int value();
+}
@@ -0,0 +1,48 @@
+package com.kizuna.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.persistence.StatementBudgetFilter;
+import java.util.List;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * {@link MaxQueries} の検証。テスト本体の間だけ {@link StatementTallyListener} の集計を開き、終わったら要求ごとの文の数を予算と比べる。
+ *
+ * <p>応答が返る前に文は出し終わっている（{@code open-in-view} は無効で、事務は応答を書く前に閉じる）ので、テスト本体が終わった時点で数は確定している。
+ */
+final class MaxQueriesExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+  private static final ExtensionContext.Namespace NAMESPACE =
+      ExtensionContext.Namespace.create(MaxQueriesExtension.class);
+
+  @Override
+  public void beforeTestExecution(ExtensionContext context) {
+    StatementTallyListener listener =
+        SpringExtension.getApplicationContext(context).getBean(StatementTallyListener.class);
+    context.getStore(NAMESPACE).put(StatementTallyListener.Tally.class, listener.tally());
+  }
+
+  @Override
+  public void afterTestExecution(ExtensionContext context) {
+    int budget =
+        AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class)
+            .orElseThrow()
+            .value();
+    try (StatementTallyListener.Tally tally =
+        context
+            .getStore(NAMESPACE)
+            .remove(StatementTallyListener.Tally.class, StatementTallyListener.Tally.class)) {
+      List<StatementBudgetFilter.RequestStatements> requests = tally.requests();
+      assertThat(requests).as("@MaxQueries のテスト本体が要求を出していること").isNotEmpty();
+      assertThat(requests)
+          .as("要求ごとの SQL 文が %d 件以下であること", budget)
+          .allSatisfy(
+              request -> assertThat(request.count()).as("%s", request).isLessThanOrEqualTo(budget));
+    }
+  }
+}
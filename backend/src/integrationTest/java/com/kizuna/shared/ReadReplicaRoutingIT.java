@@ -0,0 +1,68 @@
+package com.kizuna.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.persistence.ReplicaLagMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 読み取り専用トランザクションがストリーミングレプリカへ届くことを固定する IT。
+ *
+ * <p>レプリカ付きのスタック（{@code task test-integration-replica}）でだけ走る。接続の行き先は、繋いだ先のサーバーが復旧中（{@code
+ * pg_is_in_recovery()}）かどうかで見分ける。
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "APP_READ_REPLICA_ENABLED", matches = "true")
+class ReadReplicaRoutingIT {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private ReplicaLagMonitor replicaLagMonitor;
+
+  @AfterEach
+  void resetRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("読み取り専用のトランザクションはレプリカへ、それ以外はプライマリへ向かうこと")
+  void routesByTransactionReadOnlyFlag() {
+    replicaLagMonitor.check();
+    assertThat(replicaLagMonitor.isUsable()).isTrue();
+
+    assertThat(inRecovery(true)).isTrue();
+    assertThat(inRecovery(false)).isFalse();
+  }
+
+  @Test
+  @DisplayName("同じ要求の中で書き込んだ後は、読み取り専用のトランザクションもプライマリを読むこと")
+  void readsYourWritesWithinARequest() {
+    replicaLagMonitor.check();
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    assertThat(inRecovery(true)).isTrue();
+
+    inRecovery(false);
+
+    assertThat(inRecovery(true)).isFalse();
+  }
+
+  private boolean inRecovery(boolean readOnly) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    transaction.setReadOnly(readOnly);
+    return Boolean.TRUE.equals(
+        transaction.execute(
+            status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+  }
+}
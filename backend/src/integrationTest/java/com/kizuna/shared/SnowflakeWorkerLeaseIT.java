@@ -0,0 +1,46 @@
+package com.kizuna.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.persistence.SnowflakeWorkerLease;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * workerId の貸与が実 DB で成り立つことを固定する IT。
+ *
+ * <p>貸与の判定（空きの選び方・寿命）は SQL 側にあり、単体テストはモックの JdbcTemplate までしか届かない。
+ */
+@SpringBootTest
+class SnowflakeWorkerLeaseIT {
+
+  @Autowired private SnowflakeWorkerLease lease;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("起動したノードが workerId を 1 つ借り、寿命が未来に付いていること")
+  void nodeHoldsLeasedWorkerId() {
+    assertThat(lease.workerId()).isBetween(0L, 1023L);
+
+    Boolean live =
+        jdbcTemplate.queryForObject(
+            "SELECT holder IS NOT NULL AND leased_until > now() FROM t_snowflake_workers"
+                + " WHERE worker_id = ?",
+            Boolean.class,
+            lease.workerId());
+    assertThat(live).isTrue();
+  }
+
+  @Test
+  @DisplayName("延長しても同じ workerId を持ち続けること")
+  void heartbeatKeepsWorkerId() {
+    long before = lease.workerId();
+
+    lease.heartbeat();
+
+    assertThat(lease.workerId()).isEqualTo(before);
+  }
+}
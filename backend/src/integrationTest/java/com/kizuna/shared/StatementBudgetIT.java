@@ -0,0 +1,78 @@
+package com.kizuna.shared;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.persistence.StatementBudgetFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * 要求ごとの SQL 文の数え上げ（{@link StatementBudgetFilter}）と、それを使う {@link MaxQueries} を本物の PostgreSQL で固定する
+ * IT。
+ *
+ * <p>題材は公開キャスト一覧。行ごとに問い合わせる実装に戻ると、キャストを足したときに文の数が増えて落ちる。
+ */
+class StatementBudgetIT extends CrossStoreTestSupport {
+
+  @Autowired private StatementTallyListener statementTallyListener;
+
+  private final long nonce = System.nanoTime();
+
+  @BeforeEach
+  void seedCasts() {
+    for (int i = 0; i < 3; i++) {
+      createCast("予算キャスト" + nonce + "-" + i);
+    }
+  }
+
+  @Test
+  @MaxQueries(10)
+  @DisplayName("公開キャスト一覧が要求の予算の中で返ること")
+  void publicCastListStaysWithinBudget() {
+    assertThat(listPublicCasts().getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  @DisplayName("公開キャスト一覧の文の数がキャストの数で増えないこと")
+  void publicCastListDoesNotQueryPerRow() {
+    int before = statementsOfPublicCastList();
+
+    createCast("予算キャスト" + nonce + "-追加1");
+    createCast("予算キャスト" + nonce + "-追加2");
+
+    assertThat(before).as("前提: 一覧が文を出していること").isPositive();
+    assertThat(statementsOfPublicCastList()).isEqualTo(before);
+  }
+
+  private int statementsOfPublicCastList() {
+    try (StatementTallyListener.Tally tally = statementTallyListener.tally()) {
+      assertThat(listPublicCasts().getStatusCode()).isEqualTo(HttpStatus.OK);
+      assertThat(tally.requests()).hasSize(1);
+      return tally.requests().get(0).count();
+    }
+  }
+
+  private ResponseEntity<JsonNode> listPublicCasts() {
+    return rest.exchange(
+        "/store/casts/public",
+        HttpMethod.GET,
+        new HttpEntity<>(storeHeaders(STORE_A)),
+        JsonNode.class);
+  }
+
+  private void createCast(String name) {
+    ResponseEntity<JsonNode> created =
+        rest.postForEntity(
+            "/store/casts",
+            new HttpEntity<>("{\"name\": \"" + name + "\"}", storeHeaders(STORE_A)),
+            JsonNode.class);
+    assertThat(created.getStatusCode().is2xxSuccessful()).as("前提: キャストの作成が成功すること").isTrue();
+  }
+}
@@ -0,0 +1,55 @@
+package com.kizuna.shared;
+
+import com.kizuna.shared.persistence.StatementBudgetFilter;
+import jakarta.servlet.ServletRequestAttributeEvent;
+import jakarta.servlet.ServletRequestAttributeListener;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * 要求ごとの SQL 文の数（{@link StatementBudgetFilter} が要求の属性に置く {@link
+ * StatementBudgetFilter.RequestStatements}）を、開いている集計へ集める。
+ *
+ * <p>servlet の listener なので、本物のサーバー（{@code RANDOM_PORT}）で受けた要求だけを聞く。{@link CrossStoreTestSupport} が
+ * bean として取り込み、{@link MaxQueries} と予算の IT が使う。
+ */
+public class StatementTallyListener implements ServletRequestAttributeListener {
+
+  private final Set<Tally> tallies = new CopyOnWriteArraySet<>();
+
+  @Override
+  public void attributeAdded(ServletRequestAttributeEvent event) {
+    if (event.getValue() instanceof StatementBudgetFilter.RequestStatements statements) {
+      for (Tally tally : tallies) {
+        tally.requests.add(statements);
+      }
+    }
+  }
+
+  /** これから始まる要求の文の数を集める。閉じるまで集め続ける。 */
+  public Tally tally() {
+    Tally tally = new Tally();
+    tallies.add(tally);
+    return tally;
+  }
+
+  /** 開いている間に始まった要求の文の数。 */
+  public final class Tally implements AutoCloseable {
+
+    private final List<StatementBudgetFilter.RequestStatements> requests =
+        new CopyOnWriteArrayList<>();
+
+    private Tally() {}
+
+    public List<StatementBudgetFilter.RequestStatements> requests() {
+      return List.copyOf(requests);
+    }
+
+    @Override
+    public void close() {
+      tallies.remove(this);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.kizuna.menu.application;
+
+import com.kizuna.menu.api.dto.MenuVO;
+import com.kizuna.menu.domain.Menu;
+import com.kizuna.user.domain.Authorities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * {@link MenuTreeAssembler#assemble} の権限フィルタと VO 変換。木の深さで伸び方を見る。
+ *
+ * <p>実運用のメニューは 2 階層だが、組み立ては子を再帰で辿るので深さを振っておく。各節の子は {@value #FAN_OUT} 個で、
+ * 偶数番の子に権限を付け、利用者はそのうち一部（menu-0・menu-2）だけを持つ。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuTreeAssemblerBenchmark {
+
+  private static final int FAN_OUT = 6;
+
+  @Param({"2", "3", "4"})
+  int menuDepth;
+
+  private List<Menu> roots;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    roots = level(1);
+    // 認証は ThreadLocal に載るため、計測するスレッド自身で設定する（Scope.Thread）
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new TestingAuthenticationToken(
+                "bench", null, Authorities.permission("menu-0"), Authorities.permission("menu-2")));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public List<MenuVO> assemble() {
+    return MenuTreeAssembler.assemble(roots);
+  }
+
+  private List<Menu> level(int depth) {
+    List<Menu> menus = new ArrayList<>(FAN_OUT);
+    for (int i = 0; i < FAN_OUT; i++) {
+      Menu menu = new Menu();
+      menu.setId(depth + "-" + i);
+      menu.setLabel("メニュー " + depth + "-" + i);
+      menu.setSortOrder(i);
+      menu.setPermission(i % 2 == 0 ? "menu-" + i : null);
+      if (depth < menuDepth) {
+        menu.setChildren(level(depth + 1));
+      } else {
+        menu.setPath("/menu/" + depth + "/" + i);
+      }
+      menus.add(menu);
+    }
+    return menus;
+  }
+}
@@ -0,0 +1,54 @@
+package com.kizuna.order.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 受注の明細差し替えと合計の取り直し（{@link Order#replaceStoreFeeLines}）。受注 1 件あたりの明細行数で伸び方を見る。
+ *
+ * <p>行は加算（オプション）と減算（割引）を交互に置き、行ごとの符号検証も計測に含める。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderFeeTotalBenchmark {
+
+  @Param({"1", "8", "64"})
+  int feeLinesPerOrder;
+
+  private Order order;
+  private List<OrderFeeLineDraft> drafts;
+
+  @Setup
+  public void setUp() {
+    order = Order.builder().build();
+    drafts = new ArrayList<>(feeLinesPerOrder);
+    for (int i = 0; i < feeLinesPerOrder; i++) {
+      drafts.add(
+          i % 2 == 0
+              ? new OrderFeeLineDraft(OrderFeeLineKind.OPTION, "オプション " + i, 1_000 + i)
+              : new OrderFeeLineDraft(OrderFeeLineKind.DISCOUNT, "割引 " + i, -(100 + i)));
+    }
+  }
+
+  @Benchmark
+  public Integer replaceAndTotal() {
+    order.replaceStoreFeeLines(drafts);
+    return order.getTotalFee();
+  }
+}
@@ -0,0 +1,65 @@
+package com.kizuna.point.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link PointLedger} の残高と消費計画。会員 1 人あたりのロット数で伸び方を見る。
+ *
+ * <p>ロットは期限切れ・期限内・期限なしを混ぜ、一部は引き当て済みにする（実運用の台帳と同じく、並べ替えと読み飛ばしの両方が走るように）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointLedgerBenchmark {
+
+  private static final LocalDate TODAY = LocalDate.of(2026, 4, 1);
+
+  @Param({"10", "100", "1000"})
+  int lotsPerMember;
+
+  private PointLedger ledger;
+  private int halfBalance;
+
+  @Setup
+  public void setUp() {
+    List<PointLot> lots = new ArrayList<>(lotsPerMember);
+    for (int i = 0; i < lotsPerMember; i++) {
+      LocalDate expiresOn =
+          switch (i % 4) {
+            case 0 -> TODAY.minusDays(1 + i % 30);
+            case 1 -> null;
+            default -> TODAY.plusDays(i % 365);
+          };
+      lots.add(new PointLot((long) (lotsPerMember - i), 100, expiresOn, i % 3 == 0 ? 40 : 0));
+    }
+    ledger = new PointLedger(lots, TODAY);
+    halfBalance = (int) Math.max(1, ledger.balance() / 2);
+  }
+
+  @Benchmark
+  public long balance() {
+    return ledger.balance();
+  }
+
+  @Benchmark
+  public List<PlannedAllocation> planConsumption() {
+    return ledger.planConsumption(halfBalance);
+  }
+}
@@ -0,0 +1,58 @@
+package com.kizuna.shared.persistence;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SnowflakeIdGenerator} の払い出し。挿入 1 行ごとに 1 回走る。
+ *
+ * <p>単独と 4 スレッドの奪い合いを、旧実装（{@link SynchronizedSnowflakeIdGenerator}）と並べる。1
+ * ミリ秒あたりの連番（4096）を使い切ると次のミリ秒まで待つので、どちらも 1 生成器あたり毎秒約 409
+ * 万件が上限で、平均時間にはその待ちも含まれる。差が出るのは待ち方（眠るか回るか）とモニタの奪い合い。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnowflakeIdGeneratorBenchmark {
+
+  private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1L);
+  private final SynchronizedSnowflakeIdGenerator synchronizedGenerator =
+      new SynchronizedSnowflakeIdGenerator(1L);
+
+  @Benchmark
+  @Threads(1)
+  public Serializable nextId() {
+    return generator.generate(null, null);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Serializable nextIdContended() {
+    return generator.generate(null, null);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long synchronizedNextId() {
+    return synchronizedGenerator.nextId();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public long synchronizedNextIdContended() {
+    return synchronizedGenerator.nextId();
+  }
+}
@@ -0,0 +1,54 @@
+package com.kizuna.shared.persistence;
+
+import java.time.Instant;
+
+/** 比較用に残した旧実装（モニタで直列化し、連番切れは 1 ミリ秒ずつ眠って待つ）。{@link SnowflakeIdGeneratorBenchmark} の対照としてのみ使う。 */
+class SynchronizedSnowflakeIdGenerator {
+
+  private static final long EPOCH = 1577836800000L;
+  private static final long WORKER_ID_BITS = 10L;
+  private static final long SEQUENCE_BITS = 12L;
+  private static final long SEQUENCE_MASK = ~(-1L << SEQUENCE_BITS);
+
+  private final long workerId;
+  private long lastTimestamp = -1L;
+  private long sequence = 0L;
+
+  SynchronizedSnowflakeIdGenerator(long workerId) {
+    this.workerId = workerId;
+  }
+
+  synchronized long nextId() {
+    long timestamp = Instant.now().toEpochMilli();
+    if (timestamp < lastTimestamp) {
+      timestamp = waitUntil(lastTimestamp);
+    }
+    if (timestamp == lastTimestamp) {
+      sequence = (sequence + 1) & SEQUENCE_MASK;
+      if (sequence == 0) {
+        timestamp = waitUntil(lastTimestamp + 1);
+      }
+    } else {
+      sequence = 0L;
+    }
+    lastTimestamp = timestamp;
+
+    long shiftedTimestamp = (timestamp - EPOCH) << (WORKER_ID_BITS + SEQUENCE_BITS);
+    long shiftedWorkerId = (workerId << SEQUENCE_BITS);
+    return shiftedTimestamp | shiftedWorkerId | sequence;
+  }
+
+  private long waitUntil(long ts) {
+    long now = Instant.now().toEpochMilli();
+    while (now < ts) {
+      try {
+        Thread.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      now = Instant.now().toEpochMilli();
+    }
+    return now;
+  }
+}
@@ -0,0 +1,43 @@
+package com.kizuna.shared.web;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@link PageCursor} の往復。一覧の続きを要求するたびに 1 回ずつ走る。鍵は受付時刻、副キーは snowflake の id。 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageCursorBenchmark {
+
+  private final PageCursor cursor =
+      new PageCursor("2026-04-01T21:30:15.123456+09:00", "268435456123456789");
+  private final String encoded = cursor.encode();
+
+  @Benchmark
+  public String encode() {
+    return cursor.encode();
+  }
+
+  @Benchmark
+  public PageCursor decode() {
+    return PageCursor.decode(encoded);
+  }
+
+  /** 一覧の問い合わせが実際に使う形（時刻の鍵と数値の id）まで解く。 */
+  @Benchmark
+  public Object decodeTyped() {
+    PageCursor decoded = PageCursor.decode(encoded);
+    return decoded.timestampKey().hashCode() + decoded.longId();
+  }
+}
@@ -0,0 +1,29 @@
+package com.kizuna.loadtest;
+
+/** 負荷をかける店舗向け端点。名前は {@code LOADTEST_MIX} と結果表で使う。 */
+enum Endpoint {
+  WORK_QUEUE("work-queue"),
+  COMPLETION_PREVIEW("completion-preview"),
+  COMPLETION("completion"),
+  CUSTOMER_SEARCH("customer-search"),
+  ORDER_SEARCH("order-search");
+
+  private final String label;
+
+  Endpoint(String label) {
+    this.label = label;
+  }
+
+  String label() {
+    return label;
+  }
+
+  static Endpoint of(String label) {
+    for (Endpoint endpoint : values()) {
+      if (endpoint.label.equals(label)) {
+        return endpoint;
+      }
+    }
+    throw new IllegalArgumentException("未知の端点です: " + label);
+  }
+}
@@ -0,0 +1,43 @@
+package com.kizuna.loadtest;
+
+import java.util.Arrays;
+
+/** 端点 1 つの応答時間の記録。計測の終わりに並べ替えて百分位を読む（数十万件までなら全件保持で足りる）。 */
+final class LatencyRecorder {
+
+  private long[] nanos = new long[1024];
+  private int count;
+  private int errors;
+
+  synchronized void record(long elapsedNanos, boolean succeeded) {
+    if (count == nanos.length) {
+      nanos = Arrays.copyOf(nanos, count * 2);
+    }
+    nanos[count++] = elapsedNanos;
+    if (!succeeded) {
+      errors++;
+    }
+  }
+
+  synchronized Summary summarize() {
+    long[] sorted = Arrays.copyOf(nanos, count);
+    Arrays.sort(sorted);
+    return new Summary(
+        count,
+        errors,
+        percentile(sorted, 0.50),
+        percentile(sorted, 0.95),
+        percentile(sorted, 0.99));
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return Double.NaN;
+    }
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, index)] / 1_000_000.0;
+  }
+
+  /** 件数・失敗数と百分位（ミリ秒）。 */
+  record Summary(int count, int errors, double p50Millis, double p95Millis, double p99Millis) {}
+}
@@ -0,0 +1,87 @@
+package com.kizuna.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 負荷試験の条件。すべて環境変数で与え、未指定なら既定値を使う（compose の環境変数からそのまま渡せるように）。
+ *
+ * @param warmup 計測前の慣らし（JIT・接続プール・キャッシュを温める。結果には数えない）
+ * @param duration 計測の長さ
+ * @param concurrency 同時に要求を出し続ける利用者の数（閉ループ: 応答を受けてから次を出す）
+ * @param mix 端点ごとの重み（{@code LOADTEST_MIX=work-queue:70,completion-preview:20,completion:10}）
+ * @param calibrationRequests 照会数の較正で端点ごとに逐次に送る要求数
+ * @param threads 要求を受けるスレッドの種類（{@code
+ *     LOADTEST_THREADS=platform,virtual}）。複数なら並べた順にアプリを起動し直して同じ負荷を掛ける
+ * @param logFormat ログの書式（{@code LOG_FORMAT}。log4j2.xml が環境変数から直に読むので、ここでは結果の見出しに使うだけ）
+ * @param showSql 全文を標準出力へ書く {@code spring.jpa.show-sql}（{@code
+ *     SPRING_JPA_SHOW_SQL}。既定の無効のまま、ログの負担を測るときだけ有効にする）
+ */
+record LoadTestSettings(
+    Duration warmup,
+    Duration duration,
+    int concurrency,
+    Map<Endpoint, Integer> mix,
+    int calibrationRequests,
+    List<RequestThreads> threads,
+    String logFormat,
+    boolean showSql) {
+
+  static LoadTestSettings fromEnvironment() {
+    return new LoadTestSettings(
+        Duration.ofSeconds(intEnv("LOADTEST_WARMUP_SECONDS", 15)),
+        Duration.ofSeconds(intEnv("LOADTEST_DURATION_SECONDS", 60)),
+        intEnv("LOADTEST_CONCURRENCY", 16),
+        parseMix(env("LOADTEST_MIX", "work-queue:70,completion-preview:20,completion:10")),
+        intEnv("LOADTEST_CALIBRATION_REQUESTS", 20),
+        RequestThreads.parse(env("LOADTEST_THREADS", "platform")),
+        env("LOG_FORMAT", "text"),
+        Boolean.parseBoolean(env("SPRING_JPA_SHOW_SQL", "false")));
+  }
+
+  /** 重みの総和。 */
+  int totalWeight() {
+    return mix.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  /** {@code 0 <= roll < totalWeight()} を重みに従って端点へ写す。 */
+  Endpoint pick(int roll) {
+    int rest = roll;
+    for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+      rest -= entry.getValue();
+      if (rest < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalArgumentException("重みの範囲外です: " + roll);
+  }
+
+  private static Map<Endpoint, Integer> parseMix(String raw) {
+    Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+    for (String part : raw.split(",")) {
+      String[] pair = part.trim().split(":");
+      if (pair.length != 2) {
+        throw new IllegalArgumentException("LOADTEST_MIX は 端点:重み をカンマで並べてください: " + raw);
+      }
+      int weight = Integer.parseInt(pair[1].trim());
+      if (weight > 0) {
+        mix.put(Endpoint.of(pair[0].trim()), weight);
+      }
+    }
+    if (mix.isEmpty()) {
+      throw new IllegalArgumentException("LOADTEST_MIX に重みが 1 以上の端点がありません: " + raw);
+    }
+    return mix;
+  }
+
+  static int intEnv(String name, int fallback) {
+    return Integer.parseInt(env(name, String.valueOf(fallback)));
+  }
+
+  private static String env(String name, String fallback) {
+    String value = System.getenv(name);
+    return value == null || value.isBlank() ? fallback : value;
+  }
+}
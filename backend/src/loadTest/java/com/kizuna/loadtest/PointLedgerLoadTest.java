@@ -0,0 +1,172 @@
+package com.kizuna.loadtest;
+
+import com.kizuna.Application;
+import com.kizuna.member.domain.Member;
+import com.kizuna.member.domain.MemberRepository;
+import com.kizuna.point.application.PointLedgerService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 長く在籍した会員（重い台帳）への完了の処理量を測る負荷試験（{@code gradle pointLedgerLoadTest}）。
+ *
+ * <p>台帳の書き込みは会員ごとに直列化されるので、同じ会員へ完了が集中したときの処理量は 1 回の記帳がロックを保持する時間で決まる。
+ * ここではその直列化点だけを切り出し、少数の会員へ同時に「ポイント利用 + 付与」の 1 トランザクション（完了が台帳へ積むものと同じ形）を 積み続けて、1
+ * 秒あたりの完了数と遅延の百分位を出す。受注側の処理は {@link StoreOrderLoadTest} が測るので含めない。
+ *
+ * <p>会員は試験の開始時に登録し、{@code LOADTEST_LEDGER_HISTORY_LOTS} 件の加算を積んでから使い切らせ、閉じたロットの履歴を持たせる。残りのあるロットは
+ * {@code LOADTEST_LEDGER_OPEN_LOTS} 件。履歴の長さを変えても処理量が変わらないこと（ロックも読みも残りのあるロットだけに比例すること）を、
+ * 同じ環境で履歴だけを変えた 2 回の結果で比べる。接続先は使い捨ての DB にすること。
+ */
+public final class PointLedgerLoadTest {
+
+  private static final Logger log = LogManager.getLogger(PointLedgerLoadTest.class);
+  private static final JsonMapper JSON = JsonMapper.builder().build();
+
+  /** 記帳の発生店舗（demo シードの店舗 1）。 */
+  private static final long STORE_ID = 1L;
+
+  private static final int LOT = 100;
+  private static final int USE = 10;
+
+  private PointLedgerLoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadTestSettings settings = LoadTestSettings.fromEnvironment();
+    int members = LoadTestSettings.intEnv("LOADTEST_LEDGER_MEMBERS", 4);
+    int historyLots = LoadTestSettings.intEnv("LOADTEST_LEDGER_HISTORY_LOTS", 2000);
+    int openLots = LoadTestSettings.intEnv("LOADTEST_LEDGER_OPEN_LOTS", 20);
+    try (ConfigurableApplicationContext app =
+        new SpringApplicationBuilder(Application.class)
+            .properties("server.port=0", "spring.jpa.show-sql=false")
+            .run(args)) {
+      String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+      PointLedgerService ledger = app.getBean(PointLedgerService.class);
+      TransactionTemplate transaction =
+          new TransactionTemplate(app.getBean(PlatformTransactionManager.class));
+
+      List<Long> memberIds = new ArrayList<>();
+      for (int i = 0; i < members; i++) {
+        long memberId = registerMember(baseUrl, app.getBean(MemberRepository.class));
+        seedHistory(ledger, memberId, historyLots, openLots);
+        memberIds.add(memberId);
+      }
+      log.info("会員 {} 人（閉じたロット {} 件・残りのあるロット {} 件ずつ）", members, historyLots, openLots);
+
+      log.info("慣らし {} 秒（同時 {}）", settings.warmup().toSeconds(), settings.concurrency());
+      run(settings.concurrency(), settings.warmup(), ledger, transaction, memberIds, null);
+      LatencyRecorder recorder = new LatencyRecorder();
+      log.info("計測 {} 秒（同時 {}）", settings.duration().toSeconds(), settings.concurrency());
+      run(settings.concurrency(), settings.duration(), ledger, transaction, memberIds, recorder);
+
+      LatencyRecorder.Summary summary = recorder.summarize();
+      log.info(
+          "重い台帳への完了: {} 件 {} 件/秒 失敗 {} 件 p50 {} ms p95 {} ms p99 {} ms",
+          summary.count(),
+          "%.1f".formatted(summary.count() / (double) settings.duration().toSeconds()),
+          summary.errors(),
+          "%.2f".formatted(summary.p50Millis()),
+          "%.2f".formatted(summary.p95Millis()),
+          "%.2f".formatted(summary.p99Millis()));
+    }
+  }
+
+  /** 加算を {@code historyLots + openLots} 件積み、先に積んだ {@code historyLots} 件を 1 回の減算で使い切る。 */
+  private static void seedHistory(
+      PointLedgerService ledger, long memberId, int historyLots, int openLots) {
+    for (int i = 0; i < historyLots + openLots; i++) {
+      ledger.adjust(memberId, STORE_ID, LOT, "負荷試験の履歴", null, null, key());
+    }
+    if (historyLots > 0) {
+      ledger.adjust(memberId, STORE_ID, -LOT * historyLots, "負荷試験の履歴", null, null, key());
+    }
+  }
+
+  /** 閉ループの利用者を {@code concurrency} 人走らせる。各人は会員を無作為に選び、完了 1 件分の記帳を積む。 */
+  private static void run(
+      int concurrency,
+      Duration length,
+      PointLedgerService ledger,
+      TransactionTemplate transaction,
+      List<Long> memberIds,
+      LatencyRecorder recorder)
+      throws InterruptedException {
+    AtomicBoolean running = new AtomicBoolean(true);
+    try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < concurrency; i++) {
+        users.submit(
+            () -> {
+              while (running.get()) {
+                long memberId =
+                    memberIds.get(ThreadLocalRandom.current().nextInt(memberIds.size()));
+                long started = System.nanoTime();
+                boolean succeeded;
+                try {
+                  // 利用で古いロットを引き当て、付与で新しいロットを足す。残りのあるロットの数はほぼ一定に保たれる。
+                  transaction.executeWithoutResult(
+                      status -> {
+                        ledger.adjust(memberId, STORE_ID, -USE, "負荷試験の利用", null, null, key());
+                        ledger.adjust(memberId, STORE_ID, USE, "負荷試験の付与", null, null, key());
+                      });
+                  succeeded = true;
+                } catch (RuntimeException e) {
+                  succeeded = false;
+                }
+                if (recorder != null) {
+                  recorder.record(System.nanoTime() - started, succeeded);
+                }
+              }
+              return null;
+            });
+      }
+      Thread.sleep(length.toMillis());
+      running.set(false);
+    }
+  }
+
+  /** 会員を登録し、その会員 ID を返す。 */
+  private static long registerMember(String baseUrl, MemberRepository memberRepository)
+      throws Exception {
+    String body =
+        JSON.writeValueAsString(
+            Map.of(
+                "email", "ledger-load-" + UUID.randomUUID() + "@kizuna.test",
+                "password", "password1234",
+                "display_name", "負荷試験会員"));
+    HttpResponse<String> response =
+        HttpClient.newHttpClient()
+            .send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/platform/members"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 201) {
+      throw new IllegalStateException("会員登録に失敗しました（%d）".formatted(response.statusCode()));
+    }
+    String memberCode = JSON.readTree(response.body()).path("member_code").asString();
+    return memberRepository.findByMemberCode(memberCode).map(Member::getId).orElseThrow();
+  }
+
+  private static String key() {
+    return UUID.randomUUID().toString();
+  }
+}
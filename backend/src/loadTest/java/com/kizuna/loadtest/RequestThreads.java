@@ -0,0 +1,45 @@
+package com.kizuna.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 要求を受けるスレッドの種類。名前は {@code LOADTEST_THREADS} と結果の見出しで使う。 */
+enum RequestThreads {
+  PLATFORM("platform", false),
+  VIRTUAL("virtual", true);
+
+  private final String label;
+  private final boolean virtual;
+
+  RequestThreads(String label, boolean virtual) {
+    this.label = label;
+    this.virtual = virtual;
+  }
+
+  String label() {
+    return label;
+  }
+
+  /** アプリの起動に渡す設定。接続プールの大きさには触れない（application.yml の値のまま比べる）。 */
+  String property() {
+    return "spring.threads.virtual.enabled=" + virtual;
+  }
+
+  /** {@code platform,virtual} のようにカンマで並べた種類を、並べた順に読む。 */
+  static List<RequestThreads> parse(String raw) {
+    List<RequestThreads> threads = new ArrayList<>();
+    for (String part : raw.split(",")) {
+      threads.add(of(part.trim()));
+    }
+    return threads;
+  }
+
+  private static RequestThreads of(String label) {
+    for (RequestThreads threads : values()) {
+      if (threads.label.equals(label)) {
+        return threads;
+      }
+    }
+    throw new IllegalArgumentException("LOADTEST_THREADS は platform / virtual です: " + label);
+  }
+}
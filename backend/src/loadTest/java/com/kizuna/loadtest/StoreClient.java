@@ -0,0 +1,140 @@
+package com.kizuna.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 店舗向け端点を叩く HTTP クライアント。本番と同じく、認証は JWT、店舗文脈は {@code X-Store-ID} ヘッダで渡す。
+ *
+ * <p>各呼び出しは応答が成功（2xx）だったかだけを返し、失敗の内容は読まない — 負荷試験で見るのは失敗率で、原因は同じ要求を単発で再現して調べる。
+ */
+final class StoreClient {
+
+  private static final JsonMapper JSON = JsonMapper.builder().build();
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private final HttpClient http;
+  private final String baseUrl;
+  private final String token;
+  private final long storeId;
+
+  private StoreClient(HttpClient http, String baseUrl, String token, long storeId) {
+    this.http = http;
+    this.baseUrl = baseUrl;
+    this.token = token;
+    this.storeId = storeId;
+  }
+
+  /** プラットフォームのログインで JWT を取り、店舗 {@code storeId} の文脈で要求するクライアントを作る。 */
+  static StoreClient login(
+      HttpClient http, String baseUrl, String email, String password, long storeId)
+      throws IOException, InterruptedException {
+    String body = JSON.writeValueAsString(Map.of("email", email, "password", password));
+    HttpResponse<String> response =
+        http.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/platform/login"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(
+          "ログインに失敗しました（%d）: %s".formatted(response.statusCode(), email));
+    }
+    String token = JSON.readTree(response.body()).path("token").asString();
+    return new StoreClient(http, baseUrl, token, storeId);
+  }
+
+  long storeId() {
+    return storeId;
+  }
+
+  /** 確定済みの作業キューを 1 頁読む。結果には続きのカーソルを添える（続きが無い・失敗したなら null）。 */
+  Result workQueue(String cursor) throws IOException, InterruptedException {
+    String query =
+        "statuses=CONFIRMED&size=20"
+            + (cursor == null
+                ? ""
+                : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+    HttpResponse<String> response = send(get("/store/orders/work-queue?" + query));
+    String next = null;
+    if (succeeded(response)) {
+      JsonNode nextCursor = JSON.readTree(response.body()).path("next_cursor");
+      next = nextCursor.isString() ? nextCursor.asString() : null;
+    }
+    return new Result(succeeded(response), next);
+  }
+
+  /** 台帳を検索語の部分一致で 1 頁引く（名前・電話番号・LINE ID のいずれか）。 */
+  Result customerSearch(String term) throws IOException, InterruptedException {
+    HttpResponse<String> response =
+        send(
+            get(
+                "/store/customers?size=20&search="
+                    + URLEncoder.encode(term, StandardCharsets.UTF_8)));
+    return new Result(succeeded(response), null);
+  }
+
+  /** 確定済みの作業キューをお客様名の部分一致で絞って 1 頁読む。 */
+  Result orderSearch(String term) throws IOException, InterruptedException {
+    HttpResponse<String> response =
+        send(
+            get(
+                "/store/orders/work-queue?statuses=CONFIRMED&size=20&customer_name="
+                    + URLEncoder.encode(term, StandardCharsets.UTF_8)));
+    return new Result(succeeded(response), null);
+  }
+
+  Result completionPreview(String orderId, int totalFee) throws IOException, InterruptedException {
+    HttpResponse<String> response =
+        send(get("/store/orders/" + orderId + "/completion-preview?total_fee=" + totalFee));
+    return new Result(succeeded(response), null);
+  }
+
+  /** 基本コース 1 行の内訳で完了する（ポイント利用なし）。 */
+  Result complete(String orderId, int totalFee) throws IOException, InterruptedException {
+    String body =
+        "{\"fee_lines\":[{\"kind\":\"BASE_COURSE\",\"name\":\"負荷試験\",\"amount\":%d}]}"
+            .formatted(totalFee);
+    HttpResponse<String> response =
+        send(
+            request("/store/orders/" + orderId + "/completion")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    return new Result(succeeded(response), null);
+  }
+
+  private HttpRequest get(String path) {
+    return request(path).GET().build();
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(TIMEOUT)
+        .header("Authorization", "Bearer " + token)
+        .header("X-Role", "store")
+        .header("X-Store-ID", String.valueOf(storeId));
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+    return http.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private static boolean succeeded(HttpResponse<?> response) {
+    return response.statusCode() / 100 == 2;
+  }
+
+  /** 要求の成否と、作業キューなら続きのカーソル。 */
+  record Result(boolean succeeded, String nextCursor) {}
+}
@@ -0,0 +1,286 @@
+package com.kizuna.loadtest;
+
+import com.kizuna.Application;
+import jakarta.persistence.EntityManagerFactory;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 店舗の受注作業キューと完了処理の負荷試験（{@code gradle loadTest}）。
+ *
+ * <p>アプリケーションを同じ JVM で起動し、ローカルの HTTP 越しに作業キュー・完了の事前計算・完了を重み付きで混ぜて叩く。データは Liquibase の {@code
+ * demo,loadtest} コンテキスト（seed/06-load-test.yaml）が店舗ごとに積んだ受注を使うので、接続先は使い捨ての DB
+ * にすること（完了で受注と台帳が書き換わる）。compose の {@code load-test} サービスがその構成。
+ *
+ * <p>報告するのは端点ごとの処理量・p50/p95/p99・失敗数と、要求 1 件あたりの DB 照会数。照会数は混ぜた負荷の中では端点へ
+ * 割り振れないため、本計測の前に端点ごとに逐次の較正を走らせ、Hibernate が準備した文の数の差分を要求数で割る（JdbcTemplate 経由のイベント公開表への書き込みは数えない）。同じ
+ * JVM に負荷の送り手が同居するぶん絶対値は本番より悪く出るので、比べるのは同じ環境で取った前回の結果とする。
+ *
+ * <p>台帳検索・お客様名検索（{@code customer-search} / {@code order-search}）は既定の重みに入れていない。検索の計測は {@code
+ * LOADTEST_CUSTOMERS_PER_STORE}（seed/06-load-test.yaml の顧客の嵩増し）で台帳を積んだうえで重みに入れて走らせる。検索語は
+ * 嵩増しの連番の部分列（3〜5 桁の数字）で、名前と電話番号の両方に散って当たる。
+ *
+ * <p>{@code LOADTEST_THREADS=platform,virtual} を与えると、要求をプラットフォームスレッドで受けるアプリと仮想スレッドで受けるアプリを
+ * 順に起動し直して同じ負荷を掛け、処理量を並べて出す。接続プールの大きさは application.yml のまま動かさないので、差は要求を受けるスレッドの
+ * 違いだけから出る。同時数はプールより十分大きく取ること（{@code threading-load-test} の既定は 64）。
+ *
+ * <p>ログの負担は、書式（{@code LOG_FORMAT}）と {@code SPRING_JPA_SHOW_SQL} だけを変えた 2 回の処理量を比べて測る（{@code
+ * logging-load-test}）。書式は log4j2.xml が起動時に環境変数から決めるので、同じ JVM の中では切り替えられない。
+ */
+public final class StoreOrderLoadTest {
+
+  private static final Logger log = LogManager.getLogger(StoreOrderLoadTest.class);
+
+  /** demo シードの店長（店舗 1・2 に授権）。 */
+  private static final String EMAIL = "tanaka.hanako@kizuna.test";
+
+  private static final String PASSWORD = "pass";
+  private static final long[] STORES = {1L, 2L};
+
+  /** 作業キューで続きの頁へ進む確率。先頭頁だけを見る利用が多く、一部が奥へ辿る。 */
+  private static final double FOLLOW_CURSOR = 0.3;
+
+  private StoreOrderLoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadTestSettings settings = LoadTestSettings.fromEnvironment();
+    Map<RequestThreads, Double> throughput = new EnumMap<>(RequestThreads.class);
+    for (RequestThreads threads : settings.threads()) {
+      throughput.put(threads, runWith(threads, settings, args));
+    }
+    if (throughput.size() > 1) {
+      log.info("要求を受けるスレッドごとの処理量（req/s、接続プールは application.yml のまま）: {}", throughput);
+    }
+  }
+
+  /** {@code threads} で要求を受けるアプリを起動して負荷を掛け、計測区間の全端点の処理量（req/s）を返す。 */
+  private static double runWith(RequestThreads threads, LoadTestSettings settings, String[] args)
+      throws Exception {
+    try (ConfigurableApplicationContext app =
+        new SpringApplicationBuilder(Application.class)
+            .properties(
+                "server.port=0",
+                "spring.jpa.show-sql=" + settings.showSql(),
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                threads.property())
+            .run(args)) {
+      String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+      Statistics statistics =
+          app.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+      HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+      List<Store> stores = new ArrayList<>();
+      for (long storeId : STORES) {
+        stores.add(
+            new Store(
+                StoreClient.login(http, baseUrl, EMAIL, PASSWORD, storeId),
+                confirmedOrders(app.getBean(JdbcTemplate.class), storeId)));
+      }
+
+      Map<Endpoint, Double> queriesPerRequest = calibrate(settings, stores, statistics);
+      log.info(
+          "慣らし {} 秒（同時 {}、{} スレッド）",
+          settings.warmup().toSeconds(),
+          settings.concurrency(),
+          threads.label());
+      run(settings, stores, settings.warmup(), new EnumMap<>(Endpoint.class));
+      Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+      settings.mix().keySet().forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder()));
+      log.info(
+          "計測 {} 秒（同時 {}、重み {}、{} スレッド）",
+          settings.duration().toSeconds(),
+          settings.concurrency(),
+          settings.mix(),
+          threads.label());
+      run(settings, stores, settings.duration(), recorders);
+      return report(threads, settings, recorders, queriesPerRequest);
+    }
+  }
+
+  /** 完了できる受注（確定・負荷試験の帯の id）。完了が消費するので、試験の長さに対して足りなければ完了の要求は事前計算へ振り替わる。 */
+  private static ConcurrentLinkedQueue<String> confirmedOrders(JdbcTemplate jdbc, long storeId) {
+    List<String> ids =
+        jdbc.queryForList(
+            "select id from t_orders where store_id = ? and status = 'CONFIRMED'"
+                + " and id like '8%' and length(id) = 19 order by id",
+            String.class, storeId);
+    if (ids.isEmpty()) {
+      throw new IllegalStateException(
+          "店舗 %d に負荷試験の受注がありません。LIQUIBASE_CONTEXTS=demo,loadtest で作り直した DB に接続してください"
+              .formatted(storeId));
+    }
+    log.info("店舗 {}: 完了できる受注 {} 件", storeId, ids.size());
+    return new ConcurrentLinkedQueue<>(ids);
+  }
+
+  /** 端点ごとに逐次に叩き、要求 1 件あたりに Hibernate が準備した文の数を測る。 */
+  private static Map<Endpoint, Double> calibrate(
+      LoadTestSettings settings, List<Store> stores, Statistics statistics) throws Exception {
+    Map<Endpoint, Double> queries = new EnumMap<>(Endpoint.class);
+    Worker worker = new Worker(stores);
+    for (Endpoint endpoint : settings.mix().keySet()) {
+      long before = statistics.getPrepareStatementCount();
+      for (int i = 0; i < settings.calibrationRequests(); i++) {
+        worker.call(endpoint);
+      }
+      // 完了に続く非同期の後続処理（イベントの受け手）が走り終えるのを少し待つ
+      Thread.sleep(1_000);
+      queries.put(
+          endpoint,
+          (statistics.getPrepareStatementCount() - before)
+              / (double) settings.calibrationRequests());
+    }
+    return queries;
+  }
+
+  /** 閉ループの利用者を {@code concurrency} 人走らせる。各人は応答を受けてから次の要求を重みに従って選ぶ。 */
+  private static void run(
+      LoadTestSettings settings,
+      List<Store> stores,
+      Duration length,
+      Map<Endpoint, LatencyRecorder> recorders)
+      throws InterruptedException {
+    AtomicBoolean running = new AtomicBoolean(true);
+    try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < settings.concurrency(); i++) {
+        users.submit(
+            () -> {
+              Worker worker = new Worker(stores);
+              while (running.get()) {
+                Endpoint endpoint =
+                    settings.pick(ThreadLocalRandom.current().nextInt(settings.totalWeight()));
+                long started = System.nanoTime();
+                boolean succeeded;
+                try {
+                  succeeded = worker.call(endpoint);
+                } catch (Exception e) {
+                  succeeded = false;
+                }
+                LatencyRecorder recorder = recorders.get(endpoint);
+                if (recorder != null) {
+                  recorder.record(System.nanoTime() - started, succeeded);
+                }
+              }
+              return null;
+            });
+      }
+      Thread.sleep(length.toMillis());
+      running.set(false);
+    }
+  }
+
+  /** 端点ごとの結果表を出し、全端点の処理量（req/s）を返す。 */
+  private static double report(
+      RequestThreads threads,
+      LoadTestSettings settings,
+      Map<Endpoint, LatencyRecorder> recorders,
+      Map<Endpoint, Double> queriesPerRequest) {
+    Duration length = settings.duration();
+    StringBuilder table = new StringBuilder();
+    table.append(
+        "%n%-20s %9s %9s %7s %9s %9s %9s %9s%n"
+            .formatted(
+                "endpoint",
+                "requests",
+                "req/s",
+                "errors",
+                "p50 ms",
+                "p95 ms",
+                "p99 ms",
+                "queries"));
+    int total = 0;
+    for (Map.Entry<Endpoint, LatencyRecorder> entry : recorders.entrySet()) {
+      LatencyRecorder.Summary summary = entry.getValue().summarize();
+      total += summary.count();
+      table.append(
+          "%-20s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n"
+              .formatted(
+                  entry.getKey().label(),
+                  summary.count(),
+                  summary.count() / (double) length.toSeconds(),
+                  summary.errors(),
+                  summary.p50Millis(),
+                  summary.p95Millis(),
+                  summary.p99Millis(),
+                  queriesPerRequest.getOrDefault(entry.getKey(), Double.NaN)));
+    }
+    table.append(
+        "%-20s %9d %9.1f%n".formatted("total", total, total / (double) length.toSeconds()));
+    log.info(
+        "負荷試験の結果（{} スレッド、ログ {}、show-sql {}）:{}",
+        threads.label(),
+        settings.logFormat(),
+        settings.showSql(),
+        table);
+    return total / (double) length.toSeconds();
+  }
+
+  /** 店舗 1 つ分の送り先と、完了に使う受注の残り。 */
+  private record Store(StoreClient client, ConcurrentLinkedQueue<String> confirmed) {}
+
+  /** 利用者 1 人。作業キューの続きの位置を持ち回る。 */
+  private static final class Worker {
+
+    private static final int TOTAL_FEE = 12_000;
+
+    private final List<Store> stores;
+    private final Map<Long, String> cursors = new HashMap<>();
+
+    Worker(List<Store> stores) {
+      this.stores = stores;
+    }
+
+    boolean call(Endpoint endpoint) throws Exception {
+      Store store = stores.get(ThreadLocalRandom.current().nextInt(stores.size()));
+      StoreClient client = store.client();
+      return switch (endpoint) {
+        case WORK_QUEUE -> {
+          StoreClient.Result result = client.workQueue(cursors.get(client.storeId()));
+          boolean follow = ThreadLocalRandom.current().nextDouble() < FOLLOW_CURSOR;
+          cursors.put(client.storeId(), follow ? result.nextCursor() : null);
+          yield result.succeeded();
+        }
+        case COMPLETION_PREVIEW -> client.completionPreview(anyOrder(store), TOTAL_FEE).succeeded();
+        case CUSTOMER_SEARCH -> client.customerSearch(searchTerm()).succeeded();
+        case ORDER_SEARCH -> client.orderSearch(searchTerm()).succeeded();
+        case COMPLETION -> {
+          String orderId = store.confirmed().poll();
+          yield orderId == null
+              ? client.completionPreview(anyOrder(store), TOTAL_FEE).succeeded()
+              : client.complete(orderId, TOTAL_FEE).succeeded();
+        }
+      };
+    }
+
+    /** 嵩増しの連番の部分列。2 文字以下の語は trigram を作れず索引の計測にならないため、3 桁以上にする。 */
+    private static String searchTerm() {
+      return String.valueOf(ThreadLocalRandom.current().nextInt(100, 100_000));
+    }
+
+    /** 事前計算の対象。完了済みになった受注でも事前計算は通る（付与見込みの計算は状態を見ない）ため、残りの先頭を使う。 */
+    private static String anyOrder(Store store) {
+      String head = store.confirmed().peek();
+      if (head == null) {
+        throw new IllegalStateException("完了できる受注を使い切りました。LOADTEST_ORDERS_PER_STORE を増やしてください");
+      }
+      return head;
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.kizuna.auth.infrastructure;
+
+/**
+ * ブラックリスト判定の結果。トークン単位とユーザー単位のどちらに当たったかを分けて持つ。
+ *
+ * @param tokenBlacklisted トークン自体が失効済み（ログアウト・パスワード変更）
+ * @param userBlacklisted トークンの主体（email）が停止中
+ */
+public record BlacklistStatus(boolean tokenBlacklisted, boolean userBlacklisted) {
+
+  /** どちらかに当たっていれば、そのトークンは受け付けない。 */
+  public boolean blacklisted() {
+    return tokenBlacklisted || userBlacklisted;
+  }
+}
@@ -1,6 +1,7 @@
 package com.kizuna.auth.infrastructure;
 
 import com.kizuna.shared.config.AppProperties;
+import io.micrometer.tracing.annotation.NewSpan;
 import java.net.http.HttpClient;
 import java.time.Duration;
 import lombok.extern.log4j.Log4j2;
@@ -56,6 +57,7 @@ public class LineApiClient {
    *
    * @throws LineAuthenticationException LINE がエラーを返した、または応答に sub が含まれない場合
    */
+  @NewSpan("line.exchange-and-verify")
   public LineIdentity exchangeAndVerify(
       LineChannel channel, String code, String redirectUri, String codeVerifier) {
     String idToken = requestIdToken(channel, code, redirectUri, codeVerifier);
@@ -0,0 +1,163 @@
+package com.kizuna.auth.infrastructure;
+
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.cache.NearCache;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JWT ブラックリスト判定のプロセス内キャッシュ。認証済みリクエストごとの Redis 往復（トークン単位とユーザー単位の 2 回）を、 キャッシュに当たる限り 0 回にする。
+ *
+ * <p>正本は Redis のまま。失効（ログアウト・停止・再開）は {@link TokenBlacklistService} が Redis へ書いた直後に 自ノードの表へ反映し、{@link
+ * InvalidationFeed} で他ノードへ流す。他ノードへの反映は pub/sub の配送遅れ（数ミリ秒）で済み、 配送を取りこぼしても各値の寿命（{@code
+ * app.near-cache.staleness}）で打ち切られる。
+ *
+ * <p>経路が死んでいる間（{@link InvalidationFeed#isLive()} が false）は表を読まず、毎回 Redis へ問い合わせる。 Redis
+ * にも繋がらなければ例外がそのまま伝播してリクエストは 500 になる — 判定できないときに「未失効」へ倒すことはない。
+ *
+ * <p>Redis から読んだ結果を表へ載せるのは、読み始めてから失効が 1 件も適用されていない場合だけ（世代で判定）。 読みと失効が並行すると、失効前の「未失効」を失効後に載せ直して
+ * 寿命いっぱい配ってしまうため。
+ *
+ * <p>読みの結果は {@link NearCache} と同じ {@code near.cache.gets} へ数える（トークンと主体の両方が表にあって初めて hit）。
+ */
+@Component
+public class TokenBlacklistNearCache implements InvalidationFeed.Subscriber {
+
+  static final String CHANNEL = "blacklist:events";
+
+  private static final String TOKEN_REVOKED = "token:";
+  private static final String USER_STOPPED = "user-stopped:";
+  private static final String USER_RESUMED = "user-resumed:";
+
+  private final InvalidationFeed feed;
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final LongSupplier nanoClock;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter bypasses;
+
+  private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+  private final Map<String, Entry> users = new ConcurrentHashMap<>();
+
+  /** 表へ適用した失効と破棄の通し番号。読み始めの値と食い違えば、その読みの結果は載せない。 */
+  private final AtomicLong generation = new AtomicLong();
+
+  @Autowired
+  public TokenBlacklistNearCache(
+      InvalidationFeed feed, AppProperties appProperties, MeterRegistry meterRegistry) {
+    this(feed, appProperties, meterRegistry, System::nanoTime);
+  }
+
+  TokenBlacklistNearCache(
+      InvalidationFeed feed,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry,
+      LongSupplier nanoClock) {
+    this.feed = feed;
+    this.ttlNanos = appProperties.getNearCache().getStaleness().toNanos();
+    this.maxEntries = appProperties.getNearCache().getMaxEntries();
+    this.nanoClock = nanoClock;
+    this.hits = NearCache.gets(meterRegistry, CHANNEL, "hit");
+    this.misses = NearCache.gets(meterRegistry, CHANNEL, "miss");
+    this.bypasses = NearCache.gets(meterRegistry, CHANNEL, "bypass");
+    feed.subscribe(CHANNEL, this);
+  }
+
+  /**
+   * トークンと主体（email）の判定。両方が表にあれば Redis へは行かず、どちらかが欠けていれば {@code loader}（Redis の正本を 1
+   * 回の往復で読む）で両方を読み直して載せる。
+   */
+  BlacklistStatus check(String token, String email, Supplier<BlacklistStatus> loader) {
+    if (!feed.isLive()) {
+      bypasses.increment();
+      return loader.get();
+    }
+    long now = nanoClock.getAsLong();
+    Entry cachedToken = fresh(tokens, token, now);
+    Entry cachedUser = fresh(users, email, now);
+    if (cachedToken != null && cachedUser != null) {
+      hits.increment();
+      return new BlacklistStatus(cachedToken.blacklisted(), cachedUser.blacklisted());
+    }
+    misses.increment();
+    long readFrom = generation.get();
+    BlacklistStatus loaded = loader.get();
+    store(tokens, token, loaded.tokenBlacklisted(), readFrom, now);
+    store(users, email, loaded.userBlacklisted(), readFrom, now);
+    return loaded;
+  }
+
+  /** トークンを失効させた（Redis へ書いた後に呼ぶ）。 */
+  void tokenBlacklisted(String token) {
+    applyAndPublish(TOKEN_REVOKED + token);
+  }
+
+  /** ユーザーを停止した（Redis へ書いた後に呼ぶ）。 */
+  void userBlacklisted(String email) {
+    applyAndPublish(USER_STOPPED + email);
+  }
+
+  /** ユーザーを再開した（Redis から消した後に呼ぶ）。 */
+  void userCleared(String email) {
+    applyAndPublish(USER_RESUMED + email);
+  }
+
+  @Override
+  public void onMessage(String payload) {
+    if (payload.startsWith(TOKEN_REVOKED)) {
+      apply(tokens, payload.substring(TOKEN_REVOKED.length()), true);
+    } else if (payload.startsWith(USER_STOPPED)) {
+      apply(users, payload.substring(USER_STOPPED.length()), true);
+    } else if (payload.startsWith(USER_RESUMED)) {
+      apply(users, payload.substring(USER_RESUMED.length()), false);
+    }
+  }
+
+  @Override
+  public void onGap() {
+    generation.incrementAndGet();
+    tokens.clear();
+    users.clear();
+  }
+
+  /** 自ノードへは配送を待たずに反映する。停止した管理者の次の要求が同じノードへ来ても、その時点で弾けるように。 */
+  private void applyAndPublish(String payload) {
+    onMessage(payload);
+    feed.publish(CHANNEL, payload);
+  }
+
+  private void apply(Map<String, Entry> table, String key, boolean blacklisted) {
+    long now = nanoClock.getAsLong();
+    table.compute(
+        key,
+        (k, current) -> {
+          generation.incrementAndGet();
+          return new Entry(blacklisted, now);
+        });
+  }
+
+  private Entry fresh(Map<String, Entry> table, String key, long now) {
+    Entry cached = table.get(key);
+    return cached != null && now - cached.loadedAtNanos() < ttlNanos ? cached : null;
+  }
+
+  private void store(
+      Map<String, Entry> table, String key, boolean blacklisted, long readFrom, long now) {
+    if (table.size() >= maxEntries) {
+      table.clear();
+    }
+    table.compute(
+        key, (k, current) -> generation.get() == readFrom ? new Entry(blacklisted, now) : current);
+  }
+
+  private record Entry(boolean blacklisted, long loadedAtNanos) {}
+}
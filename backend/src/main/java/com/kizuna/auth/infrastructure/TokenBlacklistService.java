@@ -2,6 +2,7 @@ package com.kizuna.auth.infrastructure;
 
 import com.kizuna.shared.config.AppProperties;
 import java.time.Duration;
+import java.util.List;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -12,6 +13,9 @@ import org.springframework.stereotype.Component;
 /**
  * JWT ブラックリストの読み書き（Redis）。TTL は token 単位（{@link #blacklist(String)}）は実際の exp まで、ユーザー単位（{@link
  * #blacklistUser(String)}）は JWT 有効期間ぶん。書き込みはセッション失効、判定は認証フィルタから使う。
+ *
+ * <p>判定はプロセス内キャッシュ（{@link TokenBlacklistNearCache}）を通す。書き込みは Redis へ書いた後に自ノードの表へ反映して 他ノードへ流すので、
+ * 失効を書いたノードでは次の要求から、他ノードでは配送が届き次第（遅くとも {@code app.near-cache.staleness} 以内に）効く。
  */
 @Component
 public class TokenBlacklistService {
@@ -23,12 +27,16 @@ public class TokenBlacklistService {
 
   private final RedisTemplate<String, Object> redisTemplate;
   private final AppProperties appProperties;
+  private final TokenBlacklistNearCache nearCache;
   private final JwtDecoder expDecoder;
 
   public TokenBlacklistService(
-      RedisTemplate<String, Object> redisTemplate, AppProperties appProperties) {
+      RedisTemplate<String, Object> redisTemplate,
+      AppProperties appProperties,
+      TokenBlacklistNearCache nearCache) {
     this.redisTemplate = redisTemplate;
     this.appProperties = appProperties;
+    this.nearCache = nearCache;
     // 主 JwtDecoder bean（JwtDecoderConfig）は本クラス（TokenBlacklistValidator 経由）に依存するため、
     // ここで注入すると循環参照になる。token の exp を読むためだけの decoder を自前で組み立てる
     // （issuer・ブラックリスト検証は不要 — 失効判定は blacklist() 自身が担う）。
@@ -59,17 +67,13 @@ public class TokenBlacklistService {
           expDecoder.decode(token).getExpiresAt().toEpochMilli() - System.currentTimeMillis();
       if (ttl > 0) {
         redisTemplate.opsForValue().set(KEY_PREFIX + token, "1", Duration.ofMillis(ttl));
+        nearCache.tokenBlacklisted(token);
       }
     } catch (JwtException e) {
       // 無効・期限切れトークンはブラックリスト不要
     }
   }
 
-  /** 生トークンがブラックリスト登録済みかを返す。 */
-  public boolean isBlacklisted(String token) {
-    return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + token));
-  }
-
   /**
    * 指定ユーザーの発行済み JWT を email 単位で即時失効させる（停止時に使う）。
    *
@@ -85,15 +89,33 @@ public class TokenBlacklistService {
     redisTemplate
         .opsForValue()
         .set(USER_KEY_PREFIX + email, "1", Duration.ofMillis(appProperties.getJwtExpiration()));
+    nearCache.userBlacklisted(email);
   }
 
   /** ユーザー単位ブラックリストを解除する（再開時に使う）。 */
   public void clearUser(String email) {
     redisTemplate.delete(USER_KEY_PREFIX + email);
+    nearCache.userCleared(email);
+  }
+
+  /**
+   * 生トークンとその主体（email）がブラックリスト登録済みかを、まとめて返す。
+   *
+   * <p>near-cache に両方が載っていれば Redis へは行かない。どちらかが欠けていれば、2 つの鍵を {@code MGET} の 1 コマンド（1 往復）で読む。{@code
+   * EXISTS k1 k2} は存在数しか返らずどちらに当たったかが分からないので、near-cache へ鍵ごとに載せられる MGET を使う（値は常に {@code "1"}
+   * で小さい）。パイプラインにしないのは、Lettuce のパイプラインが共有接続ではなく専用接続を開き、既定では 1 コマンドごとに書き出すため（判定のたびに接続を張る分だけ遅くなる）。
+   */
+  public BlacklistStatus check(String token, String email) {
+    return nearCache.check(token, email, () -> lookup(token, email));
   }
 
-  /** 指定 email がユーザー単位ブラックリストに登録済みかを返す。 */
-  public boolean isUserBlacklisted(String email) {
-    return Boolean.TRUE.equals(redisTemplate.hasKey(USER_KEY_PREFIX + email));
+  private BlacklistStatus lookup(String token, String email) {
+    List<Object> values =
+        redisTemplate.opsForValue().multiGet(List.of(KEY_PREFIX + token, USER_KEY_PREFIX + email));
+    if (values == null) {
+      // null はパイプライン・トランザクションの中でだけ返る。未登録とはみなさず失敗させる（fail-closed）
+      throw new IllegalStateException("ブラックリストを読めませんでした");
+    }
+    return new BlacklistStatus(values.get(0) != null, values.get(1) != null);
   }
 }
@@ -1,6 +1,9 @@
 package com.kizuna.auth.infrastructure;
 
-import lombok.RequiredArgsConstructor;
+import com.kizuna.shared.metrics.MeterTags;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.oauth2.core.OAuth2Error;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
@@ -9,24 +12,50 @@ import org.springframework.stereotype.Component;
 
 /**
  * トークン単位・ユーザー単位の Redis ブラックリスト（{@link TokenBlacklistService}）を検証する {@code
- * OAuth2TokenValidator}。判定は毎回 Redis へ問い合わせる必要があるため、{@link JwtDecoderConfig} が組み立てる decoder
- * にはキャッシュを付けないこと（付けるとブラックリストの即時性が壊れる）。
+ * OAuth2TokenValidator}。{@link JwtDecoderConfig} が組み立てる decoder
+ * にはキャッシュを付けないこと（付けるとブラックリストの即時性が壊れる）。 判定の往復を省くのは失効の配送と対になった {@link TokenBlacklistNearCache}
+ * の役目で、通常の要求は Redis へ行かずに済む。 near-cache に無いときも、トークンとユーザーの 2 つの鍵は 1 回の往復で引く（{@link
+ * TokenBlacklistService#check}）。
  *
- * <p>失敗時の {@link OAuth2Error} には内部理由（トークン失効かユーザー停止か等）を含めない。 Redis
- * 接続断で例外が投げられた場合はこの検証を貫通して呼び出し元へ伝播し、リクエストは 500 になる（現行 filter と同じ fail-closed）。
+ * <p>失敗時の {@link OAuth2Error} には内部理由（トークン失効かユーザー停止か等）を含めない。 失効の配送経路が途切れている間は near-cache を使わず Redis
+ * へ直接問い合わせ、Redis 接続断で例外が投げられた場合はこの検証を貫通して呼び出し元へ伝播し、 リクエストは 500 になる（現行 filter と同じ fail-closed）。
+ *
+ * <p>判定の所要時間を {@code auth.token.validation}（{@code outcome} が valid /
+ * revoked）に記録する。認証のフィルタは経路の照合と店舗文脈の確立より 前に走るため、店舗と端点のタグは {@code none} / {@code unrouted}
+ * になる。例外で抜けた判定は記録しない（要求ごと 500 で落ちる）。
  */
 @Component
-@RequiredArgsConstructor
 public class TokenBlacklistValidator implements OAuth2TokenValidator<Jwt> {
 
   private static final OAuth2Error INVALID_TOKEN = new OAuth2Error("invalid_token");
 
   private final TokenBlacklistService tokenBlacklistService;
+  private final MeterTags meterTags;
+  private final MeterRegistry meterRegistry;
+  private final Meter.MeterProvider<Timer> validations;
+
+  public TokenBlacklistValidator(
+      TokenBlacklistService tokenBlacklistService,
+      MeterTags meterTags,
+      MeterRegistry meterRegistry) {
+    this.tokenBlacklistService = tokenBlacklistService;
+    this.meterTags = meterTags;
+    this.meterRegistry = meterRegistry;
+    this.validations =
+        Timer.builder("auth.token.validation")
+            .description("Bearer トークンのブラックリスト判定")
+            .withRegistry(meterRegistry);
+  }
 
   @Override
   public OAuth2TokenValidatorResult validate(Jwt jwt) {
-    if (tokenBlacklistService.isBlacklisted(jwt.getTokenValue())
-        || tokenBlacklistService.isUserBlacklisted(jwt.getSubject())) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    boolean blacklisted =
+        tokenBlacklistService.check(jwt.getTokenValue(), jwt.getSubject()).blacklisted();
+    sample.stop(
+        validations.withTags(
+            meterTags.current().and("outcome", blacklisted ? "revoked" : "valid")));
+    if (blacklisted) {
       return OAuth2TokenValidatorResult.failure(INVALID_TOKEN);
     }
     return OAuth2TokenValidatorResult.success();
@@ -0,0 +1,14 @@
+package com.kizuna.customer.api.dto;
+
+import java.util.List;
+
+/**
+ * 着信照会の結果。かかってきた番号と電話照合の鍵が一致する当店の生きた顧客。
+ *
+ * <p>{@code matchedCustomerId} は受注録入が電話番号だけで自動的に着ける行で、一致がちょうど 1 件のときだけ入る。0 件・2 件以上では null — 2 件以上で
+ * 1 行を選ばないのは録入と同じ規則による（ADR 0009）。候補を並べるのは応対者が名乗りと見比べて選ぶためで、選ぶのは人である。
+ *
+ * <p>{@code customers} は上限で切る。{@code truncated} が真なら一致はそれより多く、番号が識別の手がかりになっていない。
+ */
+public record CustomerCallerLookupResponse(
+    String matchedCustomerId, List<CustomerSummaryResponse> customers, boolean truncated) {}
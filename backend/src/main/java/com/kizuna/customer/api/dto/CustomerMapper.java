@@ -31,6 +31,8 @@ public interface CustomerMapper {
   @Mapping(target = "rank", source = "rank", defaultValue = "SILVER")
   // 起こしたばかりの行は定義上まだ生きている。統合先参照は統合だけが立てる。
   @Mapping(target = "mergedIntoId", ignore = true)
+  // 電話照合の鍵は DB の生成列
+  @Mapping(target = "phoneKey", ignore = true)
   Customer toEntity(CustomerCreateRequest request);
 
   /** 更新リクエストをドメインの部分更新コマンドに変換します。null フィールドは「変更しない」。 */
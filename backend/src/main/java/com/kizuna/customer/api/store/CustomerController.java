@@ -1,5 +1,6 @@
 package com.kizuna.customer.api.store;
 
+import com.kizuna.customer.api.dto.CustomerCallerLookupResponse;
 import com.kizuna.customer.api.dto.CustomerCreateRequest;
 import com.kizuna.customer.api.dto.CustomerDuplicateGroupResponse;
 import com.kizuna.customer.api.dto.CustomerMergeComparisonResponse;
@@ -73,6 +74,18 @@ public class CustomerController {
     return ResponseEntity.ok(customerService.mergeComparison(ids));
   }
 
+  /**
+   * 着信照会。かかってきた番号を書式のまま渡せば、電話照合の鍵で当店の台帳を引く。
+   *
+   * <p>顧客一覧と同じ項目を返すので、同じ {@code CUSTOMER_MANAGE} で守る。字面セグメントの扱いは {@code /duplicates} と同じ。
+   */
+  @GetMapping("/caller-lookup")
+  @PreAuthorize("hasAuthority('PERM_CUSTOMER_MANAGE')")
+  public ResponseEntity<CustomerCallerLookupResponse> lookupCaller(
+      @RequestParam(name = "phone_number") String phoneNumber) {
+    return ResponseEntity.ok(customerService.lookupCaller(phoneNumber));
+  }
+
   @GetMapping("/{id}")
   @PreAuthorize("hasAuthority('PERM_CUSTOMER_MANAGE')")
   public ResponseEntity<CustomerResponse> get(@PathVariable String id) {
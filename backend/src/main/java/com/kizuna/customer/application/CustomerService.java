@@ -1,5 +1,6 @@
 package com.kizuna.customer.application;
 
+import com.kizuna.customer.api.dto.CustomerCallerLookupResponse;
 import com.kizuna.customer.api.dto.CustomerCreateRequest;
 import com.kizuna.customer.api.dto.CustomerDuplicateGroupResponse;
 import com.kizuna.customer.api.dto.CustomerMapper;
@@ -20,6 +21,7 @@ import com.kizuna.shared.exception.DbConstraint;
 import com.kizuna.shared.exception.IntegrityViolations;
 import com.kizuna.shared.exception.NotFoundException;
 import com.kizuna.shared.exception.ServiceException;
+import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreScoped;
 import com.kizuna.shared.web.CursorPage;
 import com.kizuna.shared.web.PageCursor;
@@ -58,6 +60,9 @@ public class CustomerService {
    */
   private static final int MAX_LISTED_GROUP_SIZE = 20;
 
+  /** 着信照会が並べる候補の上限。これを超える番号は識別の手がかりにならないので、並べる行を増やしても応対の助けにならない。 */
+  private static final int MAX_CALLER_CANDIDATES = 20;
+
   /** 見比べる対象は 2 行。3 行以上を一度に畳む形は持たない（ADR 0010）。 */
   private static final int COMPARISON_SIZE = 2;
 
@@ -76,6 +81,7 @@ public class CustomerService {
   private final CustomerMemberLinkRepository customerMemberLinkRepository;
   private final CustomerMergeRepository customerMergeRepository;
   private final CustomerMapper customerMapper;
+  private final StoreContext storeContext;
 
   @StoreScoped
   @Transactional(readOnly = true)
@@ -84,26 +90,34 @@ public class CustomerService {
     Specification<Customer> spec = searchSpec(search, rank, classification);
     Page<Customer> page = customerRepository.findAll(spec, pageable);
     // 会員紐づけは本ページ分だけを 1 回で引く（行ごとの追加問い合わせを作らない）。
-    List<String> ids = page.getContent().stream().map(Customer::getId).toList();
-    Map<String, String> activeCodes =
-        ids.isEmpty()
-            ? Map.of()
-            : customerMemberLinkRepository
-                .findByCustomerIdInAndStatus(ids, LinkStatus.ACTIVE)
-                .stream()
-                .collect(
-                    Collectors.toMap(
-                        CustomerMemberLink::getCustomerId, CustomerMemberLink::getMemberCode));
-    return page.map(
-        customer -> {
-          CustomerSummaryResponse row = customerMapper.toSummaryResponse(customer);
-          row.setMemberLinked(activeCodes.containsKey(customer.getId()));
-          return row;
-        });
+    Set<String> linkedIds = fetchLinkedIds(page.getContent());
+    return page.map(customer -> toSummaryRow(customer, linkedIds));
   }
 
   /**
-   * 重複候補 — 同店の生きた行のうち、第一電話番号が一致する 2 行以上のグループ。
+   * 着信照会 — かかってきた番号で当店の台帳を引く。電話応対の最初の一手なので、照合は電話照合の鍵の索引 1 本で済む形に限る。
+   *
+   * <p>照合は受注録入の電話照合と同じ述語（{@link CustomerRepository#findAliveByPhoneKeyOf}）で、0/1/多件の扱いも同じ — 1
+   * 件なら録入が着ける行として示し、2 件以上なら候補を並べるだけで選ばない（ADR 0009）。書式の揺れ（ハイフン・空白・全角・{@code +81}）は 鍵が吸収するので、
+   * 応対者が番号を打ち直す必要は無い。
+   */
+  @StoreScoped
+  @Transactional(readOnly = true)
+  public CustomerCallerLookupResponse lookupCaller(String phoneNumber) {
+    // 切り捨ての有無は上限より 1 件多く取って判る
+    List<Customer> matched =
+        customerRepository.findAliveByPhoneKeyOf(phoneNumber, Limit.of(MAX_CALLER_CANDIDATES + 1));
+    boolean truncated = matched.size() > MAX_CALLER_CANDIDATES;
+    List<Customer> listed = truncated ? matched.subList(0, MAX_CALLER_CANDIDATES) : matched;
+    Set<String> linkedIds = fetchLinkedIds(listed);
+    return new CustomerCallerLookupResponse(
+        matched.size() == 1 ? matched.get(0).getId() : null,
+        listed.stream().map(customer -> toSummaryRow(customer, linkedIds)).toList(),
+        truncated);
+  }
+
+  /**
+   * 重複候補 — 同店の生きた行のうち、第一電話番号の電話照合の鍵が一致する 2 行以上のグループ。
    *
    * <p>提示は手がかりであって判定ではない。確度スコアも自動統合も持たず、どれを畳むかは常に人が決める（ADR 0010）。 同じ番号の別人（連絡先を共有する同伴者）は正規に起こりうる。
    *
@@ -112,7 +126,8 @@ public class CustomerService {
    * <p><b>4 段は 1 つの断面で読む</b>（{@code REPEATABLE READ}）。見出し・行・紐づけ・受注件数と 4 回問い合わせるので、既定の READ
    * COMMITTED では文ごとに断面を取り直し、間に他者の commit が挟まると同じ応答の中で違う世界を見る — 件数 {@code total} だけが古いまま行が 1
    * つ増え、上限に収まると数えたグループが上限を超えて返る。変種ごとに手当てせず断面を固定して根を断つのは {@code OrderService} の群読み口と同じ選択で、機構そのものは
-   * {@code OrderGroupReadSnapshotIT} が実 PostgreSQL で見ている。
+   * {@code OrderGroupReadSnapshotIT} が実 PostgreSQL
+   * で見ている。見出しの表は顧客行と同じ取引の中でトリガが書くので、同じ断面の中で行の数と食い違うこともない。
    */
   @StoreScoped
   @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
@@ -124,9 +139,9 @@ public class CustomerService {
     CursorPage<CustomerDuplicateGroupView> page =
         CursorPage.of(
             cursor == null
-                ? customerRepository.findDuplicatePhoneNumbers(limit)
+                ? customerRepository.findDuplicatePhoneNumbers(storeContext.getStoreId(), limit)
                 : customerRepository.findDuplicatePhoneNumbersAfter(
-                    PageCursor.decodeKey(cursor), limit),
+                    storeContext.getStoreId(), PageCursor.decodeKey(cursor), limit),
             size,
             group -> PageCursor.encodeKey(group.getPhoneNumber()));
 
@@ -189,6 +204,21 @@ public class CustomerService {
         customerIds.stream().map(rows::get).toList(), fetchComparisonMaterial(customerIds));
   }
 
+  private Set<String> fetchLinkedIds(List<Customer> customers) {
+    List<String> ids = customers.stream().map(Customer::getId).toList();
+    return ids.isEmpty()
+        ? Set.of()
+        : customerMemberLinkRepository.findByCustomerIdInAndStatus(ids, LinkStatus.ACTIVE).stream()
+            .map(CustomerMemberLink::getCustomerId)
+            .collect(Collectors.toSet());
+  }
+
+  private CustomerSummaryResponse toSummaryRow(Customer customer, Set<String> linkedIds) {
+    CustomerSummaryResponse row = customerMapper.toSummaryResponse(customer);
+    row.setMemberLinked(linkedIds.contains(customer.getId()));
+    return row;
+  }
+
   /**
    * グループごとの行を引く。行を並べるグループの番号だけをまとめて 1 回で引く。
    *
@@ -196,19 +226,20 @@ public class CustomerService {
    * グループがいくつあっても問い合わせは 1 本のままである。
    */
   private Map<String, List<Customer>> fetchRows(List<CustomerDuplicateGroupView> groups) {
-    List<String> listedPhoneNumbers =
+    // グループの鍵は電話照合の鍵（行の表記ではない）なので、行も鍵で引いて鍵で束ねる
+    List<String> listedPhoneKeys =
         groups.stream()
             .filter(group -> group.getTotal() <= MAX_LISTED_GROUP_SIZE)
             .map(CustomerDuplicateGroupView::getPhoneNumber)
             .toList();
-    return listedPhoneNumbers.isEmpty()
+    return listedPhoneKeys.isEmpty()
         ? Map.of()
         : customerRepository
-            .findByPhoneNumberInAndMergedIntoIdIsNullOrderByPhoneNumberAscIdAsc(listedPhoneNumbers)
+            .findByPhoneKeyInAndMergedIntoIdIsNullOrderByPhoneKeyAscIdAsc(listedPhoneKeys)
             .stream()
             .collect(
                 Collectors.groupingBy(
-                    Customer::getPhoneNumber, LinkedHashMap::new, Collectors.toList()));
+                    Customer::getPhoneKey, LinkedHashMap::new, Collectors.toList()));
   }
 
   private List<CustomerMergeComparisonResponse> toComparisonRows(
@@ -269,6 +300,8 @@ public class CustomerService {
       if (search != null) {
         char escape = LIKE_ESCAPE.getEscapeCharacter();
         String pattern = "%" + LIKE_ESCAPE.escape(search.toLowerCase()) + "%";
+        // 3 つの式はそれぞれ同じ形の trigram 索引を持つ（03-customer.yaml）。式を変えるなら索引も揃える —
+        // ずれると索引が照合されず、打鍵ごとに店舗の台帳を全件走査する。
         predicates.add(
             cb.or(
                 cb.like(cb.lower(root.get("name")), pattern, escape),
@@ -26,6 +26,15 @@ public class Customer extends StoreScopedEntity {
   @Column(name = "phone_number")
   private String phoneNumber;
 
+  /**
+   * 電話照合の鍵。{@link #phoneNumber} を DB の {@code phone_key()} で均した生成列（書式の揺れ・全角・先頭の +81 を畳んだ数字列。数字が無ければ
+   * null）。
+   *
+   * <p>DB が計算する読み取り専用の列で、書き込みには現れない。値は保存した時点では埋まらず、読み直した行にだけ入る。
+   */
+  @Column(name = "phone_key", insertable = false, updatable = false)
+  private String phoneKey;
+
   @Column(name = "phone_number2")
   private String phoneNumber2;
 
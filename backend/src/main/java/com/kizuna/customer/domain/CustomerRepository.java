@@ -36,9 +36,8 @@ public interface CustomerRepository
    * <p>受注完了は顧客行を引けなくても（行が無い・他店舗で storeFilter に落ちる）そのまま非会員として進む。既にその顧客の紐づけも
    * 引けない状態であり、どの会員にも誤って積まない形なので、この境界は許容する。
    *
-   * <p>ロック順序は顧客行 →（紐づけ行の UPDATE／INSERT）→ 台帳の加算ロット（{@code
-   * PointEntryRepository#findCreditsForUpdate}）。記帳の 2 経路で順序が揃い、解除は台帳を触らないため待ちが環にならない。
-   * 読むだけの経路（残高照会・完了の事前計算・紐づけ履歴・顧客の投影）はこのロックを取らない。
+   * <p>ロック順序は顧客行 →（紐づけ行の UPDATE／INSERT）→ 会員の台帳（{@code PointEntryRepository#lockLedger}）。記帳の 2
+   * 経路で順序が揃い、解除は台帳を触らないため待ちが環にならない。読むだけの経路（残高照会・完了の事前計算・紐づけ履歴・顧客の投影）はこのロックを取らない。
    *
    * <p>Customer は StoreScopedEntity で、この問い合わせにも {@code storeFilter} が掛かる（applyToLoadByKey により派生の
    * {@code findById} でも同様 — StoreScopedLoadByKeyIT が実測で固定）。{@code @StoreScoped} の文脈では
@@ -77,8 +76,12 @@ public interface CustomerRepository
   Optional<Customer> findByPhoneNumber(String phoneNumber);
 
   /**
-   * 店舗台帳のうち電話番号が一致する生きた顧客の ID。索引 {@code idx_t_customers_phone (phone_number, store_id)}
-   * は非一意で、同店同号の行は正規に起こりうる — 同伴者が連絡先を共有する場合や旧システムからの移行分がそれにあたる。
+   * 店舗台帳のうち電話番号が一致する生きた顧客の ID。照合は電話照合の鍵（{@link Customer#getPhoneKey()}）どうしで行い、渡された番号も同じ {@code
+   * phone_key()} で均す — {@code 090-1234-5678}・{@code 09012345678}・{@code +81 90 1234 5678}
+   * は同じ番号として一致する。均し方を DB の関数 1 つに置くので、列の値と照合の入力が別々の実装でずれることはない。
+   *
+   * <p>索引 {@code idx_t_customers_store_phone_key (store_id, phone_key) WHERE merged_into_id IS
+   * NULL} は非一意で、同店同号の行は正規に起こりうる — 同伴者が連絡先を共有する場合や旧システムからの移行分がそれにあたる。
    *
    * <p>だから戻り値は複数行を許す形でなければならない。1 件に絞る形（{@code Optional}）で受けると、重複のある番号を引いた瞬間に {@code
    * IncorrectResultSizeDataAccessException} で呼出側ごと落ちる。複数一致をどう扱うかは呼出側の判断で、 電話番号は台帳内の検索の手がかりに留まる（ADR
@@ -93,65 +96,82 @@ public interface CustomerRepository
   @Query(
       """
       select c.id from com.kizuna.customer.domain.Customer c
-      where c.phoneNumber = :phoneNumber and c.storeId = :storeId and c.mergedIntoId is null
+      where c.phoneKey = function('phone_key', :phoneNumber) and c.storeId = :storeId
+        and c.mergedIntoId is null
       """)
   List<String> findAliveIdsByPhoneNumberAndStoreId(
       @Param("phoneNumber") String phoneNumber, @Param("storeId") Long storeId);
 
   /**
-   * 重複候補の手がかりになる電話番号 — 当店の生きた行のうち、同じ第一電話番号を 2 行以上が持つもの。述語は {@link
-   * #findAliveIdsByPhoneNumberAndStoreId} と揃える（第一番号だけ・完全一致）— 重複が実害になるのは電話照合が引く番号だけだからである。
-   *
-   * <p>空白を除くのは、会員申請の確定時自動整備が起こす「氏名だけ・電話は空」の行が全部ひとつの偽グループに畳まれるため。
+   * 重複候補の手がかりになる電話番号 — 当店の生きた行のうち、同じ電話照合の鍵を 2 行以上が持つもの。述語は {@link
+   * #findAliveIdsByPhoneNumberAndStoreId} と揃える（第一番号だけ・鍵の一致）— 重複が実害になるのは電話照合が引く番号だけだからである。書式だけ違う 2
+   * 行は照合で複数一致に落ちるので、ここでも同じグループに並ぶ。返す番号はグループの鍵（数字列）で、各行の表記は行の側にある。
    *
-   * <p>判定に {@code trim} を使ってはならない。PostgreSQL の 1 引数 {@code trim} が落とすのは半角空白だけで、タブ・改行・全角空白（U+3000）は
-   * 残るため素通りする（実測）。日本語の台帳では全角空白が現実に混ざるので、空白そのものが巨大な偽グループになる。 「空白以外の文字を 1 つ以上含む」を正規表現で直に問う。
+   * <p>読むのは顧客行ではなく見出しの表 {@code t_customer_phone_groups}。鍵ごとの生きた行の数を {@code t_customers}
+   * の行トリガが同じ取引の中で足し引きしているので、頁の費用は台帳の大きさではなく返すグループの数で決まる。鍵が null の行（電話は空・空白だけ・全角空白やタブだけ）は数えられず、
+   * 会員申請の確定時自動整備が起こす「氏名だけ・電話は空」の行が 1 つの偽グループに畳まれることもない。
    *
-   * <p>店舗の絞り込みは {@code storeFilter} が担う（呼出側の {@code @StoreScoped} が前提）。native query にすると
-   * {@code @Filter} が掛からず店舗境界が黙って消えるので、HQL に留める。
+   * <p>見出しの表は実体を持たないので native query で読み、{@code storeFilter} は掛からない。店舗は必ず述語で渡すこと —
+   * 落とすと全店舗の見出しが混ざって返る。
    */
   String DUPLICATE_PHONE_SELECT =
       """
-      select c.phoneNumber as phoneNumber, count(c) as total
-      from com.kizuna.customer.domain.Customer c
-      where c.mergedIntoId is null and c.phoneNumber is not null
-        and function('regexp_like', c.phoneNumber, '[^[:space:]]') = true
+      select g.phone_key as "phoneNumber", cast(g.alive_count as bigint) as "total"
+      from t_customer_phone_groups g
+      where g.store_id = :storeId and g.alive_count >= 2
       """;
 
-  String DUPLICATE_PHONE_GROUP_ORDER =
+  String DUPLICATE_PHONE_ORDER =
       """
-      group by c.phoneNumber having count(c) >= 2
-      order by c.phoneNumber
+      order by g.phone_key
       """;
 
-  @Query(DUPLICATE_PHONE_SELECT + DUPLICATE_PHONE_GROUP_ORDER)
-  List<CustomerDuplicateGroupView> findDuplicatePhoneNumbers(Limit limit);
+  @Query(value = DUPLICATE_PHONE_SELECT + DUPLICATE_PHONE_ORDER, nativeQuery = true)
+  List<CustomerDuplicateGroupView> findDuplicatePhoneNumbers(
+      @Param("storeId") Long storeId, Limit limit);
 
   /**
-   * 重複候補の続き。渡された位置より後ろ（＝電話番号の昇順で先）だけを返す。
+   * 重複候補の続き。渡された位置より後ろ（＝電話照合の鍵の昇順で先）だけを返す。
    *
-   * <p>副キーを添えないのは、電話番号がグループの鍵そのもので、返る行の間で一意だから — 全順序が既に成立しており、同値の境界が存在しない。
+   * <p>副キーを添えないのは、鍵がグループの鍵そのもので、返る行の間で一意だから — 全順序が既に成立しており、同値の境界が存在しない。
    *
    * <p>続きを辿れることは飾りではない。上限で切って黙ると、番号を共有する同伴者のような<b>正当な偽陽性</b>が先頭側に居座ったとき、
    * それらは決して統合されないので枠を永久に占め、以降の真の重複が一生画面に出ない。
    */
   @Query(
-      DUPLICATE_PHONE_SELECT
-          + """
-            and c.phoneNumber > :cursor
-            """
-          + DUPLICATE_PHONE_GROUP_ORDER)
+      value =
+          DUPLICATE_PHONE_SELECT
+              + """
+              and g.phone_key > :cursor
+              """
+              + DUPLICATE_PHONE_ORDER,
+      nativeQuery = true)
   List<CustomerDuplicateGroupView> findDuplicatePhoneNumbersAfter(
-      @Param("cursor") String cursor, Limit limit);
+      @Param("storeId") Long storeId, @Param("cursor") String cursor, Limit limit);
 
   /**
-   * 与えた電話番号を持つ当店の生きた行。並びは電話番号 → ID で、同じ番号の行が隣り合う。
+   * 与えた電話照合の鍵を持つ当店の生きた行。並びは鍵 → ID で、同じ鍵の行が隣り合う。
    *
    * <p>件数の上限を持たないので、呼出側は<b>グループの件数が上限に収まる番号だけ</b>を渡すこと。返る行数は「渡した番号の数 × その上限」で頭打ちになり、1
    * つの巨大なグループが取得を食い潰す形にならない。
    */
-  List<Customer> findByPhoneNumberInAndMergedIntoIdIsNullOrderByPhoneNumberAscIdAsc(
-      Collection<String> phoneNumbers);
+  List<Customer> findByPhoneKeyInAndMergedIntoIdIsNullOrderByPhoneKeyAscIdAsc(
+      Collection<String> phoneKeys);
+
+  /**
+   * 着信照会の候補 — 当店の生きた行のうち、渡された番号と電話照合の鍵が一致するもの。照合の述語は {@link #findAliveIdsByPhoneNumberAndStoreId}
+   * と同じで、受注録入が自動で着ける行と着信照会が示す行は必ず一致する。
+   *
+   * <p>店舗の絞り込みは {@code storeFilter} が担う（呼出側の {@code @StoreScoped} が前提）。件数は上限で切るので、呼出側は上限より 1
+   * 件多く取って切り捨ての有無を判る形で渡すこと。
+   */
+  @Query(
+      """
+      select c from com.kizuna.customer.domain.Customer c
+      where c.phoneKey = function('phone_key', :phoneNumber) and c.mergedIntoId is null
+      order by c.id
+      """)
+  List<Customer> findAliveByPhoneKeyOf(@Param("phoneNumber") String phoneNumber, Limit limit);
 
   /**
    * 名指された顧客のうち、生きている行だけを返す。統合の前に 2 行を見比べる読み口の入口。
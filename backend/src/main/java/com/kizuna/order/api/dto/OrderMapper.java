@@ -101,6 +101,8 @@ public interface OrderMapper {
   @Mapping(target = "cancelledReason", ignore = true)
   @Mapping(target = "cancelledBy", ignore = true)
   @Mapping(target = "cancelledAt", ignore = true)
+  // 検索鍵は DB の生成列
+  @Mapping(target = "displayNameKey", ignore = true)
   Order toEntity(OrderCreateRequest request);
 
   /** 注文更新リクエストをドメインの部分更新コマンドに変換します。null フィールドは「変更しない」。 */
@@ -114,5 +116,7 @@ public interface OrderMapper {
   @Mapping(target = "usageAreas", ignore = true)
   // 起こしたばかりの行は定義上まだ生きている。統合先参照は統合だけが立てる。
   @Mapping(target = "mergedIntoId", ignore = true)
+  // 電話照合の鍵は DB の生成列
+  @Mapping(target = "phoneKey", ignore = true)
   Customer toCustomer(OrderCreateRequest request);
 }
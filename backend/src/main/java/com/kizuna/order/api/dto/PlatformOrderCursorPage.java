@@ -0,0 +1,13 @@
+package com.kizuna.order.api.dto;
+
+import java.util.List;
+
+/**
+ * 平台横断受注一覧のカーソル読みの応答。{@link com.kizuna.shared.web.CursorPage} の外殻に、求められたときだけ件数の見積もりを添える。
+ *
+ * @param content この取得で返す行
+ * @param nextCursor 続きの取得に渡す位置。続きが無いときは null（応答からも省かれる）
+ * @param approximateTotal 授権店舗集合の受注件数の見積もり（プランナの統計による概数）。求められなければ null
+ */
+public record PlatformOrderCursorPage(
+    List<PlatformOrderResponse> content, String nextCursor, Long approximateTotal) {}
@@ -2,6 +2,7 @@ package com.kizuna.order.api.platform;
 
 import com.kizuna.order.api.dto.OrderResponse;
 import com.kizuna.order.api.dto.PlatformOrderCreateRequest;
+import com.kizuna.order.api.dto.PlatformOrderCursorPage;
 import com.kizuna.order.api.dto.PlatformOrderResponse;
 import com.kizuna.order.application.PlatformOrderService;
 import jakarta.validation.Valid;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /** 平台（統一）受注 API。授権店舗集合での横断一覧を提供する（集合作用域）。 */
@@ -35,10 +37,24 @@ public class PlatformOrderController {
     return ResponseEntity.ok(platformOrderService.list(pageable));
   }
 
+  /**
+   * 横断一覧のカーソル読み（新しい受注から順）。続きは応答の {@code next_cursor} をそのまま {@code cursor} に渡して取る。
+   *
+   * <p>総件数は数えない。{@code with_total=true} のときだけ、プランナの統計による概数を {@code approximate_total} に添える。
+   */
+  @GetMapping("/cursor")
+  @PreAuthorize("hasAuthority('PERM_ORDER_SET_MANAGE')")
+  public ResponseEntity<PlatformOrderCursorPage> listByCursor(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(name = "with_total", defaultValue = "false") boolean withTotal) {
+    return ResponseEntity.ok(platformOrderService.listByCursor(cursor, size, withTotal));
+  }
+
   /**
    * 明示的単店指定の受注作成。店舗側の作成へ委譲するため、出生確定・Web 申請の経路の拒否・受付担当の省略補完は同じ規則が効く。
    *
-   * <p>受付担当の補完先になる実行者をサービスへ渡す。HQ 管理者は受付候補の適格条件（当店を授権する STAFF）を満たさないため、 受付担当を省略した要求はここで 400 になる。
+   * <p>受付担当の補完先になる実行者をサービスへ渡す。HQ 管理者は受付候補の適格条件（当店を授権する STAFF）を満たさないため、受付担当を省略した要求はここで 400 になる。
    */
   @PostMapping
   @PreAuthorize("hasAuthority('PERM_ORDER_SET_MANAGE')")
@@ -58,6 +58,7 @@ import com.kizuna.user.domain.PlatformUser;
 import com.kizuna.user.domain.PlatformUserRepository;
 import com.kizuna.user.domain.RoleRepository;
 import com.kizuna.user.domain.UserType;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
@@ -133,6 +134,7 @@ public class OrderService {
    * @param cursor 続きの位置。null なら先頭から
    * @param requestedSize 1 回に返す件数の希望値（上限に丸められる）
    */
+  @Timed(value = "order.work.queue", description = "作業キューの 1 ページの読み")
   @StoreScoped
   @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
   public CursorPage<OrderWorkQueueResponse> listWorkQueue(
@@ -399,8 +401,7 @@ public class OrderService {
    * order_id} を回写する。申請原文は不変のまま残り、確定内容と対照できる（ADR 0017）。
    *
    * <p>指名は申請時と同じ在籍述語に加えて当日の確定シフトを要求する。申請から確定までの間にキャストの在籍停止や
-   * 確定シフトの取り消しが起こりうるため、そのまま確定すると来店時に指名キャストがいない受注が成立してしまう。 対象は店舗スタッフなので、列挙を防ぐ 404 ではなく理由の分かる 400
-   * で返す。
+   * 確定シフトの取り消しが起こりうるため、そのまま確定すると来店時に指名キャストがいない受注が成立してしまう。対象は店舗スタッフなので、列挙を防ぐ 404 ではなく理由の分かる 400 で返す。
    *
    * <p>受付担当が未指定で、確定した本人が受付候補の条件を満たす場合はその本人を補う。条件を満たさない実行者 （店舗を授権する HQ
    * 管理者など）では未設定のまま残し、受付担当の適格条件を確定操作で迂回させない。
@@ -585,6 +586,7 @@ public class OrderService {
    * <p>会員に達しなかった完了（顧客の有無は問わない）は、代わりに伝票トークンを発行して生値を応答で一度だけ返す。 事後帰属の証明はこのトークンの所持だけであり（ADR
    * 0008）、この応答を逃した客に v1 の救済経路は無い。
    */
+  @Timed(value = "order.complete", description = "受注の完了（会計・ポイント・帰属）")
   @StoreScoped
   @Transactional
   public OrderCompletionResponse complete(
@@ -3,14 +3,23 @@ package com.kizuna.order.application;
 import com.kizuna.order.api.dto.OrderMapper;
 import com.kizuna.order.api.dto.OrderResponse;
 import com.kizuna.order.api.dto.PlatformOrderCreateRequest;
+import com.kizuna.order.api.dto.PlatformOrderCursorPage;
 import com.kizuna.order.api.dto.PlatformOrderResponse;
+import com.kizuna.order.domain.OrderCountEstimateRepository;
 import com.kizuna.order.domain.OrderRepository;
+import com.kizuna.order.domain.PlatformOrderView;
+import com.kizuna.shared.storescope.StoreScope;
 import com.kizuna.shared.storescope.StoreScopeExecutor;
 import com.kizuna.shared.storescope.StoreScopeExempt;
 import com.kizuna.shared.storescope.StoreSetScoped;
+import com.kizuna.shared.web.CursorPage;
+import com.kizuna.shared.web.PageCursor;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class PlatformOrderService {
 
   private final OrderRepository orderRepository;
+  private final OrderCountEstimateRepository orderCountEstimateRepository;
   private final OrderService orderService;
   private final StoreScopeExecutor storeScopeExecutor;
   private final OrderMapper orderMapper;
@@ -31,6 +41,54 @@ public class PlatformOrderService {
     return orderRepository.findPlatformViews(pageable).map(orderMapper::toPlatformResponse);
   }
 
+  /**
+   * 授権店舗集合での受注横断一覧（カーソル読み）。新しい受注から順に、続きはカーソルで辿る。
+   *
+   * <p>{@link #list} のページャは頁ごとに授権集合全体の件数を数える。ALL_STORES ではそれが全受注の走査になり、
+   * 平台の規模に比例して重くなる。こちらは件数を数えず、要るときだけプランナの統計から概数を添える。
+   *
+   * @param cursor 続きの位置。null なら先頭から
+   * @param requestedSize 1 回に返す件数の希望値（上限に丸められる）
+   * @param withTotal 件数の見積もりを添えるか
+   */
+  @StoreSetScoped
+  @Transactional(readOnly = true)
+  public PlatformOrderCursorPage listByCursor(String cursor, int requestedSize, boolean withTotal) {
+    int size = CursorPage.clampSize(requestedSize);
+    // 続きの有無は上限より 1 件多く取って判る
+    Limit limit = Limit.of(size + 1);
+    List<PlatformOrderView> fetched =
+        cursor == null
+            ? orderRepository.findPlatformViewsNewest(limit)
+            : fetchBefore(PageCursor.decode(cursor), limit);
+    CursorPage<PlatformOrderResponse> page =
+        CursorPage.of(fetched, size, PlatformOrderService::cursorOf)
+            .map(orderMapper::toPlatformResponse);
+    return new PlatformOrderCursorPage(
+        page.content(), page.nextCursor(), withTotal ? estimateTotal() : null);
+  }
+
+  private List<PlatformOrderView> fetchBefore(PageCursor cursor, Limit limit) {
+    return orderRepository.findPlatformViewsBefore(cursor.timestampKey(), cursor.id(), limit);
+  }
+
+  /** 続きの位置は一覧の並び（受付時刻 + id）と同じ組で作る。組が並びとずれると、続きが手前へ戻るか行を飛ばす。 */
+  private static String cursorOf(PlatformOrderView view) {
+    return new PageCursor(view.getCreatedAt().toString(), view.getId()).encode();
+  }
+
+  /**
+   * 授権店舗集合の受注件数の見積もり。見積もりは native の問い合わせで storeSetFilter が効かないため、集合は自ら渡す（授権集合の解決は
+   * {@code @StoreSetScoped} の aspect が済ませており、ここで null にはならない）。
+   */
+  private long estimateTotal() {
+    StoreScope scope =
+        StoreScope.fromAuthentication(SecurityContextHolder.getContext().getAuthentication());
+    return scope.allStores()
+        ? orderCountEstimateRepository.estimateCount()
+        : orderCountEstimateRepository.estimateCountInStores(scope.storeIds());
+  }
+
   /**
    * 明示的単店指定の受注作成。storeId の授権検証・文脈確立・後片付けは {@link StoreScopeExecutor} が担う。
    *
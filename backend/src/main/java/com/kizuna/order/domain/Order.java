@@ -14,7 +14,10 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -175,6 +178,15 @@ public class Order extends StoreScopedEntity {
   @Column(name = "requester_declared_name")
   private String requesterDeclaredName;
 
+  /**
+   * お客様名検索の鍵。{@link #contactName} か {@link #requesterDeclaredName} を小文字へ均した DB の生成列で、trigram
+   * 索引が張ってある（{@code OrderSearchQuery}）。
+   *
+   * <p>DB が計算する読み取り専用の列で、書き込みには現れない。値は保存した時点では埋まらず、読み直した行にだけ入る。
+   */
+  @Column(name = "display_name_key", insertable = false, updatable = false)
+  private String displayNameKey;
+
   /** キャストを割り当てる（存在確認は application 層の責務）。 */
   public void assignCast(String castId) {
     this.castId = castId;
@@ -288,6 +300,11 @@ public class Order extends StoreScopedEntity {
   /**
    * 店舗が手入力する明細を丸ごと差し替える。行に同一性は持たせず、送られた内容がそのまま新しい内訳になる。
    *
+   * <p>ただし先頭から並びも内容（種別・名称・金額）も送られた行と同じ既存の行は、消して入れ直さずにそのまま残す。会計の場では編集済みの内訳がそのまま送り直されるのが普通で、全行を
+   * DELETE・INSERT し直すと変わっていない行のぶんだけ文が増える。並びは行の
+   * ID（＝起きた順）で決まり、新しく入った行は残した行の後ろに並ぶ。そのため最初に食い違った位置から後ろは、内容の同じ行があっても入れ直す —
+   * 並べ替えや途中の行の編集で、送られた並びが崩れないように。
+   *
    * <p>システム専有の行（ポイント利用）は要求に含められず、既にある行はこの経路で消えない。台帳の減算仕訳と対で書かれた記録が 通常の編集で外れると、内訳と台帳が黙って食い違う。
    *
    * <p>基本コース料金の行名称は受注のコース名の写しから採る。行の側にも名前を名乗らせると、同じ受注が二つのコース名を主張する。
@@ -300,8 +317,18 @@ public class Order extends StoreScopedEntity {
       }
       replaced.add(OrderFeeLine.of(draft.kind(), lineNameFor(draft), draft.amount()));
     }
-    feeLines.removeIf(line -> !line.getKind().isSystemOwned());
-    feeLines.addAll(replaced);
+    List<OrderFeeLine> current =
+        feeLines.stream().filter(line -> !line.getKind().isSystemOwned()).toList();
+    int kept = 0;
+    while (kept < current.size()
+        && kept < replaced.size()
+        && current.get(kept).hasSameContentAs(replaced.get(kept))) {
+      kept++;
+    }
+    Set<OrderFeeLine> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+    stale.addAll(current.subList(kept, current.size()));
+    feeLines.removeIf(stale::contains);
+    feeLines.addAll(replaced.subList(kept, replaced.size()));
     recalculateTotalFee();
   }
 
@@ -0,0 +1,28 @@
+package com.kizuna.order.domain;
+
+import java.util.Collection;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * 受注件数の見積もり（プランナの統計による。ANALYZE の時点の値で、正確な件数ではない）。
+ *
+ * <p>見積もりは DB 関数 {@code estimate_order_count} が EXPLAIN の見積もり行数を返すだけで、表は読まない。一覧の頁ごとに
+ * 件数を数えると授権集合全体の走査になるため、件数が概数で足りる読み口はこちらを使う。
+ *
+ * <p>native の問い合わせなので storeSetFilter は効かない。店舗集合は呼出側が授権集合から渡すこと。読み取り専用の関数呼び出しだけを持ち、受注の書き込み経路を持たないよう
+ * {@link OrderRepository} から分けてある。
+ */
+public interface OrderCountEstimateRepository extends Repository<Order, String> {
+
+  /** 全店舗の受注件数の見積もり。 */
+  @Query(value = "select estimate_order_count(cast(null as bigint[]))", nativeQuery = true)
+  long estimateCount();
+
+  /** 指定店舗集合の受注件数の見積もり。 */
+  @Query(
+      value = "select estimate_order_count(cast(array[:storeIds] as bigint[]))",
+      nativeQuery = true)
+  long estimateCountInStores(@Param("storeIds") Collection<Long> storeIds);
+}
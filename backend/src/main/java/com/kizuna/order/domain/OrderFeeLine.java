@@ -1,6 +1,6 @@
 package com.kizuna.order.domain;
 
-import com.kizuna.shared.persistence.BaseEntity;
+import com.kizuna.shared.persistence.ClientIdEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -20,7 +20,7 @@ import lombok.NoArgsConstructor;
 @Table(name = "t_order_fee_lines")
 @Getter
 @NoArgsConstructor
-public class OrderFeeLine extends BaseEntity {
+public class OrderFeeLine extends ClientIdEntity {
 
   /**
    * 親受注。書き込みは受注集約の関連（{@code @JoinColumn}）が受け持つため読み取り専用で写像する。
@@ -85,6 +85,11 @@ public class OrderFeeLine extends BaseEntity {
     this.name = newName;
   }
 
+  /** 種別・名称・金額が同じか。差し替えで残せる行を見分けるためのもので、ID は比べない。 */
+  boolean hasSameContentAs(OrderFeeLine other) {
+    return kind == other.kind && name.equals(other.name) && amount.equals(other.amount);
+  }
+
   @Override
   public String toString() {
     return "OrderFeeLine(id=" + getId() + ", kind=" + kind + ", amount=" + amount + ")";
@@ -1,9 +1,11 @@
 package com.kizuna.order.domain;
 
 import jakarta.persistence.LockModeType;
+import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -76,7 +78,7 @@ public interface OrderRepository
   /**
    * 名指された受注の読み側 projection をまとめて引く。
    *
-   * <p>並びは<b>返さない</b> — 検索・並び替えの条件は {@code OrderSearchQuery} が動的に組み立てて ID の並びを確定させており、 ここで別の並びを掛けると
+   * <p>並びは<b>返さない</b> — 検索・並び替えの条件は {@code OrderSearchQuery} が動的に組み立てて ID の並びを確定させており、ここで別の並びを掛けると
    * 2 箇所が並びを主張して食い違う。呼出側が ID の並びどおりに並べ直す。
    */
   @Query(VIEW_SELECT + " where o.id in :ids")
@@ -88,7 +90,7 @@ public interface OrderRepository
    * <p>{@code storeFilter} は applyToLoadByKey により派生の {@code findById} にも掛かる（StoreScopedLoadByKeyIT
    * が実測で固定）。JPQL で書くのは境界の明示で、フィルタの代替ではない。
    *
-   * <p>受注に紐づく帰属記録・伝票トークンは platform 帰属で店舗行分離機構に載らない。それらを受注 ID で引く操作は、 先にこの読み口で店舗の所有を確かめてから行う。
+   * <p>受注に紐づく帰属記録・伝票トークンは platform 帰属で店舗行分離機構に載らない。それらを受注 ID で引く操作は、先にこの読み口で店舗の所有を確かめてから行う。
    */
   @Query("select o from com.kizuna.order.domain.Order o where o.id = :id")
   Optional<Order> findScopedById(@Param("id") String id);
@@ -115,7 +117,7 @@ public interface OrderRepository
              o.businessDate as businessDate,
              o.arrivalScheduledStartTime as arrivalScheduledStartTime,
              o.arrivalScheduledEndTime as arrivalScheduledEndTime,
-             o.status as status
+             o.status as status, o.createdAt as createdAt
       from com.kizuna.order.domain.Order o
       """;
 
@@ -123,4 +125,31 @@ public interface OrderRepository
       value = PLATFORM_VIEW_SELECT,
       countQuery = "select count(o) from com.kizuna.order.domain.Order o")
   Page<PlatformOrderView> findPlatformViews(Pageable pageable);
+
+  // カーソル読みの並び。新しい受注が先頭で、同時刻の受注は一意な副キー id で全順序にする。
+  // idx_t_orders_created_at_id を逆向きに辿るので、何ページ目でも読むのは limit 件だけで済む。
+  String PLATFORM_KEYSET_ORDER = " order by o.createdAt desc, o.id desc";
+
+  /** 平台横断一覧（カーソル読み）の先頭。 */
+  @Query(PLATFORM_VIEW_SELECT + PLATFORM_KEYSET_ORDER)
+  List<PlatformOrderView> findPlatformViewsNewest(Limit limit);
+
+  /**
+   * 平台横断一覧（カーソル読み）の続き。渡された位置より後ろ（＝より古い側）だけを返す。
+   *
+   * <p>{@code createdAt <= :cursorCreatedAt} は残りの条件から導ける冗長な項だが、索引の走査の起点になる。OR だけでは
+   * 索引の範囲条件にならず、先頭から位置まで読み飛ばす走査に落ちてページが進むほど重くなる。
+   */
+  @Query(
+      PLATFORM_VIEW_SELECT
+          + """
+          where o.createdAt <= :cursorCreatedAt
+            and (o.createdAt < :cursorCreatedAt
+                 or (o.createdAt = :cursorCreatedAt and o.id < :cursorId))
+          """
+          + PLATFORM_KEYSET_ORDER)
+  List<PlatformOrderView> findPlatformViewsBefore(
+      @Param("cursorCreatedAt") OffsetDateTime cursorCreatedAt,
+      @Param("cursorId") String cursorId,
+      Limit limit);
 }
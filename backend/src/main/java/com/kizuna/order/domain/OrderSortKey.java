@@ -13,6 +13,9 @@ package com.kizuna.order.domain;
  *
  * <p>鍵の値を Java 側で組み直す口は持たない。続きの位置は<b>並びを決めた問い合わせが返した値</b>だけから作る（{@code
  * OrderSearchQuery.OrderedRow}）。同じ計算を式と Java の両方に置くと、片方だけが更新されて並びと位置が静かにずれる。
+ *
+ * <p>鍵ごとに {@code (store_id, status, 鍵の式, id)} の索引を持つ（{@code
+ * store/04-order.yaml}）。鍵を足す・式を変えるときは索引も揃えること — 式が索引とずれると、作業キューの頁ごとに店舗の未完了の受注全件の整列に戻る。
  */
 public enum OrderSortKey {
   BUSINESS_DATE("o.businessDate", KeyType.DATE),
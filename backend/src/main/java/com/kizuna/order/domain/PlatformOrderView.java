@@ -2,9 +2,10 @@ package com.kizuna.order.domain;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 
 /**
- * 平台横断受注一覧の読み側 projection（集合作用域）。 濾過は storeSetFilter が Hibernate session 層で行うため、クエリ側に店舗の where
+ * 平台横断受注一覧の読み側 projection（集合作用域）。濾過は storeSetFilter が Hibernate session 層で行うため、クエリ側に店舗の where
  * 句は持たない。
  */
 public interface PlatformOrderView {
@@ -20,4 +21,7 @@ public interface PlatformOrderView {
   LocalTime getArrivalScheduledEndTime();
 
   OrderStatus getStatus();
+
+  /** カーソル読みの並びの鍵（受付時刻）。応答には載せない。 */
+  OffsetDateTime getCreatedAt();
 }
@@ -1,8 +1,11 @@
 package com.kizuna.order.infrastructure;
 
+import com.kizuna.shared.metrics.MeterTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
@@ -15,9 +18,10 @@ import org.springframework.stereotype.Component;
  * （番号は要求のたびに変えられるので攻撃を止める力が無く、同じ番号から複数人ぶん申し込む正当な利用を先に潰す）。
  *
  * <p>固定窓なので窓の境目をまたぐと短時間に上限の 2 倍まで通りうる。灌水を止める用途では許容し、滑走窓の複雑さは負わない。
+ *
+ * <p>撥ねた件数を店舗ごとに {@code order.guest.application.rejections} へ数える（発信元はタグにしない）。
  */
 @Component
-@RequiredArgsConstructor
 public class GuestApplicationRateLimiter {
 
   private static final String KEY_PREFIX = "order:guest-application:";
@@ -41,6 +45,20 @@ public class GuestApplicationRateLimiter {
           Long.class);
 
   private final RedisTemplate<String, Object> redisTemplate;
+  private final MeterTags meterTags;
+  private final Meter.MeterProvider<Counter> rejections;
+
+  public GuestApplicationRateLimiter(
+      RedisTemplate<String, Object> redisTemplate,
+      MeterTags meterTags,
+      MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.meterTags = meterTags;
+    this.rejections =
+        Counter.builder("order.guest.application.rejections")
+            .description("流量制限で撥ねたゲスト予約申請の件数")
+            .withRegistry(meterRegistry);
+  }
 
   /**
    * 1 件ぶん消費し、窓の上限を超えていれば false を返す。
@@ -53,6 +71,10 @@ public class GuestApplicationRateLimiter {
   public boolean tryConsume(Long storeId, String origin) {
     String key = KEY_PREFIX + storeId + ":" + origin;
     Long count = redisTemplate.execute(CONSUME, List.of(key), String.valueOf(WINDOW.toMillis()));
-    return count != null && count <= MAX_PER_WINDOW;
+    boolean accepted = count != null && count <= MAX_PER_WINDOW;
+    if (!accepted) {
+      rejections.withTags(meterTags.of(storeId)).increment();
+    }
+    return accepted;
   }
 }
@@ -36,7 +36,26 @@ public class OrderSearchQuery {
   private static final String FROM_CLAUSE =
       """
       from com.kizuna.order.domain.Order o
-        left join com.kizuna.customer.domain.Customer c on c.id = o.customerId
+      """;
+
+  /**
+   * お客様名の部分一致に当たる受注 id の集合。表示名（{@code coalesce(c.name, o.contactName,
+   * o.requesterDeclaredName)}）の一致を、出所ごとに排他な 2 つの枝の和へ開いてある。
+   *
+   * <p>表示名の式のまま照合すると 2 表に跨る式になり、どの索引も使えず店舗の受注を join しながら全件照合する。台帳の顧客名の枝は {@code
+   * lower(t_customers.name)}、顧客名を持たない受注の枝は受注の生成列 {@code display_name_key}（連絡先の氏名か名乗りを小文字へ均したもの）が
+   * それぞれ trigram 索引を持つ。枝を分ける条件は「台帳の顧客名が null か」で、元の式の coalesce の分岐と同じなので一致する受注は変わらない。
+   */
+  private static final String CUSTOMER_NAME_MATCH =
+      """
+      o.id in (
+        select o2.id from com.kizuna.order.domain.Order o2
+          join com.kizuna.customer.domain.Customer c2 on c2.id = o2.customerId
+        where lower(c2.name) like :customerName escape '%1$s'
+        union all
+        select o3.id from com.kizuna.order.domain.Order o3
+          left join com.kizuna.customer.domain.Customer c3 on c3.id = o3.customerId
+        where c3.name is null and o3.displayNameKey like :customerName escape '%1$s')
       """;
 
   private final EntityManager entityManager;
@@ -108,10 +127,8 @@ public class OrderSearchQuery {
       // 表示と同じ規則で照合する — 台帳の顧客名が無ければ受付で録入された連絡先の氏名、それも無ければ
       // 申請時の名乗りで呼ぶ。当店に台帳行の無い会員の未確定申請は前 2 つをどちらも持たないため、
       // 名乗りまで見ないと画面に「お客様名なし」として出ている行が検索で消える。3 つが同時に埋まることはない。
-      conditions.add(
-          "lower(coalesce(c.name, o.contactName, o.requesterDeclaredName)) like :customerName escape '"
-              + LIKE_ESCAPE.getEscapeCharacter()
-              + "'");
+      // 照合は CUSTOMER_NAME_MATCH の 2 つの枝で索引を引く。
+      conditions.add(CUSTOMER_NAME_MATCH.formatted(LIKE_ESCAPE.getEscapeCharacter()));
     }
     if (criteria.businessDate() != null) {
       conditions.add("o.businessDate = :businessDate");
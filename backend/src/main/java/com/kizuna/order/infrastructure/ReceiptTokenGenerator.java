@@ -1,6 +1,7 @@
 package com.kizuna.order.infrastructure;
 
 import com.kizuna.shared.config.AppProperties;
+import io.micrometer.tracing.annotation.NewSpan;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
@@ -50,6 +51,7 @@ public class ReceiptTokenGenerator {
   public record GeneratedToken(String raw, String digest) {}
 
   /** 新しい伝票トークンを生成する。同じ生値が二度出ることは実質的に無い。 */
+  @NewSpan("receipt-token.generate")
   public GeneratedToken generate() {
     byte[] bytes = new byte[TOKEN_BYTES];
     random.nextBytes(bytes);
@@ -58,6 +60,7 @@ public class ReceiptTokenGenerator {
   }
 
   /** 提示された生値のダイジェスト。保存された値との照合はこの写像を通して行う（生値の比較は存在しない）。 */
+  @NewSpan("receipt-token.digest")
   public String digest(String raw) {
     return Base64.getUrlEncoder().withoutPadding().encodeToString(hmac(digestKey, raw));
   }
@@ -0,0 +1,139 @@
+package com.kizuna.point.application;
+
+import com.kizuna.point.domain.PointAllocationRepository;
+import com.kizuna.point.domain.PointConsumption;
+import com.kizuna.point.domain.PointEntry;
+import com.kizuna.point.domain.PointEntryRepository;
+import com.kizuna.point.domain.PointLot;
+import com.kizuna.point.domain.PointLotBalance;
+import com.kizuna.point.domain.PointLotBalanceRepository;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ロットの射影（{@link PointLotBalance}）を仕訳と突き合わせ、食い違いを報告して仕訳から作り直す。
+ *
+ * <p>正本は常に仕訳の側で、射影を根拠に仕訳を直す口は持たない。射影は記帳と同じトランザクションで書き足されるので、 通常の経路で食い違いは生じない —
+ * ここが拾うのは、仕訳を記帳の入口を通さずに書いた運用作業や、射影の更新規則の欠陥である。
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PointBalanceVerifier {
+
+  private final PointEntryRepository pointEntryRepository;
+  private final PointAllocationRepository pointAllocationRepository;
+  private final PointLotBalanceRepository pointLotBalanceRepository;
+
+  /** 射影が仕訳と食い違っている会員。全会員を走査するので、定期の照合か運用者の手動実行にだけ使う。 */
+  @Transactional(readOnly = true)
+  public List<Long> findDriftedMembers() {
+    List<Long> drifted = pointLotBalanceRepository.findDriftedMemberIds();
+    if (!drifted.isEmpty()) {
+      log.warn("ポイント残高の射影が仕訳と食い違っている会員: {} 件 {}", drifted.size(), drifted);
+    }
+    return drifted;
+  }
+
+  /** 会員 1 人の射影を仕訳と突き合わせる。書き込みはしない。食い違いが無ければ空。 */
+  @Transactional(readOnly = true)
+  public List<LotDrift> verify(long memberId) {
+    return diff(
+        journalLotsOf(pointEntryRepository.findCredits(memberId)), projectedLotsOf(memberId));
+  }
+
+  /**
+   * 会員 1 人の射影を仕訳から作り直し、作り直す前に見つかった食い違いを返す。食い違いが無ければ何も書かない。
+   *
+   * <p>記帳の経路と同じ台帳のロックを先に取る。取らないと、数え直している間に並行する消費が射影へ足した分を、作り直しが古い数え直しで上書きして消す。
+   * 数え直しそのものは閉じたロットを含む全履歴で行う。
+   */
+  @Transactional
+  public List<LotDrift> rebuild(long memberId) {
+    pointEntryRepository.lockLedger(memberId);
+    List<PointEntry> credits = pointEntryRepository.findCredits(memberId);
+    Map<Long, PointLot> journal = journalLotsOf(credits);
+    List<LotDrift> drifts = diff(journal, projectedLotsOf(memberId));
+    if (drifts.isEmpty()) {
+      return drifts;
+    }
+    log.warn("ポイント残高の射影を仕訳から作り直す memberId: {} 食い違い: {}", memberId, drifts);
+    pointLotBalanceRepository.deleteByMemberIdInBulk(memberId);
+    pointLotBalanceRepository.saveAll(
+        credits.stream()
+            .map(credit -> PointLotBalance.of(credit, journal.get(credit.getId()).consumed()))
+            .toList());
+    return drifts;
+  }
+
+  /** 仕訳の側から数え直したロット。残高の定義そのもので、射影が一致すべき相手。 */
+  private Map<Long, PointLot> journalLotsOf(List<PointEntry> credits) {
+    if (credits.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, Long> consumed =
+        pointAllocationRepository
+            .findConsumedBySourceEntryIds(credits.stream().map(PointEntry::getId).toList())
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    PointConsumption::getSourceEntryId, PointConsumption::getConsumed));
+    Map<Long, PointLot> lots = new LinkedHashMap<>();
+    for (PointEntry credit : credits) {
+      lots.put(
+          credit.getId(),
+          new PointLot(
+              credit.getId(),
+              credit.getAmount(),
+              credit.getExpiresOn(),
+              consumed.getOrDefault(credit.getId(), 0L).intValue()));
+    }
+    return lots;
+  }
+
+  private Map<Long, PointLot> projectedLotsOf(long memberId) {
+    Map<Long, PointLot> lots = new LinkedHashMap<>();
+    for (PointLotBalance balance : pointLotBalanceRepository.findByMemberId(memberId)) {
+      lots.put(
+          balance.getEntryId(),
+          new PointLot(
+              balance.getEntryId(),
+              balance.getAmount(),
+              balance.getExpiresOn(),
+              balance.getConsumed()));
+    }
+    return lots;
+  }
+
+  private static List<LotDrift> diff(Map<Long, PointLot> journal, Map<Long, PointLot> projected) {
+    TreeSet<Long> entryIds = new TreeSet<>(journal.keySet());
+    entryIds.addAll(projected.keySet());
+    List<LotDrift> drifts = new ArrayList<>();
+    for (Long entryId : entryIds) {
+      PointLot expected = journal.get(entryId);
+      PointLot actual = projected.get(entryId);
+      if (!Objects.equals(expected, actual)) {
+        drifts.add(new LotDrift(entryId, expected, actual));
+      }
+    }
+    return drifts;
+  }
+
+  /**
+   * ロット 1 件の食い違い。
+   *
+   * @param entryId 加算仕訳の ID
+   * @param journal 仕訳から数え直した値。射影にだけ残っている行なら null
+   * @param projected 射影の値。射影が欠けているなら null
+   */
+  public record LotDrift(Long entryId, PointLot journal, PointLot projected) {}
+}
@@ -0,0 +1,116 @@
+package com.kizuna.point.application;
+
+import com.kizuna.point.domain.PointLotBalanceRepository;
+import com.kizuna.settings.application.BusinessDateService;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 期限切れロットの一括失効。業務日の変わり目の後に、期限切れで残りのあるロットを持つ会員を ID 順に区切って辿り、会員ごとに 1 件の失効仕訳を積む。
+ *
+ * <p>会員 1 人の失効は {@link PointLedgerService#expire} の 1 トランザクションで、利用と同じ台帳のロック順序を取る。
+ * 処理の区切りはロットの状態そのもの（失効したロットは残りが 0 になり候補から外れる）なので、途中で止まっても次の実行が 続きを拾い、複数ノードが同時に走っても会員のロックで直列化されて後着は
+ * 0 件で終わる。1 人の失敗は記録して飛ばし、残りの会員を止めない。
+ *
+ * <p>失効を待たずとも、読み口は期限切れのロットを残高へ数えない（{@code PointLedger}）。この処理は仕訳に失効を記し、閉じたロットを読み口の走査から外すためのもの。
+ */
+@Log4j2
+@Component
+public class PointExpirySweeper {
+
+  private final PointLotBalanceRepository pointLotBalanceRepository;
+  private final PointLedgerService pointLedgerService;
+  private final BusinessDateService businessDateService;
+  private final AppProperties appProperties;
+  private final Counter expiredMembers;
+  private final Counter expiredPoints;
+  private final Counter failures;
+  private final Timer runs;
+
+  public PointExpirySweeper(
+      PointLotBalanceRepository pointLotBalanceRepository,
+      PointLedgerService pointLedgerService,
+      BusinessDateService businessDateService,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry) {
+    this.pointLotBalanceRepository = pointLotBalanceRepository;
+    this.pointLedgerService = pointLedgerService;
+    this.businessDateService = businessDateService;
+    this.appProperties = appProperties;
+    this.expiredMembers =
+        Counter.builder("point.expiry.members").description("失効仕訳を積んだ会員の数").register(meterRegistry);
+    this.expiredPoints =
+        Counter.builder("point.expiry.points").description("失効させたポイントの合計").register(meterRegistry);
+    this.failures =
+        Counter.builder("point.expiry.failures")
+            .description("失効に失敗して飛ばした会員の数")
+            .register(meterRegistry);
+    this.runs =
+        Timer.builder("point.expiry.sweep").description("一括失効 1 回の所要時間").register(meterRegistry);
+  }
+
+  /**
+   * 定時の一括失効。基準日は現在の営業日（{@link BusinessDateService}）で、暦日ではなく日付変更時刻で切り替わる。
+   *
+   * <p>日付変更時刻より前に起動した回は前の営業日を基準にするので、前日が期限のロットは次の回まで残る（読み口は既に数えない）。{@code app.point-expiry.cron}
+   * は日付変更時刻より後に置く。
+   *
+   * <p>全件を辿り終えるまで定期処理のスレッドを 1 本占めるので、他の定期処理（失効経路の心拍など）が止まらないよう、そのスレッドは複数本にしてある（{@code
+   * spring.task.scheduling.pool.size}）。
+   */
+  @Scheduled(cron = "${app.point-expiry.cron:0 30 0 * * *}", zone = "${app.timezone:Asia/Tokyo}")
+  public void sweepScheduled() {
+    sweep(businessDateService.currentBusinessDate());
+  }
+
+  /** {@code today} より前に期限が切れたロットをすべて閉じる。候補の選び出しと会員ごとの失効は同じ {@code today} で判定する。 */
+  public SweepResult sweep(LocalDate today) {
+    return runs.record(() -> sweepChunks(today));
+  }
+
+  private SweepResult sweepChunks(LocalDate today) {
+    int chunkSize = appProperties.getPointExpiry().getChunkSize();
+    int members = 0;
+    long points = 0;
+    int failed = 0;
+    long after = 0;
+    while (true) {
+      List<Long> memberIds =
+          pointLotBalanceRepository.findMemberIdsWithExpiredLots(today, after, Limit.of(chunkSize));
+      for (Long memberId : memberIds) {
+        try {
+          int expired = pointLedgerService.expire(memberId, today);
+          if (expired > 0) {
+            members++;
+            points += expired;
+            expiredMembers.increment();
+            expiredPoints.increment(expired);
+          }
+        } catch (RuntimeException e) {
+          // 飛ばした会員は区切りの後ろへ進むので、この実行では拾い直さない。次の実行で再び候補に上がる。
+          failed++;
+          failures.increment();
+          log.error("ポイントの失効に失敗した memberId: {}", memberId, e);
+        }
+      }
+      if (memberIds.size() < chunkSize) {
+        break;
+      }
+      after = memberIds.getLast();
+      log.debug("ポイントの失効を処理中 memberId: {} まで {} 人", after, members);
+    }
+    log.info("ポイントの失効を終えた 基準日: {} 会員: {} 人 ポイント: {} 失敗: {} 人", today, members, points, failed);
+    return new SweepResult(members, points, failed);
+  }
+
+  /** 1 回の一括失効の結果。{@code members} は失効仕訳を積んだ会員の数で、並行した実行に先を越された会員は数えない。 */
+  public record SweepResult(int members, long points, int failures) {}
+}
@@ -8,13 +8,15 @@ import com.kizuna.point.domain.PointConsumption;
 import com.kizuna.point.domain.PointEntry;
 import com.kizuna.point.domain.PointEntryRepository;
 import com.kizuna.point.domain.PointLedger;
-import com.kizuna.point.domain.PointLot;
+import com.kizuna.point.domain.PointLotBalance;
+import com.kizuna.point.domain.PointLotBalanceRepository;
 import com.kizuna.settings.application.PointSettings;
 import com.kizuna.settings.application.SystemConfigService;
 import com.kizuna.shared.config.AppProperties;
 import com.kizuna.shared.exception.ConflictException;
 import com.kizuna.shared.exception.NotFoundException;
 import com.kizuna.shared.exception.ServiceException;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Collection;
@@ -31,6 +33,9 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>伝播は既定の REQUIRED。受注完了のように「オーダーの確定とポイントの付与が同時に成立するか、どちらも成立しないか」を
  * 求める呼出が呼び元のトランザクションへ合流できるようにするため、 イベントによる非同期化はしていない。
+ *
+ * <p>残高と消費計画はロットの射影（{@link PointLotBalance}）の「残りのあるロット」から導く。射影は仕訳の記帳と同じトランザクションで 書き足すので（{@code
+ * record}）、仕訳の正本性は変わらない — 食い違いは {@link PointBalanceVerifier} が仕訳から作り直す。
  */
 @Service
 @RequiredArgsConstructor
@@ -39,6 +44,7 @@ public class PointLedgerService {
 
   private final PointEntryRepository pointEntryRepository;
   private final PointAllocationRepository pointAllocationRepository;
+  private final PointLotBalanceRepository pointLotBalanceRepository;
   private final SystemConfigService systemConfigService;
   private final AppProperties appProperties;
 
@@ -74,10 +80,14 @@ public class PointLedgerService {
     return unit <= 0 ? 1 : unit;
   }
 
-  /** 会員の現在残高。1 件の仕訳は int でも、台帳全体の合計は int を超えうる。 */
+  /**
+   * 会員の現在残高。1 件の仕訳は int でも、台帳全体の合計は int を超えうる。
+   *
+   * <p>読むのは射影の残りのあるロットだけで、消費し切ったロットと引き当ての履歴は畳み直さない。
+   */
   @Transactional(readOnly = true)
   public long balance(long memberId) {
-    return ledgerOf(pointEntryRepository.findCredits(memberId)).balance();
+    return openLedgerOf(memberId).balance();
   }
 
   /**
@@ -114,6 +124,7 @@ public class PointLedgerService {
   }
 
   /** 受注完了に伴う付与。会計金額から付与額を決めて記帳する。付与が 0 なら台帳へ何も書かない。戻り値は実際に付与したポイント数。 */
+  @Timed(value = "point.ledger.grant", description = "受注完了に伴う付与の記帳")
   public int grantForOrder(
       long memberId, String orderId, Long storeId, int totalFee, Long actorUserId) {
     int granted = previewGrant(totalFee);
@@ -132,11 +143,11 @@ public class PointLedgerService {
     if (plannedPoints == 0) {
       return;
     }
-    pointEntryRepository.save(
-        PointEntry.grantForOrder(memberId, orderId, storeId, plannedPoints, actorUserId));
+    record(PointEntry.grantForOrder(memberId, orderId, storeId, plannedPoints, actorUserId));
   }
 
   /** 受注会計でのポイント利用。期限の早いロットから引き当てる。 */
+  @Timed(value = "point.ledger.use", description = "受注会計でのポイント利用（台帳のロックと引き当て）")
   public void useForOrder(
       long memberId, String orderId, Long storeId, int points, Long actorUserId) {
     int unit = usageUnit();
@@ -144,7 +155,7 @@ public class PointLedgerService {
       throw new ServiceException("利用ポイントは " + unit + " ポイント単位で指定してください");
     }
     List<PlannedAllocation> plan = lockedLedgerOf(memberId).planConsumption(points);
-    pointEntryRepository.save(
+    record(
         PointEntry.useForOrder(
             memberId, orderId, storeId, points, allocationsOf(plan), actorUserId));
   }
@@ -179,7 +190,7 @@ public class PointLedgerService {
       if (expiresOn != null && expiresOn.isBefore(businessToday())) {
         throw new ServiceException("有効期限に過去の日付は指定できません");
       }
-      pointEntryRepository.save(
+      record(
           PointEntry.manualAdjust(
               memberId, storeId, delta, reason, expiresOn, List.of(), actorUserId, idempotencyKey));
       return;
@@ -188,7 +199,7 @@ public class PointLedgerService {
       throw new ServiceException("減算の調整に有効期限は指定できません");
     }
     List<PlannedAllocation> plan = lockedLedgerOf(memberId).planConsumption(-delta);
-    pointEntryRepository.save(
+    record(
         PointEntry.manualAdjust(
             memberId,
             storeId,
@@ -245,7 +256,7 @@ public class PointLedgerService {
       throw new ServiceException("訂正は減算で指定してください");
     }
     List<PlannedAllocation> plan = lockedLedgerOf(memberId).planConsumption(-delta);
-    pointEntryRepository.save(
+    record(
         PointEntry.correctAttribution(
             memberId,
             storeId,
@@ -318,7 +329,7 @@ public class PointLedgerService {
   /**
    * 加算仕訳の取消。未消費分だけを打ち消す仕訳を積み、元の行は書き換えない。
    *
-   * <p>取消も引き当てを書く消費なので、未消費分を数える前に消費経路と同じ行ロックを取る。取らないと、並行する利用が
+   * <p>取消も引き当てを書く消費なので、未消費分を数える前に消費経路と同じ台帳のロックを取る。取らないと、並行する利用が
    * 同じ残りを引き当てた後に取消が古い未消費分を打ち消し、ロットの引き当て合計が加算量を超える。
    */
   public void cancel(long entryId, Long actorUserId) {
@@ -326,9 +337,9 @@ public class PointLedgerService {
         pointEntryRepository
             .findById(entryId)
             .orElseThrow(() -> new NotFoundException("ポイント仕訳が見つかりません"));
-    pointEntryRepository.findCreditsForUpdate(original.getMemberId());
+    pointEntryRepository.lockLedger(original.getMemberId());
     int available = original.getAmount() - consumedBy(List.of(entryId)).getOrDefault(entryId, 0);
-    pointEntryRepository.save(PointEntry.cancel(original, available, actorUserId));
+    record(PointEntry.cancel(original, available, actorUserId));
   }
 
   /**
@@ -342,28 +353,58 @@ public class PointLedgerService {
     if (credits.isEmpty()) {
       return;
     }
-    // 単発の取消と同じく、未消費分を数える前に消費経路と同じ行ロックを取る。
+    // 単発の取消と同じく、未消費分を数える前に消費経路と同じ台帳のロックを取る。会員が複数なら ID 順に取り、
+    // 同じ会員たちを逆順に押さえる取消と待ちが環にならないようにする。
     credits.stream()
         .map(PointEntry::getMemberId)
         .distinct()
-        .forEach(pointEntryRepository::findCreditsForUpdate);
+        .sorted()
+        .forEach(pointEntryRepository::lockLedger);
     Map<Long, Integer> consumed = consumedBy(credits.stream().map(PointEntry::getId).toList());
     for (PointEntry credit : credits) {
       int available = credit.getAmount() - consumed.getOrDefault(credit.getId(), 0);
       if (available <= 0) {
         continue;
       }
-      pointEntryRepository.save(PointEntry.cancel(credit, available, actorUserId));
+      record(PointEntry.cancel(credit, available, actorUserId));
+    }
+  }
+
+  /**
+   * 会員 1 人の期限切れロットの残りを 1 件の失効仕訳で閉じる。戻り値は失効させたポイント数で、閉じるロットが無ければ 0（何も書かない）。
+   *
+   * <p>失効も引き当てを書く消費なので、利用と同じ順序（台帳のロック → 射影の読み）で台帳を押さえる。押さえてから
+   * 数え直すので、並行した利用が先に同じロットを引き当てても、失効はその残りだけを閉じる。何度呼んでも、閉じた後は 0 を返すだけである。
+   *
+   * <p>期限切れの判定は呼び手の基準日 {@code today} で行う。一括失効は候補の会員をその日付で選んでいるので、
+   * 同じ日付で閉じないと、候補に上がった会員のロットを閉じ損ねたり、まだ選んでいない日付のロットを閉じたりする。
+   */
+  public int expire(long memberId, LocalDate today) {
+    pointEntryRepository.lockLedger(memberId);
+    List<PlannedAllocation> plan =
+        new PointLedger(pointLotBalanceRepository.findOpenLots(memberId), today).planExpiry();
+    if (plan.isEmpty()) {
+      return 0;
     }
+    int points = Math.toIntExact(plan.stream().mapToLong(PlannedAllocation::amount).sum());
+    record(PointEntry.expire(memberId, points, allocationsOf(plan)));
+    return points;
   }
 
-  /** 消費のために加算ロットを行ロック付きで読み直した台帳。 */
+  /**
+   * 消費のために会員の台帳のロックを取ってから読んだ台帳。
+   *
+   * <p>直列化点は会員 ID を鍵にした advisory lock（{@link
+   * PointEntryRepository#lockLedger}）で、計画の材料は射影から読む。ロックの取得後に
+   * 射影を読むので、先に押さえていた消費の足し込みはコミット済みの値として見える（READ COMMITTED でも文ごとに新しいスナップショット）。
+   */
   private PointLedger lockedLedgerOf(long memberId) {
-    return ledgerOf(pointEntryRepository.findCreditsForUpdate(memberId));
+    pointEntryRepository.lockLedger(memberId);
+    return openLedgerOf(memberId);
   }
 
-  private PointLedger ledgerOf(List<PointEntry> credits) {
-    return new PointLedger(lotsOf(credits), businessToday());
+  private PointLedger openLedgerOf(long memberId) {
+    return new PointLedger(pointLotBalanceRepository.findOpenLots(memberId), businessToday());
   }
 
   /** 期限の判定は業務のタイムゾーンの「本日」で行う — JVM のタイムゾーンで判じると、業務日と 1 日ずれる。 */
@@ -371,20 +412,20 @@ public class PointLedgerService {
     return LocalDate.now(ZoneId.of(appProperties.getTimezone()));
   }
 
-  private List<PointLot> lotsOf(List<PointEntry> credits) {
-    if (credits.isEmpty()) {
-      return List.of();
+  /**
+   * 仕訳を記帳し、同じトランザクションでロットの射影へ反映する。台帳へ行を足す経路はすべてここを通る。
+   *
+   * <p>加算は新しいロットとして写し、減算は引き当て 1 行ごとに引き当て元のロットの消費済み量へ足す。 仕訳の INSERT が先なのは、射影が仕訳 ID を外部キーで指すため。
+   */
+  private void record(PointEntry entry) {
+    pointEntryRepository.save(entry);
+    if (entry.getAmount() > 0) {
+      pointLotBalanceRepository.save(PointLotBalance.open(entry));
+      return;
+    }
+    for (PointAllocation allocation : entry.getAllocations()) {
+      pointLotBalanceRepository.consume(allocation.getSourceEntryId(), allocation.getAmount());
     }
-    Map<Long, Integer> consumed = consumedBy(credits.stream().map(PointEntry::getId).toList());
-    return credits.stream()
-        .map(
-            credit ->
-                new PointLot(
-                    credit.getId(),
-                    credit.getAmount(),
-                    credit.getExpiresOn(),
-                    consumed.getOrDefault(credit.getId(), 0)))
-        .toList();
   }
 
   private Map<Long, Integer> consumedBy(List<Long> creditIds) {
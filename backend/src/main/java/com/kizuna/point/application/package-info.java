@@ -12,6 +12,9 @@
  *
  * <p>受注ごとの付与合計を公開するのは、会員の来店履歴（order モジュール）が来店 1 件に「その来店で得たポイント」を添えるため。 返すのは合計値だけで、仕訳の行は渡さない。
  *
+ * <p>残高照会と消費計画はロットの射影（{@code PointLotBalance}）を読む。射影は記帳と同じトランザクションで書き足す派生物で、
+ * 仕訳との突き合わせと作り直しの口（{@code PointBalanceVerifier}）もこのモジュールが持つ — 射影の規則を知る場所を台帳の外へ出さないため。
+ *
  * <p>会員本人向けの明細の読み口（{@code MemberPointService}）はこのモジュール自身が {@code /platform/me} 配下へ露出する。返すのは表示用の 読み側
  * projection で、引き当て・元取引・理由・実行者を持たず、書き込みの口も伴わない。
  */
@@ -1,6 +1,6 @@
 package com.kizuna.point.domain;
 
-import com.kizuna.shared.persistence.BaseEntity;
+import com.kizuna.shared.persistence.ClientIdEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -19,7 +19,7 @@ import lombok.NoArgsConstructor;
 @Table(name = "t_point_usage_allocations")
 @Getter
 @NoArgsConstructor
-public class PointAllocation extends BaseEntity {
+public class PointAllocation extends ClientIdEntity {
 
   @Column(name = "source_entry_id", nullable = false, updatable = false)
   private Long sourceEntryId;
@@ -1,35 +1,39 @@
 package com.kizuna.point.domain;
 
-import jakarta.persistence.LockModeType;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface PointEntryRepository extends JpaRepository<PointEntry, Long> {
 
-  /** 会員の加算ロット（残高照会用、ロックなし）。エンティティ名は HQL の予約語衝突を避けるため FQCN で参照する。 */
+  /**
+   * 会員の加算ロットすべて（消費し切ったものを含む）。ロックなし。エンティティ名は HQL の予約語衝突を避けるため FQCN で参照する。
+   *
+   * <p>会員の在籍とともに増え続けるので、残高や消費計画には使わない（それらは射影の閉じていないロットを読む）。射影との突き合わせのように履歴全体が要る経路だけが使う。
+   */
   @Query(
       "select e from com.kizuna.point.domain.PointEntry e where e.memberId = :memberId"
           + " and e.amount > 0")
   List<PointEntry> findCredits(@Param("memberId") Long memberId);
 
   /**
-   * 会員の加算ロットを悲観排他ロック（SELECT ... FOR UPDATE）付きで取得する。
+   * 会員の台帳への書き込みを直列化するロックを取る。トランザクションの終わりまで保持する PostgreSQL の advisory lock（{@code
+   * pg_advisory_xact_lock}）で、鍵は会員 ID そのもの。
    *
    * <p>「残高は 0 未満にならない」は行を跨いだ合計の不変量で、DB 制約では守れない。同一会員の消費を直列化することで、 並行する 2
-   * つの消費が同じ残りを二重に引き当てるのを防ぐ。読むだけの経路は {@link #findCredits} を使う。
+   * つの消費が同じ残りを二重に引き当てるのを防ぐ。読むだけの経路はこのロックを取らない。
+   *
+   * <p>行ロックではないので、ロットの数に関わらず 1 個で済み、仕訳の行へロックの印も書かない。行に紐づかない分、射影を消して入れ直す作り直し（{@code
+   * PointBalanceVerifier}）の最中でも同じ鍵で待ち合わせられる。単一の bigint 鍵の空間は台帳が専有する — 他の用途で advisory lock
+   * を取るときは、この空間と重ならない 2 つの int の鍵を使うこと。
    */
-  @Lock(LockModeType.PESSIMISTIC_WRITE)
-  @Query(
-      "select e from com.kizuna.point.domain.PointEntry e where e.memberId = :memberId"
-          + " and e.amount > 0")
-  List<PointEntry> findCreditsForUpdate(@Param("memberId") Long memberId);
+  @Query(value = "select 1 from pg_advisory_xact_lock(:memberId)", nativeQuery = true)
+  int lockLedger(@Param("memberId") long memberId);
 
   /** 受注を根拠とする加算ロット。受注からその付与を辿って取り消す経路の入口。 */
   @Query(
@@ -122,9 +126,9 @@ public interface PointEntryRepository extends JpaRepository<PointEntry, Long> {
       MEMBER_ENTRY_SELECT
           + MEMBER_ENTRY_WHERE
           + """
-            and (e.createdAt < :cursorCreatedAt
-                 or (e.createdAt = :cursorCreatedAt and e.id < :cursorId))
-            """
+          and (e.createdAt < :cursorCreatedAt
+               or (e.createdAt = :cursorCreatedAt and e.id < :cursorId))
+          """
           + MEMBER_ENTRY_ORDER)
   List<MemberPointEntryView> findMemberEntryViewsAfter(
       @Param("memberId") Long memberId,
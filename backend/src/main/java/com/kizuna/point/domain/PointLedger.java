@@ -53,6 +53,19 @@ public final class PointLedger {
     return plan;
   }
 
+  /**
+   * 基準日を過ぎたロットの残りをすべて失効させる引き当て計画。失効させるものが無ければ空（仕訳 ID の昇順）。
+   *
+   * <p>既に引き当て済みの分には触れない — 期限切れが取り去るのは残りの利用可能量だけで、この計画を記帳するとそのロットは 残りが 0 になり、以後の読み口に現れない。
+   */
+  public List<PlannedAllocation> planExpiry() {
+    return lots.stream()
+        .filter(lot -> !usable(lot) && remaining(lot) > 0)
+        .sorted(Comparator.comparing(PointLot::entryId))
+        .map(lot -> new PlannedAllocation(lot.entryId(), remaining(lot)))
+        .toList();
+  }
+
   /** 消費順に並べた利用可能ロット。{@link #balance} と同じ「利用できる」判定を使う。 */
   private List<PointLot> consumptionOrder() {
     return lots.stream()
@@ -0,0 +1,85 @@
+package com.kizuna.point.domain;
+
+import com.kizuna.shared.persistence.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 加算ロット 1 件の消費済み量の射影。正本は仕訳（{@link PointEntry} と {@link PointAllocation}）で、この行は仕訳の記帳と同じ
+ * トランザクションで書き足される派生物にすぎない。
+ *
+ * <p>残高の照会と消費計画は、会員の全ロットと全引き当てを毎回畳み直す代わりにこの行の「残りのあるロット」だけを読む。
+ * 会員の在籍が長くなるほど消費し切ったロットは増え続けるが、読む量は残りのあるロットの数で頭打ちになる。
+ *
+ * <p>加算量と期限は元の仕訳の写しで、動くのは消費済み量だけ。食い違いは仕訳から作り直して正す（{@code PointBalanceVerifier}） —
+ * この行を根拠に仕訳を直すことはない。
+ */
+@Entity
+@Table(name = "t_point_lot_balances")
+@Getter
+@NoArgsConstructor
+public class PointLotBalance extends BaseEntity {
+
+  @Column(name = "entry_id", nullable = false, updatable = false)
+  private Long entryId;
+
+  @Column(name = "member_id", nullable = false, updatable = false)
+  private Long memberId;
+
+  @Column(name = "amount", nullable = false, updatable = false)
+  private Integer amount;
+
+  @Column(name = "expires_on", updatable = false)
+  private LocalDate expiresOn;
+
+  /** 引き当ての合計。射影の更新は一括 UPDATE で足し込むため、実体を経由して書き換えることはない。 */
+  @Column(name = "consumed", nullable = false)
+  private Integer consumed;
+
+  /**
+   * ロットが閉じたか（消費し切った・取り消した・失効した）。DB の生成列（{@code consumed >= amount}）で、アプリからは書かない。
+   * 読み口と消費計画は閉じていないロットだけを部分索引から引く。
+   */
+  @Column(name = "closed", insertable = false, updatable = false)
+  private Boolean closed;
+
+  private PointLotBalance(
+      Long entryId, Long memberId, int amount, LocalDate expiresOn, int consumed) {
+    this.entryId = entryId;
+    this.memberId = memberId;
+    this.amount = amount;
+    this.expiresOn = expiresOn;
+    this.consumed = consumed;
+  }
+
+  /** 記帳したばかりの加算仕訳を、まだ何も引き当てられていないロットとして写す。 */
+  public static PointLotBalance open(PointEntry credit) {
+    return of(credit, 0);
+  }
+
+  /** 加算仕訳と、仕訳から数え直した消費済み量の組。射影を仕訳から作り直すときに使う。 */
+  public static PointLotBalance of(PointEntry credit, int consumed) {
+    if (credit.getAmount() <= 0) {
+      throw new InvalidPointEntryException("射影できるのは加算の仕訳だけです");
+    }
+    return new PointLotBalance(
+        credit.getId(), credit.getMemberId(), credit.getAmount(), credit.getExpiresOn(), consumed);
+  }
+
+  @Override
+  public String toString() {
+    return "PointLotBalance(entryId="
+        + entryId
+        + ", memberId="
+        + memberId
+        + ", amount="
+        + amount
+        + ", consumed="
+        + consumed
+        + ")";
+  }
+}
@@ -0,0 +1,90 @@
+package com.kizuna.point.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PointLotBalanceRepository extends JpaRepository<PointLotBalance, Long> {
+
+  /**
+   * 会員の残りのあるロット。部分索引 {@code idx_t_point_lot_balances_open} の述語と同じ条件で引く。
+   *
+   * <p>実体ではなく {@link PointLot} を直に組み立てて返す。射影の消費済み量は一括 UPDATE（{@link #consume}）で動くので、
+   * 実体として永続化文脈へ載せると、同じトランザクションの後続の読みが第一次キャッシュの古い値を見る。
+   */
+  @Query(
+      """
+      select new com.kizuna.point.domain.PointLot(b.entryId, b.amount, b.expiresOn, b.consumed)
+      from com.kizuna.point.domain.PointLotBalance b
+      where b.memberId = :memberId and b.closed = false
+      """)
+  List<PointLot> findOpenLots(@Param("memberId") Long memberId);
+
+  /**
+   * 基準日より前に期限が切れ、まだ残りのあるロットを持つ会員を、{@code after} より大きい ID から昇順に返す。失効の一括処理が会員を区切って辿るのに使う。
+   *
+   * <p>失効の記帳でロットは残りが 0 になり条件から外れるので、途中で止まった処理は先頭から辿り直しても閉じ済みの会員を拾わない。部分索引 {@code
+   * idx_t_point_lot_balances_expiring} の述語と同じ条件で引く。
+   */
+  @Query(
+      """
+      select distinct b.memberId from com.kizuna.point.domain.PointLotBalance b
+      where b.expiresOn < :today and b.closed = false and b.memberId > :after
+      order by b.memberId
+      """)
+  List<Long> findMemberIdsWithExpiredLots(
+      @Param("today") LocalDate today, @Param("after") long after, Limit limit);
+
+  /** 会員の全ロット（消費し切ったものを含む）。仕訳との突き合わせにだけ使う。 */
+  List<PointLotBalance> findByMemberId(Long memberId);
+
+  /**
+   * ロットへの引き当てを射影へ足し込む。減算仕訳の記帳と同じトランザクションで、引き当て 1 行ごとに呼ぶ。
+   *
+   * <p>実体を読まずに 1 文で足すのは、読んでから書く形だと同じロットへの並行した足し込みが後勝ちで消えるため。
+   * 消費の経路は台帳のロックで直列化されているが、射影の正しさをそのロックに依存させない。
+   *
+   * @return 更新した行数。射影の欠けたロットなら 0（照合で検出して作り直す）
+   */
+  @Modifying
+  @Query(
+      """
+      update com.kizuna.point.domain.PointLotBalance b set b.consumed = b.consumed + :amount
+      where b.entryId = :entryId
+      """)
+  int consume(@Param("entryId") Long entryId, @Param("amount") int amount);
+
+  /** 会員の射影をすべて消す。仕訳から作り直す直前にだけ使う。 */
+  @Modifying
+  @Query("delete from com.kizuna.point.domain.PointLotBalance b where b.memberId = :memberId")
+  int deleteByMemberIdInBulk(@Param("memberId") Long memberId);
+
+  /**
+   * 射影が仕訳と食い違っている会員。仕訳の加算行と引き当ての合計から射影を定義どおりに数え直し、欠け・余り・値の不一致のいずれかがある会員を返す。
+   *
+   * <p>全会員を走査する重い問い合わせで、照合の定期実行か運用者の手動実行にだけ使う。 native なのは、仕訳と射影の完全外部結合が要るため（台帳は店舗で分割されず storeFilter
+   * の対象でもないので、native にしても失う境界は無い）。
+   */
+  @Query(
+      value =
+          """
+          select distinct coalesce(j.member_id, b.member_id)
+          from (
+            select e.id as entry_id, e.member_id, e.amount, e.expires_on,
+                   coalesce((select sum(a.amount) from t_point_usage_allocations a
+                             where a.source_entry_id = e.id), 0) as consumed
+            from t_point_entries e
+            where e.amount > 0
+          ) j
+          full join t_point_lot_balances b on b.entry_id = j.entry_id
+          where j.entry_id is null or b.entry_id is null
+             or j.amount <> b.amount or j.consumed <> b.consumed
+             or j.expires_on is distinct from b.expires_on
+          """,
+      nativeQuery = true)
+  List<Long> findDriftedMemberIds();
+}
@@ -12,7 +12,7 @@ public interface SystemConfigService {
 
   SystemConfigResponse updateConfig(String configKey, SystemConfigUpdateRequest request);
 
-  /** 設定値を取得する（キャッシュされる。バックエンド内部からの設定参照はこのメソッドを使うこと） */
+  /** 設定値を取得する（プロセス内と Redis の 2 段でキャッシュされる。バックエンド内部からの設定参照はこのメソッドを使うこと） */
   Optional<String> getConfigValue(String configKey);
 
   /** SMTP 設定の型付きスナップショット（キー名の知識は settings 側に閉じる）。 */
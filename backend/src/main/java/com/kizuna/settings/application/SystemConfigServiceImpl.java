@@ -15,8 +15,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +31,8 @@ public class SystemConfigServiceImpl implements SystemConfigService {
 
   private final SystemConfigRepository systemConfigRepository;
   private final SystemConfigMapper systemConfigMapper;
+  private final SystemConfigValueCache systemConfigValueCache;
+  private final SystemConfigSnapshotCache systemConfigSnapshotCache;
 
   @Override
   @Transactional(readOnly = true)
@@ -52,8 +52,6 @@ public class SystemConfigServiceImpl implements SystemConfigService {
 
   @Override
   @Transactional
-  // どのキーが更新されても確実に無効化するため全消去（設定更新は低頻度の管理操作）
-  @CacheEvict(value = "systemConfigValues", allEntries = true)
   public SystemConfigResponse updateConfig(String configKey, SystemConfigUpdateRequest request) {
     SystemConfig config =
         systemConfigRepository
@@ -63,82 +61,31 @@ public class SystemConfigServiceImpl implements SystemConfigService {
     validateValue(config, request.getConfigValue());
     systemConfigMapper.updateEntityFromRequest(request, config);
     SystemConfig saved = systemConfigRepository.save(config);
+    systemConfigValueCache.invalidateAll();
+    systemConfigSnapshotCache.invalidate();
     return toMaskedResponse(saved);
   }
 
   @Override
-  @Transactional(readOnly = true)
-  @Cacheable(value = "systemConfigValues", key = "#configKey")
   public Optional<String> getConfigValue(String configKey) {
-    return systemConfigRepository.findByConfigKey(configKey).map(SystemConfig::getConfigValue);
+    return systemConfigValueCache.get(configKey);
   }
 
-  /**
-   * SMTP 設定は都度読む（キャッシュしない）。キャッシュ値の既定シリアライザは JDK 直列化で、{@code Serializable} でない record
-   * を載せようとすると読み取り自体が例外になる（{@code getConfigValue} が動くのは Spring が Optional を解いて String
-   * を保存するため）。送信は低頻度で、都度読みなら管理画面での差し替えも次の送信から効く。
-   */
+  /** 型付き設定の 3 つはいずれも同じスナップショットの写しから返す（{@link SystemConfigSnapshotCache}）。 */
   @Override
-  @Transactional(readOnly = true)
   public SmtpSettings smtpSettings() {
-    int port = 25;
-    String rawPort = rawValue("smtp_port");
-    if (!rawPort.isBlank()) {
-      try {
-        port = Integer.parseInt(rawPort.trim());
-      } catch (NumberFormatException e) {
-        // 不正値は既定ポートで送信を試みる（更新時に NUMBER 検証済みのため通常は到達しない）
-      }
-    }
-    return new SmtpSettings(
-        rawValue("smtp_host"),
-        port,
-        rawValue("smtp_username"),
-        rawValue("smtp_password"),
-        rawValue("smtp_from"));
+    return systemConfigSnapshotCache.current().smtp();
   }
 
-  /** LINE チャネル資格情報は都度読む（キャッシュしない）。参照するのは LINE 端点だけで頻度が低く、 管理画面での差し替えを次の要求から効かせられる。 */
   @Override
-  @Transactional(readOnly = true)
   public LineChannelSettings lineChannelSettings() {
-    return new LineChannelSettings(rawValue("line_channel_id"), rawValue("line_channel_secret"));
+    return systemConfigSnapshotCache.current().lineChannel();
   }
 
-  /**
-   * ポイント制度の設定は都度読む（キャッシュしない）。理由は {@link #smtpSettings} と同じで、record は {@code Serializable} でないため既定の
-   * JDK 直列化キャッシュに載せられない。
-   *
-   * <p>既定値は「付与しない・利用単位 1」で、未設定や不正値のまま受注完了が落ちることはない。
-   */
+  /** 既定値は「付与しない・利用単位 1」で、未設定や不正値のまま受注完了が落ちることはない。 */
   @Override
-  @Transactional(readOnly = true)
   public PointSettings pointSettings() {
-    return new PointSettings(
-        intValue("point_grant_unit_amount", 0),
-        intValue("point_grant_points_per_unit", 0),
-        intValue("point_usage_unit", 1));
-  }
-
-  /** 数値設定の読み取り。未設定・不正値は既定値へ倒す（更新時に NUMBER として int の範囲まで検証済みのため不正値は通常は到達しない）。 */
-  private int intValue(String configKey, int fallback) {
-    String raw = rawValue(configKey);
-    if (raw.isBlank()) {
-      return fallback;
-    }
-    try {
-      return Integer.parseInt(raw.trim());
-    } catch (NumberFormatException e) {
-      return fallback;
-    }
-  }
-
-  /** {@code getConfigValue} のキャッシュを経由しない内部読み取り（設定スナップショットは都度 DB から組み立てる）。 */
-  private String rawValue(String configKey) {
-    return systemConfigRepository
-        .findByConfigKey(configKey)
-        .map(SystemConfig::getConfigValue)
-        .orElse("");
+    return systemConfigSnapshotCache.current().point();
   }
 
   /** value_type に応じて設定値を検証する */
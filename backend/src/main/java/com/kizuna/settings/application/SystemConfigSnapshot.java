@@ -0,0 +1,63 @@
+package com.kizuna.settings.application;
+
+import com.kizuna.settings.domain.SystemConfig;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 設定表（{@code t_system_configs}）全行から組み立てた型付き設定の不変スナップショット。
+ *
+ * <p>SMTP・LINE・ポイントの 3 つの型付き設定は、1 回の全件読みからまとめて作り、同じ実体を共有する。個別のキーを都度引くと、型 1 つにつき 3〜5 回の照会になる。
+ *
+ * @param version 行の版（{@code @Version}）の合計。行は削除されないため、どの行が更新されても増え、減ることはない
+ */
+record SystemConfigSnapshot(
+    long version, PointSettings point, SmtpSettings smtp, LineChannelSettings lineChannel) {
+
+  /** 全行からスナップショットを組み立てる。未設定・不正値は各型の既定値へ倒す。 */
+  static SystemConfigSnapshot of(List<SystemConfig> rows) {
+    Map<String, String> values = new HashMap<>();
+    long version = 0;
+    for (SystemConfig row : rows) {
+      values.put(row.getConfigKey(), Objects.requireNonNullElse(row.getConfigValue(), ""));
+      version += Objects.requireNonNullElse(row.getVersion(), 0L);
+    }
+    return new SystemConfigSnapshot(
+        version,
+        new PointSettings(
+            intValue(values, "point_grant_unit_amount", 0),
+            intValue(values, "point_grant_points_per_unit", 0),
+            intValue(values, "point_usage_unit", 1)),
+        new SmtpSettings(
+            values.getOrDefault("smtp_host", ""),
+            // 不正値は既定ポートで送信を試みる（更新時に NUMBER 検証済みのため通常は到達しない）
+            intValue(values, "smtp_port", 25),
+            values.getOrDefault("smtp_username", ""),
+            values.getOrDefault("smtp_password", ""),
+            values.getOrDefault("smtp_from", "")),
+        new LineChannelSettings(
+            values.getOrDefault("line_channel_id", ""),
+            values.getOrDefault("line_channel_secret", "")));
+  }
+
+  /** 数値設定の読み取り。未設定・不正値は既定値へ倒す（更新時に NUMBER として int の範囲まで検証済みのため不正値は通常は到達しない）。 */
+  private static int intValue(Map<String, String> values, String configKey, int fallback) {
+    String raw = values.getOrDefault(configKey, "");
+    if (raw.isBlank()) {
+      return fallback;
+    }
+    try {
+      return Integer.parseInt(raw.trim());
+    } catch (NumberFormatException e) {
+      return fallback;
+    }
+  }
+
+  /** 秘匿値（SMTP パスワード・LINE チャネルシークレット）をログへ出さないよう、版だけを表す。 */
+  @Override
+  public String toString() {
+    return "SystemConfigSnapshot[version=" + version + "]";
+  }
+}
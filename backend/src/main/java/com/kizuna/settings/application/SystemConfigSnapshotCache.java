@@ -0,0 +1,58 @@
+package com.kizuna.settings.application;
+
+import com.kizuna.settings.domain.SystemConfigRepository;
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.cache.NearCache;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Function;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+/**
+ * 型付き設定のスナップショットのプロセス内の写し。
+ *
+ * <p>受注完了・付与見込みのたびにポイント設定を読むため、都度組み立てると完了 1 件ごとに設定表への照会が積み上がる。
+ * 写しは丸ごと差し替えるので、読み手は更新前か更新後のどちらか一方の全体だけを見る（キーごとに新旧が混ざらない）。寿命・経路が死んだ時の素通り・失効の配送は {@link NearCache}
+ * に従う。
+ *
+ * <p>Redis の段は持たない。record は {@code Serializable} でなく既定の JDK 直列化キャッシュへ載せられないうえ、読み直しは全件 1 回の照会で済む。
+ */
+@Log4j2
+@Component
+class SystemConfigSnapshotCache {
+
+  static final String CHANNEL = "kizuna:near-cache:system-config-snapshot";
+
+  /** 写しは 1 つだけなので鍵も 1 つ。 */
+  private static final String KEY = "snapshot";
+
+  private final SystemConfigRepository systemConfigRepository;
+  private final NearCache<String, SystemConfigSnapshot> snapshots;
+
+  SystemConfigSnapshotCache(
+      SystemConfigRepository systemConfigRepository,
+      InvalidationFeed feed,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry) {
+    this.systemConfigRepository = systemConfigRepository;
+    this.snapshots =
+        new NearCache<>(CHANNEL, feed, appProperties, meterRegistry, Function.identity());
+  }
+
+  /** 現在のスナップショット。 */
+  SystemConfigSnapshot current() {
+    return snapshots.get(KEY, this::load);
+  }
+
+  /** 設定表を書き換えた。呼び出し元のトランザクションがコミットした後に全ノードで落とす。 */
+  void invalidate() {
+    snapshots.invalidateAll();
+  }
+
+  private SystemConfigSnapshot load() {
+    SystemConfigSnapshot snapshot = SystemConfigSnapshot.of(systemConfigRepository.findAll());
+    log.debug("設定スナップショットを読み込みました: version={}", snapshot.version());
+    return snapshot;
+  }
+}
@@ -0,0 +1,67 @@
+package com.kizuna.settings.application;
+
+import com.kizuna.settings.domain.SystemConfig;
+import com.kizuna.settings.domain.SystemConfigRepository;
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.cache.NearCache;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * 設定値の 2 段キャッシュ（プロセス内 → Redis の {@code systemConfigValues} → DB）。
+ *
+ * <p>メンテナンスモードの判定は店舗向けの全要求で、日付変更時刻は営業日の判定ごとに（1 要求で複数回）読まれる。Redis だけでは読むたびに往復が 1
+ * 回かかるため、手前にプロセス内の写しを置いて往復を消す。写しの寿命と経路が死んだ時の素通りは {@link NearCache} に従い、素通りしても Redis の段は残る。
+ *
+ * <p>失効は Redis を先に、プロセス内を後に落とす（どちらもコミット後、登録順に走る）。逆順だと、写しを落とした直後の読みが Redis に残った更新前の値を載せ直してしまう。
+ */
+@Component
+class SystemConfigValueCache {
+
+  static final String CACHE_NAME = "systemConfigValues";
+  static final String CHANNEL = "kizuna:near-cache:system-config";
+
+  private final SystemConfigRepository systemConfigRepository;
+  private final Cache redisValues;
+  private final NearCache<String, Optional<String>> values;
+
+  SystemConfigValueCache(
+      SystemConfigRepository systemConfigRepository,
+      CacheManager cacheManager,
+      InvalidationFeed feed,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry) {
+    this.systemConfigRepository = systemConfigRepository;
+    this.redisValues =
+        Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), "キャッシュが見つかりません: " + CACHE_NAME);
+    this.values = new NearCache<>(CHANNEL, feed, appProperties, meterRegistry, Function.identity());
+  }
+
+  /** 設定値。行が無ければ empty（「無い」ことも両段に載せる）。 */
+  Optional<String> get(String configKey) {
+    return values.get(
+        configKey,
+        () ->
+            Optional.ofNullable(
+                redisValues.get(
+                    configKey,
+                    () ->
+                        systemConfigRepository
+                            .findByConfigKey(configKey)
+                            .map(SystemConfig::getConfigValue)
+                            .orElse(null))));
+  }
+
+  /** 全キーを両段・全ノードで失効させる（呼び出し元のトランザクションがコミットした後）。どのキーが更新されても確実に無効化するため全消去（設定更新は低頻度の管理操作）。 */
+  void invalidateAll() {
+    // Redis の段は事務対応で装飾されているため、clear() 自体がコミット後へ回る
+    redisValues.clear();
+    values.invalidateAll();
+  }
+}
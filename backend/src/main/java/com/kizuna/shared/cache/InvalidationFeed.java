@@ -0,0 +1,141 @@
+package com.kizuna.shared.cache;
+
+import com.kizuna.shared.config.AppProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * ノードごとのプロセス内キャッシュ（near-cache）へ、Redis pub/sub で失効を配る経路。
+ *
+ * <p>pub/sub は届かなければそれきりで、再送も永続化もない。購読の接続が切れている間に流れた失効は二度と届かないため、 経路の生死を心拍で測る: 各ノードが心拍チャネルへ定期的に
+ * publish し、購読中のどのチャネルからでも何かが届いた時刻を 「最後に聞こえた時刻」とする。それが {@code app.near-cache.staleness}
+ * より古ければ経路は死んでいるとみなし（{@link #isLive()} が false）、 利用者はプロセス内の値を信じずに正本へ直接問い合わせる — 経路が死んだら fail-closed
+ * に倒す。
+ *
+ * <p>経路が戻ったときは、途切れている間の失効を取りこぼしている可能性がある。最初に届いたメッセージを渡す前に、 全利用者へ {@link Subscriber#onGap()}
+ * で手元の値の破棄を求める。
+ *
+ * <p>経路が生きていても、接続の瞬断を心拍の間隔内で取り戻した場合は取りこぼしを検出できない。利用者はプロセス内の値にも {@code staleness}
+ * 以下の寿命を付けて、この取りこぼしの影響を同じ上限で打ち切ること。
+ */
+@Log4j2
+@Component
+public class InvalidationFeed implements MessageListener {
+
+  static final String HEARTBEAT_CHANNEL = "kizuna:near-cache:heartbeat";
+
+  private final RedisTemplate<String, Object> redisTemplate;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final boolean enabled;
+  private final long stalenessNanos;
+  private final LongSupplier nanoClock;
+
+  private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+  private volatile boolean heard;
+  private volatile long lastHeardNanos;
+
+  @Autowired
+  public InvalidationFeed(
+      RedisTemplate<String, Object> redisTemplate,
+      RedisMessageListenerContainer listenerContainer,
+      AppProperties appProperties) {
+    this(redisTemplate, listenerContainer, appProperties, System::nanoTime);
+  }
+
+  InvalidationFeed(
+      RedisTemplate<String, Object> redisTemplate,
+      RedisMessageListenerContainer listenerContainer,
+      AppProperties appProperties,
+      LongSupplier nanoClock) {
+    this.redisTemplate = redisTemplate;
+    this.listenerContainer = listenerContainer;
+    this.enabled = appProperties.getNearCache().isEnabled();
+    this.stalenessNanos = appProperties.getNearCache().getStaleness().toNanos();
+    this.nanoClock = nanoClock;
+    listenerContainer.addMessageListener(this, new ChannelTopic(HEARTBEAT_CHANNEL));
+  }
+
+  /** チャネルを購読する。購読者は {@link #onMessage} と同じスレッドから、チャネルへ流れた順に呼ばれる。 */
+  public void subscribe(String channel, Subscriber subscriber) {
+    subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(subscriber);
+    listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+  }
+
+  /**
+   * 全ノード（自ノードを含む）へ失効を流す。自ノードへの反映はこの配送を待たずに呼び出し側で済ませること — 配送は数ミリ秒遅れ、 経路が死んでいれば届かない。
+   *
+   * <p>Redis に繋がらなければ例外をそのまま投げる。失効の配送失敗を握ると、呼び出し側が成功応答を返したまま他ノードが最大 {@code staleness}
+   * のあいだ古い値を使い続ける。
+   */
+  public void publish(String channel, String payload) {
+    redisTemplate.convertAndSend(channel, payload);
+  }
+
+  /** 経路が生きていて、プロセス内の値を信じてよいか。起動直後は最初の心拍が届くまで false。 */
+  public boolean isLive() {
+    return enabled && heard && nanoClock.getAsLong() - lastHeardNanos <= stalenessNanos;
+  }
+
+  /** 心拍。届かなければ {@link #isLive()} が落ちるだけなので、送信の失敗はここで握る（Redis 断は正本への問い合わせ側で顕在化する）。 */
+  @Scheduled(fixedRateString = "${app.near-cache.heartbeat:3s}")
+  public void heartbeat() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      redisTemplate.convertAndSend(HEARTBEAT_CHANNEL, "1");
+    } catch (DataAccessException e) {
+      log.debug("near-cache の心拍を送れなかった: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    heard();
+    String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+    List<Subscriber> listeners = subscribers.get(channel);
+    if (listeners == null) {
+      return;
+    }
+    String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+    for (Subscriber subscriber : listeners) {
+      subscriber.onMessage(payload);
+    }
+  }
+
+  private synchronized void heard() {
+    if (!isLive()) {
+      if (heard) {
+        log.warn("near-cache の失効経路が途切れていた。プロセス内の値を破棄して再開する");
+      }
+      subscribers.values().stream().flatMap(List::stream).distinct().forEach(Subscriber::onGap);
+    }
+    lastHeardNanos = nanoClock.getAsLong();
+    heard = true;
+  }
+
+  /** 失効の受け手。 */
+  public interface Subscriber {
+
+    /** 購読チャネルへ流れた失効 1 件。 */
+    void onMessage(String payload);
+
+    /** 経路が途切れていた（または初めて繋がった）。取りこぼした失効があり得るので、手元の値をすべて捨てる。 */
+    void onGap();
+  }
+}
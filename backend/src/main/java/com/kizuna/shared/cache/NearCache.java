@@ -0,0 +1,165 @@
+package com.kizuna.shared.cache;
+
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 正本（DB）の読みを鍵ごとにプロセス内へ載せ、失効を {@link InvalidationFeed} で全ノードへ配るキャッシュ。
+ *
+ * <p>値は経路が生きている間（{@link InvalidationFeed#isLive()}）だけ使い、死んでいれば毎回正本を読む。載せた値にも {@code
+ * app.near-cache.staleness} の寿命を付けるので、失効を取りこぼしても古い値が配られる時間はこの上限で打ち切られる。
+ *
+ * <p>失効は呼び出し元のトランザクションのコミット後に走らせる（{@code CacheConfig} の {@code transactionAware} と同じ理由）。
+ * コミット前に落とすと、コミットまでの間に読んだ並行要求が更新前の行を載せ直してしまう。正本の読みと失効が並行した場合も、 読み始めてから失効が 1
+ * 件でも適用されていればその読みの結果は載せない（世代で判定）。
+ *
+ * <p>Spring の bean ではなく、利用する側の bean が 1 つずつ持つ。鍵はメッセージの本文として文字列で流れるため、 文字列から鍵へ戻す関数を渡す。
+ *
+ * <p>読みの結果を {@code near.cache.gets}（{@code cache} はチャネル名、{@code result} は hit / miss /
+ * bypass）へ数える。bypass は 経路が死んでいて表を読まなかった読み。
+ *
+ * @param <K> 鍵
+ * @param <V> 値（正本に行が無いことも載せるなら {@link java.util.Optional} で包む。null は載せない）
+ */
+public class NearCache<K, V> implements InvalidationFeed.Subscriber {
+
+  /** 全件失効のメッセージ本文。鍵の文字列表現と衝突しないこと。 */
+  private static final String ALL = "*";
+
+  private final String channel;
+  private final InvalidationFeed feed;
+  private final Function<String, K> keyParser;
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final LongSupplier nanoClock;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter bypasses;
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  public NearCache(
+      String channel,
+      InvalidationFeed feed,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry,
+      Function<String, K> keyParser) {
+    this(channel, feed, appProperties, meterRegistry, keyParser, System::nanoTime);
+  }
+
+  NearCache(
+      String channel,
+      InvalidationFeed feed,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry,
+      Function<String, K> keyParser,
+      LongSupplier nanoClock) {
+    this.channel = channel;
+    this.feed = feed;
+    this.keyParser = keyParser;
+    this.ttlNanos = appProperties.getNearCache().getStaleness().toNanos();
+    this.maxEntries = appProperties.getNearCache().getMaxEntries();
+    this.nanoClock = nanoClock;
+    this.hits = gets(meterRegistry, channel, "hit");
+    this.misses = gets(meterRegistry, channel, "miss");
+    this.bypasses = gets(meterRegistry, channel, "bypass");
+    feed.subscribe(channel, this);
+  }
+
+  /** 鍵の値。載っていなければ（または寿命切れなら） {@code loader} で正本を読んで載せる。 */
+  public V get(K key, Supplier<V> loader) {
+    if (!feed.isLive()) {
+      bypasses.increment();
+      return loader.get();
+    }
+    long now = nanoClock.getAsLong();
+    Entry<V> cached = entries.get(key);
+    if (cached != null && now - cached.loadedAtNanos() < ttlNanos) {
+      hits.increment();
+      return cached.value();
+    }
+    misses.increment();
+    long readFrom = generation.get();
+    V value = loader.get();
+    if (value == null) {
+      return null;
+    }
+    if (entries.size() >= maxEntries) {
+      entries.clear();
+    }
+    entries.compute(
+        key, (k, current) -> generation.get() == readFrom ? new Entry<>(value, now) : current);
+    return value;
+  }
+
+  /** 鍵を全ノードで失効させる（トランザクション内ならコミット後）。 */
+  public void invalidate(K key) {
+    afterCommit(() -> evictAndPublish(String.valueOf(key)));
+  }
+
+  /** 全件を全ノードで失効させる（トランザクション内ならコミット後）。 */
+  public void invalidateAll() {
+    afterCommit(() -> evictAndPublish(ALL));
+  }
+
+  @Override
+  public void onMessage(String payload) {
+    generation.incrementAndGet();
+    if (ALL.equals(payload)) {
+      entries.clear();
+    } else {
+      entries.remove(keyParser.apply(payload));
+    }
+  }
+
+  @Override
+  public void onGap() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  /** 自ノードは配送を待たずに落とす。失効させた要求の応答を受けた利用者が、同じノードで古い値を読まないように。 */
+  private void evictAndPublish(String payload) {
+    onMessage(payload);
+    feed.publish(channel, payload);
+  }
+
+  /**
+   * コミット後に実行する（トランザクション外なら即時）。{@code afterCommit()} を直接登録するのは、配送の失敗を呼び出し側へ伝えるため （{@code
+   * afterCompletion} 経由だと例外が握られる — {@code AuthSessionService} と同じ）。
+   */
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+      return;
+    }
+    action.run();
+  }
+
+  /** near-cache の読みの結果のカウンタ。{@code TokenBlacklistNearCache} も同じ名前で数える。 */
+  public static Counter gets(MeterRegistry meterRegistry, String cache, String result) {
+    return Counter.builder("near.cache.gets")
+        .description("プロセス内キャッシュの読みの結果")
+        .tag("cache", cache)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record Entry<V>(V value, long loadedAtNanos) {}
+}
@@ -1,5 +1,6 @@
 package com.kizuna.shared.config;
 
+import java.time.Duration;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -28,6 +29,30 @@ public class AppProperties {
   /** app.line.* */
   private Line line = new Line();
 
+  /** app.near-cache.* */
+  private NearCache nearCache = new NearCache();
+
+  /** app.snowflake.* */
+  private Snowflake snowflake = new Snowflake();
+
+  /** app.point-expiry.* */
+  private PointExpiry pointExpiry = new PointExpiry();
+
+  /** app.read-replica.* */
+  private ReadReplica readReplica = new ReadReplica();
+
+  /** app.metrics.* */
+  private Metrics metrics = new Metrics();
+
+  /** app.statement-budget.* */
+  private StatementBudget statementBudget = new StatementBudget();
+
+  /** app.sql-comment.* */
+  private SqlComment sqlComment = new SqlComment();
+
+  /** app.tracing.* */
+  private Tracing tracing = new Tracing();
+
   @Getter
   @Setter
   public static class Jwt {
@@ -61,6 +86,117 @@ public class AppProperties {
     private String channelSecret;
   }
 
+  /**
+   * プロセス内キャッシュ（near-cache）と、その失効を配る Redis pub/sub 経路（{@code InvalidationFeed}）の設定。
+   *
+   * <p>{@code staleness} が「他ノードでの失効がこのノードへ反映されるまでの最悪の遅れ」の上限になる。経路の心拍がこれより長く 途絶えたら near-cache
+   * は使われず、毎回正本へ問い合わせる。{@code heartbeat} は {@code staleness} より十分短く取ること （1 回の取りこぼしで経路断と判定しないため、目安は
+   * 1/3 以下）。{@code enabled=false} で全 near-cache を素通しにできる。
+   */
+  @Getter
+  @Setter
+  public static class NearCache {
+    private boolean enabled = true;
+    private Duration staleness = Duration.ofSeconds(10);
+    private Duration heartbeat = Duration.ofSeconds(3);
+    private int maxEntries = 100_000;
+  }
+
+  /**
+   * snowflake ID の workerId の貸与（{@code SnowflakeWorkerLease}）の設定。
+   *
+   * <p>{@code leaseTtl} は貸与の寿命で、ノードが落ちてからその workerId が他ノードへ貸し出せるようになるまでの時間でもある。{@code heartbeat}
+   * ごとに寿命を延ばし、延長が {@code leaseTtl - heartbeat} より長く成功しなければ払い出しを止める（他ノードが同じ workerId を借りうる前に止めるため）。
+   */
+  @Getter
+  @Setter
+  public static class Snowflake {
+    private Duration leaseTtl = Duration.ofSeconds(60);
+    private Duration heartbeat = Duration.ofSeconds(10);
+  }
+
+  /**
+   * ポイントの一括失効（{@code PointExpirySweeper}）の設定。
+   *
+   * <p>{@code cron} は業務のタイムゾーンで読む。業務日が変わった後に走らせること（その日の前日までに期限の切れたロットを閉じる）。{@code chunkSize} は 1
+   * 回に候補として引く会員の数で、失効そのものは会員ごとのトランザクションで積む。
+   */
+  @Getter
+  @Setter
+  public static class PointExpiry {
+    private String cron = "0 30 0 * * *";
+    private int chunkSize = 200;
+  }
+
+  /**
+   * 読み取り専用トランザクションの振り向け先のレプリカ（{@code ReadReplicaConfig}）の設定。{@code enabled=false}（既定）なら全てプライマリへ向かう。
+   *
+   * <p>{@code maxLag} はレプリカの遅れの許容上限で、最後に測った遅れにそれからの経過を足した値がこれを超えたらプライマリへ戻す。{@code lagCheckInterval}
+   * は遅れを測る間隔で、{@code maxLag} より十分短く取ること。{@code username} / {@code password} が空ならプライマリと同じ資格情報を使う。
+   * {@code connectionTimeout} はレプリカの接続の待ち時間の上限で、超えたらプライマリへ戻す（詰まったレプリカに要求を待たせない）。
+   */
+  @Getter
+  @Setter
+  public static class ReadReplica {
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+  }
+
+  /**
+   * ドメインのメーター（{@code MeterTags}）の設定。
+   *
+   * <p>{@code maxStoreTags} は店舗のタグに載せる店舗の数の上限。これを超えて現れた店舗は {@code other} にまとめる（店舗ヘッダは未認証でも名乗れるため、
+   * 上限が無いと時系列の数を外から増やせる）。
+   */
+  @Getter
+  @Setter
+  public static class Metrics {
+    private int maxStoreTags = 1000;
+  }
+
+  /**
+   * 要求ごとの SQL 文の予算（{@code StatementBudgetFilter}）。
+   *
+   * <p>{@code maxPerRequest} を超える文を出した要求は警告を残す。行ごとに問い合わせる N+1 を見つけるための目安で、要求を止めはしない。
+   */
+  @Getter
+  @Setter
+  public static class StatementBudget {
+    private int maxPerRequest = 30;
+  }
+
+  /**
+   * SQL 文の末尾に付ける出どころの注釈（{@code SqlCommentInspector}、既定は無効）。
+   *
+   * <p>{@code requestIdSampleRate} は相関 ID まで載せる要求の割合。相関 ID
+   * は要求ごとに文の字面を変え、その文はドライバの準備済み文のキャッシュを使い回せず枠を使い捨てるため、一部の要求に絞る。
+   */
+  @Getter
+  @Setter
+  public static class SqlComment {
+    private boolean enabled = false;
+    private double requestIdSampleRate = 0.01;
+  }
+
+  /**
+   * スパンの JSON 行ファイルへの書き出し（{@code TracingConfig}、既定は無効）。
+   *
+   * <p>OTLP のコレクタが無い環境で、計測したスパンを手元で読むためのもの。送り先のコレクタは Spring Boot の {@code
+   * management.opentelemetry.tracing.export.otlp.endpoint} で指定し、こちらとは併用できる。
+   */
+  @Getter
+  @Setter
+  public static class Tracing {
+    private boolean jsonFileEnabled = false;
+    private String jsonFile = "./logs/spans.jsonl";
+  }
+
   public enum Scheme {
     HTTP("http"),
     HTTPS("https");
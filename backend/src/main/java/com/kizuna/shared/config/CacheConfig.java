@@ -31,7 +31,8 @@ public class CacheConfig {
    * へ届くのを待たずに応答が返るため、「更新の成功応答を受けてから照会する」クライアントでも失効前の 値を読める競合窓が開く（失効の read-your-writes
    * が壊れる）。書き込みを同期へ戻してこの窓を閉じる。
    *
-   * <p>{@code immediateWrites(true)} 以外の構成（非ロック・KEYS バッチ・統計なし）は既定 writer と同一。 配線は {@code
+   * <p>{@code immediateWrites(true)} 以外の構成（非ロック・KEYS バッチ）は既定 writer と同一。ヒット・ミスの統計（{@code
+   * spring.cache.redis.enable-statistics}）はビルダーがこの writer の上に重ねる。配線は {@code
    * CacheTransactionAwarenessIT} が固定する。
    */
   @Bean
@@ -2,8 +2,10 @@ package com.kizuna.shared.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -16,4 +18,19 @@ public class RedisConfig {
     template.setValueSerializer(new StringRedisSerializer());
     return template;
   }
+
+  /**
+   * near-cache の失効を配る pub/sub の購読口（{@code InvalidationFeed}）。
+   *
+   * <p>受信は購読接続のスレッドでそのまま処理する。既定の実行器はメッセージごとに別スレッドへ投げるため、同じキーへの 「停止 → 再開」のような連続した失効が逆順で適用され得る。
+   * 購読側の処理はプロセス内の表を書き換えるだけで I/O を持たないので、同期で回しても接続を塞がない。
+   */
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(
+      RedisConnectionFactory factory) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(factory);
+    container.setTaskExecutor(new SyncTaskExecutor());
+    return container;
+  }
 }
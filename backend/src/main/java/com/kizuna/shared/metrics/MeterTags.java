@@ -0,0 +1,96 @@
+package com.kizuna.shared.metrics;
+
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.storescope.StoreContext;
+import com.kizuna.shared.storescope.StoreExistenceCheck;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * ドメインのメーターに付ける店舗（{@code store}）と端点（{@code endpoint}）のタグ。
+ *
+ * <p>端点は Spring MVC が照合した経路のパターン（{@code GET /store/orders/{id}} の形）で、実際の URL
+ * は載せない。経路が決まる前（認証のフィルタ）や どの経路にも当たらなかった要求は {@code unrouted}、要求の外（定期処理）は {@code none}。店舗は {@code
+ * app.metrics.max-store-tags} 件まで ID をそのまま載せ、それより後に現れた店舗は {@code other}
+ * にまとめる。どちらのタグも値の種類に上限があり、時系列の数が要求の数に比例して増えることはない。
+ *
+ * <p>上限の枠へ入れるのは実在を確かめた店舗（{@link StoreExistenceCheck}）だけで、確かめられない店舗は {@code none} とする。
+ * 未認証の要求はヘッダ（{@code X-Store-ID}）だけで店舗を名乗れるので、実在しない ID を並べた要求で枠を埋められると、後から現れた実在の店舗がすべて {@code other}
+ * に落ちる。
+ */
+@Component
+public class MeterTags {
+
+  static final String NONE = "none";
+  static final String UNROUTED = "unrouted";
+  static final String OTHER = "other";
+
+  private final StoreContext storeContext;
+
+  /** 店舗の実在の写しは store モジュールの bean で、{@code @Timed} の aspect より後にできるので、使う時に引く。 */
+  private final ObjectProvider<StoreExistenceCheck> storeExistenceCheck;
+
+  private final int maxStoreTags;
+  private final Set<String> stores = ConcurrentHashMap.newKeySet();
+
+  public MeterTags(
+      StoreContext storeContext,
+      AppProperties appProperties,
+      ObjectProvider<StoreExistenceCheck> storeExistenceCheck) {
+    this.storeContext = storeContext;
+    this.storeExistenceCheck = storeExistenceCheck;
+    this.maxStoreTags = appProperties.getMetrics().getMaxStoreTags();
+  }
+
+  /** 現在の店舗文脈と要求の端点。 */
+  public Tags current() {
+    return of(storeContext.getStoreId());
+  }
+
+  /** 店舗を呼び出し側が知っている場合（店舗文脈の確立より前の処理）。 */
+  public Tags of(Long storeId) {
+    return Tags.of("store", store(storeId), "endpoint", endpoint());
+  }
+
+  private String store(Long storeId) {
+    if (storeId == null) {
+      return NONE;
+    }
+    String value = storeId.toString();
+    if (stores.contains(value)) {
+      return value;
+    }
+    // 上限の判定と追加は原子的でないため、同時に現れた店舗のぶんだけ上限をわずかに超えうる（時系列の数の目安としては足りる）
+    if (stores.size() >= maxStoreTags) {
+      return OTHER;
+    }
+    if (!exists(storeId)) {
+      return NONE;
+    }
+    stores.add(value);
+    return value;
+  }
+
+  private boolean exists(long storeId) {
+    StoreExistenceCheck check = storeExistenceCheck.getIfAvailable();
+    return check != null && check.exists(storeId);
+  }
+
+  private static String endpoint() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+      return NONE;
+    }
+    HttpServletRequest request = servletAttributes.getRequest();
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern == null ? UNROUTED : request.getMethod() + " " + pattern;
+  }
+}
@@ -0,0 +1,27 @@
+package com.kizuna.shared.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import java.util.function.Function;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** ドメインのメーターの配線。 */
+@Configuration
+class MetricsConfig {
+
+  /**
+   * {@code @Timed} を付けたメソッドを計る。タグはメソッドの名前ではなく店舗と端点（{@link MeterTags}）で、例外で抜けたら {@code exception}
+   * に例外の型が載る。
+   *
+   * <p>Spring Boot の既定の aspect（{@code
+   * management.observations.annotations.enabled}）は使わない。あちらのタグはクラスとメソッドの名前で、どの店舗・どの端点の負荷かが読めないため。
+   */
+  @Bean
+  TimedAspect timedAspect(MeterRegistry meterRegistry, MeterTags meterTags) {
+    Function<ProceedingJoinPoint, Iterable<Tag>> tags = joinPoint -> meterTags.current();
+    return new TimedAspect(meterRegistry, tags);
+  }
+}
@@ -0,0 +1,26 @@
+package com.kizuna.shared.persistence;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * ID をアプリ側（snowflake）で払い出すエンティティ基盤。列は {@link BaseEntity} と同じ BIGINT の主キーで、時刻とバージョンは {@link
+ * TimestampedEntity} から継ぐ。
+ *
+ * <p>{@link BaseEntity} の IDENTITY は INSERT を 1 行ずつ実行して ID を読み戻すため、Hibernate は INSERT
+ * を束ねない。集約の構成要素として 1 回の書き込みで何行も増える子（受注明細・ポイントの引き当て）はこちらに載せ、ID を INSERT の前に決めて束ねて送る。ID は時刻順に増えるので、ID
+ * 順の並び（{@code @OrderBy("id")}）は行が起きた順のまま保たれる。
+ *
+ * <p>列の IDENTITY 既定値は残してある。素の SQL で ID を省いた行（シードや統合テスト）は従来どおり小さい連番を取り、snowflake の値域とは重ならない。
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class ClientIdEntity extends TimestampedEntity {
+
+  @Id @SnowflakeId private Long id;
+}
@@ -0,0 +1,78 @@
+package com.kizuna.shared.persistence;
+
+import com.kizuna.shared.config.AppProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+/**
+ * 読み取り専用トランザクションをレプリカへ振り向ける DataSource（{@code app.read-replica.enabled=true} のときだけ）。
+ *
+ * <p>アプリが使う DataSource（JPA・JdbcTemplate・Liquibase）を {@link ReadReplicaRouting} に差し替えるため、Spring Boot
+ * の自動構成の接続プールはこちらで作り直す（{@code spring.datasource.*} をそのまま読む）。レプリカのプールは {@code app.read-replica.*}
+ * から作り、ドライバの設定（SSL など）はプライマリのものを引き継ぐ。どちらのプールも bean なので、接続プールのメトリクスは両方に付く。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnBooleanProperty("app.read-replica.enabled")
+class ReadReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  HikariDataSource replicaDataSource(
+      @Qualifier("primaryDataSource") HikariDataSource primary, AppProperties appProperties) {
+    AppProperties.ReadReplica readReplica = appProperties.getReadReplica();
+    if (!StringUtils.hasText(readReplica.getUrl())) {
+      throw new IllegalStateException("app.read-replica.url が未設定です");
+    }
+    HikariDataSource replica = new HikariDataSource();
+    replica.setPoolName("replica");
+    replica.setJdbcUrl(readReplica.getUrl());
+    replica.setDriverClassName(primary.getDriverClassName());
+    replica.setDataSourceProperties(primary.getDataSourceProperties());
+    replica.setUsername(
+        StringUtils.hasText(readReplica.getUsername())
+            ? readReplica.getUsername()
+            : primary.getUsername());
+    replica.setPassword(
+        StringUtils.hasText(readReplica.getPassword())
+            ? readReplica.getPassword()
+            : primary.getPassword());
+    replica.setMaximumPoolSize(readReplica.getMaximumPoolSize());
+    replica.setConnectionTimeout(readReplica.getConnectionTimeout().toMillis());
+    // レプリカが落ちていても起動は止めない（読み取りはプライマリへ戻る）
+    replica.setInitializationFailTimeout(-1);
+    replica.setReadOnly(true);
+    return replica;
+  }
+
+  @Bean
+  ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaDataSource") DataSource replica,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry) {
+    return new ReplicaLagMonitor(replica, appProperties, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      ReplicaLagMonitor replicaLagMonitor,
+      MeterRegistry meterRegistry) {
+    return ReadReplicaRouting.create(primary, replica, replicaLagMonitor, meterRegistry);
+  }
+}
@@ -0,0 +1,131 @@
+package com.kizuna.shared.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 読み取り専用トランザクションの接続をレプリカへ、それ以外をプライマリへ向ける DataSource を組み立てる。
+ *
+ * <p>振り分けは {@link LazyConnectionDataSourceProxy}
+ * に任せる。実接続を最初の文の直前まで取らないので、トランザクションの開始時に付いた読み取り専用の印（{@code Transactional(readOnly =
+ * true)}）で行き先が決まる。読み取り専用の側は、次のどれかならプライマリへ戻す。
+ *
+ * <ul>
+ *   <li>同じ要求の中で既に書き込みの接続を取った（自分の書いた内容を読めるように。要求の外の処理には印が無い）
+ *   <li>レプリカの遅れが上限を超えている（{@link ReplicaLagMonitor}）
+ *   <li>レプリカの接続が取れない（{@code app.read-replica.connection-timeout} で打ち切る）
+ * </ul>
+ *
+ * <p>書き込みのトランザクションの中から呼ばれた読み取り専用のメソッドは外側の接続をそのまま使うので、常にプライマリを読む。
+ */
+final class ReadReplicaRouting {
+
+  private static final String PINNED = ReadReplicaRouting.class.getName() + ".PINNED";
+
+  private ReadReplicaRouting() {}
+
+  static LazyConnectionDataSourceProxy create(
+      DataSource primary,
+      DataSource replica,
+      ReplicaLagMonitor lagMonitor,
+      MeterRegistry meterRegistry) {
+    LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy();
+    routing.setTargetDataSource(new WritePinning(primary));
+    routing.setReadOnlyDataSource(
+        new ReplicaOrPrimary(primary, replica, lagMonitor, meterRegistry));
+    // 既定値を調べるためだけに起動時に接続を取らない（Hikari と PostgreSQL の既定どおり）
+    routing.setDefaultAutoCommit(true);
+    routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    routing.afterPropertiesSet();
+    return routing;
+  }
+
+  /** 現在の要求の残りの読み取りをプライマリへ向ける。要求の外では何もしない。 */
+  static void pinToPrimary() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null) {
+      attributes.setAttribute(PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+  }
+
+  static boolean isPinnedToPrimary() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return attributes != null
+        && attributes.getAttribute(PINNED, RequestAttributes.SCOPE_REQUEST) != null;
+  }
+
+  /** プライマリの書き込みの接続を取るたびに、要求を読み取りごとプライマリへ寄せる。 */
+  private static final class WritePinning extends DelegatingDataSource {
+
+    private WritePinning(DataSource primary) {
+      super(primary);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      pinToPrimary();
+      return super.getConnection();
+    }
+  }
+
+  private static final class ReplicaOrPrimary extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final Counter laggingReads;
+    private final Counter failedReads;
+
+    private ReplicaOrPrimary(
+        DataSource primary,
+        DataSource replica,
+        ReplicaLagMonitor lagMonitor,
+        MeterRegistry meterRegistry) {
+      super(replica);
+      this.primary = primary;
+      this.lagMonitor = lagMonitor;
+      this.replicaReads = reads(meterRegistry, "replica", "none");
+      this.pinnedReads = reads(meterRegistry, "primary", "pinned");
+      this.laggingReads = reads(meterRegistry, "primary", "lag");
+      this.failedReads = reads(meterRegistry, "primary", "error");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      if (isPinnedToPrimary()) {
+        pinnedReads.increment();
+        return primary.getConnection();
+      }
+      if (!lagMonitor.isUsable()) {
+        laggingReads.increment();
+        return primary.getConnection();
+      }
+      Connection connection;
+      try {
+        connection = super.getConnection();
+      } catch (SQLException e) {
+        lagMonitor.markDown(e);
+        failedReads.increment();
+        return primary.getConnection();
+      }
+      replicaReads.increment();
+      return connection;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target, String fallback) {
+      return Counter.builder("db.replica.reads")
+          .description("読み取り専用トランザクションの接続の行き先")
+          .tag("target", target)
+          .tag("fallback", fallback)
+          .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.kizuna.shared.persistence;
+
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.LongSupplier;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * レプリカの遅れを {@code app.read-replica.lag-check-interval} ごとに測り、読み取り専用の接続をレプリカへ向けてよいかを答える。
+ *
+ * <p>遅れはレプリカ自身に問う。受け取った WAL を適用し終えていれば 0、適用待ちがあれば最後に適用したトランザクションのコミット時刻からの経過。
+ * プライマリに書き込みが無い間は適用待ちも無いので、コミット時刻が古くても遅れとは数えない。
+ *
+ * <p>「適用し終えた」が遅れ 0 を意味するのは、WAL を受け取り続けている間だけである。プライマリとの接続が切れると受け取りも止まり、受け取った分は適用し終えるので、遅れは 0
+ * に見えたまま実際には広がっていく。そこで WAL の受信（{@code pg_stat_wal_receiver}）が streaming
+ * でなければ、測れなかったものとして扱う。受信の状態まで読むには監視の役割に {@code pg_read_all_stats} が要る。
+ * 無ければ受信のプロセスが居るかどうかだけで判じる（切断の間はプロセスが居ないので、切断はそれでも拾える）。
+ *
+ * <p>使ってよいのは「最後に測った遅れ＋測ってからの経過」が {@code app.read-replica.max-lag} 以内の間だけ。測定が止まった（レプリカが応答しない・
+ * 心拍が遅れた）ら、遅れが測った時点から増え続けている前提で、上限に達した時点でプライマリへ戻る。測定の失敗とレプリカの接続の失敗（{@link
+ * #markDown}）は、次に測れるまでレプリカを使わない。
+ *
+ * <p>{@code ReadReplicaConfig} が bean にする（レプリカを有効にしたときだけ）。
+ */
+@Log4j2
+public class ReplicaLagMonitor {
+
+  private static final String LAG_SQL =
+      """
+      SELECT pg_is_in_recovery() AS replica,
+        EXISTS (SELECT 1 FROM pg_stat_wal_receiver
+                WHERE coalesce(status, 'streaming') = 'streaming') AS streaming,
+        CASE
+          WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+          ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+        END AS lag
+      """;
+
+  private static final RowMapper<Reading> READING =
+      (rs, rowNum) ->
+          new Reading(
+              rs.getBoolean("replica"),
+              rs.getBoolean("streaming"),
+              rs.getObject("lag") == null ? null : rs.getDouble("lag"));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final long maxLagNanos;
+  private final LongSupplier nanoClock;
+
+  /** 最後に測った遅れ（ナノ秒）。測れていなければ {@link Long#MAX_VALUE}。 */
+  private volatile long lagNanos = Long.MAX_VALUE;
+
+  private volatile long checkedNanos;
+
+  public ReplicaLagMonitor(
+      DataSource replica, AppProperties appProperties, MeterRegistry meterRegistry) {
+    this(new JdbcTemplate(replica), appProperties, meterRegistry, System::nanoTime);
+  }
+
+  ReplicaLagMonitor(
+      JdbcTemplate jdbcTemplate,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry,
+      LongSupplier nanoClock) {
+    AppProperties.ReadReplica readReplica = appProperties.getReadReplica();
+    this.jdbcTemplate = jdbcTemplate;
+    this.maxLagNanos = readReplica.getMaxLag().toNanos();
+    this.nanoClock = nanoClock;
+    // 測定が詰まっても心拍を止めない（遅れの判定は経過で自然に倒れる）
+    jdbcTemplate.setQueryTimeout((int) Math.max(1, readReplica.getLagCheckInterval().toSeconds()));
+    Gauge.builder("db.replica.lag", this, ReplicaLagMonitor::lagSeconds)
+        .description("最後に測ったレプリカの遅れ（秒）。測れていなければ NaN")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    check();
+  }
+
+  /** 遅れを測り直す。 */
+  @Scheduled(
+      fixedDelayString = "${app.read-replica.lag-check-interval:1s}",
+      initialDelayString = "${app.read-replica.lag-check-interval:1s}")
+  public void check() {
+    boolean wasUsable = isUsable();
+    Reading reading;
+    try {
+      reading = jdbcTemplate.queryForObject(LAG_SQL, READING);
+    } catch (DataAccessException e) {
+      markDown(e);
+      return;
+    }
+    Double lagSeconds = reading == null ? null : reading.lagSeconds();
+    if (reading == null || !reading.replica() || lagSeconds == null) {
+      // レプリカではない（昇格した・接続先の取り違え）か、まだ何も適用していない
+      lagNanos = Long.MAX_VALUE;
+    } else if (!reading.streaming()) {
+      // プライマリから WAL を受け取っていない。適用待ちが無くても、遅れは測れない
+      lagNanos = Long.MAX_VALUE;
+      lagSeconds = null;
+    } else {
+      lagNanos = (long) (Math.max(0, lagSeconds) * 1_000_000_000L);
+      checkedNanos = nanoClock.getAsLong();
+    }
+    boolean usable = isUsable();
+    if (wasUsable != usable) {
+      log.info(
+          "レプリカへの読み取りを{}ます（遅れ {} 秒）",
+          usable ? "再開し" : "止め",
+          lagSeconds == null ? "不明" : lagSeconds);
+    }
+  }
+
+  /** 読み取り専用の接続をレプリカへ向けてよいか。 */
+  public boolean isUsable() {
+    long lag = lagNanos;
+    if (lag == Long.MAX_VALUE) {
+      return false;
+    }
+    long elapsed = nanoClock.getAsLong() - checkedNanos;
+    return lag <= maxLagNanos - elapsed;
+  }
+
+  /** レプリカが使えなかった。次に測れるまで読み取りをプライマリへ戻す。 */
+  void markDown(Exception cause) {
+    boolean wasUsable = isUsable();
+    lagNanos = Long.MAX_VALUE;
+    if (wasUsable) {
+      log.warn("レプリカへの読み取りを止めます（次の測定まで）: {}", cause.getMessage());
+    }
+  }
+
+  /** 1 回の測定の結果。{@code lagSeconds} は何も適用していなければ {@code null}。 */
+  record Reading(boolean replica, boolean streaming, Double lagSeconds) {}
+
+  private double lagSeconds() {
+    long lag = lagNanos;
+    return lag == Long.MAX_VALUE ? Double.NaN : lag / 1e9;
+  }
+}
@@ -1,14 +1,30 @@
 package com.kizuna.shared.persistence;
 
 import java.io.Serializable;
-import java.time.Instant;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
 import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
 import org.hibernate.id.IdentifierGenerator;
 
 /**
- * 64bit の snowflake ID を 10 進文字列として払い出す {@link IdentifierGenerator}。 クラスタ間の調整は持たないため、多重起動する場合は
- * workerId を重複させないこと。
+ * 64bit の snowflake ID を払い出す {@link IdentifierGenerator}。ID の属性が {@code Long} なら数値のまま、それ以外は 10
+ * 進文字列として返す。
+ *
+ * <p>Hibernate が作る生成器（{@link SnowflakeId} の付いた属性、または引数なしで作って設定を受けたもの）は、その SessionFactory の設定にある
+ * {@link SnowflakeWorkerLease}（{@link #WORKER_LEASE}）が借りた workerId を使う。借りる前・貸与を失った後・
+ * 設定に貸与が無いときは払い出さずに例外を投げる — 他ノードと同じ workerId で払い出すと ID が重複するため。
+ *
+ * <p>払い出しはモニタを取らない。時刻（起点からのミリ秒）と連番を 1 つの {@code long} に詰めて CAS で進めるので、同じ生成器を複数スレッドが同時に使っても
+ * 互いを待たせない。1 ミリ秒の連番（4096）を使い切ったときと時計が巻き戻ったときは、時計が前回時刻を追い越すまで待つ（連番切れは 1 ミリ秒未満なので眠らずに回し、大きな巻き戻りだけ眠る）。
  */
 public class SnowflakeIdGenerator implements IdentifierGenerator {
 
@@ -17,64 +33,127 @@ public class SnowflakeIdGenerator implements IdentifierGenerator {
   private static final long WORKER_ID_BITS = 10L;
   private static final long SEQUENCE_BITS = 12L;
 
-  private static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
+  static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
   private static final long SEQUENCE_MASK = ~(-1L << SEQUENCE_BITS);
 
-  private final long workerId;
-  private long lastTimestamp = -1L;
-  private long sequence = 0L;
+  /** workerId を貸す {@link SnowflakeWorkerLease} を載せる Hibernate の設定の名前。 */
+  public static final String WORKER_LEASE = "kizuna.snowflake.worker-lease";
 
+  /** 巻き戻りがこれより大きければ、回し続けずにその分だけ眠る。*/
+  private static final long SPIN_LIMIT_MILLIS = 1L;
+
+  private LongSupplier workerId;
+  private final LongSupplier clock;
+
+  /** ID の属性が {@code Long} か。{@link SnowflakeId} から作られたときだけ属性の型で決まり、それ以外は文字列。 */
+  private final boolean numeric;
+
+  /** 上位に起点からのミリ秒、下位 {@code SEQUENCE_BITS} に連番。*/
+  private final AtomicLong state = new AtomicLong();
+
+  /** 設定（{@link #configure}）を受けるまで払い出さない生成器。 */
   public SnowflakeIdGenerator() {
-    this(1L);
+    this(SnowflakeIdGenerator::unleased, System::currentTimeMillis);
+  }
+
+  /** {@link SnowflakeId} の付いた属性から Hibernate が作る生成器。払い出す値の型を属性の型に合わせる。 */
+  public SnowflakeIdGenerator(
+      SnowflakeId config, Member idMember, GeneratorCreationContext context) {
+    this(leasedBy(context), System::currentTimeMillis, isLong(idMember));
   }
 
   public SnowflakeIdGenerator(long workerId) {
+    this(constant(workerId), System::currentTimeMillis);
+  }
+
+  SnowflakeIdGenerator(LongSupplier workerId, LongSupplier clock) {
+    this(workerId, clock, false);
+  }
+
+  SnowflakeIdGenerator(LongSupplier workerId, LongSupplier clock, boolean numeric) {
+    this.workerId = workerId;
+    this.clock = clock;
+    this.numeric = numeric;
+  }
+
+  static boolean isLong(Member idMember) {
+    Class<?> type =
+        switch (idMember) {
+          case Field field -> field.getType();
+          case Method method -> method.getReturnType();
+          default -> String.class;
+        };
+    return type == Long.class || type == long.class;
+  }
+
+  @Override
+  public void configure(GeneratorCreationContext context, Properties parameters) {
+    workerId = leasedBy(context);
+  }
+
+  /** その SessionFactory の設定にある貸与の workerId。貸与が無ければ払い出しのたびに例外を投げる。 */
+  private static LongSupplier leasedBy(GeneratorCreationContext context) {
+    Object lease =
+        context
+            .getServiceRegistry()
+            .requireService(ConfigurationService.class)
+            .getSettings()
+            .get(WORKER_LEASE);
+    return lease instanceof SnowflakeWorkerLease leased
+        ? leased::currentWorkerId
+        : SnowflakeIdGenerator::unleased;
+  }
+
+  private static long unleased() {
+    throw new IllegalStateException("snowflake の workerId の貸与が設定に無いため ID を払い出せません");
+  }
+
+  private static LongSupplier constant(long workerId) {
     if (workerId < 0 || workerId > MAX_WORKER_ID) {
       throw new IllegalArgumentException(
           String.format("workerId must be between 0 and %d", MAX_WORKER_ID));
     }
-    this.workerId = workerId;
+    return () -> workerId;
   }
 
-  private synchronized long nextId() {
-    long timestamp = Instant.now().toEpochMilli();
-    if (timestamp < lastTimestamp) {
-      // 時計の巻き戻り。前回時刻まで待って ID の重複を防ぐ
-      timestamp = waitUntil(lastTimestamp);
-    }
-    if (timestamp == lastTimestamp) {
-      sequence = (sequence + 1) & SEQUENCE_MASK;
-      if (sequence == 0) {
-        // 同一ミリ秒内で連番が尽きたため、次のミリ秒まで待つ
-        timestamp = waitUntil(lastTimestamp + 1);
+  long nextId() {
+    long worker = workerId.getAsLong() << SEQUENCE_BITS;
+    while (true) {
+      long previous = state.get();
+      long lastTimestamp = previous >>> SEQUENCE_BITS;
+      long timestamp = clock.getAsLong() - EPOCH;
+      long next;
+      if (timestamp > lastTimestamp) {
+        next = timestamp << SEQUENCE_BITS;
+      } else if ((previous & SEQUENCE_MASK) != SEQUENCE_MASK) {
+        // 同一ミリ秒（または巻き戻った時計）の中で連番を進める。前回時刻を使い続けるので ID は単調に増える
+        next = previous + 1;
+      } else {
+        // 連番が尽きたため、時計が前回時刻を追い越すまで待って取り直す
+        awaitAfter(lastTimestamp);
+        continue;
+      }
+      if (state.compareAndSet(previous, next)) {
+        return ((next >>> SEQUENCE_BITS) << (WORKER_ID_BITS + SEQUENCE_BITS))
+            | worker
+            | (next & SEQUENCE_MASK);
       }
-    } else {
-      sequence = 0L;
     }
-    lastTimestamp = timestamp;
-
-    long shiftedTimestamp = (timestamp - EPOCH) << (WORKER_ID_BITS + SEQUENCE_BITS);
-    long shiftedWorkerId = (workerId << SEQUENCE_BITS);
-    return shiftedTimestamp | shiftedWorkerId | sequence;
   }
 
-  private long waitUntil(long ts) {
-    long now = Instant.now().toEpochMilli();
-    while (now < ts) {
-      try {
-        Thread.sleep(1);
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        break;
-      }
-      now = Instant.now().toEpochMilli();
+  private void awaitAfter(long lastTimestamp) {
+    long behind = lastTimestamp - (clock.getAsLong() - EPOCH);
+    if (behind > SPIN_LIMIT_MILLIS) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(behind));
+    } else {
+      Thread.onSpinWait();
     }
-    return now;
   }
 
   @Override
   public Serializable generate(SharedSessionContractImplementor session, Object object)
       throws HibernateException {
-    return String.valueOf(nextId());
+    long id = nextId();
+    return numeric ? Long.valueOf(id) : String.valueOf(id);
   }
 }
@@ -0,0 +1,204 @@
+package com.kizuna.shared.persistence;
+
+import com.kizuna.shared.config.AppProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * snowflake ID の workerId をノードごとに借りる。
+ *
+ * <p>workerId の台帳は {@code t_snowflake_workers}（0〜1023 の全行を事前に用意）。起動時に寿命の切れた行を 1 つ行ロック付きで取り、{@code
+ * app.snowflake.heartbeat} ごとに寿命（{@code app.snowflake.lease-ttl}）を延ばす。寿命の判定は DB の時計で行うので、
+ * ノード間の時計のずれは貸与に影響しない。取る行は最も長く使われていないものを選び、止まったばかりのノードの workerId をすぐには使い回さない（時計の遅れたノードが 同じ範囲の ID
+ * を払い出すのを避ける）。
+ *
+ * <p>最後の延長から寿命に迫るまで延長できなければ払い出しを止め（{@link SnowflakeIdGenerator} は例外を投げる）、次の心拍で借り直す。延長の時点で行が他ノードに取られていた場合も同じく借り直す。
+ * 払い出しのたびに最後の延長の時刻を見るので、心拍そのものが遅れて延長が失敗として現れない場合も止まる。心拍は専用のスレッドで回す。
+ *
+ * <p>Hibernate が作る生成器は、この bean を Hibernate の設定（{@link SnowflakeIdGenerator#WORKER_LEASE}）から引く（生成器は
+ * Spring の管理外で作られるため）。設定へ載せるのは {@code SnowflakeWorkerLeaseConfig} で、EntityManagerFactory はこの bean
+ * を借りた後に作られ、借りる前に挿入が走ることはない。同じ JVM に複数のコンテキストがあっても、それぞれが自分の workerId を借りて自分の生成器だけがそれを使う。
+ */
+@Log4j2
+@Component
+public class SnowflakeWorkerLease {
+
+  private static final long UNLEASED = -1L;
+
+  private static final String ACQUIRE_SQL =
+      """
+      UPDATE t_snowflake_workers
+      SET holder = ?, leased_until = now() + ? * interval '1 millisecond'
+      WHERE worker_id = (
+        SELECT worker_id FROM t_snowflake_workers
+        WHERE leased_until IS NULL OR leased_until < now()
+        ORDER BY leased_until NULLS FIRST, worker_id
+        LIMIT 1
+        FOR UPDATE SKIP LOCKED)
+      RETURNING worker_id
+      """;
+
+  private static final String RENEW_SQL =
+      """
+      UPDATE t_snowflake_workers SET leased_until = now() + ? * interval '1 millisecond'
+      WHERE worker_id = ? AND holder = ?
+      """;
+
+  private static final String RELEASE_SQL =
+      "UPDATE t_snowflake_workers SET holder = NULL, leased_until = now()"
+          + " WHERE worker_id = ? AND holder = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final long ttlMillis;
+  private final long heartbeatMillis;
+  private final long failClosedNanos;
+  private final LongSupplier nanoClock;
+
+  /** 行の持ち主の印。ホスト名・PID は運用で行を読んだときの手掛かり、末尾の乱数が同じホスト上の再起動を区別する。 */
+  private final String holder;
+
+  /** 心拍を回す専用のスレッド。{@code @Scheduled} の共有スレッドは長い定期処理（ポイントの一括失効など）に塞がれ得るため、貸与の延長はそれと分ける。 */
+  private final ScheduledExecutorService heartbeats =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("snowflake-lease").daemon().factory());
+
+  /** 借りている workerId と、最後に寿命を延ばした（借りた）時刻。借りていなければ null。 */
+  private volatile Held held;
+
+  @Autowired
+  public SnowflakeWorkerLease(JdbcTemplate jdbcTemplate, AppProperties appProperties) {
+    this(jdbcTemplate, appProperties, System::nanoTime);
+  }
+
+  SnowflakeWorkerLease(
+      JdbcTemplate jdbcTemplate, AppProperties appProperties, LongSupplier nanoClock) {
+    AppProperties.Snowflake snowflake = appProperties.getSnowflake();
+    this.jdbcTemplate = jdbcTemplate;
+    this.ttlMillis = snowflake.getLeaseTtl().toMillis();
+    this.heartbeatMillis = snowflake.getHeartbeat().toMillis();
+    this.failClosedNanos = snowflake.getLeaseTtl().minus(snowflake.getHeartbeat()).toNanos();
+    this.nanoClock = nanoClock;
+    this.holder =
+        "%s/%d/%s"
+            .formatted(
+                System.getenv().getOrDefault("HOSTNAME", "unknown"),
+                ProcessHandle.current().pid(),
+                UUID.randomUUID().toString().substring(0, 8));
+    acquire();
+  }
+
+  /**
+   * 払い出しに使う workerId。借りていない（起動前・貸与を失った後）か、最後の延長から寿命に迫るまで延長されていなければ
+   * IllegalStateException。心拍が止まっていても、他ノードが同じ workerId を借りうる前に払い出しを止める。
+   */
+  long currentWorkerId() {
+    Held current = held;
+    if (current == null) {
+      throw new IllegalStateException("snowflake の workerId を借りていないため ID を払い出せません");
+    }
+    if (nanoClock.getAsLong() - current.renewedNanos() >= failClosedNanos) {
+      throw new IllegalStateException(
+          "snowflake の workerId=%d の貸与が延長されないまま寿命に迫ったため ID を払い出せません".formatted(current.workerId()));
+    }
+    return current.workerId();
+  }
+
+  /** このノードが借りている workerId。借りていなければ -1。 */
+  public long workerId() {
+    Held current = held;
+    return current == null ? UNLEASED : current.workerId();
+  }
+
+  @PostConstruct
+  void startHeartbeat() {
+    heartbeats.scheduleAtFixedRate(
+        () -> {
+          try {
+            heartbeat();
+          } catch (RuntimeException e) {
+            // 例外で抜けると以後の心拍が止まるため、ここで受けて次の心拍へ回す
+            log.error("snowflake の貸与の心拍が失敗した", e);
+          }
+        },
+        heartbeatMillis,
+        heartbeatMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /** 寿命を延ばす。延長できなければ、寿命に迫った時点で払い出しを止めて借り直す。 */
+  public void heartbeat() {
+    Held current = held;
+    if (current == null) {
+      acquireQuietly();
+      return;
+    }
+    long started = nanoClock.getAsLong();
+    try {
+      if (jdbcTemplate.update(RENEW_SQL, ttlMillis, current.workerId(), holder) == 1) {
+        held = new Held(current.workerId(), started);
+        return;
+      }
+      log.error("snowflake の workerId={} の貸与を失っていた。借り直す", current.workerId());
+      held = null;
+      acquireQuietly();
+    } catch (DataAccessException e) {
+      if (started - current.renewedNanos() < failClosedNanos) {
+        log.warn("snowflake の workerId={} の貸与を延長できなかった: {}", current.workerId(), e.getMessage());
+        return;
+      }
+      log.error(
+          "snowflake の workerId={} の貸与が寿命に迫ったため払い出しを止める: {}", current.workerId(), e.getMessage());
+      held = null;
+    }
+  }
+
+  /** 停止時に返す。返せなくても寿命が切れれば他ノードが借りられる。 */
+  @PreDestroy
+  public void release() {
+    heartbeats.shutdownNow();
+    Held current = held;
+    if (current == null) {
+      return;
+    }
+    held = null;
+    try {
+      jdbcTemplate.update(RELEASE_SQL, current.workerId(), holder);
+    } catch (DataAccessException e) {
+      log.warn(
+          "snowflake の workerId={} を返せなかった（寿命切れで解放される）: {}", current.workerId(), e.getMessage());
+    }
+  }
+
+  private void acquire() {
+    long started = nanoClock.getAsLong();
+    List<Long> leased = jdbcTemplate.queryForList(ACQUIRE_SQL, Long.class, holder, ttlMillis);
+    if (leased.isEmpty()) {
+      throw new IllegalStateException(
+          "snowflake の workerId に空きがありません（0〜%d が全て貸与中）"
+              .formatted(SnowflakeIdGenerator.MAX_WORKER_ID));
+    }
+    held = new Held(leased.getFirst(), started);
+    log.info("snowflake の workerId={} を借りた（holder={}）", leased.getFirst(), holder);
+  }
+
+  private void acquireQuietly() {
+    try {
+      acquire();
+    } catch (DataAccessException | IllegalStateException e) {
+      log.error("snowflake の workerId を借りられなかった。次の心拍で再試行する: {}", e.getMessage());
+    }
+  }
+
+  private record Held(long workerId, long renewedNanos) {}
+}
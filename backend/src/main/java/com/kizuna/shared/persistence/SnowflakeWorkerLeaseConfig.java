@@ -0,0 +1,20 @@
+package com.kizuna.shared.persistence;
+
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@link SnowflakeWorkerLease} を Hibernate の設定（{@link SnowflakeIdGenerator#WORKER_LEASE}）へ載せる。
+ *
+ * <p>生成器はこの設定から自分の SessionFactory の貸与を引く。EntityManagerFactory は設定を組むときにこの bean を解決するので、workerId
+ * を借りる前に挿入が走ることはない。
+ */
+@Configuration
+class SnowflakeWorkerLeaseConfig {
+
+  @Bean
+  HibernatePropertiesCustomizer snowflakeWorkerLease(SnowflakeWorkerLease lease) {
+    return properties -> properties.put(SnowflakeIdGenerator.WORKER_LEASE, lease);
+  }
+}
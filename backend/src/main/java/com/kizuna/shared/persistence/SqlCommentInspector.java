@@ -0,0 +1,91 @@
+package com.kizuna.shared.persistence;
+
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.web.RequestCorrelationFilter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * SQL 文の末尾に、出どころ（端点・相関 ID）を sqlcommenter 形式の注釈で付ける。
+ *
+ * <p>載せるのは {@code controller}（クラスの単純名）・{@code action}（メソッド名）・{@code route}（照合した経路のパターン）・ {@code
+ * sampled} で、どれも端点ごとに決まる値なので、文の字面の種類は端点の数で頭打ちになる。pgjdbc の準備済み文のキャッシュ（{@code
+ * preparedStatementCacheQueries}、既定 256 文）は字面で引くので、字面の種類を増やす値は載せない。
+ * 店舗を載せると同じ文の字面が店舗の数だけ増え、キャッシュから互いを追い出す。店舗はアプリ側の遅い文のログ（{@code org.hibernate.SQL_SLOW}）の文脈（{@code
+ * storeId}）から引く。
+ *
+ * <p>要求ごとに変わる {@code request_id} は、相関 ID から決めた一部の要求（{@code
+ * app.sql-comment.request-id-sample-rate}）にだけ載せ、{@code sampled} でその要求が標本かを示す。同じ要求の文はどれも載るか、
+ * どれも載らないかのどちらかで、注釈に相関 ID が無いのが標本外だからだと読める。標本の文は 1 回きりの字面なので、キャッシュの枠を 1 つずつ使い捨てる。割合は低く保つ。
+ *
+ * <p>注釈が読めるのは文の字面をそのまま残す所（{@code log_min_duration_statement} の遅い文のログ・{@code
+ * pg_stat_activity}・{@code auto_explain}）である。{@code pg_stat_statements} の queryid は注釈を無視して決まり、
+ * 字面は最初に来た呼び手のものだけが残るので、そこから端点は引けない。
+ *
+ * <p>鍵は辞書順、値は URL エンコードして単引用符で囲む（sqlcommenter の仕様どおり。{@code /}
+ * もエンコードされるので、値が注釈を閉じることは無い）。要求の外の文と、既に注釈を持つ文は書き換えない。
+ */
+final class SqlCommentInspector implements StatementInspector {
+
+  private static final int SAMPLE_BUCKETS = 10_000;
+
+  private final int sampledBuckets;
+
+  SqlCommentInspector(AppProperties appProperties) {
+    this.sampledBuckets =
+        (int) Math.round(appProperties.getSqlComment().getRequestIdSampleRate() * SAMPLE_BUCKETS);
+  }
+
+  @Override
+  public String inspect(String sql) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null || sql.contains("/*")) {
+      return sql;
+    }
+    Map<String, String> tags = new TreeMap<>();
+    if (attributes.getAttribute(
+            HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+        instanceof HandlerMethod handler) {
+      tags.put("controller", handler.getBeanType().getSimpleName());
+      tags.put("action", handler.getMethod().getName());
+    }
+    if (attributes.getAttribute(
+            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+        instanceof String route) {
+      tags.put("route", route);
+    }
+    String requestId = RequestCorrelationFilter.currentRequestId();
+    if (requestId != null) {
+      boolean sampled = sampled(requestId);
+      tags.put("sampled", String.valueOf(sampled));
+      if (sampled) {
+        tags.put("request_id", requestId);
+      }
+    }
+    if (tags.isEmpty()) {
+      return sql;
+    }
+    StringBuilder commented = new StringBuilder(sql.length() + 128).append(sql).append(" /*");
+    tags.forEach(
+        (key, value) ->
+            commented
+                .append(key)
+                .append("='")
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20"))
+                .append("',"));
+    commented.setLength(commented.length() - 1);
+    return commented.append("*/").toString();
+  }
+
+  /** 相関 ID で決めるので、同じ要求の文はどれも同じ側に落ちる。 */
+  private boolean sampled(String requestId) {
+    return Math.floorMod(requestId.hashCode(), SAMPLE_BUCKETS) < sampledBuckets;
+  }
+}
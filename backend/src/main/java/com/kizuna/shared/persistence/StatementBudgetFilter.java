@@ -0,0 +1,108 @@
+package com.kizuna.shared.persistence;
+
+import com.kizuna.shared.config.AppProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.log4j.Log4j2;
+import org.jspecify.annotations.NonNull;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 要求ごとに Hibernate が出した SQL 文を数え、応答の後にログへ残す。{@code app.statement-budget.max-per-request}
+ * を超えた要求は警告する。
+ *
+ * <p>数えるのは {@link StatementCountingInspector} が見た文で、JdbcTemplate から直に出した文は含まない。ログの行には相関 ID（{@code
+ * req=}）が載るので、{@link com.kizuna.shared.web.RequestCorrelationFilter} の内側で動かす。要求の外（定期処理・起動時）の文は数えない。
+ *
+ * <p>要求の数は要求の属性（{@link RequestStatements}）に置く。統合テストの予算の検証は、属性の追加を聞いてこれを集める。
+ */
+@Log4j2
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+  static final String STATEMENTS = StatementBudgetFilter.class.getName() + ".STATEMENTS";
+
+  private final int maxPerRequest;
+
+  public StatementBudgetFilter(AppProperties appProperties) {
+    this.maxPerRequest = appProperties.getStatementBudget().getMaxPerRequest();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    RequestStatements statements =
+        new RequestStatements(request.getMethod(), request.getRequestURI());
+    request.setAttribute(STATEMENTS, statements);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      report(request, statements.count());
+    }
+  }
+
+  private void report(HttpServletRequest request, int count) {
+    if (count == 0) {
+      return;
+    }
+    // 実際の URL ではなく照合した経路のパターンで記す（同じ端点の行を集計しやすいように）
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    String endpoint =
+        request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    if (count > maxPerRequest) {
+      log.warn("SQL 文が要求の予算を超えた: {} 件（上限 {}） {}", count, maxPerRequest, endpoint);
+    } else {
+      log.debug("SQL 文 {} 件 {}", count, endpoint);
+    }
+  }
+
+  /** 現在の要求の文を 1 つ数える。要求の外では何もしない。 */
+  static void count() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes != null
+        && attributes.getAttribute(STATEMENTS, RequestAttributes.SCOPE_REQUEST)
+            instanceof RequestStatements statements) {
+      statements.increment();
+    }
+  }
+
+  /** 1 つの要求が出した文の数。 */
+  public static final class RequestStatements {
+
+    private final String method;
+    private final String uri;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private RequestStatements(String method, String uri) {
+      this.method = method;
+      this.uri = uri;
+    }
+
+    private void increment() {
+      count.incrementAndGet();
+    }
+
+    public int count() {
+      return count.get();
+    }
+
+    @Override
+    public String toString() {
+      return method + " " + uri + " → " + count.get() + " 文";
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.kizuna.shared.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Hibernate が準備する文を、現在の要求の文として数える（{@link StatementBudgetFilter}）。文そのものは書き換えない。 */
+final class StatementCountingInspector implements StatementInspector {
+
+  @Override
+  public String inspect(String sql) {
+    StatementBudgetFilter.count();
+    return sql;
+  }
+}
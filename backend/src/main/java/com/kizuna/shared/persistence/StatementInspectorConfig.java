@@ -0,0 +1,33 @@
+package com.kizuna.shared.persistence;
+
+import com.kizuna.shared.config.AppProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate の文の inspector を登録する。Hibernate が受け取る inspector は 1 つなので、ここで繋ぐ。
+ *
+ * <p>文は要求ごとに数え（{@link StatementBudgetFilter}）、{@code app.sql-comment.enabled} なら出どころの注釈を付ける（{@link
+ * SqlCommentInspector}）。
+ */
+@Configuration(proxyBeanMethods = false)
+class StatementInspectorConfig {
+
+  @Bean
+  HibernatePropertiesCustomizer statementInspector(AppProperties appProperties) {
+    StatementInspector inspector = chain(appProperties);
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+  }
+
+  private static StatementInspector chain(AppProperties appProperties) {
+    StatementInspector counting = new StatementCountingInspector();
+    if (!appProperties.getSqlComment().isEnabled()) {
+      return counting;
+    }
+    SqlCommentInspector commenting = new SqlCommentInspector(appProperties);
+    return sql -> commenting.inspect(counting.inspect(sql));
+  }
+}
@@ -0,0 +1,47 @@
+package com.kizuna.shared.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
+import java.time.OffsetDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 作成・更新時刻と楽観ロックのバージョンを持つエンティティ基盤。主キーの払い出し方だけが違う {@link BaseEntity}（IDENTITY）と {@link
+ * ClientIdEntity}（snowflake）が共有する。
+ */
+@MappedSuperclass
+@Getter
+@Setter
+@NoArgsConstructor
+public abstract class TimestampedEntity {
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private OffsetDateTime updatedAt;
+
+  /** 楽観ロック用バージョン（全実体共通）。 */
+  @Setter(AccessLevel.NONE) // 新規 public setter 禁止規約: バージョンは JPA が管理し外部から設定させない
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  @PrePersist
+  protected void onCreate() {
+    var now = OffsetDateTime.now();
+    this.createdAt = now;
+    this.updatedAt = now;
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    this.updatedAt = OffsetDateTime.now();
+  }
+}
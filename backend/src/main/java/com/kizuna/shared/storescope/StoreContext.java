@@ -1,25 +1,104 @@
 package com.kizuna.shared.storescope;
 
+import java.util.function.Supplier;
+import org.apache.logging.log4j.ThreadContext;
 import org.springframework.stereotype.Component;
 
+/**
+ * 現在の店舗文脈。
+ *
+ * <p>置き場所は 2 通りある。要求を仮想スレッドで受ける構成では {@code RequestCorrelationFilter} が要求 1 件ぶんの器を {@link
+ * ScopedValue} で束縛し、読み書きはその器へ向かう。束縛は要求の処理が終わると外れるので掃除が要らず、{@code StructuredTaskScope}
+ * で分岐した子の処理にも同じ店舗が見える。器が束縛されていない呼び出し（従来のプラットフォームスレッドの構成・ 非同期の後続処理・単体テスト）は ThreadLocal を使い、設定した側が
+ * {@link #clear} で消す。
+ *
+ * <p>ログの {@code %X{storeId}} も同じ 2 通りで補う。器は {@code ScopedContextDataProvider} が読み、ThreadLocal
+ * の側は店舗を設定・消去するたびに ThreadContext へ写す。写すのをここに集めるのは、店舗を決める側（{@link StoreIdInterceptor}・{@link
+ * StoreScopeExecutor}）が増えてもログから店舗が落ちないように。
+ */
 @Component
 public class StoreContext {
+
+  /** 要求 1 件ぶんの店舗の器。束縛するのは {@link #requestScope} と {@link #callWithStoreId} だけ。 */
+  private static final ScopedValue<Slot> REQUEST = ScopedValue.newInstance();
+
+  /** ログの文脈（ThreadContext）の鍵。{@code RequestCorrelationFilter} も応答後にこの鍵を消す。 */
+  private static final String LOG_KEY = "storeId";
+
   private final ThreadLocal<Long> CURRENT_STORE = new ThreadLocal<>();
 
   public boolean hasStoreId() {
-    Long storeId = CURRENT_STORE.get();
+    Long storeId = getStoreId();
     return storeId != null;
   }
 
   public void setStoreId(Long storeId) {
-    CURRENT_STORE.set(storeId);
+    if (REQUEST.isBound()) {
+      REQUEST.get().storeId = storeId;
+    } else {
+      CURRENT_STORE.set(storeId);
+      if (storeId == null) {
+        ThreadContext.remove(LOG_KEY);
+      } else {
+        ThreadContext.put(LOG_KEY, storeId.toString());
+      }
+    }
   }
 
   public Long getStoreId() {
-    return CURRENT_STORE.get();
+    return REQUEST.isBound() ? REQUEST.get().storeId : CURRENT_STORE.get();
   }
 
   public void clear() {
-    CURRENT_STORE.remove();
+    if (REQUEST.isBound()) {
+      REQUEST.get().storeId = null;
+    } else {
+      CURRENT_STORE.remove();
+      ThreadContext.remove(LOG_KEY);
+    }
+  }
+
+  /**
+   * {@code storeId} の文脈で {@code action} を実行し、復帰時（例外時含む）に文脈を消す。
+   *
+   * <p>器が束縛されていれば、新しい器を入れ子に束縛して実行する。外側の器は書き換えないので、抜けた後は要求の文脈がそのまま戻る。
+   */
+  public <T> T callWithStoreId(Long storeId, Supplier<T> action) {
+    if (REQUEST.isBound()) {
+      try {
+        return ScopedValue.where(REQUEST, new Slot(storeId)).call(action::get);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        // Supplier は検査例外を投げないので届かない
+        throw new IllegalStateException(e);
+      }
+    }
+    try {
+      setStoreId(storeId);
+      return action.get();
+    } finally {
+      clear();
+    }
+  }
+
+  /** 要求 1 件ぶんの空の器の束縛。この束縛の中では、店舗文脈の読み書きは ThreadLocal を使わない。 */
+  public static ScopedValue.Carrier requestScope() {
+    return ScopedValue.where(REQUEST, new Slot(null));
+  }
+
+  /** 束縛された器の店舗（ログの文脈用）。器が無いか店舗が未設定なら null。 */
+  public static Long scopedStoreId() {
+    return REQUEST.isBound() ? REQUEST.get().storeId : null;
+  }
+
+  /** 要求の途中（認証の後のインターセプタ）で店舗が決まるため、束縛する値は書き換えられる器にする。 */
+  private static final class Slot {
+
+    private volatile Long storeId;
+
+    private Slot(Long storeId) {
+      this.storeId = storeId;
+    }
   }
 }
@@ -1,9 +1,12 @@
 package com.kizuna.shared.storescope;
 
 import com.kizuna.shared.exception.ServiceException;
+import com.kizuna.shared.metrics.MeterTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 import org.jspecify.annotations.NonNull;
@@ -19,13 +22,16 @@ import org.springframework.web.servlet.HandlerInterceptor;
 /**
  * 拒否は例外送出で表明し、応答の成形は {@link com.kizuna.shared.exception.CommonExceptionHandler} へ委ねる — ここでは
  * response へ直接書かない。同じ status を返す経路が複数のワイヤ形を持つと、呼出側が応答体の形を一つに決められなくなるため。
+ *
+ * <p>判定の結果を {@code store.context.resolutions}（{@code outcome} は {@link Outcome}）へ数える。
  */
 @Log4j2
 @Component
-@AllArgsConstructor
 public class StoreIdInterceptor implements HandlerInterceptor {
 
   private final StoreContext storeContext;
+  private final MeterTags meterTags;
+  private final Meter.MeterProvider<Counter> resolutions;
 
   private static final String HEADER_ROLE = "X-Role";
   private static final String HEADER_STORE_ID = "X-Store-ID";
@@ -38,11 +44,36 @@ public class StoreIdInterceptor implements HandlerInterceptor {
    */
   static final String CLAIM_STORE_BRIDGE = "storeBridge";
 
+  public StoreIdInterceptor(
+      StoreContext storeContext, MeterTags meterTags, MeterRegistry meterRegistry) {
+    this.storeContext = storeContext;
+    this.meterTags = meterTags;
+    this.resolutions =
+        Counter.builder("store.context.resolutions")
+            .description("店舗文脈の判定の結果")
+            .withRegistry(meterRegistry);
+  }
+
   @Override
   public boolean preHandle(
       @NonNull HttpServletRequest request,
       @NonNull HttpServletResponse response,
       @NonNull Object handler) {
+    Outcome outcome;
+    try {
+      outcome = resolve(request, handler);
+    } catch (AccessDeniedException e) {
+      count(Outcome.DENIED);
+      throw e;
+    } catch (ServiceException e) {
+      count(Outcome.MALFORMED);
+      throw e;
+    }
+    count(outcome);
+    return true;
+  }
+
+  private Outcome resolve(HttpServletRequest request, Object handler) {
     Jwt claims = authenticatedClaims();
     StoreScope scope =
         StoreScope.fromAuthentication(SecurityContextHolder.getContext().getAuthentication());
@@ -68,7 +99,7 @@ public class StoreIdInterceptor implements HandlerInterceptor {
           throw new AccessDeniedException("この店舗の権限がありません");
         }
         this.storeContext.setStoreId(headerValue);
-        return true;
+        return Outcome.PLATFORM_BRIDGE;
       }
       // ヘッダ不備（X-Role 欠落・非数値含む）は店舗文脈なし → 末尾の @StoreOptional 判定へ落とす。
     } else if (claims != null) {
@@ -87,14 +118,14 @@ public class StoreIdInterceptor implements HandlerInterceptor {
         throw new ServiceException("店舗 ID の形式が正しくありません");
       }
       this.storeContext.setStoreId(headerValue);
-      return true;
+      return Outcome.PUBLIC_HEADER;
     }
     // JWT claim・ヘッダのいずれからも店舗文脈を解決できなかった。文脈が無いまま素通りさせると
     // storeFilter が有効化されず @StoreScoped クエリが全店舗の行を返す（fail-open）ため、
     // @StoreOptional を明示したエンドポイントに限り許可し、それ以外は 403 で拒否する（fail-closed）。
     if (handler instanceof HandlerMethod handlerMethod
         && handlerMethod.hasMethodAnnotation(StoreOptional.class)) {
-      return true;
+      return Outcome.STORE_OPTIONAL;
     }
     throw new AccessDeniedException("店舗文脈が解決できません");
   }
@@ -117,6 +148,10 @@ public class StoreIdInterceptor implements HandlerInterceptor {
     }
   }
 
+  private void count(Outcome outcome) {
+    resolutions.withTags(meterTags.current().and("outcome", outcome.tag)).increment();
+  }
+
   @Override
   public void afterCompletion(
       @NonNull HttpServletRequest request,
@@ -125,4 +160,24 @@ public class StoreIdInterceptor implements HandlerInterceptor {
       @Nullable Exception ex) {
     storeContext.clear();
   }
+
+  /** 店舗文脈の判定の結果。 */
+  enum Outcome {
+    /** 平台トークンの橋渡しで、授権された店舗の文脈を確立した。 */
+    PLATFORM_BRIDGE("platform-bridge"),
+    /** 未認証の要求がヘッダで店舗を名乗った。 */
+    PUBLIC_HEADER("public-header"),
+    /** 店舗文脈なしで {@link StoreOptional} の端点を通した。 */
+    STORE_OPTIONAL("store-optional"),
+    /** 権限が無い・文脈を解決できないとして 403 で拒否した。 */
+    DENIED("denied"),
+    /** 店舗 ID の形式が正しくないとして 400 で拒否した。 */
+    MALFORMED("malformed");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+  }
 }
@@ -40,12 +40,7 @@ public class StoreScopeExecutor {
     if (!storeExistenceCheck.exists(storeId)) {
       throw new ServiceException("店舗が見つかりません");
     }
-    try {
-      storeContext.setStoreId(storeId);
-      return action.get();
-    } finally {
-      // /platform は StoreIdInterceptor(afterCompletion clear)を通らないため、ここで必ず消す
-      storeContext.clear();
-    }
+    // /platform は StoreIdInterceptor(afterCompletion clear)を通らないため、復帰時に必ず消す
+    return storeContext.callWithStoreId(storeId, action);
   }
 }
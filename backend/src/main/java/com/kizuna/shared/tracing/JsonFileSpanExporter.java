@@ -0,0 +1,119 @@
+package com.kizuna.shared.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 標本にしたスパンを 1 行 1 スパンの JSON でファイルへ追記する（{@code app.tracing.json-file}）。
+ *
+ * <p>コレクタの無い環境で、遅い要求の内訳を後から {@code jq} などで読むためのもの。1 行は {@code traceId}・{@code spanId}・{@code
+ * parentSpanId}・名前・開始時刻・所要（マイクロ秒）・状態・属性で、同じ {@code traceId} の行を {@code parentSpanId} で辿れば要求 1
+ * 件の木になる。HTTP の受け口のスパンには相関 ID（{@code request_id}）が載るので、応答の {@code X-Request-ID} から要求を引ける。
+ *
+ * <p>書き出しは OpenTelemetry の一括処理の背景スレッドから来る。失敗はログに残して捨て、要求の処理には影響させない。
+ */
+@Log4j2
+final class JsonFileSpanExporter implements SpanExporter {
+
+  private static final JsonMapper JSON = JsonMapper.builder().build();
+
+  private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+  private final Path file;
+  private final Writer writer;
+
+  JsonFileSpanExporter(Path file) {
+    this.file = file;
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      this.writer =
+          Files.newBufferedWriter(
+              file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      throw new UncheckedIOException("スパンの書き出し先を開けません: " + file, e);
+    }
+  }
+
+  @Override
+  public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+    try {
+      for (SpanData span : spans) {
+        writer.write(JSON.writeValueAsString(line(span)));
+        writer.write('\n');
+      }
+      writer.flush();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      log.warn("スパンを書き出せませんでした file={}: {}", file, e.getMessage());
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  @Override
+  public synchronized CompletableResultCode flush() {
+    try {
+      writer.flush();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  @Override
+  public synchronized CompletableResultCode shutdown() {
+    try {
+      writer.close();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  static Map<String, Object> line(SpanData span) {
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("traceId", span.getTraceId());
+    line.put("spanId", span.getSpanId());
+    if (span.getParentSpanContext().isValid()) {
+      line.put("parentSpanId", span.getParentSpanId());
+    }
+    line.put("name", span.getName());
+    line.put("kind", span.getKind().name());
+    line.put("service", span.getResource().getAttribute(SERVICE_NAME));
+    line.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+    line.put(
+        "durationMicros",
+        TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+    if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+      line.put("error", span.getStatus().getDescription());
+    }
+    line.put("attributes", attributes(span.getAttributes()));
+    return line;
+  }
+
+  private static Map<String, Object> attributes(Attributes attributes) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    attributes.forEach((AttributeKey<?> key, Object value) -> values.put(key.getKey(), value));
+    return values;
+  }
+}
@@ -0,0 +1,31 @@
+package com.kizuna.shared.tracing;
+
+import com.kizuna.shared.web.RequestCorrelationFilter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * HTTP の受け口のスパンに相関 ID（{@code X-Request-ID}）を {@code request_id} として載せる。
+ *
+ * <p>相関 ID はログ（{@code requestId}）と SQL の注釈（{@code request_id}）にも載っているので、応答の {@code X-Request-ID}
+ * からトレースを、トレースからその要求のログと SQL を引ける。値は要求ごとに変わるため、メーターのタグにならない高基数の値として載せる。
+ *
+ * <p>観測の終わりに呼ばれる。受け口の観測は {@link RequestCorrelationFilter} の内側で閉じるので、その時点で相関 ID はまだ束縛されている。
+ */
+final class RequestIdObservationFilter implements ObservationFilter {
+
+  static final String KEY = "request_id";
+
+  @Override
+  public Observation.Context map(Observation.Context context) {
+    if (context instanceof ServerRequestObservationContext) {
+      String requestId = RequestCorrelationFilter.currentRequestId();
+      if (requestId != null) {
+        context.addHighCardinalityKeyValue(KeyValue.of(KEY, requestId));
+      }
+    }
+    return context;
+  }
+}
@@ -0,0 +1,72 @@
+package com.kizuna.shared.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 要求の中の区間（interceptor の前処理とリポジトリの呼び出し）をスパンにする。
+ *
+ * <p>HTTP の受け口（{@code http.server.requests}）・Redis のコマンド（Lettuce）は Spring Boot の観測がスパンにするので、ここでは
+ * その間を埋める。スパンの名前は {@code StoreIdInterceptor.preHandle}・{@code OrderRepository.findByIdForUpdate}
+ * の形で、どの interceptor・どのリポジトリのどの照会かが名前だけで読める（行ロックを取る照会もここに現れる）。
+ *
+ * <p>Observation ではなく Tracer を直に使う。Observation は既定でメーターも作り、リポジトリのメソッドの数だけ時系列が増えるため。
+ */
+@Aspect
+final class TracingAspect {
+
+  /** リポジトリの proxy のクラスから、利用者が宣言したリポジトリの名前を引く。 */
+  private static final ClassValue<String> REPOSITORY_NAMES =
+      new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> proxyClass) {
+          for (Class<?> candidate : ClassUtils.getAllInterfacesForClass(proxyClass)) {
+            if (Repository.class.isAssignableFrom(candidate)
+                && !candidate.getName().startsWith("org.springframework.")) {
+              return candidate.getSimpleName();
+            }
+          }
+          return ClassUtils.getUserClass(proxyClass).getSimpleName();
+        }
+      };
+
+  private final Tracer tracer;
+
+  TracingAspect(Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  @Around(
+      "execution(boolean org.springframework.web.servlet.HandlerInterceptor+.preHandle(..))"
+          + " && within(com.kizuna..*)")
+  public Object interceptor(ProceedingJoinPoint joinPoint) throws Throwable {
+    return inSpan(
+        ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName() + ".preHandle", joinPoint);
+  }
+
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return inSpan(
+        REPOSITORY_NAMES.get(joinPoint.getThis().getClass())
+            + "."
+            + joinPoint.getSignature().getName(),
+        joinPoint);
+  }
+
+  private Object inSpan(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+    Span span = tracer.nextSpan().name(name).start();
+    try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      span.error(e);
+      throw e;
+    } finally {
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.kizuna.shared.tracing;
+
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.annotation.DefaultNewSpanParser;
+import io.micrometer.tracing.annotation.ImperativeMethodInvocationProcessor;
+import io.micrometer.tracing.annotation.SpanAspect;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * スパンの配線。要求の区間（interceptor・リポジトリ）は {@link TracingAspect}、外部への呼び出しと重い計算（S3 への保存・LINE API・伝票トークンの
+ * HMAC）は {@code @NewSpan} を付けたメソッドがスパンになる。
+ *
+ * <p>{@code @NewSpan} の aspect は Spring Boot の既定（{@code
+ * management.observations.annotations.enabled}）では有効にしない。あちらは {@code @Timed} の aspect
+ * も作り、店舗と端点のタグを付ける自前の aspect（{@code MetricsConfig}）と重なるため。
+ */
+@Configuration(proxyBeanMethods = false)
+class TracingConfig {
+
+  @Bean
+  TracingAspect tracingAspect(Tracer tracer) {
+    return new TracingAspect(tracer);
+  }
+
+  @Bean
+  SpanAspect spanAspect(Tracer tracer) {
+    return new SpanAspect(
+        new ImperativeMethodInvocationProcessor(new DefaultNewSpanParser(), tracer));
+  }
+
+  @Bean
+  RequestIdObservationFilter requestIdObservationFilter() {
+    return new RequestIdObservationFilter();
+  }
+
+  /** Spring Boot の OpenTelemetry の自動構成が、OTLP の送り手と並べて一括処理へ載せる。 */
+  @Bean
+  @ConditionalOnBooleanProperty("app.tracing.json-file-enabled")
+  JsonFileSpanExporter jsonFileSpanExporter(AppProperties appProperties) {
+    return new JsonFileSpanExporter(Path.of(appProperties.getTracing().getJsonFile()));
+  }
+}
@@ -7,24 +7,44 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.ThreadContext;
 import org.jspecify.annotations.NonNull;
+import org.springframework.boot.thread.Threading;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-/** 全リクエストに相関 ID を割り当て、応答後に ThreadContext と店舗文脈を確実に掃除する。 */
+/**
+ * 全リクエストに相関 ID を割り当て、応答後に ThreadContext と店舗文脈を確実に掃除する。
+ *
+ * <p>要求を仮想スレッドで受ける構成（{@code spring.threads.virtual.enabled}）では、相関 ID と店舗文脈の器を {@link ScopedValue}
+ * で要求の処理の間だけ束縛し、ThreadContext と ThreadLocal には書かない。ログの {@code %X{requestId}} は {@link
+ * ScopedContextDataProvider} が束縛から補う。束縛は処理が終わると外れるので、掃除するものが無い。
+ */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
-@RequiredArgsConstructor
 public class RequestCorrelationFilter extends OncePerRequestFilter {
 
   private static final String REQUEST_ID_HEADER = "X-Request-ID";
 
+  /** 仮想スレッドの構成で束縛する相関 ID。 */
+  static final ScopedValue<String> REQUEST_ID = ScopedValue.newInstance();
+
   private final StoreContext storeContext;
+  private final boolean scoped;
+
+  public RequestCorrelationFilter(StoreContext storeContext, Environment environment) {
+    this.storeContext = storeContext;
+    this.scoped = Threading.VIRTUAL.isActive(environment);
+  }
+
+  /** 現在の要求の相関 ID。要求の外では null。 */
+  public static String currentRequestId() {
+    return REQUEST_ID.isBound() ? REQUEST_ID.get() : ThreadContext.get("requestId");
+  }
 
   @Override
   protected void doFilterInternal(
@@ -36,9 +56,13 @@ public class RequestCorrelationFilter extends OncePerRequestFilter {
     if (!StringUtils.hasText(requestId)) {
       requestId = UUID.randomUUID().toString();
     }
-    ThreadContext.put("requestId", requestId);
     response.setHeader(REQUEST_ID_HEADER, requestId);
 
+    if (scoped) {
+      doFilterScoped(requestId, request, response, filterChain);
+      return;
+    }
+    ThreadContext.put("requestId", requestId);
     try {
       filterChain.doFilter(request, response);
     } finally {
@@ -47,4 +71,26 @@ public class RequestCorrelationFilter extends OncePerRequestFilter {
       storeContext.clear();
     }
   }
+
+  private static void doFilterScoped(
+      String requestId,
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain)
+      throws ServletException, IOException {
+    try {
+      StoreContext.requestScope()
+          .where(REQUEST_ID, requestId)
+          .call(
+              () -> {
+                filterChain.doFilter(request, response);
+                return null;
+              });
+    } catch (ServletException | IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      // doFilter が宣言する以外の検査例外は来ない
+      throw new ServletException(e);
+    }
+  }
 }
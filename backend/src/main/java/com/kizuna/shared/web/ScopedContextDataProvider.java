@@ -0,0 +1,30 @@
+package com.kizuna.shared.web;
+
+import com.kizuna.shared.storescope.StoreContext;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.core.util.ContextDataProvider;
+
+/**
+ * {@link ScopedValue} で束縛した相関 ID と店舗を、ログの文脈（{@code %X{requestId}} / {@code %X{storeId}}）へ補う。
+ *
+ * <p>仮想スレッドの構成では {@link RequestCorrelationFilter} が ThreadContext へ書かないため、これが無いとログから相関 ID が消える。
+ * 束縛が無ければ何も足さない（従来の構成では ThreadContext の値がそのまま出る）。Log4j2 が ServiceLoader で読み込む（{@code
+ * META-INF/services}）。
+ */
+public class ScopedContextDataProvider implements ContextDataProvider {
+
+  @Override
+  public Map<String, String> supplyContextData() {
+    if (!RequestCorrelationFilter.REQUEST_ID.isBound()) {
+      return Map.of();
+    }
+    Map<String, String> data = new HashMap<>(2);
+    data.put("requestId", RequestCorrelationFilter.REQUEST_ID.get());
+    Long storeId = StoreContext.scopedStoreId();
+    if (storeId != null) {
+      data.put("storeId", storeId.toString());
+    }
+    return data;
+  }
+}
@@ -2,6 +2,7 @@ package com.kizuna.storage.application;
 
 import com.kizuna.shared.config.AppProperties;
 import com.kizuna.shared.exception.ServiceException;
+import io.micrometer.tracing.annotation.NewSpan;
 import java.io.IOException;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ public class S3FileStorage implements FileStorageService, ApplicationRunner {
   private final AppProperties appProperties;
 
   @Override
+  @NewSpan("file-storage.store")
   public String store(String prefix, String bucket, MultipartFile file) {
     AppProperties.Upload upload = appProperties.getUpload();
 
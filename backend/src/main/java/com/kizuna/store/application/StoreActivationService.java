@@ -19,6 +19,7 @@ public class StoreActivationService {
 
   private final StoreRepository storeRepository;
   private final CacheManager cacheManager;
+  private final StoreRegistryCache storeRegistryCache;
 
   /**
    * 稼働中であることを DB で確認できた店舗。
@@ -51,6 +52,7 @@ public class StoreActivationService {
     store.activate();
     storeRepository.save(store);
     evictDomainLookup(store.getDomain());
+    storeRegistryCache.invalidate(storeId);
   }
 
   /**
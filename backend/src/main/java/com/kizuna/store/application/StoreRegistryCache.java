@@ -0,0 +1,49 @@
+package com.kizuna.store.application;
+
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.cache.NearCache;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.store.domain.StoreRegistration;
+import com.kizuna.store.domain.StoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * 店舗台帳のプロセス内の写し（storeId → 実在・稼働状態・ドメイン）。
+ *
+ * <p>{@code /store/**}・{@code /files/**} の全要求と平台側の店舗文脈確立が店舗の実在を確かめるため、DB を毎回引くと
+ * 店舗台帳の主キー照会が要求数ぶん積み上がる。台帳はほとんど変わらない（登録・名称変更・開店・削除だけ）ので、 変わる側（{@link StoreRegistryService}・{@link
+ * StoreActivationService}）がコミット後に失効させ、他ノードへは {@link InvalidationFeed} で配る。
+ *
+ * <p>実在しない storeId も「無い」として載せる。陳腐化した JWT が指す削除済み店舗の要求が DB を叩き続けないように。 そのぶん登録でも失効させる — 新しい店舗の id
+ * を「無い」と覚えたノードが、登録直後の要求を 400 で弾かないように。
+ */
+@Component
+public class StoreRegistryCache {
+
+  static final String CHANNEL = "kizuna:near-cache:store-registry";
+
+  private final StoreRepository storeRepository;
+  private final NearCache<Long, Optional<StoreRegistration>> registrations;
+
+  public StoreRegistryCache(
+      StoreRepository storeRepository,
+      InvalidationFeed feed,
+      AppProperties appProperties,
+      MeterRegistry meterRegistry) {
+    this.storeRepository = storeRepository;
+    this.registrations =
+        new NearCache<>(CHANNEL, feed, appProperties, meterRegistry, Long::valueOf);
+  }
+
+  /** 店舗台帳の写し。実在しなければ empty。 */
+  public Optional<StoreRegistration> find(long storeId) {
+    return registrations.get(storeId, () -> storeRepository.findRegistrationById(storeId));
+  }
+
+  /** 店舗台帳の行を書き換えた。呼び出し元のトランザクションがコミットした後に全ノードで落とす。 */
+  public void invalidate(long storeId) {
+    registrations.invalidate(storeId);
+  }
+}
@@ -38,6 +38,7 @@ public class StoreRegistryService {
   private final CompletedOrderCheck completedOrderCheck;
   private final PointLedgerService pointLedgerService;
   private final AttendanceRecordCheck attendanceRecordCheck;
+  private final StoreRegistryCache storeRegistryCache;
 
   @StoreScopeExempt(reason = REGISTRY_ONLY)
   @Transactional(readOnly = true)
@@ -82,6 +83,7 @@ public class StoreRegistryService {
     t.setEmail(req.getEmail());
     Store saved = storeRepository.save(t);
     storeProfileRepository.save(StoreProfile.createDefault(saved.getId()));
+    storeRegistryCache.invalidate(saved.getId());
     return saved.getId();
   }
 
@@ -95,6 +97,9 @@ public class StoreRegistryService {
     store.setName(req.getName());
     store.setEmail(req.getEmail());
     storeRepository.save(store);
+    // 写しが持つ項目（状態・ドメイン）は変わらないが、台帳の行を書き換えたら落とす規則に揃えておく
+    // （写しへ項目を足したときに、ここだけ失効が漏れないように）
+    storeRegistryCache.invalidate(store.getId());
   }
 
   /**
@@ -125,6 +130,7 @@ public class StoreRegistryService {
       throw new ServiceException("当日実績が記録されている店舗は削除できません");
     }
     storeRepository.deleteById(storeId);
+    storeRegistryCache.invalidate(storeId);
   }
 
   @StoreScopeExempt(reason = REGISTRY_ONLY)
@@ -0,0 +1,8 @@
+package com.kizuna.store.domain;
+
+/**
+ * 店舗台帳の 1 行のうち、要求ごとの店舗検証が読む部分（実在・稼働状態・公開ドメイン）。
+ *
+ * <p>名称やメールのような表示用の項目は持たない。プロセス内に載せて使い回す写しなので、要求の経路で判定に要る項目だけに絞る。
+ */
+public record StoreRegistration(Long id, StoreStatus status, String domain) {}
@@ -16,6 +16,15 @@ public interface StoreRepository
 
   Optional<Store> findByDomain(String domain);
 
+  /** 要求ごとの店舗検証が読む部分だけを引く（{@code StoreRegistryCache} の正本の読み）。 */
+  @Query(
+      """
+      select new com.kizuna.store.domain.StoreRegistration(s.id, s.status, s.domain)
+      from com.kizuna.store.domain.Store s
+      where s.id = :id
+      """)
+  Optional<StoreRegistration> findRegistrationById(@Param("id") Long id);
+
   /**
    * 店舗行を、その店舗の配下に行を建てる間だけ「削除されないように」押さえる（ADR 0016）。
    *
@@ -1,19 +1,22 @@
 package com.kizuna.store.infrastructure;
 
 import com.kizuna.shared.storescope.StoreExistenceCheck;
-import com.kizuna.store.domain.StoreRepository;
+import com.kizuna.store.application.StoreRegistryCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-/** {@link StoreExistenceCheck} の store モジュール実装。StoreRepository の存在確認へ委譲する。 */
+/**
+ * {@link StoreExistenceCheck} の store モジュール実装。店舗台帳のプロセス内の写し（{@link StoreRegistryCache}）で判定し、 要求ごとに
+ * DB を引かない。
+ */
 @Component
 @RequiredArgsConstructor
 class StoreRepositoryExistenceCheck implements StoreExistenceCheck {
 
-  private final StoreRepository storeRepository;
+  private final StoreRegistryCache storeRegistryCache;
 
   @Override
   public boolean exists(long storeId) {
-    return storeRepository.existsById(storeId);
+    return storeRegistryCache.find(storeId).isPresent();
   }
 }
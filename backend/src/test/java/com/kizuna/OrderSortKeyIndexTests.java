@@ -0,0 +1,88 @@
+package com.kizuna;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.order.domain.OrderSortKey;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 作業キューの並び鍵（{@link OrderSortKey}）ごとに、同じ式の索引が changelog にあることを機械検証する。
+ *
+ * <p>鍵の式は JPQL の文字列で、索引の式とはコンパイル期の関連が無い。鍵を足す・式を書き換えるときに索引を忘れても何も落ちず、
+ * 作業キューの頁ごとに店舗の未完了の受注全件の整列が走るようになるだけで、件数が少ない開発環境では気付けない。
+ *
+ * <p>照合は Hibernate が生成する SQL の形に寄せて行う — {@code o.} の属性を列名へ、{@code hour()}/{@code minute()} を {@code
+ * EXTRACT} へ置き換え、大小文字・空白・括弧を無視して比べる。PostgreSQL は式の木で照合するので括弧の付け方は問わない。
+ */
+class OrderSortKeyIndexTests {
+
+  private static final Path ORDER_CHANGELOG =
+      Paths.get("src/main/resources/db/changelog/releases/v0.1.0/store/04-order.yaml");
+
+  /** Liquibase の索引宣言 1 件分。ダッシュより深く字下げされた行が本体。 */
+  private static final Pattern CREATE_INDEX_BLOCK =
+      Pattern.compile(
+          "(?m)^(?<indent>[ ]*)- createIndex:\\n" + "(?<body>(?:\\k<indent>[ ]+.*\\n|[ ]*\\n)*)");
+
+  private static final Pattern BLOCK_TABLE_NAME = Pattern.compile("tableName:\\s*(\\S+)");
+  private static final Pattern BLOCK_COLUMN_NAME = Pattern.compile("(?m)^\\s*name:\\s*(.+)$");
+
+  private static final Pattern ENTITY_ATTRIBUTE = Pattern.compile("\\bo\\.(\\w+)");
+  private static final Pattern TIME_FIELD = Pattern.compile("\\b(hour|minute)\\(");
+
+  @Test
+  @DisplayName("全ての並び鍵に (store_id, status, 鍵の式, id) の索引があること")
+  void everySortKeyHasAMatchingIndex() throws Exception {
+    List<List<String>> indexes = orderIndexColumns(Files.readString(ORDER_CHANGELOG));
+
+    // 暗黙の no-op 防止: 受注の索引を実際に読めていること。
+    assertThat(indexes).as("t_orders の索引").isNotEmpty();
+    for (OrderSortKey key : OrderSortKey.values()) {
+      List<String> expected =
+          List.of("store_id", "status", normalize(toSql(key.expression())), "id");
+      assertThat(indexes).as("%s の索引 %s", key, expected).contains(expected);
+    }
+  }
+
+  private List<List<String>> orderIndexColumns(String changelog) {
+    List<List<String>> indexes = new ArrayList<>();
+    Matcher block = CREATE_INDEX_BLOCK.matcher(changelog);
+    while (block.find()) {
+      String body = block.group("body");
+      Matcher table = BLOCK_TABLE_NAME.matcher(body);
+      if (!table.find() || !table.group(1).equals("t_orders")) {
+        continue;
+      }
+      List<String> columns = new ArrayList<>();
+      Matcher column = BLOCK_COLUMN_NAME.matcher(body);
+      while (column.find()) {
+        columns.add(normalize(column.group(1)));
+      }
+      indexes.add(columns);
+    }
+    return indexes;
+  }
+
+  /** JPQL の鍵の式を、Hibernate が PostgreSQL 向けに生成する形へ寄せる。 */
+  private String toSql(String jpql) {
+    String columns =
+        ENTITY_ATTRIBUTE
+            .matcher(jpql)
+            .replaceAll(
+                m -> m.group(1).replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT));
+    return TIME_FIELD.matcher(columns).replaceAll("extract($1 from ");
+  }
+
+  private String normalize(String expression) {
+    return expression.replaceAll("[\\s()]", "").toLowerCase(Locale.ROOT);
+  }
+}
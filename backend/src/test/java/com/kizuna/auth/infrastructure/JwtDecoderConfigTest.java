@@ -3,16 +3,23 @@ package com.kizuna.auth.infrastructure;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
+import com.kizuna.shared.storescope.StoreContext;
+import com.kizuna.shared.storescope.StoreExistenceCheck;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -45,12 +52,24 @@ class JwtDecoderConfigTest {
     appProperties.setJwt(jwt);
 
     tokenBlacklistService = mock(TokenBlacklistService.class);
-    lenient().when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(false);
-    lenient().when(tokenBlacklistService.isUserBlacklisted(anyString())).thenReturn(false);
+    lenient()
+        .when(tokenBlacklistService.check(anyString(), anyString()))
+        .thenReturn(new BlacklistStatus(false, false));
 
     decoder =
         new JwtDecoderConfig()
-            .jwtDecoder(appProperties, new TokenBlacklistValidator(tokenBlacklistService));
+            .jwtDecoder(
+                appProperties,
+                new TokenBlacklistValidator(
+                    tokenBlacklistService,
+                    new MeterTags(
+                        new StoreContext(),
+                        appProperties,
+                        new StaticListableBeanFactory(
+                                Map.of(
+                                    "storeExistenceCheck", (StoreExistenceCheck) storeId -> true))
+                            .getBeanProvider(StoreExistenceCheck.class)),
+                    new SimpleMeterRegistry()));
   }
 
   private String issueToken(String issuer, long expirationMillis) {
@@ -100,7 +119,8 @@ class JwtDecoderConfigTest {
   @Test
   @DisplayName("トークン単位ブラックリスト登録済みの token は拒否されること")
   void rejectsBlacklistedToken() {
-    when(tokenBlacklistService.isBlacklisted(anyString())).thenReturn(true);
+    when(tokenBlacklistService.check(anyString(), anyString()))
+        .thenReturn(new BlacklistStatus(true, false));
     String token = issueToken(PlatformJwtIssuer.ISSUER_PLATFORM, 3_600_000L);
 
     assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
@@ -109,7 +129,8 @@ class JwtDecoderConfigTest {
   @Test
   @DisplayName("ユーザー単位ブラックリスト登録済みの token は拒否されること")
   void rejectsUserBlacklistedToken() {
-    when(tokenBlacklistService.isUserBlacklisted("user@kizuna.test")).thenReturn(true);
+    when(tokenBlacklistService.check(anyString(), eq("user@kizuna.test")))
+        .thenReturn(new BlacklistStatus(false, true));
     String token = issueToken(PlatformJwtIssuer.ISSUER_PLATFORM, 3_600_000L);
 
     assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
@@ -0,0 +1,169 @@
+package com.kizuna.auth.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** {@link TokenBlacklistNearCache} の単体テスト。 */
+class TokenBlacklistNearCacheTest {
+
+  private static final BlacklistStatus CLEAN = new BlacklistStatus(false, false);
+
+  private final InvalidationFeed feed = mock(InvalidationFeed.class);
+  private final AtomicLong now = new AtomicLong();
+  private TokenBlacklistNearCache nearCache;
+
+  @BeforeEach
+  void setUp() {
+    AppProperties appProperties = new AppProperties();
+    appProperties.getNearCache().setStaleness(Duration.ofSeconds(10));
+    nearCache =
+        new TokenBlacklistNearCache(feed, appProperties, new SimpleMeterRegistry(), now::get);
+  }
+
+  @Test
+  @DisplayName("経路が生きていれば、同じトークン・ユーザーの 2 回目以降は Redis へ行かないこと")
+  void servesRepeatedLookupsLocallyWhileFeedIsLive() {
+    when(feed.isLive()).thenReturn(true);
+    CountingLoader redis = new CountingLoader(CLEAN);
+
+    assertThat(nearCache.check("token-a", "user@example.com", redis)).isEqualTo(CLEAN);
+    assertThat(nearCache.check("token-a", "user@example.com", redis)).isEqualTo(CLEAN);
+
+    assertThat(redis.calls()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("ユーザーが表にあってもトークンが無ければ、両方を 1 回の読みで引き直すこと")
+  void reloadsBothWhenEitherIsMissing() {
+    when(feed.isLive()).thenReturn(true);
+    nearCache.check("token-a", "user@example.com", new CountingLoader(CLEAN));
+    CountingLoader redis = new CountingLoader(new BlacklistStatus(true, false));
+
+    assertThat(nearCache.check("token-b", "user@example.com", redis).blacklisted()).isTrue();
+    assertThat(nearCache.check("token-b", "user@example.com", redis).tokenBlacklisted()).isTrue();
+
+    assertThat(redis.calls()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("経路が死んでいる間は表を信じず、毎回 Redis へ問い合わせること（fail-closed）")
+  void bypassesTableWhileFeedIsDown() {
+    when(feed.isLive()).thenReturn(true);
+    nearCache.check("token-a", "user@example.com", new CountingLoader(CLEAN));
+    when(feed.isLive()).thenReturn(false);
+    CountingLoader redis = new CountingLoader(new BlacklistStatus(false, true));
+
+    assertThat(nearCache.check("token-a", "user@example.com", redis).blacklisted()).isTrue();
+    assertThat(nearCache.check("token-a", "user@example.com", redis).blacklisted()).isTrue();
+    assertThat(redis.calls()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("寿命（staleness）を過ぎた値は Redis から読み直すこと")
+  void reloadsAfterStaleness() {
+    when(feed.isLive()).thenReturn(true);
+    CountingLoader redis = new CountingLoader(CLEAN);
+    nearCache.check("token-b", "user@example.com", redis);
+
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    nearCache.check("token-b", "user@example.com", redis);
+
+    assertThat(redis.calls()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("自ノードでの停止は配送を待たずに効き、他ノードへも流れること")
+  void localStopTakesEffectImmediatelyAndIsPublished() {
+    when(feed.isLive()).thenReturn(true);
+    nearCache.check("token-a", "stopped@example.com", new CountingLoader(CLEAN));
+
+    nearCache.userBlacklisted("stopped@example.com");
+
+    CountingLoader redis = new CountingLoader(CLEAN);
+    assertThat(nearCache.check("token-a", "stopped@example.com", redis).userBlacklisted()).isTrue();
+    assertThat(redis.calls()).isZero();
+    verify(feed).publish("blacklist:events", "user-stopped:stopped@example.com");
+  }
+
+  @Test
+  @DisplayName("他ノードからの停止・再開・トークン失効の配送が表へ反映されること")
+  void appliesRemoteEvents() {
+    when(feed.isLive()).thenReturn(true);
+    CountingLoader redis = new CountingLoader(CLEAN);
+
+    nearCache.onMessage("token:token-c");
+    nearCache.onMessage("user-stopped:resumed@example.com");
+    nearCache.onMessage("user-resumed:resumed@example.com");
+
+    assertThat(nearCache.check("token-c", "resumed@example.com", redis))
+        .isEqualTo(new BlacklistStatus(true, false));
+    assertThat(redis.calls()).isZero();
+  }
+
+  @Test
+  @DisplayName("Redis を読んでいる間に失効が適用されたら、読んだ古い結果は表へ載せないこと")
+  void doesNotCacheReadRacingWithRevocation() {
+    when(feed.isLive()).thenReturn(true);
+    nearCache.check("token-a", "other@example.com", new CountingLoader(CLEAN));
+    Supplier<BlacklistStatus> racingRedis =
+        () -> {
+          // 正本を読んだ直後、表へ載せる前に他ノードの停止が届いた
+          nearCache.onMessage("user-stopped:raced@example.com");
+          return CLEAN;
+        };
+
+    assertThat(nearCache.check("token-a", "raced@example.com", racingRedis)).isEqualTo(CLEAN);
+
+    CountingLoader redis = new CountingLoader(CLEAN);
+    assertThat(nearCache.check("token-a", "raced@example.com", redis).userBlacklisted())
+        .as("停止の反映が読みの結果で上書きされていないこと")
+        .isTrue();
+    assertThat(redis.calls()).isZero();
+  }
+
+  @Test
+  @DisplayName("経路の途切れを知らされたら、手元の値をすべて捨てること")
+  void gapDropsEverything() {
+    when(feed.isLive()).thenReturn(true);
+    nearCache.onMessage("token:token-d");
+    nearCache.onMessage("user-resumed:user@example.com");
+
+    nearCache.onGap();
+
+    CountingLoader redis = new CountingLoader(CLEAN);
+    assertThat(nearCache.check("token-d", "user@example.com", redis)).isEqualTo(CLEAN);
+    assertThat(redis.calls()).isEqualTo(1);
+  }
+
+  private static final class CountingLoader implements Supplier<BlacklistStatus> {
+    private final BlacklistStatus result;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    CountingLoader(BlacklistStatus result) {
+      this.result = result;
+    }
+
+    @Override
+    public BlacklistStatus get() {
+      calls.incrementAndGet();
+      return result;
+    }
+
+    int calls() {
+      return calls.get();
+    }
+  }
+}
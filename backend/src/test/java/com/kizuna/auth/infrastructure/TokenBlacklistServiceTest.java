@@ -1,20 +1,25 @@
 package com.kizuna.auth.infrastructure;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.kizuna.shared.cache.InvalidationFeed;
 import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -27,6 +32,7 @@ class TokenBlacklistServiceTest {
 
   private AppProperties appProperties;
   private RedisTemplate<String, Object> redisTemplate;
+  private InvalidationFeed feed;
   private TokenBlacklistService service;
 
   @SuppressWarnings("unchecked")
@@ -38,8 +44,14 @@ class TokenBlacklistServiceTest {
     jwt.setExpiration(JWT_EXPIRATION_MILLIS);
     appProperties.setJwt(jwt);
     redisTemplate = mock(RedisTemplate.class);
+    // 失効経路は死んでいる扱い（isLive=false）なので、判定は near-cache を素通りして Redis の正本を読む。
+    feed = mock(InvalidationFeed.class);
     // 実コンストラクタが HmacSecretKeyFactory 経由で decoder を組み立てるため、mock ではなく実 AppProperties を渡す。
-    service = new TokenBlacklistService(redisTemplate, appProperties);
+    service =
+        new TokenBlacklistService(
+            redisTemplate,
+            appProperties,
+            new TokenBlacklistNearCache(feed, appProperties, new SimpleMeterRegistry()));
   }
 
   /** service と同一 secret で実トークンを発行する（blacklist() の decoder が実際に解読できる必要があるため）。 */
@@ -60,6 +72,7 @@ class TokenBlacklistServiceTest {
 
     ArgumentCaptor<Duration> ttlCaptor = ArgumentCaptor.forClass(Duration.class);
     verify(valueOperations).set(eq("blacklist:tokens:" + token), eq("1"), ttlCaptor.capture());
+    verify(feed).publish("blacklist:events", "token:" + token);
     // token 自身の exp までの残存時間。発行から assert までの実行時間ぶんの誤差を許容する。
     assertThat(ttlCaptor.getValue().toMillis())
         .isCloseTo(JWT_EXPIRATION_MILLIS, Offset.offset(5_000L));
@@ -85,6 +98,7 @@ class TokenBlacklistServiceTest {
     service.blacklist("Bearer not-a-real-jwt");
 
     verify(redisTemplate, never()).opsForValue();
+    verify(feed, never()).publish(any(), any());
   }
 
   @Test
@@ -107,6 +121,7 @@ class TokenBlacklistServiceTest {
             eq("blacklist:users:stopped@kizuna.test"),
             eq("1"),
             eq(Duration.ofMillis(JWT_EXPIRATION_MILLIS)));
+    verify(feed).publish("blacklist:events", "user-stopped:stopped@kizuna.test");
   }
 
   @Test
@@ -114,19 +129,45 @@ class TokenBlacklistServiceTest {
     service.clearUser("resumed@kizuna.test");
 
     verify(redisTemplate).delete("blacklist:users:resumed@kizuna.test");
+    verify(feed).publish("blacklist:events", "user-resumed:resumed@kizuna.test");
   }
 
   @Test
-  void isUserBlacklisted_true_whenKeyExists() {
-    when(redisTemplate.hasKey("blacklist:users:blocked@kizuna.test")).thenReturn(true);
+  @SuppressWarnings("unchecked")
+  void check_readsBothKeysInOneMget() {
+    ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.multiGet(any())).thenReturn(Arrays.asList(null, null));
+
+    service.check("token-x", "clean@kizuna.test");
+
+    verify(valueOperations)
+        .multiGet(List.of("blacklist:tokens:token-x", "blacklist:users:clean@kizuna.test"));
+    verify(redisTemplate, never()).hasKey(any());
+    verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void check_reportsWhichKeyMatched() {
+    ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.multiGet(any())).thenReturn(Arrays.asList(null, "1"));
 
-    assertThat(service.isUserBlacklisted("blocked@kizuna.test")).isTrue();
+    BlacklistStatus status = service.check("token-y", "blocked@kizuna.test");
+
+    assertThat(status.tokenBlacklisted()).isFalse();
+    assertThat(status.userBlacklisted()).isTrue();
+    assertThat(status.blacklisted()).isTrue();
   }
 
   @Test
-  void isUserBlacklisted_false_whenKeyAbsent() {
-    when(redisTemplate.hasKey("blacklist:users:clean@kizuna.test")).thenReturn(false);
+  @SuppressWarnings("unchecked")
+  void check_notBlacklisted_whenNeitherKeyExists() {
+    ValueOperations<String, Object> valueOperations = mock(ValueOperations.class);
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.multiGet(any())).thenReturn(Arrays.asList(null, null));
 
-    assertThat(service.isUserBlacklisted("clean@kizuna.test")).isFalse();
+    assertThat(service.check("token-z", "clean@kizuna.test").blacklisted()).isFalse();
   }
 }
@@ -4,8 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
+import com.kizuna.shared.storescope.StoreContext;
+import com.kizuna.shared.storescope.StoreExistenceCheck;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -13,8 +21,17 @@ import org.springframework.security.oauth2.jwt.Jwt;
 class TokenBlacklistValidatorTest {
 
   private final TokenBlacklistService tokenBlacklistService = mock(TokenBlacklistService.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
   private final TokenBlacklistValidator validator =
-      new TokenBlacklistValidator(tokenBlacklistService);
+      new TokenBlacklistValidator(
+          tokenBlacklistService,
+          new MeterTags(
+              new StoreContext(),
+              new AppProperties(),
+              new StaticListableBeanFactory(
+                      Map.of("storeExistenceCheck", (StoreExistenceCheck) storeId -> true))
+                  .getBeanProvider(StoreExistenceCheck.class)),
+          meterRegistry);
 
   private Jwt jwt(String tokenValue, String subject) {
     return Jwt.withTokenValue(tokenValue).header("alg", "HS256").subject(subject).build();
@@ -23,8 +40,8 @@ class TokenBlacklistValidatorTest {
   @Test
   @DisplayName("トークン・ユーザーいずれもブラックリスト未登録なら成功")
   void succeedsWhenNeitherBlacklisted() {
-    when(tokenBlacklistService.isBlacklisted("token-a")).thenReturn(false);
-    when(tokenBlacklistService.isUserBlacklisted("user@example.com")).thenReturn(false);
+    when(tokenBlacklistService.check("token-a", "user@example.com"))
+        .thenReturn(new BlacklistStatus(false, false));
 
     OAuth2TokenValidatorResult result = validator.validate(jwt("token-a", "user@example.com"));
 
@@ -34,7 +51,8 @@ class TokenBlacklistValidatorTest {
   @Test
   @DisplayName("トークン単位ブラックリスト登録済みなら失敗")
   void failsWhenTokenBlacklisted() {
-    when(tokenBlacklistService.isBlacklisted("token-b")).thenReturn(true);
+    when(tokenBlacklistService.check("token-b", "user@example.com"))
+        .thenReturn(new BlacklistStatus(true, false));
 
     OAuth2TokenValidatorResult result = validator.validate(jwt("token-b", "user@example.com"));
 
@@ -44,21 +62,43 @@ class TokenBlacklistValidatorTest {
   @Test
   @DisplayName("ユーザー単位ブラックリスト登録済みなら失敗")
   void failsWhenUserBlacklisted() {
-    when(tokenBlacklistService.isBlacklisted("token-c")).thenReturn(false);
-    when(tokenBlacklistService.isUserBlacklisted("stopped@example.com")).thenReturn(true);
+    when(tokenBlacklistService.check("token-c", "stopped@example.com"))
+        .thenReturn(new BlacklistStatus(false, true));
 
     OAuth2TokenValidatorResult result = validator.validate(jwt("token-c", "stopped@example.com"));
 
     assertThat(result.hasErrors()).isTrue();
   }
 
+  @Test
+  @DisplayName("判定の所要時間を結果ごとに記録し、経路の決まる前の判定は店舗・端点を持たないこと")
+  void recordsValidationOutcome() {
+    when(tokenBlacklistService.check("token-e", "user@example.com"))
+        .thenReturn(new BlacklistStatus(false, false));
+    when(tokenBlacklistService.check("token-f", "user@example.com"))
+        .thenReturn(new BlacklistStatus(true, false));
+
+    validator.validate(jwt("token-e", "user@example.com"));
+    validator.validate(jwt("token-f", "user@example.com"));
+
+    assertThat(timer("valid").count()).isEqualTo(1);
+    assertThat(timer("revoked").count()).isEqualTo(1);
+    assertThat(timer("valid").getId().getTag("store")).isEqualTo("none");
+    assertThat(timer("valid").getId().getTag("endpoint")).isEqualTo("none");
+  }
+
   @Test
   @DisplayName("失敗時の OAuth2Error は内部理由を description に含めない")
   void failureErrorHasNoLeakingDescription() {
-    when(tokenBlacklistService.isBlacklisted("token-d")).thenReturn(true);
+    when(tokenBlacklistService.check("token-d", "user@example.com"))
+        .thenReturn(new BlacklistStatus(true, false));
 
     OAuth2TokenValidatorResult result = validator.validate(jwt("token-d", "user@example.com"));
 
     assertThat(result.getErrors()).allSatisfy(error -> assertThat(error.getDescription()).isNull());
   }
+
+  private Timer timer(String outcome) {
+    return meterRegistry.get("auth.token.validation").tag("outcome", outcome).timer();
+  }
 }
@@ -13,9 +13,12 @@ import com.kizuna.cast.api.dto.CastSummaryResponse;
 import com.kizuna.cast.application.CastInvitationService;
 import com.kizuna.cast.application.CastService;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -34,7 +37,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 /** ハンドラ層で閉じている約束（offset ページングの全順序、削除 204）の単体テスト。 */
 @WebMvcTest(CastController.class)
-@Import({CastControllerTest.MethodSecurityConfig.class, StoreContext.class})
+@Import({
+  CastControllerTest.MethodSecurityConfig.class,
+  StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class
+})
 class CastControllerTest {
 
   /** テスト用にメソッドセキュリティ（@PreAuthorize）を有効化する設定 */
@@ -3,6 +3,7 @@ package com.kizuna.customer.api.store;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -10,13 +11,17 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.kizuna.customer.api.dto.CustomerCallerLookupResponse;
 import com.kizuna.customer.api.dto.CustomerResponse;
 import com.kizuna.customer.api.dto.CustomerSummaryResponse;
 import com.kizuna.customer.application.CustomerService;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,7 +41,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 /** ハンドラ層で閉じている約束（offset ページングの全順序、生成 201 / 削除 204）の単体テスト。 */
 @WebMvcTest(CustomerController.class)
-@Import({CustomerControllerTest.MethodSecurityConfig.class, StoreContext.class})
+@Import({
+  CustomerControllerTest.MethodSecurityConfig.class,
+  StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class
+})
 class CustomerControllerTest {
 
   /** テスト用にメソッドセキュリティ（@PreAuthorize）を有効化する設定 */
@@ -166,6 +177,26 @@ class CustomerControllerTest {
         .andExpect(status().isForbidden());
   }
 
+  @Test
+  @DisplayName("着信照会は詳細ではなく専用の読み口へ届き、番号が書式のまま渡ること")
+  @WithMockUser(authorities = "PERM_CUSTOMER_MANAGE")
+  void callerLookupRoutesPastTheDetailHandlerWithTheRawNumber() throws Exception {
+    when(storeExistenceCheck.exists(anyLong())).thenReturn(true);
+    when(customerService.lookupCaller("+81 90-1234-5678"))
+        .thenReturn(new CustomerCallerLookupResponse(null, List.of(), false));
+
+    mockMvc
+        .perform(
+            get("/store/customers/caller-lookup")
+                .param("phone_number", "+81 90-1234-5678")
+                .header("X-Role", "store")
+                .header("X-Store-ID", "1"))
+        .andExpect(status().isOk());
+
+    // 均すのは DB の phone_key() だけ。ハンドラが書式に手を入れると、照合の入力と列の値が別々の実装でずれる
+    verify(customerService).lookupCaller("+81 90-1234-5678");
+  }
+
   @Test
   @DisplayName("DELETE /store/customers/{id} は本体無しの 204 で返ること")
   @WithMockUser(authorities = "PERM_CUSTOMER_MANAGE")
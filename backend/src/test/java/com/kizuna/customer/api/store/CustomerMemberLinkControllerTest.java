@@ -15,12 +15,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.kizuna.customer.api.dto.CustomerMemberLinkResponse;
 import com.kizuna.customer.application.CustomerMemberLinkService;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
 import com.kizuna.shared.exception.CommonExceptionHandler;
 import com.kizuna.shared.exception.NotFoundException;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.shared.web.CursorPage;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.OffsetDateTime;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -44,6 +47,9 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 @Import({
   CustomerMemberLinkControllerTest.MethodSecurityConfig.class,
   StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class,
   CommonExceptionHandler.class
 })
 class CustomerMemberLinkControllerTest {
@@ -15,11 +15,14 @@ import com.kizuna.customer.api.dto.CustomerMergeHistoryResponse;
 import com.kizuna.customer.api.dto.MergeDirection;
 import com.kizuna.customer.application.CustomerMergeService;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
 import com.kizuna.shared.exception.CommonExceptionHandler;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.shared.web.CursorPage;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.OffsetDateTime;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
@@ -43,6 +46,9 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 @Import({
   CustomerMergeControllerTest.MethodSecurityConfig.class,
   StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class,
   CommonExceptionHandler.class
 })
 class CustomerMergeControllerTest {
@@ -12,9 +12,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.kizuna.customer.api.dto.CustomerPointBalanceResponse;
 import com.kizuna.customer.application.CustomerPointService;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.sql.SQLException;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
@@ -38,7 +41,13 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
  * <p>残高の照会は顧客台帳の読みとして CUSTOMER_MANAGE で足りるが、手動調整は残高を人手で動かす確定操作なので 別権限で仕切られていることを固定する。
  */
 @WebMvcTest(CustomerPointController.class)
-@Import({CustomerPointControllerTest.MethodSecurityConfig.class, StoreContext.class})
+@Import({
+  CustomerPointControllerTest.MethodSecurityConfig.class,
+  StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class
+})
 class CustomerPointControllerTest {
 
   /** テスト用にメソッドセキュリティ（@PreAuthorize）を有効化する設定 */
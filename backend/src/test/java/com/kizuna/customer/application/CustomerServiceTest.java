@@ -8,6 +8,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.kizuna.customer.api.dto.CustomerCallerLookupResponse;
 import com.kizuna.customer.api.dto.CustomerCreateRequest;
 import com.kizuna.customer.api.dto.CustomerDuplicateGroupResponse;
 import com.kizuna.customer.api.dto.CustomerMapper;
@@ -28,6 +29,7 @@ import com.kizuna.customer.domain.LinkStatus;
 import com.kizuna.shared.exception.ConflictException;
 import com.kizuna.shared.exception.NotFoundException;
 import com.kizuna.shared.exception.ServiceException;
+import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.web.CursorPage;
 import com.kizuna.shared.web.PageCursor;
 import java.lang.reflect.Method;
@@ -58,6 +60,7 @@ class CustomerServiceTest {
   @Mock private CustomerMemberLinkRepository customerMemberLinkRepository;
   @Mock private CustomerMergeRepository customerMergeRepository;
   @Mock private CustomerMapper customerMapper;
+  @Mock private StoreContext storeContext;
 
   /** 1 ページの要求件数。上限そのものではなく、呼出側が渡す値の扱いを見る。 */
   private static final int PAGE_SIZE = 20;
@@ -361,13 +364,13 @@ class CustomerServiceTest {
         IntStream.rangeClosed(1, PAGE_SIZE + 1)
             .mapToObj(i -> (CustomerDuplicateGroupView) new GroupView("0900000" + i, 2))
             .toList();
-    when(customerRepository.findDuplicatePhoneNumbers(any(Limit.class))).thenReturn(groups);
+    when(customerRepository.findDuplicatePhoneNumbers(any(), any(Limit.class))).thenReturn(groups);
     // 要求件数に収まる番号だけが引き直され、超過分の行は取りに行かない
     List<String> keptPhoneNumbers =
         groups.subList(0, PAGE_SIZE).stream()
             .map(CustomerDuplicateGroupView::getPhoneNumber)
             .toList();
-    when(customerRepository.findByPhoneNumberInAndMergedIntoIdIsNullOrderByPhoneNumberAscIdAsc(
+    when(customerRepository.findByPhoneKeyInAndMergedIntoIdIsNullOrderByPhoneKeyAscIdAsc(
             keptPhoneNumbers))
         .thenReturn(keptPhoneNumbers.stream().flatMap(CustomerServiceTest::duplicatePair).toList());
     when(customerMemberLinkRepository.findByCustomerIdInAndStatus(any(), any()))
@@ -389,7 +392,8 @@ class CustomerServiceTest {
   @Test
   @DisplayName("続きが無いときは次の位置を名乗らないこと")
   void listDuplicateCandidates_reportsNoCursorWhenEverythingFits() {
-    when(customerRepository.findDuplicatePhoneNumbers(any(Limit.class))).thenReturn(List.of());
+    when(customerRepository.findDuplicatePhoneNumbers(any(), any(Limit.class)))
+        .thenReturn(List.of());
 
     CursorPage<CustomerDuplicateGroupResponse> page =
         customerService.listDuplicateCandidates(null, PAGE_SIZE);
@@ -401,7 +405,10 @@ class CustomerServiceTest {
   @Test
   @DisplayName("カーソルを渡された取得は、その位置より後ろだけを引くこと")
   void listDuplicateCandidates_readsOnlyBeyondTheCursor() {
-    when(customerRepository.findDuplicatePhoneNumbersAfter(eq("090-1111-2222"), any(Limit.class)))
+    // 見出しの表は native query で読むので storeFilter が掛からない。店舗は述語で渡る
+    when(storeContext.getStoreId()).thenReturn(7L);
+    when(customerRepository.findDuplicatePhoneNumbersAfter(
+            eq(7L), eq("090-1111-2222"), any(Limit.class)))
         .thenReturn(List.of());
 
     CursorPage<CustomerDuplicateGroupResponse> page =
@@ -409,7 +416,7 @@ class CustomerServiceTest {
 
     assertThat(page.content()).isEmpty();
     // 先頭からの取得へ落とすと、続きを求めた呼出側に 1 ページ目が返って取りこぼしが成功に見える
-    verify(customerRepository, never()).findDuplicatePhoneNumbers(any(Limit.class));
+    verify(customerRepository, never()).findDuplicatePhoneNumbers(any(), any(Limit.class));
   }
 
   @Test
@@ -440,12 +447,12 @@ class CustomerServiceTest {
   void listDuplicateCandidates_omitsTheRowsOfAnOversizedGroup() {
     // 識別の手がかりを持たない番号（移行時の代替値）の標本を並べても、本人を見分ける役には立たない。
     // 統合はこの画面の外（顧客一覧）からも起こせるので、候補面は総数を告げるだけでよい
-    when(customerRepository.findDuplicatePhoneNumbers(any(Limit.class)))
+    when(customerRepository.findDuplicatePhoneNumbers(any(), any(Limit.class)))
         .thenReturn(
             List.of(
                 new GroupView("0000000000", MAX_LISTED_GROUP_SIZE + 1),
                 new GroupView("090-1111-2222", 2)));
-    when(customerRepository.findByPhoneNumberInAndMergedIntoIdIsNullOrderByPhoneNumberAscIdAsc(
+    when(customerRepository.findByPhoneKeyInAndMergedIntoIdIsNullOrderByPhoneKeyAscIdAsc(
             List.of("090-1111-2222")))
         .thenReturn(duplicatePair("090-1111-2222").toList());
     when(customerMemberLinkRepository.findByCustomerIdInAndStatus(any(), any()))
@@ -464,6 +471,73 @@ class CustomerServiceTest {
     assertThat(page.content().get(1).customers()).hasSize(2);
   }
 
+  // ==================== 着信照会 ====================
+
+  @Test
+  @DisplayName("着信照会の一致が 1 件なら、受注録入が着ける行として名乗ること")
+  void lookupCaller_namesTheSingleMatch() {
+    when(customerRepository.findAliveByPhoneKeyOf(eq("090-1234-5678"), any(Limit.class)))
+        .thenReturn(List.of(aliveCustomer("c1")));
+    when(customerMapper.toSummaryResponse(any())).thenReturn(new CustomerSummaryResponse());
+    when(customerMemberLinkRepository.findByCustomerIdInAndStatus(List.of("c1"), LinkStatus.ACTIVE))
+        .thenReturn(List.of(activeLink("c1", "123456789012")));
+
+    CustomerCallerLookupResponse result = customerService.lookupCaller("090-1234-5678");
+
+    assertThat(result.matchedCustomerId()).isEqualTo("c1");
+    assertThat(result.customers()).singleElement().extracting("memberLinked").isEqualTo(true);
+    assertThat(result.truncated()).isFalse();
+  }
+
+  @Test
+  @DisplayName("着信照会の一致が 2 件以上なら候補を並べるだけで、どれも選ばないこと")
+  void lookupCaller_doesNotPickAmongSeveralMatches() {
+    // 受注録入は 2 件以上で自動照合を断念する（ADR 0009）。照会がここで 1 行を選ぶと、
+    // 録入が着けない行を「この客」と示すことになり、誤帰属の入口が照会側に開く
+    when(customerRepository.findAliveByPhoneKeyOf(eq("09012345678"), any(Limit.class)))
+        .thenReturn(List.of(aliveCustomer("c1"), aliveCustomer("c2")));
+    when(customerMapper.toSummaryResponse(any())).thenReturn(new CustomerSummaryResponse());
+    when(customerMemberLinkRepository.findByCustomerIdInAndStatus(any(), any()))
+        .thenReturn(List.of());
+
+    CustomerCallerLookupResponse result = customerService.lookupCaller("09012345678");
+
+    assertThat(result.matchedCustomerId()).isNull();
+    assertThat(result.customers()).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("着信照会の一致が上限を超えたら、上限まで並べて切り捨てを名乗ること")
+  void lookupCaller_reportsTruncation() {
+    when(customerRepository.findAliveByPhoneKeyOf(eq("0000000000"), any(Limit.class)))
+        .thenReturn(
+            IntStream.rangeClosed(1, MAX_LISTED_GROUP_SIZE + 1)
+                .mapToObj(i -> aliveCustomer("c" + i))
+                .toList());
+    when(customerMapper.toSummaryResponse(any())).thenReturn(new CustomerSummaryResponse());
+    when(customerMemberLinkRepository.findByCustomerIdInAndStatus(any(), any()))
+        .thenReturn(List.of());
+
+    CustomerCallerLookupResponse result = customerService.lookupCaller("0000000000");
+
+    assertThat(result.matchedCustomerId()).isNull();
+    assertThat(result.customers()).hasSize(MAX_LISTED_GROUP_SIZE);
+    assertThat(result.truncated()).isTrue();
+  }
+
+  @Test
+  @DisplayName("一致が無ければ空で返し、紐づけを引きに行かないこと")
+  void lookupCaller_returnsEmptyWithoutMatches() {
+    when(customerRepository.findAliveByPhoneKeyOf(eq("09099999999"), any(Limit.class)))
+        .thenReturn(List.of());
+
+    CustomerCallerLookupResponse result = customerService.lookupCaller("09099999999");
+
+    assertThat(result.matchedCustomerId()).isNull();
+    assertThat(result.customers()).isEmpty();
+    verify(customerMemberLinkRepository, never()).findByCustomerIdInAndStatus(any(), any());
+  }
+
   // ==================== 見比べ ====================
 
   @Test
@@ -534,11 +608,11 @@ class CustomerServiceTest {
     }
   }
 
-  /** グループを成す最小の形（同じ番号の 2 行）。 */
-  private static Stream<Customer> duplicatePair(String phoneNumber) {
+  /** グループを成す最小の形（同じ電話照合の鍵の 2 行）。束ねるのは鍵で、表記は問わない。 */
+  private static Stream<Customer> duplicatePair(String phoneKey) {
     return Stream.of(
-        Customer.builder().phoneNumber(phoneNumber).build(),
-        Customer.builder().phoneNumber(phoneNumber).build());
+        Customer.builder().phoneNumber(phoneKey).phoneKey(phoneKey).build(),
+        Customer.builder().phoneNumber(phoneKey).phoneKey(phoneKey).build());
   }
 
   /** 受注件数の読み側 projection の最小の実装。 */
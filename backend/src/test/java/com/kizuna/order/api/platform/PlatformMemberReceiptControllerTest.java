@@ -9,9 +9,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.kizuna.order.api.dto.MemberReceiptClaimResponse;
 import com.kizuna.order.application.MemberReceiptClaimService;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,7 +35,13 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
  * <p>帰属先は認証主体に固定されるため、この経路が会員以外へ開くと、伝票を拾った店舗スタッフが他人の来店を 自分の記録として起こせてしまう。
  */
 @WebMvcTest(PlatformMemberReceiptController.class)
-@Import({PlatformMemberReceiptControllerTest.MethodSecurityConfig.class, StoreContext.class})
+@Import({
+  PlatformMemberReceiptControllerTest.MethodSecurityConfig.class,
+  StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class
+})
 class PlatformMemberReceiptControllerTest {
 
   /** テスト用にメソッドセキュリティ（@PreAuthorize）を有効化する設定 */
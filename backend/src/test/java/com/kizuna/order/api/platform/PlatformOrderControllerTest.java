@@ -1,16 +1,22 @@
 package com.kizuna.order.api.platform;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.kizuna.order.api.dto.PlatformOrderCursorPage;
 import com.kizuna.order.api.dto.PlatformOrderResponse;
 import com.kizuna.order.application.PlatformOrderService;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,7 +35,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 /** 呼出側の {@code ?sort=} 上書きで一意な副キー id が消えないことの単体テスト（offset ページングの安定性）。 */
 @WebMvcTest(PlatformOrderController.class)
-@Import({PlatformOrderControllerTest.MethodSecurityConfig.class, StoreContext.class})
+@Import({
+  PlatformOrderControllerTest.MethodSecurityConfig.class,
+  StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class
+})
 class PlatformOrderControllerTest {
 
   /** テスト用にメソッドセキュリティ（@PreAuthorize）を有効化する設定 */
@@ -59,4 +71,21 @@ class PlatformOrderControllerTest {
 
     assertThat(pageableCaptor.getValue().getSort().getOrderFor("id")).isNotNull();
   }
+
+  @Test
+  @DisplayName(
+      "GET /platform/orders/cursor は cursor・size・with_total を渡し、概数を approximate_total で返すこと")
+  @WithMockUser(authorities = "PERM_ORDER_SET_MANAGE")
+  void listByCursorPassesParametersAndRendersApproximateTotal() throws Exception {
+    when(platformOrderService.listByCursor("c1", 50, true))
+        .thenReturn(new PlatformOrderCursorPage(List.of(), null, 1234L));
+
+    mockMvc
+        .perform(get("/platform/orders/cursor?cursor=c1&size=50&with_total=true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.approximate_total").value(1234))
+        .andExpect(jsonPath("$.next_cursor").doesNotExist());
+
+    verify(platformOrderService).listByCursor("c1", 50, true);
+  }
 }
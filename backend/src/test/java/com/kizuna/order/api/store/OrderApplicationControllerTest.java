@@ -23,10 +23,13 @@ import com.kizuna.order.application.OrderService;
 import com.kizuna.order.domain.OrderApplicationStatus;
 import com.kizuna.order.infrastructure.GuestApplicationRateLimiter;
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.shared.web.CursorPage;
 import com.kizuna.store.application.StoreActivationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Set;
@@ -48,7 +51,13 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 
 /** 予約受付箱（申請の一覧・確定・謝絶）の授権と契約の単体テスト。 */
 @WebMvcTest(OrderApplicationController.class)
-@Import({OrderApplicationControllerTest.MethodSecurityConfig.class, StoreContext.class})
+@Import({
+  OrderApplicationControllerTest.MethodSecurityConfig.class,
+  StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class
+})
 class OrderApplicationControllerTest {
 
   /** テスト用にメソッドセキュリティ（@PreAuthorize）を有効化する設定 */
@@ -10,26 +10,39 @@ import static org.mockito.Mockito.when;
 import com.kizuna.order.api.dto.OrderMapper;
 import com.kizuna.order.api.dto.OrderResponse;
 import com.kizuna.order.api.dto.PlatformOrderCreateRequest;
+import com.kizuna.order.api.dto.PlatformOrderCursorPage;
 import com.kizuna.order.api.dto.PlatformOrderResponse;
+import com.kizuna.order.domain.OrderCountEstimateRepository;
 import com.kizuna.order.domain.OrderRepository;
 import com.kizuna.order.domain.PlatformOrderView;
 import com.kizuna.shared.storescope.StoreScopeExecutor;
+import com.kizuna.shared.web.PageCursor;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
 @ExtendWith(MockitoExtension.class)
 class PlatformOrderServiceTest {
 
   @Mock OrderRepository orderRepository;
+  @Mock OrderCountEstimateRepository orderCountEstimateRepository;
   @Mock OrderService orderService;
   @Mock StoreScopeExecutor storeScopeExecutor;
   @Mock OrderMapper orderMapper;
@@ -62,6 +75,82 @@ class PlatformOrderServiceTest {
     verify(orderRepository).findPlatformViews(any(Pageable.class));
   }
 
+  @Test
+  @DisplayName("カーソル読みは上限より 1 件多く取り、最後の行の受付時刻と id から続きの位置を作ること")
+  void listByCursorBuildsNextCursorFromLastRow() {
+    OffsetDateTime createdAt = OffsetDateTime.parse("2026-01-02T03:04:05.123456+09:00");
+    PlatformOrderView first = mock(PlatformOrderView.class);
+    PlatformOrderView second = view("o2", createdAt);
+    PlatformOrderView extra = mock(PlatformOrderView.class);
+    when(orderRepository.findPlatformViewsNewest(Limit.of(3)))
+        .thenReturn(List.of(first, second, extra));
+    when(orderMapper.toPlatformResponse(any(PlatformOrderView.class)))
+        .thenReturn(PlatformOrderResponse.builder().build());
+
+    PlatformOrderCursorPage page = service.listByCursor(null, 2, false);
+
+    assertThat(page.content()).hasSize(2);
+    assertThat(PageCursor.decode(page.nextCursor()))
+        .isEqualTo(new PageCursor(createdAt.toString(), "o2"));
+    assertThat(page.approximateTotal()).isNull();
+  }
+
+  @Test
+  @DisplayName("続きの位置を渡すと、その位置より古い側だけを引くこと")
+  void listByCursorReadsBeforeCursor() {
+    OffsetDateTime createdAt = OffsetDateTime.parse("2026-01-02T03:04:05+09:00");
+    String cursor = new PageCursor(createdAt.toString(), "o2").encode();
+    when(orderRepository.findPlatformViewsBefore(createdAt, "o2", Limit.of(21)))
+        .thenReturn(List.of());
+
+    PlatformOrderCursorPage page = service.listByCursor(cursor, 20, false);
+
+    assertThat(page.content()).isEmpty();
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("ALL_STORES の件数の見積もりは全店舗の見積もりを使うこと")
+  void listByCursorEstimatesAllStores() {
+    authenticate(Map.of("storeScopeType", "ALL_STORES"));
+    when(orderRepository.findPlatformViewsNewest(any(Limit.class))).thenReturn(List.of());
+    when(orderCountEstimateRepository.estimateCount()).thenReturn(1_000_000L);
+
+    assertThat(service.listByCursor(null, 20, true).approximateTotal()).isEqualTo(1_000_000L);
+  }
+
+  @Test
+  @DisplayName("SPECIFIC_STORES の件数の見積もりは授権店舗集合に絞ること")
+  void listByCursorEstimatesAuthorizedStoresOnly() {
+    authenticate(Map.of("storeScopeType", "SPECIFIC_STORES", "storeIds", List.of(1, 2)));
+    when(orderRepository.findPlatformViewsNewest(any(Limit.class))).thenReturn(List.of());
+    when(orderCountEstimateRepository.estimateCountInStores(Set.of(1L, 2L))).thenReturn(42L);
+
+    assertThat(service.listByCursor(null, 20, true).approximateTotal()).isEqualTo(42L);
+  }
+
+  @AfterEach
+  void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private static PlatformOrderView view(String id, OffsetDateTime createdAt) {
+    PlatformOrderView view = mock(PlatformOrderView.class);
+    when(view.getId()).thenReturn(id);
+    when(view.getCreatedAt()).thenReturn(createdAt);
+    return view;
+  }
+
+  private static void authenticate(Map<String, Object> claims) {
+    Jwt jwt =
+        Jwt.withTokenValue("t")
+            .header("alg", "HS256")
+            .subject("hq@kizuna.test")
+            .claims(c -> c.putAll(claims))
+            .build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
+
   @Test
   void createDelegatesToExecutorWithRequestStoreId() {
     PlatformOrderCreateRequest req = requestForStore(7L);
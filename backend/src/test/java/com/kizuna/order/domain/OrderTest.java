@@ -96,6 +96,85 @@ class OrderTest {
     assertThat(order.getTotalFee()).as("内訳が空なら合計も 0 であること").isZero();
   }
 
+  @Test
+  @DisplayName("明細の差し替えは先頭から内容の同じ行を同じインスタンスのまま残し、食い違った位置から後ろを入れ替えること")
+  void replaceStoreFeeLines_keepsUnchangedLines() {
+    Order order = orderWithStatus(OrderStatus.CONFIRMED);
+    order.replaceStoreFeeLines(
+        List.of(
+            draft(OrderFeeLineKind.OPTION, "オプション A", 2000),
+            draft(OrderFeeLineKind.OPTION, "オプション A", 2000),
+            draft(OrderFeeLineKind.SURCHARGE, "深夜料金", 1000)));
+    List<OrderFeeLine> before = order.getFeeLines();
+
+    order.replaceStoreFeeLines(
+        List.of(
+            draft(OrderFeeLineKind.OPTION, "オプション A", 2000),
+            draft(OrderFeeLineKind.SURCHARGE, "深夜料金", 1500)));
+
+    List<OrderFeeLine> after = order.getFeeLines();
+    assertThat(after)
+        .extracting(OrderFeeLine::getName, OrderFeeLine::getAmount)
+        .containsExactly(tuple("オプション A", 2000), tuple("深夜料金", 1500));
+    // 2 行あった A は先頭の 1 行だけが残り、食い違った 2 行目から後ろは入れ替わる
+    assertThat(after.get(0)).isSameAs(before.get(0));
+    assertThat(after.get(1)).isNotSameAs(before.get(2));
+    assertThat(order.getTotalFee()).isEqualTo(3500);
+  }
+
+  @Test
+  @DisplayName("明細の並べ替えは送られた並びのとおりになり、食い違った位置から後ろを入れ直すこと")
+  void replaceStoreFeeLines_keepsTheRequestedOrderWhenReordered() {
+    Order order = orderWithStatus(OrderStatus.CONFIRMED);
+    order.replaceStoreFeeLines(
+        List.of(
+            draft(OrderFeeLineKind.OPTION, "オプション A", 2000),
+            draft(OrderFeeLineKind.OPTION, "オプション B", 3000),
+            draft(OrderFeeLineKind.SURCHARGE, "深夜料金", 1000)));
+    List<OrderFeeLine> before = order.getFeeLines();
+
+    order.replaceStoreFeeLines(
+        List.of(
+            draft(OrderFeeLineKind.OPTION, "オプション A", 2000),
+            draft(OrderFeeLineKind.SURCHARGE, "深夜料金", 1000),
+            draft(OrderFeeLineKind.OPTION, "オプション B", 3000)));
+
+    List<OrderFeeLine> after = order.getFeeLines();
+    assertThat(after)
+        .extracting(OrderFeeLine::getName)
+        .containsExactly("オプション A", "深夜料金", "オプション B");
+    assertThat(after.get(0)).isSameAs(before.get(0));
+    // 残した行より後ろに入るので、位置の変わった行は内容が同じでも入れ直さないと並びが戻る
+    assertThat(after.get(1)).isNotSameAs(before.get(2));
+    assertThat(after.get(2)).isNotSameAs(before.get(1));
+  }
+
+  @Test
+  @DisplayName("途中の行を編集しても、その後ろの行は送られた位置に並ぶこと")
+  void replaceStoreFeeLines_keepsTheRequestedOrderWhenAMiddleLineChanges() {
+    Order order = orderWithStatus(OrderStatus.CONFIRMED);
+    order.replaceStoreFeeLines(
+        List.of(
+            draft(OrderFeeLineKind.OPTION, "オプション A", 2000),
+            draft(OrderFeeLineKind.OPTION, "オプション B", 3000),
+            draft(OrderFeeLineKind.SURCHARGE, "深夜料金", 1000)));
+    List<OrderFeeLine> before = order.getFeeLines();
+
+    order.replaceStoreFeeLines(
+        List.of(
+            draft(OrderFeeLineKind.OPTION, "オプション A", 2000),
+            draft(OrderFeeLineKind.OPTION, "オプション B", 3500),
+            draft(OrderFeeLineKind.SURCHARGE, "深夜料金", 1000)));
+
+    List<OrderFeeLine> after = order.getFeeLines();
+    assertThat(after)
+        .extracting(OrderFeeLine::getName, OrderFeeLine::getAmount)
+        .containsExactly(tuple("オプション A", 2000), tuple("オプション B", 3500), tuple("深夜料金", 1000));
+    assertThat(after.get(0)).isSameAs(before.get(0));
+    assertThat(after.get(2)).isNotSameAs(before.get(2));
+    assertThat(order.getTotalFee()).isEqualTo(6500);
+  }
+
   @Test
   @DisplayName("店舗の明細差し替えはポイント利用の行を作れず、既にある行も消せないこと")
   void replaceStoreFeeLines_cannotTouchSystemOwnedLines() {
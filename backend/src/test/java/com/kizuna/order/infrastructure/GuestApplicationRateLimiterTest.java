@@ -6,15 +6,22 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
+import com.kizuna.shared.storescope.StoreContext;
+import com.kizuna.shared.storescope.StoreExistenceCheck;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 
 /** ゲスト予約申請の流量制限の単体テスト。 */
@@ -23,10 +30,26 @@ class GuestApplicationRateLimiterTest {
 
   @Mock private RedisTemplate<String, Object> redisTemplate;
 
-  @InjectMocks private GuestApplicationRateLimiter limiter;
+  private SimpleMeterRegistry meterRegistry;
+  private GuestApplicationRateLimiter limiter;
 
   @Captor private ArgumentCaptor<List<String>> keysCaptor;
 
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    limiter =
+        new GuestApplicationRateLimiter(
+            redisTemplate,
+            new MeterTags(
+                new StoreContext(),
+                new AppProperties(),
+                new StaticListableBeanFactory(
+                        Map.of("storeExistenceCheck", (StoreExistenceCheck) storeId -> true))
+                    .getBeanProvider(StoreExistenceCheck.class)),
+            meterRegistry);
+  }
+
   private void stubCount(Long count) {
     when(redisTemplate.execute(any(), anyList(), any())).thenReturn(count);
   }
@@ -39,6 +62,14 @@ class GuestApplicationRateLimiterTest {
 
     stubCount(6L);
     assertThat(limiter.tryConsume(1L, "203.0.113.7")).as("上限を超えた分は撥ねること").isFalse();
+    assertThat(
+            meterRegistry
+                .get("order.guest.application.rejections")
+                .tag("store", "1")
+                .counter()
+                .count())
+        .as("撥ねた分だけを店舗ごとに数えること")
+        .isEqualTo(1.0);
   }
 
   @Test
@@ -0,0 +1,131 @@
+package com.kizuna.point.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.point.application.PointBalanceVerifier.LotDrift;
+import com.kizuna.point.domain.PointAllocationRepository;
+import com.kizuna.point.domain.PointConsumption;
+import com.kizuna.point.domain.PointEntry;
+import com.kizuna.point.domain.PointEntryRepository;
+import com.kizuna.point.domain.PointLot;
+import com.kizuna.point.domain.PointLotBalance;
+import com.kizuna.point.domain.PointLotBalanceRepository;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PointBalanceVerifierTest {
+
+  private static final long MEMBER_ID = 7L;
+
+  @Mock private PointEntryRepository pointEntryRepository;
+  @Mock private PointAllocationRepository pointAllocationRepository;
+  @Mock private PointLotBalanceRepository pointLotBalanceRepository;
+
+  @InjectMocks private PointBalanceVerifier pointBalanceVerifier;
+
+  @Captor private ArgumentCaptor<List<PointLotBalance>> rebuilt;
+
+  @Test
+  @DisplayName("仕訳から数え直した値と射影が一致すれば食い違いは無いこと")
+  void verifyReportsNothingWhenProjectionMatchesJournal() {
+    when(pointEntryRepository.findCredits(MEMBER_ID)).thenReturn(List.of(credit(1L, 500)));
+    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L)))
+        .thenReturn(List.of(consumption(1L, 200)));
+    when(pointLotBalanceRepository.findByMemberId(MEMBER_ID))
+        .thenReturn(List.of(PointLotBalance.of(credit(1L, 500), 200)));
+
+    assertThat(pointBalanceVerifier.verify(MEMBER_ID)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("消費済み量の不一致・射影の欠け・射影だけの余りをそれぞれ食い違いとして報告すること")
+  void verifyReportsEveryKindOfDrift() {
+    when(pointEntryRepository.findCredits(MEMBER_ID))
+        .thenReturn(List.of(credit(1L, 500), credit(2L, 300)));
+    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L, 2L)))
+        .thenReturn(List.of(consumption(1L, 200)));
+    when(pointLotBalanceRepository.findByMemberId(MEMBER_ID))
+        .thenReturn(
+            List.of(
+                PointLotBalance.of(credit(1L, 500), 100), PointLotBalance.of(credit(3L, 50), 0)));
+
+    assertThat(pointBalanceVerifier.verify(MEMBER_ID))
+        .extracting(LotDrift::entryId, LotDrift::journal, LotDrift::projected)
+        .containsExactly(
+            tuple(1L, new PointLot(1L, 500, null, 200), new PointLot(1L, 500, null, 100)),
+            tuple(2L, new PointLot(2L, 300, null, 0), null),
+            tuple(3L, null, new PointLot(3L, 50, null, 0)));
+  }
+
+  @Test
+  @DisplayName("作り直しは記帳と同じ台帳のロックを取ってから、会員の射影を仕訳の値で置き換えること")
+  void rebuildReplacesProjectionUnderTheLedgerLock() {
+    when(pointEntryRepository.findCredits(MEMBER_ID))
+        .thenReturn(List.of(credit(1L, 500), credit(2L, 300)));
+    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L, 2L)))
+        .thenReturn(List.of(consumption(1L, 200)));
+    when(pointLotBalanceRepository.findByMemberId(MEMBER_ID))
+        .thenReturn(List.of(PointLotBalance.of(credit(1L, 500), 0)));
+
+    assertThat(pointBalanceVerifier.rebuild(MEMBER_ID)).hasSize(2);
+
+    InOrder inOrder = inOrder(pointEntryRepository, pointLotBalanceRepository);
+    inOrder.verify(pointEntryRepository).lockLedger(MEMBER_ID);
+    inOrder.verify(pointEntryRepository).findCredits(MEMBER_ID);
+    inOrder.verify(pointLotBalanceRepository).deleteByMemberIdInBulk(MEMBER_ID);
+    inOrder.verify(pointLotBalanceRepository).saveAll(rebuilt.capture());
+    assertThat(rebuilt.getValue())
+        .extracting(PointLotBalance::getEntryId, PointLotBalance::getConsumed)
+        .containsExactly(tuple(1L, 200), tuple(2L, 0));
+  }
+
+  @Test
+  @DisplayName("食い違いが無ければ作り直しは何も書かないこと")
+  void rebuildWritesNothingWithoutDrift() {
+    when(pointEntryRepository.findCredits(MEMBER_ID)).thenReturn(List.of());
+    when(pointLotBalanceRepository.findByMemberId(MEMBER_ID)).thenReturn(List.of());
+
+    assertThat(pointBalanceVerifier.rebuild(MEMBER_ID)).isEmpty();
+
+    verify(pointAllocationRepository, never()).findConsumedBySourceEntryIds(any());
+    verify(pointLotBalanceRepository, never()).deleteByMemberIdInBulk(anyLong());
+    verify(pointLotBalanceRepository, never()).saveAll(any());
+  }
+
+  private static PointEntry credit(long id, int amount) {
+    PointEntry entry =
+        PointEntry.manualAdjust(MEMBER_ID, 3L, amount, "seed", null, List.of(), 9L, "seed-" + id);
+    entry.setId(id);
+    return entry;
+  }
+
+  private static PointConsumption consumption(long sourceEntryId, long consumed) {
+    return new PointConsumption() {
+      @Override
+      public Long getSourceEntryId() {
+        return sourceEntryId;
+      }
+
+      @Override
+      public Long getConsumed() {
+        return consumed;
+      }
+    };
+  }
+}
@@ -0,0 +1,110 @@
+package com.kizuna.point.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.point.domain.PointLotBalanceRepository;
+import com.kizuna.settings.application.BusinessDateService;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class PointExpirySweeperTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2026, 8, 10);
+
+  @Mock private PointLotBalanceRepository pointLotBalanceRepository;
+  @Mock private PointLedgerService pointLedgerService;
+  @Mock private BusinessDateService businessDateService;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AppProperties appProperties = new AppProperties();
+  private PointExpirySweeper sweeper;
+
+  @BeforeEach
+  void setUp() {
+    appProperties.getPointExpiry().setChunkSize(2);
+    sweeper =
+        new PointExpirySweeper(
+            pointLotBalanceRepository,
+            pointLedgerService,
+            businessDateService,
+            appProperties,
+            meterRegistry);
+  }
+
+  @Test
+  @DisplayName("候補の会員を ID の区切りで辿り、会員ごとに失効させること")
+  void sweepsEveryCandidateChunkByChunk() {
+    when(pointLotBalanceRepository.findMemberIdsWithExpiredLots(eq(TODAY), eq(0L), any()))
+        .thenReturn(List.of(11L, 12L));
+    when(pointLotBalanceRepository.findMemberIdsWithExpiredLots(eq(TODAY), eq(12L), any()))
+        .thenReturn(List.of(15L));
+    when(pointLedgerService.expire(anyLong(), eq(TODAY))).thenReturn(100, 250, 30);
+
+    PointExpirySweeper.SweepResult result = sweeper.sweep(TODAY);
+
+    assertThat(result).isEqualTo(new PointExpirySweeper.SweepResult(3, 380, 0));
+    verify(pointLotBalanceRepository).findMemberIdsWithExpiredLots(TODAY, 0L, Limit.of(2));
+    verify(pointLedgerService).expire(11L, TODAY);
+    verify(pointLedgerService).expire(12L, TODAY);
+    verify(pointLedgerService).expire(15L, TODAY);
+    assertThat(meterRegistry.get("point.expiry.members").counter().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("point.expiry.points").counter().count()).isEqualTo(380);
+    assertThat(meterRegistry.get("point.expiry.sweep").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("1 人の失敗は数えて飛ばし、残りの会員と次の区切りを止めないこと")
+  void skipsAFailingMemberAndCarriesOn() {
+    when(pointLotBalanceRepository.findMemberIdsWithExpiredLots(eq(TODAY), eq(0L), any()))
+        .thenReturn(List.of(11L, 12L));
+    when(pointLotBalanceRepository.findMemberIdsWithExpiredLots(eq(TODAY), eq(12L), any()))
+        .thenReturn(List.of());
+    when(pointLedgerService.expire(11L, TODAY)).thenThrow(new IllegalStateException("boom"));
+    when(pointLedgerService.expire(12L, TODAY)).thenReturn(40);
+
+    PointExpirySweeper.SweepResult result = sweeper.sweep(TODAY);
+
+    assertThat(result).isEqualTo(new PointExpirySweeper.SweepResult(1, 40, 1));
+    assertThat(meterRegistry.get("point.expiry.failures").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("並行した実行に先を越された会員（失効 0）は数えないこと")
+  void doesNotCountMembersAlreadyClosedElsewhere() {
+    when(pointLotBalanceRepository.findMemberIdsWithExpiredLots(eq(TODAY), eq(0L), any()))
+        .thenReturn(List.of(11L));
+    when(pointLedgerService.expire(11L, TODAY)).thenReturn(0);
+
+    assertThat(sweeper.sweep(TODAY)).isEqualTo(new PointExpirySweeper.SweepResult(0, 0, 0));
+    assertThat(meterRegistry.get("point.expiry.members").counter().count()).isZero();
+  }
+
+  @Test
+  @DisplayName("定時の実行は現在の営業日を基準日にし、候補の選び出しと失効に同じ日付を渡すこと")
+  void scheduledSweepUsesTheCurrentBusinessDate() {
+    LocalDate businessDate = TODAY.minusDays(1);
+    when(businessDateService.currentBusinessDate()).thenReturn(businessDate);
+    when(pointLotBalanceRepository.findMemberIdsWithExpiredLots(eq(businessDate), eq(0L), any()))
+        .thenReturn(List.of(11L));
+    when(pointLedgerService.expire(11L, businessDate)).thenReturn(10);
+
+    sweeper.sweepScheduled();
+
+    verify(pointLedgerService).expire(11L, businessDate);
+  }
+}
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -20,6 +22,9 @@ import com.kizuna.point.domain.PointConsumption;
 import com.kizuna.point.domain.PointEntry;
 import com.kizuna.point.domain.PointEntryRepository;
 import com.kizuna.point.domain.PointEntryType;
+import com.kizuna.point.domain.PointLot;
+import com.kizuna.point.domain.PointLotBalance;
+import com.kizuna.point.domain.PointLotBalanceRepository;
 import com.kizuna.settings.application.PointSettings;
 import com.kizuna.settings.application.SystemConfigService;
 import com.kizuna.shared.config.AppProperties;
@@ -52,12 +57,14 @@ class PointLedgerServiceTest {
 
   @Mock private PointEntryRepository pointEntryRepository;
   @Mock private PointAllocationRepository pointAllocationRepository;
+  @Mock private PointLotBalanceRepository pointLotBalanceRepository;
   @Mock private SystemConfigService systemConfigService;
   @Mock private AppProperties appProperties;
 
   @InjectMocks private PointLedgerService pointLedgerService;
 
   @Captor private ArgumentCaptor<PointEntry> savedEntry;
+  @Captor private ArgumentCaptor<PointLotBalance> savedLot;
 
   @BeforeEach
   void stubBusinessTimezone() {
@@ -187,16 +194,17 @@ class PointLedgerServiceTest {
   }
 
   @Test
-  @DisplayName("ポイント利用は行ロック付きで読んだロットから期限の早い順に引き当てること")
+  @DisplayName("ポイント利用は台帳のロックを取ってから射影のロットを読み、期限の早い順に引き当てること")
   void useForOrderConsumesLockedLotsInExpiryOrder() {
     when(systemConfigService.pointSettings()).thenReturn(new PointSettings(100, 1, 100));
-    when(pointEntryRepository.findCreditsForUpdate(MEMBER_ID))
-        .thenReturn(List.of(credit(1L, 100, null), credit(2L, 300, FAR_FUTURE)));
-    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L, 2L)))
-        .thenReturn(List.of());
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(List.of(new PointLot(1L, 100, null, 0), new PointLot(2L, 300, FAR_FUTURE, 0)));
 
     pointLedgerService.useForOrder(MEMBER_ID, "o1", STORE_ID, 400, ACTOR_ID);
 
+    InOrder inOrder = inOrder(pointEntryRepository, pointLotBalanceRepository);
+    inOrder.verify(pointEntryRepository).lockLedger(MEMBER_ID);
+    inOrder.verify(pointLotBalanceRepository).findOpenLots(MEMBER_ID);
     verify(pointEntryRepository).save(savedEntry.capture());
     PointEntry entry = savedEntry.getValue();
     assertThat(entry.getEntryType()).isEqualTo(PointEntryType.USE);
@@ -210,9 +218,8 @@ class PointLedgerServiceTest {
   @DisplayName("残高が足りないポイント利用は台帳へ何も書かずに拒否されること")
   void useForOrderRejectsWhenBalanceInsufficient() {
     when(systemConfigService.pointSettings()).thenReturn(new PointSettings(100, 1, 100));
-    when(pointEntryRepository.findCreditsForUpdate(MEMBER_ID))
-        .thenReturn(List.of(credit(1L, 100, null)));
-    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L))).thenReturn(List.of());
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(List.of(new PointLot(1L, 100, null, 0)));
 
     assertThatThrownBy(
             () -> pointLedgerService.useForOrder(MEMBER_ID, "o1", STORE_ID, 200, ACTOR_ID))
@@ -221,6 +228,66 @@ class PointLedgerServiceTest {
     verify(pointEntryRepository, never()).save(any());
   }
 
+  @Test
+  @DisplayName("失効は台帳のロックを取ってから射影を読み、期限切れロットの残りを 1 件の仕訳で閉じること")
+  void expireClosesExpiredLotsUnderTheLedgerLock() {
+    LocalDate yesterday = LocalDate.now(ZoneId.of(TIMEZONE)).minusDays(1);
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(
+            List.of(
+                new PointLot(1L, 100, yesterday, 40),
+                new PointLot(2L, 300, FAR_FUTURE, 0),
+                new PointLot(3L, 200, yesterday, 0)));
+
+    assertThat(pointLedgerService.expire(MEMBER_ID, LocalDate.now(ZoneId.of(TIMEZONE))))
+        .isEqualTo(260);
+
+    InOrder inOrder = inOrder(pointEntryRepository, pointLotBalanceRepository);
+    inOrder.verify(pointEntryRepository).lockLedger(MEMBER_ID);
+    inOrder.verify(pointLotBalanceRepository).findOpenLots(MEMBER_ID);
+    inOrder.verify(pointEntryRepository).save(savedEntry.capture());
+    inOrder.verify(pointLotBalanceRepository).consume(1L, 60);
+    inOrder.verify(pointLotBalanceRepository).consume(3L, 200);
+    PointEntry entry = savedEntry.getValue();
+    assertThat(entry.getEntryType()).isEqualTo(PointEntryType.EXPIRE);
+    assertThat(entry.getAmount()).isEqualTo(-260);
+    assertThat(entry.getOriginatingStoreId()).isNull();
+    assertThat(entry.getAllocations())
+        .extracting(PointAllocation::getSourceEntryId, PointAllocation::getAmount)
+        .containsExactly(tuple(1L, 60), tuple(3L, 200));
+  }
+
+  @Test
+  @DisplayName("期限切れロットが無ければ失効は何も書かずに 0 を返すこと（再実行しても二重に失効しない）")
+  void expireWritesNothingWithoutExpiredLots() {
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(
+            List.of(
+                new PointLot(1L, 100, LocalDate.now(ZoneId.of(TIMEZONE)), 0),
+                new PointLot(2L, 300, null, 0)));
+
+    assertThat(pointLedgerService.expire(MEMBER_ID, LocalDate.now(ZoneId.of(TIMEZONE)))).isZero();
+
+    verify(pointEntryRepository, never()).save(any());
+    verify(pointLotBalanceRepository, never()).consume(anyLong(), anyInt());
+  }
+
+  @Test
+  @DisplayName("失効の判定は呼び手の基準日で行い、実行時の暦日では判じないこと")
+  void expireJudgesAgainstTheGivenDate() {
+    LocalDate businessDate = LocalDate.of(2026, 8, 9);
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(
+            List.of(
+                new PointLot(1L, 100, businessDate.minusDays(1), 0),
+                new PointLot(2L, 300, businessDate, 0)));
+
+    assertThat(pointLedgerService.expire(MEMBER_ID, businessDate)).isEqualTo(100);
+
+    verify(pointLotBalanceRepository).consume(1L, 100);
+    verify(pointLotBalanceRepository, never()).consume(eq(2L), anyInt());
+  }
+
   @Test
   @DisplayName("増減 0 の手動調整は拒否されること")
   void adjustRejectsZeroDelta() {
@@ -283,15 +350,15 @@ class PointLedgerServiceTest {
   }
 
   @Test
-  @DisplayName("減算の手動調整は行ロック付きで読んだロットから引き当てること")
+  @DisplayName("減算の手動調整は台帳のロックを取ってから射影のロットを読んで引き当てること")
   void adjustNegativeConsumesLockedLots() {
-    when(pointEntryRepository.findCreditsForUpdate(MEMBER_ID))
-        .thenReturn(List.of(credit(1L, 500, null)));
-    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L)))
-        .thenReturn(List.of(consumption(1L, 200)));
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(List.of(new PointLot(1L, 500, null, 200)));
 
     pointLedgerService.adjust(MEMBER_ID, STORE_ID, -300, "訂正", null, ACTOR_ID, "key-1");
 
+    verify(pointEntryRepository).lockLedger(MEMBER_ID);
+
     verify(pointEntryRepository).save(savedEntry.capture());
     PointEntry entry = savedEntry.getValue();
     assertThat(entry.getAmount()).isEqualTo(-300);
@@ -340,23 +407,17 @@ class PointLedgerServiceTest {
   }
 
   @Test
-  @DisplayName("残高照会はロックなしのロット取得を使うこと")
-  void balanceReadsWithoutLocking() {
-    when(pointEntryRepository.findCredits(MEMBER_ID))
-        .thenReturn(List.of(credit(1L, 500, null), credit(2L, 100, LocalDate.of(2000, 1, 1))));
-    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L, 2L)))
-        .thenReturn(List.of(consumption(1L, 200)));
+  @DisplayName("残高照会はロックを取らず、射影の残りのあるロットだけから求めること")
+  void balanceReadsOpenLotsWithoutLocking() {
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(
+            List.of(
+                new PointLot(1L, 500, null, 200),
+                new PointLot(2L, 100, LocalDate.of(2000, 1, 1), 0)));
 
     assertThat(pointLedgerService.balance(MEMBER_ID)).isEqualTo(300);
-    verify(pointEntryRepository, never()).findCreditsForUpdate(anyLong());
-  }
-
-  @Test
-  @DisplayName("ロットが 1 件も無ければ引き当て合計は照会しないこと")
-  void balanceSkipsAllocationQueryWhenNoCredits() {
-    when(pointEntryRepository.findCredits(MEMBER_ID)).thenReturn(List.of());
-
-    assertThat(pointLedgerService.balance(MEMBER_ID)).isZero();
+    verify(pointEntryRepository, never()).lockLedger(anyLong());
+    verify(pointEntryRepository, never()).findCredits(anyLong());
     verify(pointAllocationRepository, never()).findConsumedBySourceEntryIds(any());
   }
 
@@ -366,15 +427,55 @@ class PointLedgerServiceTest {
     // 日界線の両端（UTC-12 と UTC+14）は「本日」が常に 1 日以上ずれるため、同じロットの可否が
     // タイムゾーンだけで分かれる。JVM のタイムゾーンで判定していると両者が同じ結果になる。
     LocalDate todayAtDateLineWest = LocalDate.now(ZoneId.of("Etc/GMT+12"));
-    when(pointEntryRepository.findCredits(MEMBER_ID))
-        .thenReturn(List.of(credit(1L, 500, todayAtDateLineWest)));
-    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(1L))).thenReturn(List.of());
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(List.of(new PointLot(1L, 500, todayAtDateLineWest, 0)));
     when(appProperties.getTimezone()).thenReturn("Etc/GMT+12").thenReturn("Pacific/Kiritimati");
 
     assertThat(pointLedgerService.balance(MEMBER_ID)).as("期限当日はまだ使える").isEqualTo(500);
     assertThat(pointLedgerService.balance(MEMBER_ID)).as("期限を過ぎたロットは残高に入らない").isZero();
   }
 
+  @Test
+  @DisplayName("加算の記帳は同じ流れで未消費のロットとして射影へ写されること")
+  void creditIsProjectedAsOpenLot() {
+    pointLedgerService.adjust(MEMBER_ID, STORE_ID, 500, "お詫び", FAR_FUTURE, ACTOR_ID, "key-1");
+
+    verify(pointLotBalanceRepository).save(savedLot.capture());
+    PointLotBalance lot = savedLot.getValue();
+    assertThat(lot.getMemberId()).isEqualTo(MEMBER_ID);
+    assertThat(lot.getAmount()).isEqualTo(500);
+    assertThat(lot.getExpiresOn()).isEqualTo(FAR_FUTURE);
+    assertThat(lot.getConsumed()).isZero();
+  }
+
+  @Test
+  @DisplayName("減算の記帳は引き当て 1 行ごとに引き当て元ロットの消費済み量へ足し込まれること")
+  void debitIsProjectedOntoEachSourceLot() {
+    when(systemConfigService.pointSettings()).thenReturn(new PointSettings(100, 1, 100));
+    when(pointLotBalanceRepository.findOpenLots(MEMBER_ID))
+        .thenReturn(List.of(new PointLot(1L, 100, null, 0), new PointLot(2L, 300, FAR_FUTURE, 0)));
+
+    pointLedgerService.useForOrder(MEMBER_ID, "o1", STORE_ID, 400, ACTOR_ID);
+
+    InOrder inOrder = inOrder(pointEntryRepository, pointLotBalanceRepository);
+    inOrder.verify(pointEntryRepository).save(any());
+    inOrder.verify(pointLotBalanceRepository).consume(2L, 300);
+    inOrder.verify(pointLotBalanceRepository).consume(1L, 100);
+    verify(pointLotBalanceRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("取消も射影へ反映され、取り消したロットの残りが閉じること")
+  void cancelIsProjectedOntoTheCancelledLot() {
+    when(pointEntryRepository.findById(11L)).thenReturn(Optional.of(credit(11L, 500, null)));
+    when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(11L)))
+        .thenReturn(List.of(consumption(11L, 200)));
+
+    pointLedgerService.cancel(11L, ACTOR_ID);
+
+    verify(pointLotBalanceRepository).consume(11L, 300);
+  }
+
   @Test
   @DisplayName("存在しない仕訳の取消は見つからないこと")
   void cancelRejectsUnknownEntry() {
@@ -385,7 +486,7 @@ class PointLedgerServiceTest {
   }
 
   @Test
-  @DisplayName("取消は消費経路と同じ行ロックを取ってから未消費分だけを打ち消すこと")
+  @DisplayName("取消は消費経路と同じ台帳のロックを取ってから未消費分だけを打ち消すこと")
   void cancelDrainsRemainingOfCredit() {
     when(pointEntryRepository.findById(11L)).thenReturn(Optional.of(credit(11L, 500, null)));
     when(pointAllocationRepository.findConsumedBySourceEntryIds(List.of(11L)))
@@ -393,7 +494,7 @@ class PointLedgerServiceTest {
 
     pointLedgerService.cancel(11L, ACTOR_ID);
 
-    verify(pointEntryRepository).findCreditsForUpdate(MEMBER_ID);
+    verify(pointEntryRepository).lockLedger(MEMBER_ID);
     verify(pointEntryRepository).save(savedEntry.capture());
     PointEntry entry = savedEntry.getValue();
     assertThat(entry.getEntryType()).isEqualTo(PointEntryType.CANCEL);
@@ -477,13 +578,13 @@ class PointLedgerServiceTest {
 
     pointLedgerService.cancelForOrder("unknown", ACTOR_ID);
 
-    verify(pointEntryRepository, never()).findCreditsForUpdate(anyLong());
+    verify(pointEntryRepository, never()).lockLedger(anyLong());
     verify(pointAllocationRepository, never()).findConsumedBySourceEntryIds(any());
     verify(pointEntryRepository, never()).save(any());
   }
 
   @Test
-  @DisplayName("受注単位の取消も未消費分を数える前に消費経路と同じ行ロックを取ること")
+  @DisplayName("受注単位の取消も未消費分を数える前に消費経路と同じ台帳のロックを取ること")
   void cancelForOrderLocksBeforeCountingConsumption() {
     when(pointEntryRepository.findCreditsByOrderId("o1"))
         .thenReturn(List.of(orderGrant(11L, "o1", 500)));
@@ -493,7 +594,7 @@ class PointLedgerServiceTest {
     pointLedgerService.cancelForOrder("o1", ACTOR_ID);
 
     InOrder inOrder = inOrder(pointEntryRepository, pointAllocationRepository);
-    inOrder.verify(pointEntryRepository).findCreditsForUpdate(MEMBER_ID);
+    inOrder.verify(pointEntryRepository).lockLedger(MEMBER_ID);
     inOrder.verify(pointAllocationRepository).findConsumedBySourceEntryIds(List.of(11L));
   }
 
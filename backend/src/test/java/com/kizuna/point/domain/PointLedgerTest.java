@@ -112,6 +112,33 @@ class PointLedgerTest {
         .isInstanceOf(InsufficientPointBalanceException.class);
   }
 
+  @Test
+  @DisplayName("失効は期限切れロットの残りだけを仕訳 ID 昇順で閉じ、期限当日と期限なしには触れないこと")
+  void planExpiryClosesOnlyRemainingOfExpiredLots() {
+    PointLedger ledger =
+        ledger(
+            new PointLot(3L, 500, TODAY.minusDays(1), 200),
+            new PointLot(1L, 100, TODAY.minusDays(30), 0),
+            new PointLot(2L, 300, TODAY, 0),
+            new PointLot(4L, 100, null, 0));
+
+    assertThat(ledger.planExpiry())
+        .extracting(PlannedAllocation::sourceEntryId, PlannedAllocation::amount)
+        .containsExactly(tuple(1L, 100), tuple(3L, 300));
+  }
+
+  @Test
+  @DisplayName("期限切れでも残りの無いロットは失効の計画に現れないこと")
+  void planExpirySkipsDrainedLots() {
+    // 引き当て合計が加算量を超えた行も残り 0 として扱う。負の失効を計画しない。
+    PointLedger ledger =
+        ledger(
+            new PointLot(1L, 100, TODAY.minusDays(1), 100),
+            new PointLot(2L, 100, TODAY.minusDays(1), 120));
+
+    assertThat(ledger.planExpiry()).isEmpty();
+  }
+
   @Test
   @DisplayName("0 以下の消費は計画できないこと")
   void planConsumptionRejectsNonPositive() {
@@ -30,6 +30,8 @@ class SystemConfigServiceImplTest {
 
   @Mock private SystemConfigRepository systemConfigRepository;
   @Mock private SystemConfigMapper systemConfigMapper;
+  @Mock private SystemConfigValueCache systemConfigValueCache;
+  @Mock private SystemConfigSnapshotCache systemConfigSnapshotCache;
 
   @InjectMocks private SystemConfigServiceImpl systemConfigService;
 
@@ -104,6 +106,8 @@ class SystemConfigServiceImplTest {
     assertEquals(newValue, result.getConfigValue());
     verify(systemConfigMapper, times(1)).updateEntityFromRequest(request, existingConfig);
     verify(systemConfigRepository, times(1)).save(existingConfig);
+    verify(systemConfigValueCache).invalidateAll();
+    verify(systemConfigSnapshotCache).invalidate();
   }
 
   @Test
@@ -256,10 +260,7 @@ class SystemConfigServiceImplTest {
   @Test
   @DisplayName("getConfigValue で設定値を取得できること")
   void getConfigValue() {
-    SystemConfig config =
-        SystemConfig.builder().configKey("maintenance_mode").configValue("true").build();
-    when(systemConfigRepository.findByConfigKey("maintenance_mode"))
-        .thenReturn(Optional.of(config));
+    when(systemConfigValueCache.get("maintenance_mode")).thenReturn(Optional.of("true"));
 
     assertEquals(Optional.of("true"), systemConfigService.getConfigValue("maintenance_mode"));
   }
@@ -267,7 +268,7 @@ class SystemConfigServiceImplTest {
   @Test
   @DisplayName("存在しないキーの getConfigValue は空を返すこと")
   void getConfigValue_missing() {
-    when(systemConfigRepository.findByConfigKey("unknown")).thenReturn(Optional.empty());
+    when(systemConfigValueCache.get("unknown")).thenReturn(Optional.empty());
 
     assertEquals(Optional.empty(), systemConfigService.getConfigValue("unknown"));
   }
@@ -287,16 +288,12 @@ class SystemConfigServiceImplTest {
 
   @Test
   void smtpSettings_buildsTypedSnapshotFromKeys() {
-    when(systemConfigRepository.findByConfigKey("smtp_host"))
-        .thenReturn(Optional.of(config("smtp_host", "smtp.example.com")));
-    when(systemConfigRepository.findByConfigKey("smtp_port"))
-        .thenReturn(Optional.of(config("smtp_port", "587")));
-    when(systemConfigRepository.findByConfigKey("smtp_username"))
-        .thenReturn(Optional.of(config("smtp_username", "user")));
-    when(systemConfigRepository.findByConfigKey("smtp_password"))
-        .thenReturn(Optional.of(config("smtp_password", "test-placeholder-secret")));
-    when(systemConfigRepository.findByConfigKey("smtp_from"))
-        .thenReturn(Optional.of(config("smtp_from", "noreply@kizuna.test")));
+    stubSnapshot(
+        config("smtp_host", "smtp.example.com"),
+        config("smtp_port", "587"),
+        config("smtp_username", "user"),
+        config("smtp_password", "test-placeholder-secret"),
+        config("smtp_from", "noreply@kizuna.test"));
 
     SmtpSettings smtp = systemConfigService.smtpSettings();
 
@@ -308,8 +305,7 @@ class SystemConfigServiceImplTest {
 
   @Test
   void smtpSettings_defaultsWhenUnset() {
-    when(systemConfigRepository.findByConfigKey(org.mockito.ArgumentMatchers.anyString()))
-        .thenReturn(Optional.empty());
+    stubSnapshot();
 
     SmtpSettings smtp = systemConfigService.smtpSettings();
 
@@ -321,10 +317,9 @@ class SystemConfigServiceImplTest {
 
   @Test
   void lineChannelSettings_buildsTypedSnapshotFromKeys() {
-    when(systemConfigRepository.findByConfigKey("line_channel_id"))
-        .thenReturn(Optional.of(config("line_channel_id", "2000000000")));
-    when(systemConfigRepository.findByConfigKey("line_channel_secret"))
-        .thenReturn(Optional.of(config("line_channel_secret", "test-placeholder-secret")));
+    stubSnapshot(
+        config("line_channel_id", "2000000000"),
+        config("line_channel_secret", "test-placeholder-secret"));
 
     LineChannelSettings line = systemConfigService.lineChannelSettings();
 
@@ -335,20 +330,17 @@ class SystemConfigServiceImplTest {
 
   @Test
   void lineChannelSettings_notConfiguredWhenUnset() {
-    when(systemConfigRepository.findByConfigKey(org.mockito.ArgumentMatchers.anyString()))
-        .thenReturn(Optional.empty());
+    stubSnapshot();
 
     assertThat(systemConfigService.lineChannelSettings().configured()).isFalse();
   }
 
   @Test
   void pointSettings_buildsTypedSnapshotFromKeys() {
-    when(systemConfigRepository.findByConfigKey("point_grant_unit_amount"))
-        .thenReturn(Optional.of(config("point_grant_unit_amount", "100")));
-    when(systemConfigRepository.findByConfigKey("point_grant_points_per_unit"))
-        .thenReturn(Optional.of(config("point_grant_points_per_unit", "2")));
-    when(systemConfigRepository.findByConfigKey("point_usage_unit"))
-        .thenReturn(Optional.of(config("point_usage_unit", "500")));
+    stubSnapshot(
+        config("point_grant_unit_amount", "100"),
+        config("point_grant_points_per_unit", "2"),
+        config("point_usage_unit", "500"));
 
     PointSettings point = systemConfigService.pointSettings();
 
@@ -359,8 +351,7 @@ class SystemConfigServiceImplTest {
 
   @Test
   void pointSettings_defaultsWhenUnset() {
-    when(systemConfigRepository.findByConfigKey(org.mockito.ArgumentMatchers.anyString()))
-        .thenReturn(Optional.empty());
+    stubSnapshot();
 
     PointSettings point = systemConfigService.pointSettings();
 
@@ -371,12 +362,10 @@ class SystemConfigServiceImplTest {
 
   @Test
   void pointSettings_defaultsWhenUnparsable() {
-    when(systemConfigRepository.findByConfigKey("point_grant_unit_amount"))
-        .thenReturn(Optional.of(config("point_grant_unit_amount", "abc")));
-    when(systemConfigRepository.findByConfigKey("point_grant_points_per_unit"))
-        .thenReturn(Optional.of(config("point_grant_points_per_unit", " ")));
-    when(systemConfigRepository.findByConfigKey("point_usage_unit"))
-        .thenReturn(Optional.of(config("point_usage_unit", "1e3")));
+    stubSnapshot(
+        config("point_grant_unit_amount", "abc"),
+        config("point_grant_points_per_unit", " "),
+        config("point_usage_unit", "1e3"));
 
     PointSettings point = systemConfigService.pointSettings();
 
@@ -385,6 +374,10 @@ class SystemConfigServiceImplTest {
     assertThat(point.usageUnit()).isEqualTo(1);
   }
 
+  private void stubSnapshot(SystemConfig... rows) {
+    when(systemConfigSnapshotCache.current()).thenReturn(SystemConfigSnapshot.of(List.of(rows)));
+  }
+
   private SystemConfig config(String key, String value) {
     return SystemConfig.builder().configKey(key).configValue(value).build();
   }
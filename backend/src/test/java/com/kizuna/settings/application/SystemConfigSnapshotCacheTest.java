@@ -0,0 +1,90 @@
+package com.kizuna.settings.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.settings.domain.SystemConfig;
+import com.kizuna.settings.domain.SystemConfigRepository;
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** {@link SystemConfigSnapshotCache} の単体テスト。 */
+class SystemConfigSnapshotCacheTest {
+
+  private final SystemConfigRepository systemConfigRepository = mock(SystemConfigRepository.class);
+  private final InvalidationFeed feed = mock(InvalidationFeed.class);
+  private SystemConfigSnapshotCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new SystemConfigSnapshotCache(
+            systemConfigRepository, feed, new AppProperties(), new SimpleMeterRegistry());
+    when(feed.isLive()).thenReturn(true);
+  }
+
+  @Test
+  @DisplayName("全件 1 回の照会で 3 つの型付き設定を組み立て、以降は照会しないこと")
+  void loadsAllSettingsInOneQuery() {
+    when(systemConfigRepository.findAll())
+        .thenReturn(
+            List.of(
+                row("point_grant_unit_amount", "100", 3L),
+                row("smtp_host", "smtp.example.com", 1L),
+                row("line_channel_id", "2000000000", 2L)));
+
+    SystemConfigSnapshot first = cache.current();
+    SystemConfigSnapshot second = cache.current();
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.version()).isEqualTo(6L);
+    assertThat(first.point().grantUnitAmount()).isEqualTo(100);
+    assertThat(first.smtp().configured()).isTrue();
+    assertThat(first.lineChannel().channelId()).isEqualTo("2000000000");
+    verify(systemConfigRepository, times(1)).findAll();
+    verify(systemConfigRepository, never()).findByConfigKey(anyString());
+  }
+
+  @Test
+  @DisplayName("失効させると次の読みで新しい版へ丸ごと差し替わり、他ノードへ流れること")
+  void invalidateSwapsToNewVersion() {
+    when(systemConfigRepository.findAll())
+        .thenReturn(List.of(row("point_usage_unit", "100", 1L)))
+        .thenReturn(List.of(row("point_usage_unit", "500", 2L)));
+    SystemConfigSnapshot before = cache.current();
+
+    cache.invalidate();
+    SystemConfigSnapshot after = cache.current();
+
+    assertThat(before.point().usageUnit()).isEqualTo(100);
+    assertThat(after.point().usageUnit()).isEqualTo(500);
+    assertThat(after.version()).isGreaterThan(before.version());
+    verify(feed).publish(SystemConfigSnapshotCache.CHANNEL, "*");
+  }
+
+  @Test
+  @DisplayName("文字列表現に秘匿値を含めないこと")
+  void toStringHidesSecrets() {
+    when(systemConfigRepository.findAll())
+        .thenReturn(List.of(row("smtp_password", "test-placeholder-secret", 1L)));
+
+    assertThat(cache.current().toString()).doesNotContain("test-placeholder-secret");
+  }
+
+  private SystemConfig row(String key, String value, long version) {
+    SystemConfig config = SystemConfig.builder().configKey(key).configValue(value).build();
+    ReflectionTestUtils.setField(config, "version", version);
+    return config;
+  }
+}
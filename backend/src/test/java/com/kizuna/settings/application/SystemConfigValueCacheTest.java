@@ -0,0 +1,110 @@
+package com.kizuna.settings.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.settings.domain.SystemConfig;
+import com.kizuna.settings.domain.SystemConfigRepository;
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** {@link SystemConfigValueCache} の単体テスト。Redis の段は事務対応で装飾したメモリ上のキャッシュで代える。 */
+class SystemConfigValueCacheTest {
+
+  private final SystemConfigRepository systemConfigRepository = mock(SystemConfigRepository.class);
+  private final InvalidationFeed feed = mock(InvalidationFeed.class);
+  private final ConcurrentMapCacheManager redis = new ConcurrentMapCacheManager();
+  private SystemConfigValueCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache =
+        new SystemConfigValueCache(
+            systemConfigRepository,
+            new TransactionAwareCacheManagerProxy(redis),
+            feed,
+            new AppProperties(),
+            new SimpleMeterRegistry());
+    when(feed.isLive()).thenReturn(true);
+  }
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("2 回目以降は Redis も DB も引かずに返すこと")
+  void servesRepeatedReadsFromMemory() {
+    stubValue("maintenance_mode", "true");
+
+    assertThat(cache.get("maintenance_mode")).contains("true");
+    redis.getCache(SystemConfigValueCache.CACHE_NAME).clear();
+    assertThat(cache.get("maintenance_mode")).contains("true");
+
+    verify(systemConfigRepository, times(1)).findByConfigKey("maintenance_mode");
+  }
+
+  @Test
+  @DisplayName("経路が死んでいる間も Redis の段は効くこと")
+  void fallsBackToRedisWhileFeedIsDown() {
+    when(feed.isLive()).thenReturn(false);
+    stubValue("business_date_change_time", "05:00");
+
+    assertThat(cache.get("business_date_change_time")).contains("05:00");
+    assertThat(cache.get("business_date_change_time")).contains("05:00");
+
+    verify(systemConfigRepository, times(1)).findByConfigKey("business_date_change_time");
+  }
+
+  @Test
+  @DisplayName("行の無いキーも「無い」として覚えること")
+  void remembersMissingKey() {
+    when(systemConfigRepository.findByConfigKey("unknown")).thenReturn(Optional.empty());
+
+    assertThat(cache.get("unknown")).isEmpty();
+    assertThat(cache.get("unknown")).isEmpty();
+
+    verify(systemConfigRepository, times(1)).findByConfigKey("unknown");
+  }
+
+  @Test
+  @DisplayName("失効はコミット後に Redis を先に、プロセス内を後に落とし、他ノードへ流すこと")
+  void invalidateAllClearsRedisBeforeMemoryAfterCommit() {
+    stubValue("maintenance_mode", "false");
+    cache.get("maintenance_mode");
+    TransactionSynchronizationManager.initSynchronization();
+
+    cache.invalidateAll();
+    stubValue("maintenance_mode", "true");
+    assertThat(cache.get("maintenance_mode")).as("コミット前は更新前の値").contains("false");
+
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCommit();
+    }
+
+    assertThat(cache.get("maintenance_mode")).contains("true");
+    verify(feed).publish(SystemConfigValueCache.CHANNEL, "*");
+  }
+
+  private void stubValue(String key, String value) {
+    when(systemConfigRepository.findByConfigKey(key))
+        .thenReturn(Optional.of(SystemConfig.builder().configKey(key).configValue(value).build()));
+  }
+}
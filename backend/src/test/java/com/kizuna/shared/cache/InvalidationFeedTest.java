@@ -0,0 +1,117 @@
+package com.kizuna.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.kizuna.shared.config.AppProperties;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/** {@link InvalidationFeed} の単体テスト。 */
+class InvalidationFeedTest {
+
+  private RedisTemplate<String, Object> redisTemplate;
+  private RedisMessageListenerContainer container;
+  private final AtomicLong now = new AtomicLong();
+  private AppProperties appProperties;
+  private InvalidationFeed feed;
+
+  @SuppressWarnings("unchecked")
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(RedisTemplate.class);
+    container = mock(RedisMessageListenerContainer.class);
+    appProperties = new AppProperties();
+    appProperties.getNearCache().setStaleness(Duration.ofSeconds(10));
+    feed = new InvalidationFeed(redisTemplate, container, appProperties, now::get);
+  }
+
+  private static DefaultMessage message(String channel, String body) {
+    return new DefaultMessage(
+        channel.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("起動直後は最初のメッセージが届くまで経路を死んでいる扱いにすること")
+  void isNotLiveBeforeFirstMessage() {
+    assertThat(feed.isLive()).isFalse();
+    verify(container).addMessageListener(feed, new ChannelTopic("kizuna:near-cache:heartbeat"));
+  }
+
+  @Test
+  @DisplayName("心拍が staleness を超えて途絶えたら経路を死んでいる扱いにすること")
+  void goesDeadWhenHeartbeatStops() {
+    feed.onMessage(message("kizuna:near-cache:heartbeat", "1"), null);
+    assertThat(feed.isLive()).isTrue();
+
+    now.addAndGet(Duration.ofSeconds(10).toNanos() + 1);
+
+    assertThat(feed.isLive()).isFalse();
+  }
+
+  @Test
+  @DisplayName("無効化されていれば、メッセージが届いても経路を使わせないこと")
+  void disabledFeedIsNeverLive() {
+    appProperties.getNearCache().setEnabled(false);
+    InvalidationFeed disabled =
+        new InvalidationFeed(redisTemplate, container, appProperties, now::get);
+
+    disabled.onMessage(message("kizuna:near-cache:heartbeat", "1"), null);
+    disabled.heartbeat();
+
+    assertThat(disabled.isLive()).isFalse();
+    verify(redisTemplate, never()).convertAndSend(any(), any());
+  }
+
+  @Test
+  @DisplayName("購読チャネルのメッセージを購読者へ渡し、途切れの後は先に破棄を求めること")
+  void dispatchesToSubscribersAfterReportingGap() {
+    InvalidationFeed.Subscriber subscriber = mock(InvalidationFeed.Subscriber.class);
+    feed.subscribe("blacklist:events", subscriber);
+    verify(container).addMessageListener(feed, new ChannelTopic("blacklist:events"));
+
+    feed.onMessage(message("blacklist:events", "token:a"), null);
+    feed.onMessage(message("blacklist:events", "token:b"), null);
+    now.addAndGet(Duration.ofSeconds(11).toNanos());
+    feed.onMessage(message("blacklist:events", "token:c"), null);
+
+    InOrder inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber).onGap();
+    inOrder.verify(subscriber).onMessage("token:a");
+    inOrder.verify(subscriber).onMessage("token:b");
+    inOrder.verify(subscriber).onGap();
+    inOrder.verify(subscriber).onMessage("token:c");
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  @DisplayName("心拍の送信失敗は握り、失効の送信失敗は呼び出し側へ伝えること")
+  void heartbeatSwallowsFailuresButPublishDoesNot() {
+    doThrow(new RedisConnectionFailureException("down"))
+        .when(redisTemplate)
+        .convertAndSend(any(), any());
+
+    assertThatNoException().isThrownBy(feed::heartbeat);
+    verify(redisTemplate).convertAndSend(eq("kizuna:near-cache:heartbeat"), eq("1"));
+    assertThatThrownBy(() -> feed.publish("blacklist:events", "token:a"))
+        .isInstanceOf(RedisConnectionFailureException.class);
+  }
+}
@@ -0,0 +1,180 @@
+package com.kizuna.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** {@link NearCache} の単体テスト。 */
+class NearCacheTest {
+
+  private static final String CHANNEL = "kizuna:near-cache:test";
+
+  private final InvalidationFeed feed = mock(InvalidationFeed.class);
+  private final AtomicLong now = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private NearCache<Long, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    AppProperties appProperties = new AppProperties();
+    appProperties.getNearCache().setStaleness(Duration.ofSeconds(10));
+    cache = new NearCache<>(CHANNEL, feed, appProperties, meterRegistry, Long::valueOf, now::get);
+    when(feed.isLive()).thenReturn(true);
+  }
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("経路が生きていれば 2 回目以降は正本を読まないこと")
+  void servesRepeatedReadsLocally() {
+    CountingLoader db = new CountingLoader("v1");
+
+    assertThat(cache.get(1L, db)).isEqualTo("v1");
+    assertThat(cache.get(1L, db)).isEqualTo("v1");
+
+    assertThat(db.calls()).isEqualTo(1);
+    verify(feed).subscribe(CHANNEL, cache);
+    assertThat(gets("hit")).isEqualTo(1.0);
+    assertThat(gets("miss")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("経路が死んでいる間は毎回正本を読むこと")
+  void readsThroughWhileFeedIsDown() {
+    when(feed.isLive()).thenReturn(false);
+    CountingLoader db = new CountingLoader("v1");
+
+    cache.get(1L, db);
+    cache.get(1L, db);
+
+    assertThat(db.calls()).isEqualTo(2);
+    assertThat(gets("bypass")).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("寿命を過ぎた値は読み直すこと")
+  void reloadsAfterStaleness() {
+    CountingLoader db = new CountingLoader("v1");
+    cache.get(1L, db);
+
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    cache.get(1L, db);
+
+    assertThat(db.calls()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("失効は自ノードで即座に落とし、他ノードへ鍵を流すこと")
+  void invalidateEvictsLocallyAndPublishes() {
+    cache.get(1L, new CountingLoader("v1"));
+
+    cache.invalidate(1L);
+
+    assertThat(cache.get(1L, new CountingLoader("v2"))).isEqualTo("v2");
+    verify(feed).publish(CHANNEL, "1");
+  }
+
+  @Test
+  @DisplayName("トランザクション内の失効はコミット後まで走らないこと")
+  void invalidateWaitsForCommit() {
+    cache.get(1L, new CountingLoader("v1"));
+    TransactionSynchronizationManager.initSynchronization();
+
+    cache.invalidate(1L);
+
+    assertThat(cache.get(1L, new CountingLoader("v2"))).isEqualTo("v1");
+    verify(feed, never()).publish(CHANNEL, "1");
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertThat(cache.get(1L, new CountingLoader("v2"))).isEqualTo("v2");
+    verify(feed).publish(CHANNEL, "1");
+  }
+
+  @Test
+  @DisplayName("他ノードからの鍵の失効・全件失効が反映されること")
+  void appliesRemoteInvalidations() {
+    cache.get(1L, new CountingLoader("a"));
+    cache.get(2L, new CountingLoader("b"));
+
+    cache.onMessage("1");
+    assertThat(cache.get(1L, new CountingLoader("a2"))).isEqualTo("a2");
+    assertThat(cache.get(2L, new CountingLoader("b2"))).isEqualTo("b");
+
+    cache.onMessage("*");
+    assertThat(cache.get(2L, new CountingLoader("b3"))).isEqualTo("b3");
+  }
+
+  @Test
+  @DisplayName("正本を読んでいる間に失効が届いたら、読んだ古い値は載せないこと")
+  void doesNotCacheReadRacingWithInvalidation() {
+    Supplier<String> racingDb =
+        () -> {
+          cache.onMessage("1");
+          return "stale";
+        };
+
+    assertThat(cache.get(1L, racingDb)).isEqualTo("stale");
+
+    assertThat(cache.get(1L, new CountingLoader("fresh"))).isEqualTo("fresh");
+  }
+
+  @Test
+  @DisplayName("経路の途切れを知らされたら、手元の値をすべて捨てること")
+  void gapDropsEverything() {
+    cache.get(1L, new CountingLoader("v1"));
+
+    cache.onGap();
+
+    assertThat(cache.get(1L, new CountingLoader("v2"))).isEqualTo("v2");
+  }
+
+  private double gets(String result) {
+    return meterRegistry
+        .get("near.cache.gets")
+        .tag("cache", CHANNEL)
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  private static final class CountingLoader implements Supplier<String> {
+    private final String value;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    CountingLoader(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String get() {
+      calls.incrementAndGet();
+      return value;
+    }
+
+    int calls() {
+      return calls.get();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.kizuna.shared.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.storescope.StoreContext;
+import com.kizuna.shared.storescope.StoreExistenceCheck;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+class MeterTagsTest {
+
+  private static final long UNKNOWN_STORE_ID = 99L;
+
+  private StoreContext storeContext;
+  private MeterTags meterTags;
+
+  @BeforeEach
+  void setUp() {
+    storeContext = new StoreContext();
+    AppProperties appProperties = new AppProperties();
+    appProperties.getMetrics().setMaxStoreTags(2);
+    meterTags =
+        new MeterTags(
+            storeContext,
+            appProperties,
+            new StaticListableBeanFactory(
+                    Map.of(
+                        "storeExistenceCheck",
+                        (StoreExistenceCheck) storeId -> storeId != UNKNOWN_STORE_ID))
+                .getBeanProvider(StoreExistenceCheck.class));
+  }
+
+  @AfterEach
+  void tearDown() {
+    storeContext.clear();
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("店舗文脈の店舗を載せ、文脈が無ければ none とすること")
+  void tagsStoreFromContext() {
+    assertThat(value(meterTags.current(), "store")).isEqualTo("none");
+
+    storeContext.setStoreId(7L);
+
+    assertThat(value(meterTags.current(), "store")).isEqualTo("7");
+  }
+
+  @Test
+  @DisplayName("上限を超えて現れた店舗は other にまとめ、既に載せた店舗はそのまま載せ続けること")
+  void capsDistinctStores() {
+    assertThat(value(meterTags.of(1L), "store")).isEqualTo("1");
+    assertThat(value(meterTags.of(2L), "store")).isEqualTo("2");
+
+    assertThat(value(meterTags.of(3L), "store")).isEqualTo("other");
+    assertThat(value(meterTags.of(1L), "store")).isEqualTo("1");
+  }
+
+  @Test
+  @DisplayName("実在を確かめられない店舗は none とし、上限の枠を使わないこと")
+  void doesNotAdmitUnknownStores() {
+    assertThat(value(meterTags.of(UNKNOWN_STORE_ID), "store")).isEqualTo("none");
+
+    assertThat(value(meterTags.of(1L), "store")).isEqualTo("1");
+    assertThat(value(meterTags.of(2L), "store")).isEqualTo("2");
+  }
+
+  @Test
+  @DisplayName("端点は照合した経路のパターンで、要求の外は none・経路の決まる前は unrouted とすること")
+  void tagsEndpointByMatchedPattern() {
+    assertThat(value(meterTags.current(), "endpoint")).isEqualTo("none");
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/store/orders/42");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    assertThat(value(meterTags.current(), "endpoint")).isEqualTo("unrouted");
+
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/store/orders/{id}");
+    assertThat(value(meterTags.current(), "endpoint")).isEqualTo("GET /store/orders/{id}");
+  }
+
+  private static String value(Tags tags, String key) {
+    return tags.stream()
+        .filter(tag -> tag.getKey().equals(key))
+        .findFirst()
+        .map(Tag::getValue)
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,115 @@
+package com.kizuna.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** {@link ReadReplicaRouting} の単体テスト。 */
+class ReadReplicaRoutingTest {
+
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replica = mock(DataSource.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private DataSource routing;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    when(lagMonitor.isUsable()).thenReturn(true);
+    routing = ReadReplicaRouting.create(primary, replica, lagMonitor, meterRegistry);
+  }
+
+  @AfterEach
+  void resetRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("起動時に接続を取らず、読み取り専用の接続だけをレプリカへ向けること")
+  void routesReadOnlyConnectionsToTheReplica() throws SQLException {
+    verify(primary, never()).getConnection();
+
+    assertThat(targetOf(true)).isSameAs(replicaConnection);
+    assertThat(targetOf(false)).isSameAs(primaryConnection);
+    assertThat(reads("replica", "none")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("レプリカが遅れているか接続が取れなければ、読み取りをプライマリへ戻すこと")
+  void fallsBackToThePrimary() throws SQLException {
+    when(lagMonitor.isUsable()).thenReturn(false);
+    assertThat(targetOf(true)).isSameAs(primaryConnection);
+
+    when(lagMonitor.isUsable()).thenReturn(true);
+    SQLException refused = new SQLException("connection refused");
+    when(replica.getConnection()).thenThrow(refused);
+    assertThat(targetOf(true)).isSameAs(primaryConnection);
+
+    verify(lagMonitor).markDown(refused);
+    assertThat(reads("primary", "lag")).isEqualTo(1.0);
+    assertThat(reads("primary", "error")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("要求の中で書き込んだ後の読み取りは、同じ要求の間だけプライマリへ向けること")
+  void pinsTheRequestAfterAWrite() throws SQLException {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    assertThat(targetOf(true)).isSameAs(replicaConnection);
+
+    targetOf(false);
+
+    assertThat(targetOf(true)).isSameAs(primaryConnection);
+    assertThat(reads("primary", "pinned")).isEqualTo(1.0);
+
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    assertThat(targetOf(true)).as("次の要求には持ち越さない").isSameAs(replicaConnection);
+  }
+
+  @Test
+  @DisplayName("要求の外の書き込みは後の読み取りをプライマリへ寄せないこと")
+  void writesOutsideRequestsDoNotPin() throws SQLException {
+    targetOf(false);
+
+    assertThat(targetOf(true)).isSameAs(replicaConnection);
+  }
+
+  /** トランザクションの開始と同じ手順で接続を準備し、最初の文で取られた実接続を返す。 */
+  private Connection targetOf(boolean readOnly) throws SQLException {
+    try (Connection connection = routing.getConnection()) {
+      connection.setReadOnly(readOnly);
+      connection.setAutoCommit(false);
+      connection.createStatement();
+      return ((ConnectionProxy) connection).getTargetConnection();
+    }
+  }
+
+  private double reads(String target, String fallback) {
+    return meterRegistry
+        .get("db.replica.reads")
+        .tag("target", target)
+        .tag("fallback", fallback)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,118 @@
+package com.kizuna.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import com.kizuna.shared.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/** {@link ReplicaLagMonitor} の単体テスト。 */
+class ReplicaLagMonitorTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final AtomicLong now = new AtomicLong();
+  private final AppProperties appProperties = new AppProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    appProperties.getReadReplica().setMaxLag(Duration.ofSeconds(5));
+    appProperties.getReadReplica().setLagCheckInterval(Duration.ofSeconds(1));
+  }
+
+  @Test
+  @DisplayName("遅れが上限以内ならレプリカを使い、上限を超えたら使わないこと")
+  void usableOnlyWithinMaxLag() {
+    givenLag(0.5);
+    ReplicaLagMonitor monitor = monitor();
+    assertThat(monitor.isUsable()).isTrue();
+    assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isEqualTo(0.5);
+
+    givenLag(6.0);
+    monitor.check();
+
+    assertThat(monitor.isUsable()).isFalse();
+  }
+
+  @Test
+  @DisplayName("測定が止まれば、測った遅れに経過を足した値が上限に達した時点で使わなくなること")
+  void agesTheLastReading() {
+    givenLag(2.0);
+    ReplicaLagMonitor monitor = monitor();
+
+    now.addAndGet(Duration.ofSeconds(3).toNanos());
+    assertThat(monitor.isUsable()).isTrue();
+
+    now.addAndGet(Duration.ofMillis(1).toNanos());
+    assertThat(monitor.isUsable()).isFalse();
+  }
+
+  @Test
+  @DisplayName("測れない・レプリカでない・接続に失敗したときは、次に測れるまで使わないこと")
+  void failsClosed() {
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class));
+    ReplicaLagMonitor monitor = monitor();
+    assertThat(monitor.isUsable()).isFalse();
+    assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isNaN();
+
+    givenReading(new ReplicaLagMonitor.Reading(false, false, 0.0));
+    monitor.check();
+    assertThat(monitor.isUsable()).as("昇格したなどでレプリカではない").isFalse();
+
+    givenLag(null);
+    monitor.check();
+    assertThat(monitor.isUsable()).as("まだ何も適用していない").isFalse();
+
+    givenLag(0.0);
+    monitor.check();
+    assertThat(monitor.isUsable()).isTrue();
+
+    monitor.markDown(new SQLException("connection refused"));
+    assertThat(monitor.isUsable()).isFalse();
+  }
+
+  @Test
+  @DisplayName("WAL の受信が切れていれば、適用待ちが無く遅れ 0 に見えても使わないこと")
+  void failsClosedWhenTheReceiverIsDisconnected() {
+    givenLag(0.0);
+    ReplicaLagMonitor monitor = monitor();
+    assertThat(monitor.isUsable()).isTrue();
+
+    givenReading(new ReplicaLagMonitor.Reading(true, false, 0.0));
+    monitor.check();
+
+    assertThat(monitor.isUsable()).isFalse();
+    assertThat(meterRegistry.get("db.replica.lag").gauge().value()).isNaN();
+
+    givenLag(0.0);
+    monitor.check();
+    assertThat(monitor.isUsable()).as("受信が戻れば再開する").isTrue();
+  }
+
+  private ReplicaLagMonitor monitor() {
+    return new ReplicaLagMonitor(jdbcTemplate, appProperties, meterRegistry, now::get);
+  }
+
+  private void givenLag(Double seconds) {
+    givenReading(new ReplicaLagMonitor.Reading(true, true, seconds));
+  }
+
+  private void givenReading(ReplicaLagMonitor.Reading reading) {
+    doReturn(reading).when(jdbcTemplate).queryForObject(anyString(), any(RowMapper.class));
+  }
+}
@@ -2,14 +2,38 @@ package com.kizuna.shared.persistence;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.kizuna.shared.config.AppProperties;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 class SnowflakeIdGeneratorTest {
 
+  // 2024-01-01 前後の任意の時刻
+  private static final long NOW = 1704067200000L;
+
   @Test
   @DisplayName("生成される ID は 10 進数文字列で、単調増加かつ一意であること")
   void generate_producesUniqueMonotonicIds() {
@@ -28,10 +52,109 @@ class SnowflakeIdGeneratorTest {
   }
 
   @Test
-  @DisplayName("デフォルトコンストラクタでも ID を生成できること")
-  void generate_withDefaultWorkerId() {
+  @DisplayName("複数スレッドから同時に払い出しても ID が重複しないこと")
+  void generate_isUniqueUnderContention() throws Exception {
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1L);
+    Callable<List<Long>> worker =
+        () -> {
+          List<Long> ids = new ArrayList<>();
+          for (int i = 0; i < 5_000; i++) {
+            ids.add(generator.nextId());
+          }
+          return ids;
+        };
+    Set<Long> seen = new HashSet<>();
+    try (ExecutorService pool = Executors.newFixedThreadPool(4)) {
+      List<Future<List<Long>>> results = pool.invokeAll(List.of(worker, worker, worker, worker));
+      for (Future<List<Long>> result : results) {
+        seen.addAll(result.get());
+      }
+    }
+
+    assertThat(seen).hasSize(20_000);
+  }
+
+  @Test
+  @DisplayName("時計が巻き戻っても待たずに前回時刻の連番を進め、ID が単調に増えること")
+  void generate_continuesSequenceWhenClockGoesBack() {
+    AtomicLong clock = new AtomicLong(NOW);
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(() -> 1L, clock::get);
+    long first = generator.nextId();
+
+    clock.set(NOW - 5_000);
+    long second = generator.nextId();
+
+    assertThat(second).isEqualTo(first + 1);
+  }
+
+  @Test
+  @DisplayName("1 ミリ秒の連番を使い切ったら次のミリ秒の連番 0 から払い出すこと")
+  void generate_movesToNextMillisecondWhenSequenceExhausted() {
+    AtomicLong calls = new AtomicLong();
+    // 4096 件目までは同じミリ秒、以降の読みで 1 ミリ秒進む
+    SnowflakeIdGenerator generator =
+        new SnowflakeIdGenerator(() -> 3L, () -> calls.incrementAndGet() <= 4096 ? NOW : NOW + 1);
+    long last = 0;
+    for (int i = 0; i < 4096; i++) {
+      last = generator.nextId();
+    }
+
+    long next = generator.nextId();
+
+    assertThat(last & 0xFFF).isEqualTo(4095L);
+    assertThat(next & 0xFFF).isZero();
+    assertThat(next >>> 22).isEqualTo((last >>> 22) + 1);
+    assertThat((next >>> 12) & 0x3FF).isEqualTo(3L);
+  }
+
+  @Test
+  @DisplayName("デフォルトコンストラクタは設定を受けるまで払い出さないこと")
+  void generate_withDefaultWorkerIdRequiresLease() {
     SnowflakeIdGenerator generator = new SnowflakeIdGenerator();
-    assertThat((String) generator.generate(null, null)).matches("\\d+");
+    assertThatThrownBy(() -> generator.generate(null, null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Hibernate が作った生成器は、その SessionFactory の設定にある貸与の workerId で払い出すこと")
+  void generate_usesTheLeaseFromTheSessionFactorySettings() throws Exception {
+    JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any()))
+        .thenReturn(List.of(5L), List.of(6L));
+    AppProperties appProperties = new AppProperties();
+    SnowflakeWorkerLease first = new SnowflakeWorkerLease(jdbcTemplate, appProperties, () -> 0L);
+    SnowflakeWorkerLease second = new SnowflakeWorkerLease(jdbcTemplate, appProperties, () -> 0L);
+    Field idField = Keys.class.getDeclaredField("numericId");
+
+    SnowflakeIdGenerator fromFirst = new SnowflakeIdGenerator(null, idField, leasing(first));
+    SnowflakeIdGenerator fromSecond = new SnowflakeIdGenerator();
+    fromSecond.configure(leasing(second), new Properties());
+
+    assertThat(((Long) fromFirst.generate(null, null) >>> 12) & 0x3FF).isEqualTo(5L);
+    assertThat((Long.parseLong((String) fromSecond.generate(null, null)) >>> 12) & 0x3FF)
+        .isEqualTo(6L);
+  }
+
+  @Test
+  @DisplayName("設定に貸与の無い SessionFactory の生成器は払い出さないこと")
+  void generate_withoutLeaseInSettingsRefusesToIssue() throws Exception {
+    SnowflakeIdGenerator generator =
+        new SnowflakeIdGenerator(null, Keys.class.getDeclaredField("numericId"), leasing(null));
+
+    assertThatThrownBy(() -> generator.generate(null, null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Long の ID 属性から作られた生成器は数値のまま払い出し、文字列の属性では 10 進数文字列のままであること")
+  void generate_followsTheTypeOfTheIdAttribute() throws Exception {
+    assertThat(SnowflakeIdGenerator.isLong(Keys.class.getDeclaredField("numericId"))).isTrue();
+    assertThat(SnowflakeIdGenerator.isLong(Keys.class.getDeclaredField("textualId"))).isFalse();
+
+    SnowflakeIdGenerator numeric = new SnowflakeIdGenerator(() -> 1L, () -> NOW, true);
+    SnowflakeIdGenerator textual = new SnowflakeIdGenerator(() -> 1L, () -> NOW, false);
+    assertThat(numeric.generate(null, null)).isInstanceOf(Long.class);
+    assertThat(textual.generate(null, null)).isInstanceOf(String.class);
   }
 
   @Test
@@ -42,4 +165,24 @@ class SnowflakeIdGeneratorTest {
     assertThatThrownBy(() -> new SnowflakeIdGenerator(1024L))
         .isInstanceOf(IllegalArgumentException.class);
   }
+
+  private static GeneratorCreationContext leasing(SnowflakeWorkerLease lease) {
+    ConfigurationService configuration = mock(ConfigurationService.class);
+    Map<String, Object> settings = new HashMap<>();
+    if (lease != null) {
+      settings.put(SnowflakeIdGenerator.WORKER_LEASE, lease);
+    }
+    when(configuration.getSettings()).thenReturn(settings);
+    ServiceRegistry registry = mock(ServiceRegistry.class);
+    when(registry.requireService(ConfigurationService.class)).thenReturn(configuration);
+    GeneratorCreationContext context = mock(GeneratorCreationContext.class);
+    when(context.getServiceRegistry()).thenReturn(registry);
+    return context;
+  }
+
+  @SuppressWarnings("unused")
+  private static final class Keys {
+    private Long numericId;
+    private String textualId;
+  }
 }
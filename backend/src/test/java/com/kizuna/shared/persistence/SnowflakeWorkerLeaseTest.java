@@ -0,0 +1,135 @@
+package com.kizuna.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.shared.config.AppProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** {@link SnowflakeWorkerLease} の単体テスト。 */
+class SnowflakeWorkerLeaseTest {
+
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+  private final AtomicLong now = new AtomicLong();
+  private final AppProperties appProperties = new AppProperties();
+  private SnowflakeWorkerLease lease;
+
+  @BeforeEach
+  void setUp() {
+    appProperties.getSnowflake().setLeaseTtl(Duration.ofSeconds(60));
+    appProperties.getSnowflake().setHeartbeat(Duration.ofSeconds(10));
+  }
+
+  @Test
+  @DisplayName("起動時に空きの workerId を借り、生成器がそれで払い出すこと")
+  void acquiresWorkerIdOnStartup() {
+    givenFreeWorkerIds(List.of(42L));
+
+    lease = new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get);
+
+    assertThat(lease.workerId()).isEqualTo(42L);
+    long id = new SnowflakeIdGenerator(lease::currentWorkerId, System::currentTimeMillis).nextId();
+    assertThat((id >>> 12) & 0x3FF).isEqualTo(42L);
+  }
+
+  @Test
+  @DisplayName("空きが無ければ起動を失敗させること")
+  void failsWhenNoWorkerIdIsFree() {
+    givenFreeWorkerIds(List.of());
+
+    assertThatThrownBy(() -> new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("延長の時点で行を失っていたら別の workerId を借り直すこと")
+  void reacquiresWhenLeaseWasLost() {
+    givenFreeWorkerIds(List.of(1L), List.of(2L));
+    lease = new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get);
+    when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(0);
+
+    lease.heartbeat();
+
+    assertThat(lease.workerId()).isEqualTo(2L);
+    assertThat(lease.currentWorkerId()).isEqualTo(2L);
+  }
+
+  @Test
+  @DisplayName("延長の失敗が寿命に迫るまでは払い出しを続け、迫ったら止めること")
+  void stopsIssuingWhenRenewalKeepsFailing() {
+    givenFreeWorkerIds(List.of(7L));
+    lease = new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get);
+    when(jdbcTemplate.update(anyString(), any(), any(), any()))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    now.set(Duration.ofSeconds(40).toNanos());
+    lease.heartbeat();
+    assertThat(lease.currentWorkerId()).isEqualTo(7L);
+
+    now.set(Duration.ofSeconds(50).toNanos());
+    lease.heartbeat();
+    assertThat(lease.workerId()).isEqualTo(-1L);
+    assertThatThrownBy(lease::currentWorkerId).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("心拍が回らないまま寿命に迫ったら払い出しを止め、延長できたら再開すること")
+  void stopsIssuingWhenNoHeartbeatRunsBeforeTheDeadline() {
+    givenFreeWorkerIds(List.of(8L));
+    lease = new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get);
+
+    now.set(Duration.ofSeconds(49).toNanos());
+    assertThat(lease.currentWorkerId()).isEqualTo(8L);
+
+    now.set(Duration.ofSeconds(50).toNanos());
+    assertThatThrownBy(lease::currentWorkerId).isInstanceOf(IllegalStateException.class);
+
+    when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(1);
+    lease.heartbeat();
+    assertThat(lease.currentWorkerId()).isEqualTo(8L);
+  }
+
+  @Test
+  @DisplayName("停止時に行を返し、払い出しを止めること")
+  void releasesOnShutdown() {
+    givenFreeWorkerIds(List.of(9L));
+    lease = new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get);
+
+    lease.release();
+
+    verify(jdbcTemplate).update(anyString(), eq(9L), anyString());
+    assertThatThrownBy(lease::currentWorkerId).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("同じ JVM の別の貸与を返しても、こちらの払い出しは続くこと")
+  void leasesInOneJvmAreIndependent() {
+    givenFreeWorkerIds(List.of(3L), List.of(4L));
+    lease = new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get);
+    SnowflakeWorkerLease other = new SnowflakeWorkerLease(jdbcTemplate, appProperties, now::get);
+
+    other.release();
+
+    assertThat(lease.currentWorkerId()).isEqualTo(3L);
+    assertThatThrownBy(other::currentWorkerId).isInstanceOf(IllegalStateException.class);
+  }
+
+  @SafeVarargs
+  private void givenFreeWorkerIds(List<Long> first, List<Long>... rest) {
+    when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any()))
+        .thenReturn(first, rest);
+  }
+}
@@ -0,0 +1,95 @@
+package com.kizuna.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.storescope.StoreContext;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/** {@link SqlCommentInspector} の単体テスト。 */
+class SqlCommentInspectorTest {
+
+  private final StoreContext storeContext = new StoreContext();
+  private final AppProperties appProperties = new AppProperties();
+  private MockHttpServletRequest request;
+
+  static class OrderEndpoint {
+    public void complete() {}
+  }
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    request = new MockHttpServletRequest("POST", "/store/orders/42/complete");
+    request.setAttribute(
+        HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+        new HandlerMethod(new OrderEndpoint(), OrderEndpoint.class.getMethod("complete")));
+    request.setAttribute(
+        HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/store/orders/{id}/complete");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    storeContext.setStoreId(7L);
+    ThreadContext.put("requestId", "req-1");
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+    storeContext.clear();
+    ThreadContext.remove("requestId");
+  }
+
+  @Test
+  @DisplayName("端点を辞書順の鍵で末尾に載せ、標本外の要求には相関 ID を載せず sampled='false' とすること")
+  void appendsEndpoint() {
+    appProperties.getSqlComment().setRequestIdSampleRate(0);
+
+    assertThat(inspector().inspect("select * from t_orders where id=?"))
+        .isEqualTo(
+            "select * from t_orders where id=? /*action='complete',controller='OrderEndpoint',"
+                + "route='%2Fstore%2Forders%2F%7Bid%7D%2Fcomplete',sampled='false'*/");
+  }
+
+  @Test
+  @DisplayName("店舗が違っても文の字面は変わらないこと（準備済み文のキャッシュを店舗ごとに分けない）")
+  void keepsTheStoreOutOfTheStatementText() {
+    appProperties.getSqlComment().setRequestIdSampleRate(0);
+    String forStore7 = inspector().inspect("select 1");
+
+    storeContext.setStoreId(8L);
+
+    assertThat(inspector().inspect("select 1")).isEqualTo(forStore7).doesNotContain("store_id");
+  }
+
+  @Test
+  @DisplayName("標本に入った要求には相関 ID も載せ、sampled='true' とすること")
+  void appendsRequestIdWhenSampled() {
+    appProperties.getSqlComment().setRequestIdSampleRate(1);
+
+    assertThat(inspector().inspect("select 1"))
+        .contains("request_id='req-1'")
+        .contains("sampled='true'");
+  }
+
+  @Test
+  @DisplayName("要求の外の文と、既に注釈を持つ文は書き換えないこと")
+  void leavesOtherStatementsAlone() {
+    SqlCommentInspector inspector = inspector();
+    assertThat(inspector.inspect("/* hint */ select 1")).isEqualTo("/* hint */ select 1");
+
+    RequestContextHolder.resetRequestAttributes();
+
+    assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+  }
+
+  private SqlCommentInspector inspector() {
+    return new SqlCommentInspector(appProperties);
+  }
+}
@@ -0,0 +1,70 @@
+package com.kizuna.shared.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.config.AppProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/** {@link StatementBudgetFilter} の単体テスト。 */
+class StatementBudgetFilterTest {
+
+  private final StatementBudgetFilter filter = new StatementBudgetFilter(new AppProperties());
+  private final StatementCountingInspector inspector = new StatementCountingInspector();
+
+  @AfterEach
+  void resetRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("要求の中で準備された文を要求ごとに数え、文は書き換えないこと")
+  void countsStatementsPerRequest() throws Exception {
+    MockHttpServletRequest casts = get("/store/casts");
+    MockHttpServletRequest shifts = get("/store/shifts");
+
+    filter.doFilter(casts, new MockHttpServletResponse(), issuing(3));
+    filter.doFilter(shifts, new MockHttpServletResponse(), issuing(1));
+
+    assertThat(statementsOf(casts)).isEqualTo(3);
+    assertThat(statementsOf(shifts)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("要求の外の文は数えず、書き換えもしないこと")
+  void ignoresStatementsOutsideRequests() {
+    assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+  }
+
+  private static int statementsOf(MockHttpServletRequest request) {
+    return ((StatementBudgetFilter.RequestStatements)
+            request.getAttribute(StatementBudgetFilter.STATEMENTS))
+        .count();
+  }
+
+  private static MockHttpServletRequest get(String uri) {
+    return new MockHttpServletRequest("GET", uri);
+  }
+
+  /** Spring MVC と同じく要求を RequestContextHolder に束縛し、その中で文を準備する。 */
+  private FilterChain issuing(int statements) {
+    return (request, response) -> {
+      RequestContextHolder.setRequestAttributes(
+          new ServletRequestAttributes((HttpServletRequest) request));
+      try {
+        for (int i = 0; i < statements; i++) {
+          inspector.inspect("select " + i);
+        }
+      } finally {
+        RequestContextHolder.resetRequestAttributes();
+      }
+    };
+  }
+}
@@ -2,6 +2,7 @@ package com.kizuna.shared.storescope;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.apache.logging.log4j.ThreadContext;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -31,4 +32,62 @@ class StoreContextTest {
     assertThat(context.hasStoreId()).isFalse();
     assertThat(context.getStoreId()).isNull();
   }
+
+  @Test
+  @DisplayName("器が束縛されていなければ、店舗をログの文脈（ThreadContext）へ写し、clear で消すこと")
+  void threadLocal_mirrorsTheStoreIntoTheThreadContext() {
+    StoreContext context = new StoreContext();
+
+    context.setStoreId(42L);
+    assertThat(ThreadContext.get("storeId")).isEqualTo("42");
+
+    context.clear();
+    assertThat(ThreadContext.get("storeId")).isNull();
+  }
+
+  @Test
+  @DisplayName("要求の器が束縛されている間は器へ書き、束縛が外れると何も残らないこと")
+  void requestScope_keepsTheStoreOutOfTheThreadLocal() {
+    StoreContext context = new StoreContext();
+
+    StoreContext.requestScope()
+        .run(
+            () -> {
+              context.setStoreId(42L);
+              assertThat(context.getStoreId()).isEqualTo(42L);
+              assertThat(StoreContext.scopedStoreId()).isEqualTo(42L);
+              assertThat(ThreadContext.get("storeId")).as("ログへは束縛から補う").isNull();
+            });
+
+    assertThat(context.hasStoreId()).as("掃除しなくてもスレッドに店舗が残らないこと").isFalse();
+    assertThat(StoreContext.scopedStoreId()).isNull();
+  }
+
+  @Test
+  @DisplayName("器の中で別の店舗を入れ子に張っても、抜けた後は要求の店舗が戻ること")
+  void callWithStoreId_restoresTheRequestStoreInsideTheScope() {
+    StoreContext context = new StoreContext();
+
+    StoreContext.requestScope()
+        .run(
+            () -> {
+              context.setStoreId(1L);
+
+              Long inner = context.callWithStoreId(2L, context::getStoreId);
+
+              assertThat(inner).isEqualTo(2L);
+              assertThat(context.getStoreId()).isEqualTo(1L);
+            });
+  }
+
+  @Test
+  @DisplayName("器が無ければ callWithStoreId は ThreadLocal に張り、復帰時に消すこと")
+  void callWithStoreId_clearsTheThreadLocalAfterwards() {
+    StoreContext context = new StoreContext();
+
+    Long inner = context.callWithStoreId(7L, context::getStoreId);
+
+    assertThat(inner).isEqualTo(7L);
+    assertThat(context.hasStoreId()).isFalse();
+  }
 }
@@ -3,12 +3,17 @@ package com.kizuna.shared.storescope;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.kizuna.shared.config.AppProperties;
 import com.kizuna.shared.exception.ServiceException;
+import com.kizuna.shared.metrics.MeterTags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.access.AccessDeniedException;
@@ -23,11 +28,22 @@ class StoreIdInterceptorTest {
 
   private StoreContext storeContext;
   private StoreIdInterceptor interceptor;
+  private SimpleMeterRegistry meterRegistry;
 
   @BeforeEach
   void setUp() {
     storeContext = new StoreContext();
-    interceptor = new StoreIdInterceptor(storeContext);
+    meterRegistry = new SimpleMeterRegistry();
+    interceptor =
+        new StoreIdInterceptor(
+            storeContext,
+            new MeterTags(
+                storeContext,
+                new AppProperties(),
+                new StaticListableBeanFactory(
+                        Map.of("storeExistenceCheck", (StoreExistenceCheck) storeId -> true))
+                    .getBeanProvider(StoreExistenceCheck.class)),
+            meterRegistry);
   }
 
   @AfterEach
@@ -346,6 +362,33 @@ class StoreIdInterceptorTest {
     assertThat(storeContext.hasStoreId()).isFalse();
   }
 
+  @Test
+  @DisplayName("店舗文脈の解決結果を結果ごとに数えること")
+  void preHandle_countsOutcomes() throws Exception {
+    MockHttpServletRequest store = new MockHttpServletRequest();
+    store.addHeader("X-Role", "store");
+    store.addHeader("X-Store-ID", "42");
+    MockHttpServletRequest malformed = new MockHttpServletRequest();
+    malformed.addHeader("X-Role", "store");
+    malformed.addHeader("X-Store-ID", "99999999999999999999");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    interceptor.preHandle(store, response, new Object());
+    interceptor.preHandle(new MockHttpServletRequest(), response, handlerMethod("optional"));
+    assertThatThrownBy(
+            () ->
+                interceptor.preHandle(
+                    new MockHttpServletRequest(), response, handlerMethod("required")))
+        .isInstanceOf(AccessDeniedException.class);
+    assertThatThrownBy(() -> interceptor.preHandle(malformed, response, new Object()))
+        .isInstanceOf(ServiceException.class);
+
+    assertThat(resolutions("public-header")).isEqualTo(1.0);
+    assertThat(resolutions("store-optional")).isEqualTo(1.0);
+    assertThat(resolutions("denied")).isEqualTo(1.0);
+    assertThat(resolutions("malformed")).isEqualTo(1.0);
+  }
+
   @Test
   @DisplayName("afterCompletion で店舗文脈がクリアされること")
   void afterCompletion_clearsStoreContext() {
@@ -356,4 +399,8 @@ class StoreIdInterceptorTest {
 
     assertThat(storeContext.hasStoreId()).isFalse();
   }
+
+  private double resolutions(String outcome) {
+    return meterRegistry.get("store.context.resolutions").tag("outcome", outcome).counter().count();
+  }
 }
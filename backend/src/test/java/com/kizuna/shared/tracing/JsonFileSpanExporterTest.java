@@ -0,0 +1,57 @@
+package com.kizuna.shared.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/** {@link JsonFileSpanExporter} の単体テスト。 */
+class JsonFileSpanExporterTest {
+
+  private static final JsonMapper JSON = JsonMapper.builder().build();
+
+  @TempDir Path dir;
+
+  @Test
+  @DisplayName("スパンを 1 行ずつ追記し、子の行から親のスパンを辿れること")
+  void writesOneLinePerSpan() throws Exception {
+    Path file = dir.resolve("traces/spans.jsonl");
+    try (SdkTracerProvider provider =
+        SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(new JsonFileSpanExporter(file)))
+            .build()) {
+      Tracer tracer = provider.get("test");
+      Span parent = tracer.spanBuilder("http post /store/orders/{id}/completion").startSpan();
+      try (Scope scope = parent.makeCurrent()) {
+        Span child = tracer.spanBuilder("OrderRepository.findByIdForUpdate").startSpan();
+        child.setAttribute("store_id", 7L);
+        child.setStatus(StatusCode.ERROR, "lock timeout");
+        child.end();
+      }
+      parent.end();
+    }
+
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(2);
+    JsonNode child = JSON.readTree(lines.get(0));
+    JsonNode parent = JSON.readTree(lines.get(1));
+    assertThat(child.path("name").asString()).isEqualTo("OrderRepository.findByIdForUpdate");
+    assertThat(child.path("traceId").asString()).isEqualTo(parent.path("traceId").asString());
+    assertThat(child.path("parentSpanId").asString()).isEqualTo(parent.path("spanId").asString());
+    assertThat(child.path("error").asString()).isEqualTo("lock timeout");
+    assertThat(child.path("attributes").path("store_id").asLong()).isEqualTo(7L);
+    assertThat(parent.has("parentSpanId")).isFalse();
+  }
+}
@@ -0,0 +1,60 @@
+package com.kizuna.shared.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** {@link RequestIdObservationFilter} の単体テスト。 */
+class RequestIdObservationFilterTest {
+
+  private final RequestIdObservationFilter filter = new RequestIdObservationFilter();
+
+  @AfterEach
+  void tearDown() {
+    ThreadContext.remove("requestId");
+  }
+
+  @Test
+  @DisplayName("HTTP の受け口の観測に相関 ID を高基数の値として載せること")
+  void tagsServerRequestsWithTheRequestId() {
+    ThreadContext.put("requestId", "req-1");
+    ServerRequestObservationContext context =
+        new ServerRequestObservationContext(
+            new MockHttpServletRequest("POST", "/store/orders/1/completion"),
+            new MockHttpServletResponse());
+
+    filter.map(context);
+
+    assertThat(context.getHighCardinalityKeyValues())
+        .contains(KeyValue.of(RequestIdObservationFilter.KEY, "req-1"));
+    assertThat(context.getLowCardinalityKeyValues()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("受け口以外の観測と要求の外の観測には何も載せないこと")
+  void leavesOtherObservationsAlone() {
+    ThreadContext.put("requestId", "req-1");
+    Observation.Context other = new Observation.Context();
+
+    filter.map(other);
+
+    assertThat(other.getHighCardinalityKeyValues()).isEmpty();
+
+    ThreadContext.remove("requestId");
+    ServerRequestObservationContext outside =
+        new ServerRequestObservationContext(
+            new MockHttpServletRequest(), new MockHttpServletResponse());
+
+    filter.map(outside);
+
+    assertThat(outside.getHighCardinalityKeyValues()).isEmpty();
+  }
+}
@@ -0,0 +1,91 @@
+package com.kizuna.shared.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** {@link TracingAspect} の単体テスト。 */
+class TracingAspectTest {
+
+  private final Tracer tracer = mock(Tracer.class);
+  private final Span span = mock(Span.class);
+
+  interface LedgerRepository extends Repository<Object, Long> {
+    List<Object> findOpenLotsForUpdate(long memberId);
+  }
+
+  static class LockingInterceptor implements HandlerInterceptor {
+    @Override
+    public boolean preHandle(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull Object handler) {
+      throw new IllegalStateException("locked");
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    when(tracer.nextSpan()).thenReturn(span);
+    when(span.name(anyString())).thenReturn(span);
+    when(span.start()).thenReturn(span);
+    when(tracer.withSpan(span)).thenReturn(mock(Tracer.SpanInScope.class));
+  }
+
+  @Test
+  @DisplayName("リポジトリの呼び出しを、宣言したリポジトリとメソッドの名前のスパンにすること")
+  void namesRepositorySpansAfterTheDeclaredRepository() {
+    LedgerRepository repository = proxy(memberId -> List.of(), LedgerRepository.class);
+
+    assertThat(repository.findOpenLotsForUpdate(1L)).isEmpty();
+
+    verify(span).name("LedgerRepository.findOpenLotsForUpdate");
+    verify(span).end();
+  }
+
+  @Test
+  @DisplayName("interceptor の前処理をスパンにし、例外で抜けたらスパンに記録して投げ直すこと")
+  void recordsInterceptorFailures() {
+    LockingInterceptor interceptor = proxy(new LockingInterceptor(), LockingInterceptor.class);
+
+    assertThatThrownBy(
+            () ->
+                interceptor.preHandle(
+                    new MockHttpServletRequest(), new MockHttpServletResponse(), new Object()))
+        .isInstanceOf(IllegalStateException.class);
+
+    verify(span).name("LockingInterceptor.preHandle");
+    verify(span).error(any(IllegalStateException.class));
+    verify(span).end();
+  }
+
+  private <T> T proxy(T target, Class<T> type) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    if (type.isInterface()) {
+      factory.addInterface(type);
+    } else {
+      factory.setProxyTargetClass(true);
+    }
+    factory.addAspect(new TracingAspect(tracer));
+    return factory.getProxy();
+  }
+}
@@ -0,0 +1,137 @@
+package com.kizuna.shared.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kizuna.shared.storescope.StoreContext;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestCorrelationFilterTest {
+
+  private final StoreContext storeContext = new StoreContext();
+
+  @AfterEach
+  void clearContext() {
+    ThreadContext.clearMap();
+    storeContext.clear();
+  }
+
+  @Test
+  @DisplayName("従来の構成では相関 ID を ThreadContext に置き、応答後に店舗文脈ごと消すこと")
+  void platformThreads_useTheThreadContext() throws Exception {
+    Map<String, String> seen = new HashMap<>();
+    MockFilterChain chain =
+        new MockFilterChain() {
+          @Override
+          public void doFilter(ServletRequest request, ServletResponse response) {
+            storeContext.setStoreId(42L);
+            seen.put("requestId", ThreadContext.get("requestId"));
+          }
+        };
+
+    filter(false).doFilter(requestWithId("req-1"), new MockHttpServletResponse(), chain);
+
+    assertThat(seen).containsEntry("requestId", "req-1");
+    assertThat(ThreadContext.get("requestId")).isNull();
+    assertThat(storeContext.hasStoreId()).isFalse();
+  }
+
+  @Test
+  @DisplayName("従来の構成でも、店舗文脈を確立した後のログのイベントに店舗と相関 ID が載ること")
+  void platformThreads_logEventsCarryTheStore() throws Exception {
+    List<Map<String, String>> events = new ArrayList<>();
+    Logger logger = capturingLogger(events);
+    MockFilterChain chain =
+        new MockFilterChain() {
+          @Override
+          public void doFilter(ServletRequest request, ServletResponse response) {
+            storeContext.setStoreId(42L);
+            logger.info("受注を保存した");
+          }
+        };
+
+    filter(false).doFilter(requestWithId("req-3"), new MockHttpServletResponse(), chain);
+
+    assertThat(events)
+        .singleElement()
+        .satisfies(
+            context ->
+                assertThat(context)
+                    .containsEntry("requestId", "req-3")
+                    .containsEntry("storeId", "42"));
+    assertThat(ThreadContext.get("storeId")).as("応答後は消えること").isNull();
+  }
+
+  @Test
+  @DisplayName("仮想スレッドの構成では相関 ID と店舗を束縛で運び、ThreadContext にもスレッドにも残さないこと")
+  void virtualThreads_carryTheContextInScopedValues() throws Exception {
+    Map<String, String> seen = new HashMap<>();
+    MockFilterChain chain =
+        new MockFilterChain() {
+          @Override
+          public void doFilter(ServletRequest request, ServletResponse response) {
+            storeContext.setStoreId(42L);
+            seen.putAll(new ScopedContextDataProvider().supplyContextData());
+            seen.put("threadContext", String.valueOf(ThreadContext.get("requestId")));
+          }
+        };
+
+    filter(true).doFilter(requestWithId("req-2"), new MockHttpServletResponse(), chain);
+
+    assertThat(seen)
+        .containsEntry("requestId", "req-2")
+        .containsEntry("storeId", "42")
+        .containsEntry("threadContext", "null");
+    assertThat(storeContext.hasStoreId()).as("束縛が外れると店舗も消えること").isFalse();
+    assertThat(new ScopedContextDataProvider().supplyContextData()).isEmpty();
+  }
+
+  /** 自前の appender だけへ書くロガー。イベントが持つ文脈（ThreadContext と provider の合成）を集める。 */
+  private static Logger capturingLogger(List<Map<String, String>> events) {
+    Logger logger = LoggerContext.getContext(false).getLogger("RequestCorrelationFilterTest");
+    AbstractAppender appender =
+        new AbstractAppender("captured", null, null, true, Property.EMPTY_ARRAY) {
+          @Override
+          public void append(LogEvent event) {
+            events.add(event.getContextData().toMap());
+          }
+        };
+    appender.start();
+    logger.getAppenders().values().forEach(logger::removeAppender);
+    logger.addAppender(appender);
+    logger.setAdditive(false);
+    logger.setLevel(Level.INFO);
+    return logger;
+  }
+
+  private RequestCorrelationFilter filter(boolean virtualThreads) {
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+    return new RequestCorrelationFilter(storeContext, environment);
+  }
+
+  private static MockHttpServletRequest requestWithId(String requestId) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/store/orders");
+    request.addHeader("X-Request-ID", requestId);
+    return request;
+  }
+}
@@ -31,6 +31,7 @@ class StoreActivationServiceTest {
   @Mock private StoreRepository storeRepository;
   @Mock private CacheManager cacheManager;
   @Mock private Cache cache;
+  @Mock private StoreRegistryCache storeRegistryCache;
   @InjectMocks private StoreActivationService storeActivationService;
 
   private Store preparingStore() {
@@ -57,6 +58,7 @@ class StoreActivationServiceTest {
     assertThat(store.getStatus()).isEqualTo(StoreStatus.ACTIVE);
     verify(storeRepository).save(store);
     verify(cache).evict("preparing.kizuna.test");
+    verify(storeRegistryCache).invalidate(STORE_ID);
   }
 
   @Test
@@ -67,6 +69,7 @@ class StoreActivationServiceTest {
     storeActivationService.activateOnConsoleAccess(STORE_ID);
 
     verify(storeRepository, never()).save(any());
+    verify(storeRegistryCache, never()).invalidate(STORE_ID);
   }
 
   // 稼働中は DB で確認できた事実なので覚えてよい。2 回目以降は照会そのものが消える。
@@ -0,0 +1,63 @@
+package com.kizuna.store.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.kizuna.shared.cache.InvalidationFeed;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.store.domain.StoreRegistration;
+import com.kizuna.store.domain.StoreRepository;
+import com.kizuna.store.domain.StoreStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** {@link StoreRegistryCache} の単体テスト。 */
+class StoreRegistryCacheTest {
+
+  private final StoreRepository storeRepository = mock(StoreRepository.class);
+  private final InvalidationFeed feed = mock(InvalidationFeed.class);
+  private StoreRegistryCache storeRegistryCache;
+
+  @BeforeEach
+  void setUp() {
+    storeRegistryCache =
+        new StoreRegistryCache(
+            storeRepository, feed, new AppProperties(), new SimpleMeterRegistry());
+    when(feed.isLive()).thenReturn(true);
+  }
+
+  @Test
+  @DisplayName("実在する店舗の写しは 2 回目以降 DB を引かないこと")
+  void existingStoreIsServedLocally() {
+    StoreRegistration registration = new StoreRegistration(7L, StoreStatus.ACTIVE, "a.kizuna.test");
+    when(storeRepository.findRegistrationById(7L)).thenReturn(Optional.of(registration));
+
+    assertThat(storeRegistryCache.find(7L)).contains(registration);
+    assertThat(storeRegistryCache.find(7L)).contains(registration);
+
+    verify(storeRepository, times(1)).findRegistrationById(7L);
+  }
+
+  @Test
+  @DisplayName("実在しない店舗も「無い」として覚え、登録の失効で読み直すこと")
+  void missingStoreIsRememberedUntilInvalidated() {
+    when(storeRepository.findRegistrationById(8L)).thenReturn(Optional.empty());
+
+    assertThat(storeRegistryCache.find(8L)).isEmpty();
+    assertThat(storeRegistryCache.find(8L)).isEmpty();
+    verify(storeRepository, times(1)).findRegistrationById(8L);
+
+    StoreRegistration created = new StoreRegistration(8L, StoreStatus.PREPARING, "b.kizuna.test");
+    when(storeRepository.findRegistrationById(8L)).thenReturn(Optional.of(created));
+    storeRegistryCache.invalidate(8L);
+
+    assertThat(storeRegistryCache.find(8L)).contains(created);
+    verify(feed).publish("kizuna:near-cache:store-registry", "8");
+  }
+}
@@ -55,7 +55,8 @@ class StoreRegistryServiceCacheTest {
           mock(StoreProfileRepository.class),
           mock(CompletedOrderCheck.class),
           mock(PointLedgerService.class),
-          mock(AttendanceRecordCheck.class));
+          mock(AttendanceRecordCheck.class),
+          mock(StoreRegistryCache.class));
     }
   }
 
@@ -3,6 +3,7 @@ package com.kizuna.store.application;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -40,6 +41,7 @@ class StoreRegistryServiceTest {
   @Mock private CompletedOrderCheck completedOrderCheck;
   @Mock private PointLedgerService pointLedgerService;
   @Mock private AttendanceRecordCheck attendanceRecordCheck;
+  @Mock private StoreRegistryCache storeRegistryCache;
   @InjectMocks private StoreRegistryService storeRegistryService;
 
   @Test
@@ -65,6 +67,8 @@ class StoreRegistryServiceTest {
 
     verify(storeRepository).save(any());
     verify(storeProfileRepository).save(any());
+    // 「無い」と覚えたノードが、登録直後の店舗への要求を弾かないように
+    verify(storeRegistryCache).invalidate(1L);
   }
 
   @Test
@@ -152,6 +156,7 @@ class StoreRegistryServiceTest {
 
     assertThat(t.getName()).isEqualTo("New");
     verify(storeRepository).save(t);
+    verify(storeRegistryCache).invalidate(1L);
   }
 
   // 編集画面は name と email を送る。email が取り込まれなければ、成功応答だけ返って値が変わらない。
@@ -193,6 +198,7 @@ class StoreRegistryServiceTest {
     storeRegistryService.delete("1");
 
     verify(storeRepository).deleteById(1L);
+    verify(storeRegistryCache).invalidate(1L);
   }
 
   // 稼働中の店舗は、確定した記録の有無に関わらず消せない。開店した事実そのものが削除を止める。
@@ -206,6 +212,7 @@ class StoreRegistryServiceTest {
         .isInstanceOf(ServiceException.class)
         .hasMessage("稼働中の店舗は削除できません");
     verify(storeRepository, never()).deleteById(any());
+    verify(storeRegistryCache, never()).invalidate(anyLong());
   }
 
   @Test
@@ -7,11 +7,14 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.kizuna.settings.application.SystemConfigService;
+import com.kizuna.shared.config.AppProperties;
+import com.kizuna.shared.metrics.MeterTags;
 import com.kizuna.shared.storescope.StoreContext;
 import com.kizuna.shared.storescope.StoreExistenceCheck;
 import com.kizuna.store.application.StoreActivationService;
 import com.kizuna.user.api.dto.PlatformStaffResponse;
 import com.kizuna.user.application.PlatformStaffService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,7 +33,13 @@ import org.springframework.test.web.servlet.MockMvc;
 
 /** 一覧の要求パラメータ配線の単体テスト（{@code ?sort=} 上書き時の副キー id 補完と、{@code ?storeId=} の受け渡し）。 */
 @WebMvcTest(PlatformStaffController.class)
-@Import({PlatformStaffControllerTest.MethodSecurityConfig.class, StoreContext.class})
+@Import({
+  PlatformStaffControllerTest.MethodSecurityConfig.class,
+  StoreContext.class,
+  MeterTags.class,
+  AppProperties.class,
+  SimpleMeterRegistry.class
+})
 class PlatformStaffControllerTest {
 
   /** テスト用にメソッドセキュリティ（@PreAuthorize）を有効化する設定 */